@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.api.v3.db;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.eclipse.dirigible.commons.api.context.ThreadContextFacade;
+import org.eclipse.dirigible.databases.processor.format.ResultSetJsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cursor over the result of a query, which fetches the records in batches on demand.
+ * <p>
+ * The cursor holds its connection until it is closed, which happens when the records are exhausted, when
+ * {@link #close()} is called or at the latest at the end of the current thread context.
+ */
+public class DatabaseCursor implements AutoCloseable {
+
+	/** The Constant logger. */
+	private static final Logger logger = LoggerFactory.getLogger(DatabaseCursor.class);
+
+	/** The connection. */
+	private final Connection connection;
+
+	/** The prepared statement. */
+	private final PreparedStatement preparedStatement;
+
+	/** The result set. */
+	private final ResultSet resultSet;
+
+	/** The auto commit mode of the connection before opening the cursor. */
+	private final boolean autoCommit;
+
+	/** The writer. */
+	private final ResultSetJsonWriter writer = new ResultSetJsonWriter();
+
+	/** The closed. */
+	private boolean closed;
+
+	/**
+	 * Instantiates a new database cursor.
+	 *
+	 * @param connection the connection
+	 * @param preparedStatement the prepared statement
+	 * @param resultSet the result set
+	 * @param autoCommit the auto commit mode to restore on close
+	 */
+	DatabaseCursor(Connection connection, PreparedStatement preparedStatement, ResultSet resultSet, boolean autoCommit) {
+		this.connection = connection;
+		this.preparedStatement = preparedStatement;
+		this.resultSet = resultSet;
+		this.autoCommit = autoCommit;
+		this.writer.setLimited(false);
+		this.writer.setStringified(false);
+		ThreadContextFacade.addCloseable(this);
+	}
+
+	/**
+	 * Fetches the next records.
+	 *
+	 * @param count the max number of records
+	 * @return the records as JSON array, which is empty when the cursor is exhausted
+	 * @throws SQLException the SQL exception
+	 */
+	public String next(int count) throws SQLException {
+		if (closed) {
+			return "[]";
+		}
+		StringWriter output = new StringWriter();
+		try {
+			if (writer.write(resultSet, output, count) < count) {
+				close();
+			}
+		} catch (IOException e) {
+			close();
+			throw new SQLException(e);
+		} catch (SQLException | RuntimeException e) {
+			close();
+			throw e;
+		}
+		return output.toString();
+	}
+
+	/**
+	 * Checks if is closed.
+	 *
+	 * @return true, if the records are exhausted or the cursor has been closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Closes the result set, the statement and the connection.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		ThreadContextFacade.removeCloseable(this);
+		try {
+			resultSet.close();
+			preparedStatement.close();
+			connection.setAutoCommit(autoCommit);
+		} catch (SQLException e) {
+			if (logger.isErrorEnabled()) {logger.error("Closing the database cursor failed", e);}
+		} finally {
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				if (logger.isErrorEnabled()) {logger.error("Closing the connection of the database cursor failed", e);}
+			}
+		}
+	}
+
+}
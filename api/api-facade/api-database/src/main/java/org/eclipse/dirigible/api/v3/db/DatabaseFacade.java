@@ -15,11 +15,13 @@ import static java.text.MessageFormat.format;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Iterator;
@@ -29,6 +31,7 @@ import javax.sql.DataSource;
 import org.eclipse.dirigible.commons.api.helpers.BytesHelper;
 import org.eclipse.dirigible.commons.api.helpers.GsonHelper;
 import org.eclipse.dirigible.commons.api.scripting.IScriptingFacade;
+import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.commons.config.StaticObjects;
 import org.eclipse.dirigible.database.api.DatabaseModule;
 import org.eclipse.dirigible.database.api.IDatabase;
@@ -53,6 +56,18 @@ public class DatabaseFacade implements IScriptingFacade {
 	/** The Constant logger. */
 	private static final Logger logger = LoggerFactory.getLogger(DatabaseFacade.class);
 
+	/** The Constant DIRIGIBLE_DATABASE_BATCH_SIZE. */
+	public static final String DIRIGIBLE_DATABASE_BATCH_SIZE = "DIRIGIBLE_DATABASE_BATCH_SIZE"; //$NON-NLS-1$
+
+	/** The Constant DEFAULT_BATCH_SIZE. */
+	private static final String DEFAULT_BATCH_SIZE = "1000"; //$NON-NLS-1$
+
+	/** The Constant DIRIGIBLE_DATABASE_FETCH_SIZE. */
+	public static final String DIRIGIBLE_DATABASE_FETCH_SIZE = "DIRIGIBLE_DATABASE_FETCH_SIZE"; //$NON-NLS-1$
+
+	/** The Constant DEFAULT_FETCH_SIZE. */
+	private static final String DEFAULT_FETCH_SIZE = "1000"; //$NON-NLS-1$
+
 	/** The database. */
 	private static IDatabase database = null;
 	
@@ -319,6 +334,139 @@ public class DatabaseFacade implements IScriptingFacade {
 		return query(sql, null, null, null);
 	}
 
+	/**
+	 * Executes SQL query and streams the result as JSON to the output, e.g. the HTTP response or a file, fetching the
+	 * records in batches of the configured fetch size.
+	 *
+	 * @param sql the sql
+	 * @param parameters the parameters
+	 * @param databaseType the database type
+	 * @param datasourceName the datasource name
+	 * @param output the output stream, which is flushed but not closed
+	 * @throws SQLException the SQL exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public static final void query(String sql, String parameters, String databaseType, String datasourceName, OutputStream output)
+			throws SQLException, IOException {
+		DataSource dataSource = getDataSource(databaseType, datasourceName);
+		if (dataSource == null) {
+			String error = format("DataSource {0} of Database Type {1} not known.", datasourceName, databaseType);
+			throw new IllegalArgumentException(error);
+		}
+		Connection connection = null;
+		try {
+			connection = dataSource.getConnection();
+			boolean autoCommit = connection.getAutoCommit();
+			// some drivers, e.g. PostgreSQL, fetch in batches only inside a transaction
+			connection.setAutoCommit(false);
+			try {
+				PreparedStatement preparedStatement = prepareQuery(connection, sql, parameters, 0);
+				try {
+					ResultSet resultSet = preparedStatement.executeQuery();
+					DatabaseResultSetHelper.toJson(resultSet, false, false, output);
+				} finally {
+					preparedStatement.close();
+				}
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		} finally {
+			if (connection != null) {
+				connection.close();
+			}
+		}
+	}
+
+	/**
+	 * Executes SQL query and opens a cursor over its result, which has to be closed unless it is read to the end.
+	 *
+	 * @param sql the sql
+	 * @param parameters the parameters
+	 * @param databaseType the database type
+	 * @param datasourceName the datasource name
+	 * @param fetchSize the number of the records fetched from the database at once, or 0 for the configured one
+	 * @return the database cursor
+	 * @throws SQLException the SQL exception
+	 */
+	public static final DatabaseCursor openCursor(String sql, String parameters, String databaseType, String datasourceName, int fetchSize)
+			throws SQLException {
+		DataSource dataSource = getDataSource(databaseType, datasourceName);
+		if (dataSource == null) {
+			String error = format("DataSource {0} of Database Type {1} not known.", datasourceName, databaseType);
+			throw new IllegalArgumentException(error);
+		}
+		Connection connection = dataSource.getConnection();
+		boolean autoCommit = true;
+		PreparedStatement preparedStatement = null;
+		try {
+			autoCommit = connection.getAutoCommit();
+			// some drivers, e.g. PostgreSQL, fetch in batches only inside a transaction
+			connection.setAutoCommit(false);
+			preparedStatement = prepareQuery(connection, sql, parameters, fetchSize);
+			return new DatabaseCursor(connection, preparedStatement, preparedStatement.executeQuery(), autoCommit);
+		} catch (SQLException | RuntimeException e) {
+			try {
+				if (preparedStatement != null) {
+					preparedStatement.close();
+				}
+				connection.setAutoCommit(autoCommit);
+			} finally {
+				connection.close();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Executes SQL query and opens a cursor over its result with the configured fetch size.
+	 *
+	 * @param sql the sql
+	 * @param parameters the parameters
+	 * @param databaseType the database type
+	 * @param datasourceName the datasource name
+	 * @return the database cursor
+	 * @throws SQLException the SQL exception
+	 */
+	public static final DatabaseCursor openCursor(String sql, String parameters, String databaseType, String datasourceName) throws SQLException {
+		return openCursor(sql, parameters, databaseType, datasourceName, 0);
+	}
+
+	/**
+	 * Executes SQL query and opens a cursor over its result with the configured fetch size.
+	 *
+	 * @param sql the sql
+	 * @param parameters the parameters
+	 * @return the database cursor
+	 * @throws SQLException the SQL exception
+	 */
+	public static final DatabaseCursor openCursor(String sql, String parameters) throws SQLException {
+		return openCursor(sql, parameters, null, null, 0);
+	}
+
+	/**
+	 * Prepares a query statement with the parameters and the fetch size.
+	 *
+	 * @param connection the connection
+	 * @param sql the sql
+	 * @param parameters the parameters
+	 * @param fetchSize the fetch size, or 0 for the configured one
+	 * @return the prepared statement
+	 * @throws SQLException the SQL exception
+	 */
+	private static PreparedStatement prepareQuery(Connection connection, String sql, String parameters, int fetchSize) throws SQLException {
+		PreparedStatement preparedStatement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		try {
+			preparedStatement.setFetchSize(fetchSize > 0 ? fetchSize : Integer.parseInt(Configuration.get(DIRIGIBLE_DATABASE_FETCH_SIZE, DEFAULT_FETCH_SIZE)));
+			if (parameters != null) {
+				setParameters(parameters, preparedStatement);
+			}
+			return preparedStatement;
+		} catch (SQLException | RuntimeException e) {
+			preparedStatement.close();
+			throw e;
+		}
+	}
+
 	//  ===========  Update  ===========
 
 	/**
@@ -394,6 +542,127 @@ public class DatabaseFacade implements IScriptingFacade {
 		return update(sql, null, null, null);
 	}
 
+	//  ===========  Batch  ===========
+
+	/**
+	 * Executes SQL update with multiple sets of parameters in batches, each batch is committed in its own transaction.
+	 * The keys generated by an INSERT statement are returned, if supported by the driver.
+	 *
+	 * @param sql the sql
+	 * @param parametersArray the sets of parameters, as a JSON array of arrays
+	 * @param databaseType the database type
+	 * @param datasourceName the datasource name
+	 * @param batchSize the max number of parameters sets per batch
+	 * @return the JSON with the update counts and the generated keys, e.g. {"updateCounts":[1,1],"generatedKeys":[7,8]}
+	 * @throws SQLException the SQL exception
+	 */
+	public static final String batch(String sql, String parametersArray, String databaseType, String datasourceName, int batchSize) throws SQLException {
+		DataSource dataSource = getDataSource(databaseType, datasourceName);
+		if (dataSource == null) {
+			String error = format("DataSource {0} of Database Type {1} not known.", datasourceName, databaseType);
+			throw new IllegalArgumentException(error);
+		}
+		JsonElement parametersElement = GsonHelper.parseJson(parametersArray);
+		if (!(parametersElement instanceof JsonArray)) {
+			throw new IllegalArgumentException("Parameters must be provided as a JSON array of arrays, e.g. [[1, 'John'], [2, 'Jane']]");
+		}
+		JsonArray parametersSets = parametersElement.getAsJsonArray();
+		int size = batchSize > 0 ? batchSize : Integer.parseInt(Configuration.get(DIRIGIBLE_DATABASE_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+		JsonArray updateCounts = new JsonArray();
+		JsonArray generatedKeys = new JsonArray();
+		boolean returnKeys = false;
+		Connection connection = null;
+		try {
+			connection = dataSource.getConnection();
+			returnKeys = sql.trim().regionMatches(true, 0, "INSERT", 0, 6) && connection.getMetaData().supportsGetGeneratedKeys();
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				PreparedStatement preparedStatement = returnKeys ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+						: connection.prepareStatement(sql);
+				try {
+					for (int start = 0; start < parametersSets.size(); start += size) {
+						int end = Math.min(start + size, parametersSets.size());
+						try {
+							for (int i = start; i < end; i++) {
+								setParameters(parametersSets.get(i), preparedStatement);
+								preparedStatement.addBatch();
+							}
+							for (int count : preparedStatement.executeBatch()) {
+								updateCounts.add(count);
+							}
+							if (returnKeys) {
+								try (ResultSet keys = preparedStatement.getGeneratedKeys()) {
+									while (keys.next()) {
+										generatedKeys.add(GsonHelper.toJsonTree(keys.getObject(1)));
+									}
+								}
+							}
+							connection.commit();
+						} catch (SQLException | RuntimeException e) {
+							connection.rollback();
+							if (logger.isErrorEnabled()) {logger.error("Rolled back the batch of the parameters sets from " + start + " to " + (end - 1) + ", the previous ones are committed");}
+							throw e;
+						}
+					}
+				} finally {
+					preparedStatement.close();
+				}
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		} finally {
+			if (connection != null) {
+				connection.close();
+			}
+		}
+		JsonObject result = new JsonObject();
+		result.add("updateCounts", updateCounts);
+		if (returnKeys) {
+			result.add("generatedKeys", generatedKeys);
+		}
+		return GsonHelper.toJson(result);
+	}
+
+	/**
+	 * Executes SQL update with multiple sets of parameters in batches of the configured size.
+	 *
+	 * @param sql the sql
+	 * @param parametersArray the sets of parameters, as a JSON array of arrays
+	 * @param databaseType the database type
+	 * @param datasourceName the datasource name
+	 * @return the JSON with the update counts and the generated keys
+	 * @throws SQLException the SQL exception
+	 */
+	public static final String batch(String sql, String parametersArray, String databaseType, String datasourceName) throws SQLException {
+		return batch(sql, parametersArray, databaseType, datasourceName, 0);
+	}
+
+	/**
+	 * Executes SQL update with multiple sets of parameters in batches of the configured size.
+	 *
+	 * @param sql the sql
+	 * @param parametersArray the sets of parameters, as a JSON array of arrays
+	 * @param databaseType the database type
+	 * @return the JSON with the update counts and the generated keys
+	 * @throws SQLException the SQL exception
+	 */
+	public static final String batch(String sql, String parametersArray, String databaseType) throws SQLException {
+		return batch(sql, parametersArray, databaseType, null, 0);
+	}
+
+	/**
+	 * Executes SQL update with multiple sets of parameters in batches of the configured size.
+	 *
+	 * @param sql the sql
+	 * @param parametersArray the sets of parameters, as a JSON array of arrays
+	 * @return the JSON with the update counts and the generated keys
+	 * @throws SQLException the SQL exception
+	 */
+	public static final String batch(String sql, String parametersArray) throws SQLException {
+		return batch(sql, parametersArray, null, null, 0);
+	}
+
 	/**
 	 * Sets the parameters.
 	 *
@@ -402,7 +671,17 @@ public class DatabaseFacade implements IScriptingFacade {
 	 * @throws SQLException the SQL exception
 	 */
 	private static void setParameters(String parameters, PreparedStatement preparedStatement) throws SQLException {
-		JsonElement parametersElement = GsonHelper.parseJson(parameters);
+		setParameters(GsonHelper.parseJson(parameters), preparedStatement);
+	}
+
+	/**
+	 * Sets the parameters.
+	 *
+	 * @param parametersElement the parameters as a JSON array
+	 * @param preparedStatement the prepared statement
+	 * @throws SQLException the SQL exception
+	 */
+	private static void setParameters(JsonElement parametersElement, PreparedStatement preparedStatement) throws SQLException {
 		if (parametersElement instanceof JsonArray) {
 			JsonArray parametersArray = (JsonArray) parametersElement;
 			Iterator<JsonElement> iterator = parametersArray.iterator();
@@ -935,4 +1214,20 @@ public class DatabaseFacade implements IScriptingFacade {
 		return SqlFactory.getNative(connection);
 	}
 
+	/**
+	 * Gets a native SQL factory of the data source, without borrowing a connection once its dialect is known.
+	 *
+	 * @param databaseType the database type
+	 * @param datasourceName the datasource name
+	 * @return a native SQL factory
+	 */
+	public static SqlFactory getNative(String databaseType, String datasourceName) {
+		DataSource dataSource = getDataSource(databaseType, datasourceName);
+		if (dataSource == null) {
+			String error = format("DataSource {0} of Database Type {1} not known.", datasourceName, databaseType);
+			throw new IllegalArgumentException(error);
+		}
+		return SqlFactory.getNative(dataSource);
+	}
+
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.api.v3.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import org.eclipse.dirigible.commons.api.context.ThreadContextFacade;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class DatabaseCursorTest.
+ */
+public class DatabaseCursorTest {
+
+	/** The Constant URL. */
+	private static final String URL = "jdbc:h2:mem:DatabaseCursorTest;DB_CLOSE_DELAY=-1";
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		try (Connection connection = DriverManager.getConnection(URL); Statement statement = connection.createStatement()) {
+			statement.executeUpdate("DROP TABLE IF EXISTS RECORDS");
+			statement.executeUpdate("CREATE TABLE RECORDS (ID INT PRIMARY KEY)");
+			for (int i = 1; i <= 5; i++) {
+				statement.executeUpdate("INSERT INTO RECORDS VALUES (" + i + ")");
+			}
+		}
+		ThreadContextFacade.setUp();
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		ThreadContextFacade.tearDown();
+	}
+
+	/**
+	 * The records are fetched in batches and the cursor is closed when they are exhausted.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void nextUntilExhausted() throws Exception {
+		Connection connection = DriverManager.getConnection(URL);
+		DatabaseCursor cursor = openCursor(connection);
+
+		assertEquals("[{\"ID\":1},{\"ID\":2}]", cursor.next(2));
+		assertEquals("[{\"ID\":3},{\"ID\":4}]", cursor.next(2));
+		assertFalse(cursor.isClosed());
+		assertEquals("[{\"ID\":5}]", cursor.next(2));
+
+		assertTrue(cursor.isClosed());
+		assertTrue(connection.isClosed());
+		assertEquals("[]", cursor.next(2));
+	}
+
+	/**
+	 * The cursor closed before its records are exhausted restores the auto commit mode and closes the connection.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void closeBeforeExhausted() throws Exception {
+		Connection connection = DriverManager.getConnection(URL);
+		DatabaseCursor cursor = openCursor(connection);
+
+		assertEquals("[{\"ID\":1}]", cursor.next(1));
+		assertFalse(connection.getAutoCommit());
+		cursor.close();
+		cursor.close();
+
+		assertTrue(cursor.isClosed());
+		assertTrue(connection.isClosed());
+	}
+
+	/**
+	 * The cursors left open are closed at the end of the thread context.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void closedAtTearDown() throws Exception {
+		ThreadContextFacade.setUp();
+		Connection firstConnection = DriverManager.getConnection(URL);
+		DatabaseCursor first = openCursor(firstConnection);
+		Connection secondConnection = DriverManager.getConnection(URL);
+		DatabaseCursor second = openCursor(secondConnection);
+		first.next(1);
+		ThreadContextFacade.tearDown();
+
+		assertTrue(first.isClosed());
+		assertTrue(second.isClosed());
+		assertTrue(firstConnection.isClosed());
+		assertTrue(secondConnection.isClosed());
+		assertTrue(ThreadContextFacade.isValid());
+	}
+
+	/**
+	 * Opens a cursor over the records, as the database facade does.
+	 *
+	 * @param connection the connection
+	 * @return the database cursor
+	 * @throws Exception the exception
+	 */
+	private DatabaseCursor openCursor(Connection connection) throws Exception {
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		PreparedStatement preparedStatement = connection.prepareStatement("SELECT ID FROM RECORDS ORDER BY ID");
+		return new DatabaseCursor(connection, preparedStatement, preparedStatement.executeQuery(), autoCommit);
+	}
+
+}
@@ -11,8 +11,15 @@
  */
 package org.eclipse.dirigible.api.v3.messaging;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.dirigible.commons.api.helpers.GsonHelper;
 import org.eclipse.dirigible.commons.api.scripting.IScriptingFacade;
 import org.eclipse.dirigible.core.messaging.api.IMessagingCoreService;
+import org.eclipse.dirigible.core.messaging.api.MessagingException;
 import org.eclipse.dirigible.core.messaging.service.MessagingConsumer;
 import org.eclipse.dirigible.core.messaging.service.MessagingProducer;
 
@@ -21,6 +28,16 @@ import org.eclipse.dirigible.core.messaging.service.MessagingProducer;
  */
 public class MessagingFacade implements IScriptingFacade {
 
+	/** The Constant THREAD_COUNTER. */
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	/** The Constant SENDER, reusing the threads of the asynchronous sends. */
+	private static final ExecutorService SENDER = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "messaging-sender-" + THREAD_COUNTER.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	/**
 	 * Send a message to queue.
 	 *
@@ -29,7 +46,7 @@ public class MessagingFacade implements IScriptingFacade {
 	 */
 	public static final void sendToQueue(String destination, String message) {
 		MessagingProducer producer = new MessagingProducer(destination, IMessagingCoreService.QUEUE, message);
-		new Thread(producer).start();
+		SENDER.execute(producer);
 	}
 	
 	/**
@@ -40,7 +57,29 @@ public class MessagingFacade implements IScriptingFacade {
 	 */
 	public static final void sendToTopic(String destination, String message) {
 		MessagingProducer producer = new MessagingProducer(destination, IMessagingCoreService.TOPIC, message);
-		new Thread(producer).start();
+		SENDER.execute(producer);
+	}
+	
+	/**
+	 * Send a batch of messages to queue in a single transaction.
+	 *
+	 * @param destination the destination
+	 * @param messages the messages as JSON array of strings
+	 * @throws MessagingException in case the messages could not be sent
+	 */
+	public static final void sendBatchToQueue(String destination, String messages) throws MessagingException {
+		new MessagingProducer(destination, IMessagingCoreService.QUEUE, Arrays.asList(GsonHelper.fromJson(messages, String[].class))).send();
+	}
+	
+	/**
+	 * Send a batch of messages to topic in a single transaction.
+	 *
+	 * @param destination the destination
+	 * @param messages the messages as JSON array of strings
+	 * @throws MessagingException in case the messages could not be sent
+	 */
+	public static final void sendBatchToTopic(String destination, String messages) throws MessagingException {
+		new MessagingProducer(destination, IMessagingCoreService.TOPIC, Arrays.asList(GsonHelper.fromJson(messages, String[].class))).send();
 	}
 	
 	/**
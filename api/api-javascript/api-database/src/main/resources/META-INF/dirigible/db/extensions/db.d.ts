@@ -79,6 +79,35 @@ declare module "@dirigible/db" {
          * @param datasourceName
          */
         function execute(sql: string, parameters?, databaseType?, datasourceName?): ResultSet;
+        /**
+         * Executes a SQL query and streams the result as JSON array to the output stream, e.g. the HTTP response
+         * @param sql
+         * @param parameters
+         * @param outputStream
+         * @param databaseType
+         * @param datasourceName
+         */
+        function executeToStream(sql: string, parameters, outputStream, databaseType?, datasourceName?);
+        /**
+         * Executes a SQL query and opens a cursor over the result, which is closed when read to the end or on close()
+         * @param sql
+         * @param parameters
+         * @param databaseType
+         * @param datasourceName
+         * @param fetchSize
+         */
+        function openCursor(sql: string, parameters?, databaseType?, datasourceName?, fetchSize?): Cursor;
+    }
+    interface Cursor {
+        /**
+         * Returns the next records, an empty array when the cursor is exhausted
+         * @param count
+         */
+        next(count?: number): any[];
+
+        isClosed(): boolean;
+
+        close();
     }
     module sequence {
         /**
@@ -121,6 +150,15 @@ declare module "@dirigible/db" {
          * @param datasourceName
          */
         function execute(sql, parameters?, databaseType?, datasourceName?):number;
+        /**
+         * Executes a SQL update with each of the provided parameters arrays in batches, each batch in its own transaction, and returns the update counts and the generated keys of an insert
+         * @param sql
+         * @param parametersArray
+         * @param databaseType
+         * @param datasourceName
+         * @param batchSize
+         */
+        function executeBatch(sql, parametersArray, databaseType?, datasourceName?, batchSize?):{updateCounts: number[], generatedKeys?: any[]};
     }
 
     interface DAO {
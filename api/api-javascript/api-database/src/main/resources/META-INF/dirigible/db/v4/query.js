@@ -28,3 +28,34 @@ exports.execute = function(sql, parameters, databaseType, datasourceName) {
 	}
 	return resultset;
 };
+
+exports.executeToStream = function(sql, parameters, outputStream, databaseType, datasourceName) {
+	const params = parameters ? JSON.stringify(parameters) : null;
+	org.eclipse.dirigible.api.v3.db.DatabaseFacade.query(sql,params,databaseType,datasourceName,outputStream.native);
+};
+
+exports.openCursor = function(sql, parameters, databaseType, datasourceName, fetchSize) {
+	const params = parameters ? JSON.stringify(parameters) : null;
+	const cursor = new Cursor();
+	cursor.native = org.eclipse.dirigible.api.v3.db.DatabaseFacade.openCursor(sql,params,databaseType,datasourceName,fetchSize ? fetchSize : 0);
+	return cursor;
+};
+
+/**
+ * Cursor object
+ */
+function Cursor() {
+
+	this.next = function(count) {
+		return JSON.parse(this.native.next(count ? count : 100));
+	};
+
+	this.isClosed = function() {
+		return this.native.isClosed();
+	};
+
+	this.close = function() {
+		this.native.close();
+	};
+
+}
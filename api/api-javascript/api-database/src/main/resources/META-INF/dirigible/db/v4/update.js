@@ -25,3 +25,14 @@ exports.execute = function(sql, parameters, databaseType, datasourceName) {
 	}
 	return result;
 };
+
+exports.executeBatch = function(sql, parametersArray, databaseType, datasourceName, batchSize) {
+	const params = JSON.stringify(parametersArray ? parametersArray : []);
+	let result;
+	if (batchSize) {
+		result = org.eclipse.dirigible.api.v3.db.DatabaseFacade.batch(sql,params,databaseType,datasourceName,batchSize);
+	} else {
+		result = org.eclipse.dirigible.api.v3.db.DatabaseFacade.batch(sql,params,databaseType,datasourceName);
+	}
+	return JSON.parse(result);
+};
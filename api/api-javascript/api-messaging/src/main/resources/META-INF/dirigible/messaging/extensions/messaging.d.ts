@@ -11,6 +11,12 @@ declare module "@dirigible/messaging" {
          * @param message
          */
         send(message:string);
+
+        /**
+         * Send a batch of messages to this Message Queue in a single transaction
+         * @param messages
+         */
+        sendBatch(messages:string[]);
     }
 
     interface Topic {
@@ -25,6 +31,12 @@ declare module "@dirigible/messaging" {
          * @param message
          */
         send(message:string);
+
+        /**
+         * Send a batch of messages to this Message Topic in a single transaction
+         * @param messages
+         */
+        sendBatch(messages:string[]);
     }
 
     module consumer {
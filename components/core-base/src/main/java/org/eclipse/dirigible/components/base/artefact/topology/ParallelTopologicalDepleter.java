@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.components.base.artefact.topology;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * The Class ParallelTopologicalDepleter.
+ * <p>
+ * The depletables are split into levels by their dependencies, following the order of the given list. The depletables
+ * of a level do not depend on each other, so they are completed concurrently, after the whole previous level. The
+ * depletables of the same group, e.g. using the same data source, are limited to a number of concurrent completions.
+ *
+ * @param <T> the generic type
+ */
+public class ParallelTopologicalDepleter<T extends TopologicallyDepletable & TopologicallySortable> extends TopologicalDepleter<T> {
+	
+	/** The executor. */
+	private final ExecutorService executor;
+	
+	/** The function returning the group of a depletable, or null for none. */
+	private final Function<T, String> groupFunction;
+	
+	/** The max number of concurrent completions per group. */
+	private final int groupLimit;
+	
+	/** The permits by group. */
+	private final Map<String, Semaphore> groups = new ConcurrentHashMap<>();
+	
+	/**
+	 * Instantiates a new parallel topological depleter.
+	 *
+	 * @param executor the executor
+	 * @param groupFunction the group function
+	 * @param groupLimit the group limit
+	 */
+	public ParallelTopologicalDepleter(ExecutorService executor, Function<T, String> groupFunction, int groupLimit) {
+		this.executor = executor;
+		this.groupFunction = groupFunction;
+		this.groupLimit = groupLimit;
+	}
+	
+	/**
+	 * Deplete.
+	 *
+	 * @param list the list
+	 * @param flow the flow
+	 * @return the list
+	 */
+	@Override
+	public List<T> deplete(List<T> list, String flow) {
+		List<List<T>> levels = getLevels(list);
+		Set<T> depletables = Collections.newSetFromMap(new IdentityHashMap<>());
+		depletables.addAll(list);
+		int count = depletables.size();
+		boolean repeat = true;
+		do {
+			for (List<T> level : levels) {
+				List<T> pending = new ArrayList<>();
+				for (T depletable : level) {
+					if (depletables.contains(depletable)) {
+						pending.add(depletable);
+					}
+				}
+				depletables.removeAll(completeLevel(pending, flow));
+			}
+			repeat = count > depletables.size();
+			count = depletables.size();
+		} while (repeat);
+		List<T> results = new ArrayList<>();
+		for (T depletable : list) {
+			if (depletables.contains(depletable)) {
+				results.add(depletable);
+			}
+		}
+		return results;
+	}
+	
+	/**
+	 * Gets the levels. Of two dependent depletables, the one coming first in the list is in a lower level.
+	 *
+	 * @param list the list
+	 * @return the levels
+	 */
+	List<List<T>> getLevels(List<T> list) {
+		Map<String, Integer> positions = new HashMap<>();
+		for (int i = 0; i < list.size(); i++) {
+			positions.put(list.get(i).getId(), i);
+		}
+		List<List<Integer>> predecessors = new ArrayList<>();
+		for (int i = 0; i < list.size(); i++) {
+			predecessors.add(new ArrayList<>());
+		}
+		for (int i = 0; i < list.size(); i++) {
+			for (TopologicallySortable dependency : list.get(i).getDependencies()) {
+				Integer j = positions.get(dependency.getId());
+				if (j == null || j == i) {
+					continue;
+				}
+				if (j < i) {
+					predecessors.get(i).add(j);
+				} else {
+					predecessors.get(j).add(i);
+				}
+			}
+		}
+		int[] depths = new int[list.size()];
+		List<List<T>> levels = new ArrayList<>();
+		for (int i = 0; i < list.size(); i++) {
+			int depth = 0;
+			for (int j : predecessors.get(i)) {
+				depth = Math.max(depth, depths[j] + 1);
+			}
+			depths[i] = depth;
+			while (levels.size() <= depth) {
+				levels.add(new ArrayList<>());
+			}
+			levels.get(depth).add(list.get(i));
+		}
+		return levels;
+	}
+	
+	/**
+	 * Completes the depletables of a level.
+	 *
+	 * @param level the level
+	 * @param flow the flow
+	 * @return the completed depletables
+	 */
+	private List<T> completeLevel(List<T> level, String flow) {
+		List<T> completed = new ArrayList<>();
+		if (level.size() == 1) {
+			// nothing to run concurrently
+			if (level.get(0).complete(flow)) {
+				completed.add(level.get(0));
+			}
+			return completed;
+		}
+		List<Future<Boolean>> futures = new ArrayList<>();
+		for (T depletable : level) {
+			futures.add(executor.submit(() -> completeInGroup(depletable, flow)));
+		}
+		RuntimeException failure = null;
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				if (futures.get(i).get()) {
+					completed.add(level.get(i));
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		return completed;
+	}
+	
+	/**
+	 * Completes a depletable within the limit of its group.
+	 *
+	 * @param depletable the depletable
+	 * @param flow the flow
+	 * @return true, if successful
+	 * @throws InterruptedException the interrupted exception
+	 */
+	private boolean completeInGroup(T depletable, String flow) throws InterruptedException {
+		String group = groupFunction.apply(depletable);
+		if (group == null) {
+			return depletable.complete(flow);
+		}
+		Semaphore semaphore = groups.computeIfAbsent(group, g -> new Semaphore(groupLimit));
+		semaphore.acquire();
+		try {
+			return depletable.complete(flow);
+		} finally {
+			semaphore.release();
+		}
+	}
+
+}
@@ -80,6 +80,15 @@ public class TopologyWrapper<A extends Artefact> implements TopologicallySortabl
 	public String getId() {
 		return this.artefact.getKey();
 	}
+	
+	/**
+	 * Gets the name of the data source used to complete the artefact.
+	 *
+	 * @return the data source name, or null if no data source is used
+	 */
+	public String getDataSourceName() {
+		return synchronizer.getDataSourceName(artefact);
+	}
 
 	/**
 	 * Gets the dependencies.
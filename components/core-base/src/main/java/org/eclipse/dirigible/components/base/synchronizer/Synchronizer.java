@@ -112,4 +112,14 @@ public interface Synchronizer<A extends Artefact> {
 	 */
 	String getArtefactType();
 	
+	/**
+	 * Gets the name of the data source used to complete the artefact, so that the concurrent work on it can be limited.
+	 *
+	 * @param artefact the artefact
+	 * @return the data source name, or null if no data source is used
+	 */
+	default String getDataSourceName(A artefact) {
+		return null;
+	}
+	
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.components.base.artefact.topology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Depletes a wide topology of artefacts, which completion blocks as when executing statements on a database,
+ * with the serial {@link TopologicalDepleter} and with the {@link ParallelTopologicalDepleter}.
+ * <p>
+ * Not part of the test suite, run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelTopologicalDepleterBenchmark {
+
+	/** The Constant LEVEL_WIDTH. */
+	private static final int LEVEL_WIDTH = 32;
+
+	/** The Constant LEVELS_COUNT. */
+	private static final int LEVELS_COUNT = 3;
+
+	/** The Constant COMPLETION_MILLIS. */
+	private static final long COMPLETION_MILLIS = 2;
+
+	/** The executor. */
+	private ExecutorService executor;
+
+	/** The artefacts. */
+	private List<BlockingNode> artefacts;
+
+	/**
+	 * Sets the up.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		artefacts = new ArrayList<BlockingNode>();
+		List<BlockingNode> previous = new ArrayList<BlockingNode>();
+		for (int level = 0; level < LEVELS_COUNT; level++) {
+			List<BlockingNode> current = new ArrayList<BlockingNode>();
+			for (int i = 0; i < LEVEL_WIDTH; i++) {
+				BlockingNode node = new BlockingNode(level + "_" + i, previous.isEmpty() ? null : previous.get(i));
+				current.add(node);
+				artefacts.add(node);
+			}
+			previous = current;
+		}
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Serial depletion.
+	 *
+	 * @return the undepleted artefacts
+	 */
+	@Benchmark
+	public List<BlockingNode> serial() {
+		return new TopologicalDepleter<BlockingNode>().deplete(artefacts, "");
+	}
+
+	/**
+	 * Parallel depletion, with one group of at most four concurrent artefacts.
+	 *
+	 * @return the undepleted artefacts
+	 */
+	@Benchmark
+	public List<BlockingNode> parallel() {
+		return new ParallelTopologicalDepleter<BlockingNode>(executor, n -> "db", 4).deplete(artefacts, "");
+	}
+
+	/**
+	 * The main method.
+	 *
+	 * @param args the arguments
+	 * @throws RunnerException the runner exception
+	 */
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ParallelTopologicalDepleterBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	/**
+	 * An artefact, which completion blocks for a while.
+	 */
+	public static class BlockingNode implements TopologicallyDepletable, TopologicallySortable {
+
+		/** The id. */
+		private final String id;
+
+		/** The dependencies. */
+		private final List<TopologicallySortable> dependencies = new ArrayList<TopologicallySortable>();
+
+		/**
+		 * Instantiates a new blocking node.
+		 *
+		 * @param id the id
+		 * @param dependency the dependency, or null
+		 */
+		BlockingNode(String id, BlockingNode dependency) {
+			this.id = id;
+			if (dependency != null) {
+				dependencies.add(dependency);
+			}
+		}
+
+		/**
+		 * Gets the id.
+		 *
+		 * @return the id
+		 */
+		@Override
+		public String getId() {
+			return id;
+		}
+
+		/**
+		 * Gets the dependencies.
+		 *
+		 * @return the dependencies
+		 */
+		@Override
+		public List<TopologicallySortable> getDependencies() {
+			return dependencies;
+		}
+
+		/**
+		 * Complete.
+		 *
+		 * @param flow the flow
+		 * @return true, if successful
+		 */
+		@Override
+		public boolean complete(String flow) {
+			try {
+				Thread.sleep(COMPLETION_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.components.base.artefact.topology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ParallelTopologicalDepleterTest {
+	
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+	
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testDepleted() {
+		Tracker tracker = new Tracker();
+		DependentNode nodeA = new DependentNode("A", null, 0, tracker);
+		DependentNode nodeB = new DependentNode("B_A", "db", 0, tracker, nodeA);
+		DependentNode nodeC = new DependentNode("C_A", "db", 1, tracker, nodeA);
+		DependentNode nodeD = new DependentNode("D_A", "db", 0, tracker, nodeA);
+		DependentNode nodeE = new DependentNode("E_BC", null, 0, tracker, nodeB, nodeC);
+		DependentNode nodeF = new DependentNode("F", "db", 0, tracker);
+		
+		List<DependentNode> list = Arrays.asList(nodeA, nodeF, nodeB, nodeC, nodeD, nodeE);
+		ParallelTopologicalDepleter<DependentNode> depleter = new ParallelTopologicalDepleter<>(executor, n -> n.group, 2);
+		
+		List<List<DependentNode>> levels = depleter.getLevels(list);
+		assertEquals(Arrays.asList(Arrays.asList(nodeA, nodeF), Arrays.asList(nodeB, nodeC, nodeD), Arrays.asList(nodeE)), levels);
+		
+		List<DependentNode> results = depleter.deplete(list, "");
+		assertEquals(0, results.size());
+		List<String> completed = new ArrayList<>(tracker.completed);
+		assertTrue(completed.indexOf("A") < completed.indexOf("B_A"));
+		assertTrue(completed.indexOf("A") < completed.indexOf("C_A"));
+		assertTrue(completed.indexOf("B_A") < completed.indexOf("E_BC"));
+		assertTrue(tracker.maxConcurrent.get() <= 2);
+	}
+	
+	@Test
+	public void testReversed() {
+		Tracker tracker = new Tracker();
+		DependentNode nodeA = new DependentNode("A", null, 0, tracker);
+		DependentNode nodeB = new DependentNode("B_A", null, 0, tracker, nodeA);
+		DependentNode nodeC = new DependentNode("C_B", null, 0, tracker, nodeB);
+		
+		// the dependents first, as when dropping
+		List<DependentNode> list = Arrays.asList(nodeC, nodeB, nodeA);
+		ParallelTopologicalDepleter<DependentNode> depleter = new ParallelTopologicalDepleter<>(executor, n -> n.group, 2);
+		
+		assertEquals(3, depleter.getLevels(list).size());
+		assertEquals(0, depleter.deplete(list, "").size());
+		assertEquals(Arrays.asList("C_B", "B_A", "A"), new ArrayList<>(tracker.completed));
+	}
+	
+	@Test
+	public void testNotDepleted() {
+		Tracker tracker = new Tracker();
+		DependentNode nodeA = new DependentNode("A", null, 0, tracker);
+		DependentNode nodeB = new DependentNode("B_A", null, 8, tracker, nodeA);
+		DependentNode nodeC = new DependentNode("C_A", null, 1, tracker, nodeA);
+		
+		List<DependentNode> list = Arrays.asList(nodeA, nodeB, nodeC);
+		ParallelTopologicalDepleter<DependentNode> depleter = new ParallelTopologicalDepleter<>(executor, n -> n.group, 2);
+		
+		List<DependentNode> results = depleter.deplete(list, "");
+		assertEquals(Arrays.asList(nodeB), results);
+	}
+	
+	public static class Tracker {
+		
+		public final ConcurrentLinkedQueue<String> completed = new ConcurrentLinkedQueue<>();
+		
+		public final AtomicInteger concurrent = new AtomicInteger();
+		
+		public final AtomicInteger maxConcurrent = new AtomicInteger();
+		
+	}
+	
+	public static class DependentNode implements TopologicallyDepletable, TopologicallySortable {
+		
+		public String id;
+		
+		public String group;
+		
+		int completable;
+		
+		Tracker tracker;
+		
+		public List<TopologicallySortable> dependencies;
+		
+		public DependentNode(String id, String group, int completable, Tracker tracker, TopologicallySortable ... dependencies) {
+			this.id = id;
+			this.group = group;
+			this.completable = completable;
+			this.tracker = tracker;
+			this.dependencies = Arrays.asList(dependencies);
+		}
+
+		@Override
+		public String getId() {
+			return this.id;
+		}
+		
+		@Override
+		public List<TopologicallySortable> getDependencies() {
+			return this.dependencies;
+		}
+
+		@Override
+		public boolean complete(String flow) {
+			if (completable > 0) {
+				--completable;
+				return false;
+			}
+			if (group != null) {
+				int concurrent = tracker.concurrent.incrementAndGet();
+				tracker.maxConcurrent.accumulateAndGet(concurrent, Math::max);
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (group != null) {
+				tracker.concurrent.decrementAndGet();
+			}
+			tracker.completed.add(id);
+			return true;
+		}
+		
+	}
+
+}
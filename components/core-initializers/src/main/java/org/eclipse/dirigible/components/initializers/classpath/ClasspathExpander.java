@@ -16,15 +16,19 @@ import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 import org.apache.commons.io.IOUtils;
+import org.eclipse.dirigible.components.initializers.synchronizer.SynchronizationChangeEvent;
 import org.eclipse.dirigible.repository.api.IRepository;
 import org.eclipse.dirigible.repository.api.IRepositoryStructure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -35,9 +39,13 @@ public class ClasspathExpander {
 	
 	private IRepository repository;
 	
+	/** The event publisher. */
+	private ApplicationEventPublisher eventPublisher;
+	
 	@Autowired
-	public ClasspathExpander(IRepository repository) {
+	public ClasspathExpander(IRepository repository, ApplicationEventPublisher eventPublisher) {
 		this.repository = repository;
+		this.eventPublisher = eventPublisher;
 	}
 	
 	public void expandContent() {
@@ -46,8 +54,20 @@ public class ClasspathExpander {
 	}
 	
 	public void expandContent(String ROOT) {
+		expandContent(ClasspathContentInitializer.class.getClassLoader(), ROOT);
+	}
+	
+	/**
+	 * Expands the content found under the root in the jars of the class loader into the registry and publishes a
+	 * {@link SynchronizationChangeEvent} for each of the changed top level folders.
+	 *
+	 * @param classLoader the class loader
+	 * @param ROOT the root
+	 */
+	void expandContent(ClassLoader classLoader, String ROOT) {
+		Set<String> changed = new HashSet<>();
 		try {
-			Enumeration<URL> urls = ClasspathContentInitializer.class.getClassLoader().getResources("META-INF");
+			Enumeration<URL> urls = classLoader.getResources("META-INF");
 			while (urls.hasMoreElements()) {
 				URL url = urls.nextElement();
 				URLConnection urlConnection = url.openConnection();
@@ -63,6 +83,7 @@ public class ClasspathExpander {
 									byte[] content = IOUtils.toByteArray(jar.getInputStream(entry));
 									String registryPath = entry.getName().substring(ROOT.length());
 									repository.createResource(IRepositoryStructure.PATH_REGISTRY_PUBLIC + IRepository.SEPARATOR + registryPath, content);
+									changed.add(getTopLevelLocation(registryPath));
 								}
 							}
 						}
@@ -71,7 +92,23 @@ public class ClasspathExpander {
 			}
 		} catch (IOException e) {
 			throw new RuntimeException(e);
+		} finally {
+			for (String location : changed) {
+				eventPublisher.publishEvent(new SynchronizationChangeEvent(this, location));
+			}
 		}
 	}
+	
+	/**
+	 * Gets the location of the top level folder of a path in the registry.
+	 *
+	 * @param registryPath the registry path
+	 * @return the location
+	 */
+	private String getTopLevelLocation(String registryPath) {
+		String path = registryPath.startsWith(IRepository.SEPARATOR) ? registryPath.substring(1) : registryPath;
+		int index = path.indexOf(IRepository.SEPARATOR);
+		return IRepository.SEPARATOR + (index > 0 ? path.substring(0, index) : path);
+	}
 
 }
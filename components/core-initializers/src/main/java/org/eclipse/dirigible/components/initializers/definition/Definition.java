@@ -150,6 +150,13 @@ public class Definition extends Artefact {
 	public byte[] getContent() {
 		return content;
 	}
+	
+	/**
+	 * @param content the content to set
+	 */
+	public void setContent(byte[] content) {
+		this.content = content;
+	}
 
 	@Override
 	public String toString() {
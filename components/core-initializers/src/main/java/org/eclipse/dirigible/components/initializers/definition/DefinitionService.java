@@ -11,6 +11,7 @@
  */
 package org.eclipse.dirigible.components.initializers.definition;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +36,11 @@ public class DefinitionService {
 		return definitionRepository.findAll(pageable);
 	}
 	
+	@Transactional(readOnly = true)
+	public List<Definition> getAll() {
+		return definitionRepository.findAll();
+	}
+	
 	@Transactional(readOnly = true)
 	public Definition findById(Long id) {
 		Optional<Definition> definition = definitionRepository.findById(id);
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.components.initializers.synchronizer;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * The event published when a location in the registry has been changed, e.g. by publishing a project.
+ */
+public class SynchronizationChangeEvent extends ApplicationEvent {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** The location. */
+	private final String location;
+
+	/**
+	 * Instantiates a new synchronization change event.
+	 *
+	 * @param source the source
+	 * @param location the changed location in the registry, or null if the whole registry has been changed
+	 */
+	public SynchronizationChangeEvent(Object source, String location) {
+		super(source);
+		this.location = location;
+	}
+
+	/**
+	 * Gets the location.
+	 *
+	 * @return the location, or null if the whole registry has been changed
+	 */
+	public String getLocation() {
+		return location;
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.components.initializers.synchronizer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PreDestroy;
+
+import org.eclipse.dirigible.repository.api.IRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * The journal of the changes in the registry, collected by a file system watch service and by the published
+ * {@link SynchronizationChangeEvent}s.
+ * <p>
+ * The synchronization drains the journal on each run and checks only the changed locations. A full scan is requested,
+ * when the journal is started, when the watch service overflows or is not available, and when a change event without a
+ * location is published.
+ */
+@Component
+public class SynchronizationJournal {
+
+	/** The Constant logger. */
+	private static final Logger logger = LoggerFactory.getLogger(SynchronizationJournal.class);
+
+	/** The root. */
+	private Path root;
+
+	/** The watch service. */
+	private WatchService watchService;
+
+	/** The watched directories. */
+	private final Map<WatchKey, Path> directories = new HashMap<>();
+
+	/** The changed locations. */
+	private final Set<String> changes = new HashSet<>();
+
+	/** Whether a full scan is required. */
+	private boolean fullScanRequired = true;
+
+	/**
+	 * Starts watching the registry folder, if not already watched.
+	 *
+	 * @param registryFolder the registry folder
+	 */
+	public synchronized void start(String registryFolder) {
+		Path folder = Paths.get(registryFolder);
+		if (watchService != null && folder.equals(root)) {
+			return;
+		}
+		stop();
+		root = folder;
+		fullScanRequired = true;
+		try {
+			watchService = root.getFileSystem().newWatchService();
+			registerAll(root);
+		} catch (IOException | UnsupportedOperationException e) {
+			if (logger.isWarnEnabled()) {logger.warn("The registry cannot be watched for changes, it will be scanned on each synchronization: " + e.getMessage());}
+			stop();
+		}
+	}
+
+	/**
+	 * Stops watching the registry folder.
+	 */
+	@PreDestroy
+	public synchronized void stop() {
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				if (logger.isDebugEnabled()) {logger.debug("Closing the registry watch service failed", e);}
+			}
+			watchService = null;
+		}
+		directories.clear();
+	}
+
+	/**
+	 * Registers a changed location.
+	 *
+	 * @param event the event
+	 */
+	@EventListener
+	public synchronized void onChange(SynchronizationChangeEvent event) {
+		if (event.getLocation() == null) {
+			fullScanRequired = true;
+		} else {
+			changes.add(event.getLocation());
+		}
+	}
+
+	/**
+	 * Requests a full scan of the registry on the next synchronization.
+	 */
+	public synchronized void requestFullScan() {
+		fullScanRequired = true;
+	}
+
+	/**
+	 * Drains the journal.
+	 *
+	 * @return the changed locations, or null if a full scan is required
+	 */
+	public synchronized Set<String> drain() {
+		if (watchService == null) {
+			fullScanRequired = true;
+		} else {
+			pollEvents();
+		}
+		if (fullScanRequired) {
+			fullScanRequired = false;
+			changes.clear();
+			return null;
+		}
+		Set<String> drained = new HashSet<>(changes);
+		changes.clear();
+		return drained;
+	}
+
+	/**
+	 * Polls the pending events of the watch service.
+	 */
+	private void pollEvents() {
+		WatchKey key;
+		while ((key = watchService.poll()) != null) {
+			Path directory = directories.get(key);
+			for (WatchEvent<?> event : key.pollEvents()) {
+				onEvent(directory, event.kind(), (Path) event.context());
+			}
+			if (!key.reset()) {
+				directories.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Registers an event of the watch service.
+	 *
+	 * @param directory the watched directory, or null if it is no longer known
+	 * @param kind the kind
+	 * @param context the changed path relative to the directory
+	 */
+	synchronized void onEvent(Path directory, WatchEvent.Kind<?> kind, Path context) {
+		if (kind == OVERFLOW || directory == null) {
+			fullScanRequired = true;
+			return;
+		}
+		Path path = directory.resolve(context);
+		if (kind == ENTRY_CREATE && Files.isDirectory(path)) {
+			try {
+				registerAll(path);
+			} catch (IOException e) {
+				fullScanRequired = true;
+			}
+		}
+		changes.add(toLocation(path));
+	}
+
+	/**
+	 * Registers a directory and its sub-directories.
+	 *
+	 * @param start the start
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void registerAll(Path start) throws IOException {
+		Files.walkFileTree(start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				directories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Converts a path in the registry to a location.
+	 *
+	 * @param path the path
+	 * @return the location
+	 */
+	private String toLocation(Path path) {
+		return IRepository.SEPARATOR + root.relativize(path).toString().replace(File.separator, IRepository.SEPARATOR);
+	}
+
+}
@@ -15,18 +15,28 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.io.FilenameUtils;
+import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.components.base.artefact.Artefact;
 import org.eclipse.dirigible.components.base.artefact.ArtefactLifecycle;
 import org.eclipse.dirigible.components.base.artefact.ArtefactState;
+import org.eclipse.dirigible.components.base.artefact.topology.ParallelTopologicalDepleter;
 import org.eclipse.dirigible.components.base.artefact.topology.TopologicalDepleter;
 import org.eclipse.dirigible.components.base.artefact.topology.TopologicalSorter;
 import org.eclipse.dirigible.components.base.artefact.topology.TopologyFactory;
@@ -52,6 +62,15 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 	/** The Constant logger. */
 	private static final Logger logger = LoggerFactory.getLogger(SynchronizationProcessor.class);
 	
+	/** The Constant DIRIGIBLE_SYNCHRONIZER_INCREMENTAL. */
+	private static final String DIRIGIBLE_SYNCHRONIZER_INCREMENTAL = "DIRIGIBLE_SYNCHRONIZER_INCREMENTAL";
+	
+	/** The Constant DIRIGIBLE_SYNCHRONIZER_PARALLELISM. */
+	private static final String DIRIGIBLE_SYNCHRONIZER_PARALLELISM = "DIRIGIBLE_SYNCHRONIZER_PARALLELISM";
+	
+	/** The Constant DIRIGIBLE_SYNCHRONIZER_DATASOURCE_PARALLELISM. */
+	private static final String DIRIGIBLE_SYNCHRONIZER_DATASOURCE_PARALLELISM = "DIRIGIBLE_SYNCHRONIZER_DATASOURCE_PARALLELISM";
+	
 	/** The definitions. */
 	private Map<Synchronizer<Artefact>, Map<String, Definition>> definitions = new HashMap<>();
 	
@@ -70,18 +89,42 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 	/** The definition service. */
 	private DefinitionService definitionService;
 	
+	/** The journal of the registry changes. */
+	private final SynchronizationJournal journal;
+	
+	/** The known definitions by location, loaded at once on a full scan and updated on save. */
+	private Map<String, Definition> knownDefinitions;
+	
+	/** The last modified time and the size of the checked files by location. */
+	private final Map<String, FileState> fileStates = new HashMap<>();
+	
+	/** The locations visited by the current run. */
+	private final Set<String> visited = new HashSet<>();
+	
+	/** The locations reported as changed by the journal for the current run, which are checked regardless of their file state. */
+	private Set<String> reported = Collections.emptySet();
+	
+	/** Whether removed artefacts have to be cleaned up. */
+	private boolean cleanupRequired;
+	
+	/** The executor of the artefacts in the same topology level. */
+	private ExecutorService executor;
+	
 	/**
 	 * Instantiates a new synchronization processor.
 	 *
 	 * @param repository the repository
 	 * @param synchronizers the synchronizers
 	 * @param definitionService the definition service
+	 * @param journal the journal
 	 */
 	@Autowired
-	public SynchronizationProcessor(IRepository repository, List<Synchronizer<Artefact>> synchronizers, DefinitionService definitionService) {
+	public SynchronizationProcessor(IRepository repository, List<Synchronizer<Artefact>> synchronizers, DefinitionService definitionService,
+			SynchronizationJournal journal) {
 		this.repository = repository;
 		this.synchronizers = synchronizers;
 		this.definitionService = definitionService;
+		this.journal = journal;
 		this.synchronizers.forEach(s -> s.setCallback(this));
 	}
 	
@@ -100,6 +143,7 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 		if (logger.isDebugEnabled()) {logger.debug("Collecting files...");}
 		// collect definitions for processing
 		collectFiles();
+		collectPendingDefinitions();
 		
 		if (logger.isDebugEnabled()) {logger.debug("Collecting files done. {} known types of definitions collected - {}.", synchronizers.size(),
 				synchronizers.stream().map(Synchronizer::getArtefactType).collect(Collectors.toList()));}
@@ -110,7 +154,7 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 		if (logger.isDebugEnabled()) {logger.debug("Loading definitions done. {} artefacts parsed. ", artefacts.size());}
 		
 		TopologicalSorter<TopologyWrapper<? extends Artefact>> sorter = new TopologicalSorter<>();
-		TopologicalDepleter<TopologyWrapper<? extends Artefact>> depleter = new TopologicalDepleter<>();
+		TopologicalDepleter<TopologyWrapper<? extends Artefact>> depleter = createDepleter();
 		
 		List<TopologyWrapper<? extends Artefact>> wrappers = TopologyFactory.wrap(artefacts, synchronizers);
 		
@@ -143,8 +187,8 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 		if (logger.isDebugEnabled()) {logger.debug("Processing of artefacts done.");}
 		
 		if (logger.isDebugEnabled()) {logger.debug("Cleaning up removed artefacts...");}
-		// cleanup
-		for (Synchronizer<Artefact> synchronizer : synchronizers) {
+		// cleanup, only if files might have been removed
+		for (Synchronizer<Artefact> synchronizer : cleanupRequired ? synchronizers : Collections.<Synchronizer<Artefact>>emptyList()) {
 			List<? extends Artefact> registered = synchronizer.getService().getAll();
 			for (Artefact artefact : registered) {
 				if (synchronizer.isAccepted(artefact.getType())) {
@@ -166,28 +210,151 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 		artefacts.clear();
 	}
 
+	/**
+	 * Creates the depleter, which completes the independent artefacts concurrently, unless the parallelism is 1.
+	 *
+	 * @return the topological depleter
+	 */
+	private TopologicalDepleter<TopologyWrapper<? extends Artefact>> createDepleter() {
+		int parallelism = Integer.parseInt(Configuration.get(DIRIGIBLE_SYNCHRONIZER_PARALLELISM,
+				String.valueOf(Runtime.getRuntime().availableProcessors())));
+		if (parallelism <= 1) {
+			return new TopologicalDepleter<>();
+		}
+		int dataSourceParallelism = Integer.parseInt(Configuration.get(DIRIGIBLE_SYNCHRONIZER_DATASOURCE_PARALLELISM, "4"));
+		synchronized (this) {
+			if (executor == null) {
+				AtomicInteger threads = new AtomicInteger();
+				executor = Executors.newFixedThreadPool(parallelism, r -> {
+					Thread thread = new Thread(r, "dirigible-synchronizer-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+		}
+		return new ParallelTopologicalDepleter<TopologyWrapper<? extends Artefact>>(executor, TopologyWrapper::getDataSourceName, dataSourceParallelism);
+	}
+	
+	/**
+	 * Shuts down the executor.
+	 */
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
 	private void prepare() {
 		errors.clear();
 		definitions.clear();
 		artefacts.clear();
+		visited.clear();
+		reported = Collections.emptySet();
+		cleanupRequired = false;
 	}
 
 	/**
-	 * Collect files.
-	 *
-	 * @param errorCallback the error callback
+	 * Collect files. Only the locations reported by the journal are checked, unless a full scan is required.
 	 */
 	private void collectFiles() {
 		String registryFolder = getRegistryFolder();
+		if (!Boolean.parseBoolean(Configuration.get(DIRIGIBLE_SYNCHRONIZER_INCREMENTAL, Boolean.TRUE.toString()))) {
+			journal.requestFullScan();
+		}
+		journal.start(registryFolder);
+		Set<String> changes = journal.drain();
 		SynchronizationWalker synchronizationWalker = new SynchronizationWalker(this);
 		try {
-			synchronizationWalker.walk(registryFolder);
+			if (changes == null) {
+				if (logger.isDebugEnabled()) {logger.debug("Scanning the whole registry...");}
+				knownDefinitions = null;
+				synchronizationWalker.walk(registryFolder);
+				// forget the removed files
+				fileStates.keySet().retainAll(visited);
+				cleanupRequired = true;
+			} else {
+				if (logger.isDebugEnabled()) {logger.debug("Checking {} changed locations in the registry...", changes.size());}
+				reported = changes;
+				for (String location : changes) {
+					Path path = Paths.get(registryFolder, location);
+					if (Files.isDirectory(path)) {
+						synchronizationWalker.walk(registryFolder, path);
+					} else if (Files.exists(path)) {
+						visitFile(path, Files.readAttributes(path, BasicFileAttributes.class), location);
+					} else {
+						fileStates.keySet().removeIf(e -> e.equals(location) || e.startsWith(location + IRepository.SEPARATOR));
+						cleanupRequired = true;
+					}
+				}
+			}
 		} catch (IOException e) {
 			logger.error(e.getMessage(), e);
 			addError(e.getMessage());
 		}
 	}
 	
+	/**
+	 * Collect the definitions, which are still pending from a previous run.
+	 */
+	private void collectPendingDefinitions() {
+		String registryFolder = getRegistryFolder();
+		for (Definition definition : getKnownDefinitions().values()) {
+			if (!ArtefactLifecycle.CREATED.toString().equals(definition.getState())
+					&& !ArtefactLifecycle.MODIFIED.toString().equals(definition.getState())) {
+				continue;
+			}
+			if (definitions.values().stream().anyMatch(e -> e.containsKey(definition.getKey()))) {
+				continue;
+			}
+			Path file = Paths.get(registryFolder, definition.getLocation());
+			if (!Files.isRegularFile(file)) {
+				continue;
+			}
+			try {
+				BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+				for (Synchronizer<Artefact> synchronizer : synchronizers) {
+					if (synchronizer.isAccepted(file, attrs)) {
+						// pending from a previous run, add again for processing
+						definition.setContent(Files.readAllBytes(file));
+						definitions.get(synchronizer).put(definition.getKey(), definition);
+						break;
+					}
+				}
+			} catch (IOException e) {
+				logger.error(e.getMessage(), e);
+			}
+		}
+	}
+	
+	/**
+	 * Gets the known definitions, loading them at once if needed.
+	 *
+	 * @return the known definitions by location
+	 */
+	private Map<String, Definition> getKnownDefinitions() {
+		if (knownDefinitions == null) {
+			knownDefinitions = new HashMap<>();
+			for (Definition definition : definitionService.getAll()) {
+				knownDefinitions.put(definition.getLocation(), definition);
+			}
+		}
+		return knownDefinitions;
+	}
+	
+	/**
+	 * Saves a definition and updates the known definitions.
+	 *
+	 * @param definition the definition
+	 */
+	private void saveDefinition(Definition definition) {
+		definitionService.save(definition);
+		if (knownDefinitions != null) {
+			knownDefinitions.put(definition.getLocation(), definition);
+		}
+	}
+	
 	/**
 	 * Load definitions.
 	 *
@@ -225,6 +392,7 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 	 */
 	@Override
 	public void visitFile(Path file, BasicFileAttributes attrs, String location) {
+		visited.add(location);
 		checkFile(file, attrs, location);
 	}
 
@@ -240,7 +408,7 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 			if (synchronizer.isAccepted(file, attrs)) {
 				// synchronizer knows this artefact, hence check whether to process it or not
 				try {
-					checkAndCollect(file, location, synchronizer);
+					checkAndCollect(file, attrs, location, synchronizer);
 				} catch (IOException e) {
 					logger.error(e.getMessage(), e);
 				}
@@ -250,17 +418,24 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 	}
 
 	/**
-	 * Collect for processing, if new or modified.
+	 * Collect for processing, if new or modified. The files, which last modified time and size did not change since
+	 * they were checked, are not read again, unless the journal reported them as changed, since an edit may keep both.
 	 *
 	 * @param file the file
+	 * @param attrs the attrs
 	 * @param location the location
 	 * @param synchronizer the synchronizer
 	 * @throws IOException Signals that an I/O exception has occurred.
 	 * @throws FileNotFoundException the file not found exception
 	 */
-	private void checkAndCollect(Path file, String location, Synchronizer<Artefact> synchronizer)
+	private void checkAndCollect(Path file, BasicFileAttributes attrs, String location, Synchronizer<Artefact> synchronizer)
 			throws IOException, FileNotFoundException {
 		
+		FileState fileState = new FileState(attrs.lastModifiedTime().toMillis(), attrs.size());
+		if (!isReported(location) && fileState.equals(fileStates.get(location))) {
+			return;
+		}
+		
 		String type = "definition";
 		if (location.indexOf('.') > 0) {
 			// generate the type by the file extension
@@ -268,23 +443,26 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 		}
 		// load the content to calculate the checksum
 		byte[] content = Files.readAllBytes(file);
+		fileStates.put(location, fileState);
 		Definition definition = new Definition(location, FilenameUtils.getBaseName(file.getFileName().toString()), type, content);
 		// check whether this artefact has been processed in the past already
-		Definition maybe = definitionService.findByKey(definition.getKey());
-		if (maybe != null) {
+		Definition maybe = getKnownDefinitions().get(location);
+		if (maybe != null && maybe.getKey().equals(definition.getKey())) {
 			// artefact has been processed in the past
 			if (!maybe.getChecksum().equals(definition.getChecksum())) {
 				// the content has been modified since the last processing
 				maybe.setChecksum(definition.getChecksum());
 				maybe.setState(ArtefactLifecycle.MODIFIED.toString());
 				// update the artefact with the new checksum and status
-				definitionService.save(maybe);
+				saveDefinition(maybe);
+				maybe.setContent(content);
 				// added to artefacts for processing
 				definitions.get(synchronizer).put(maybe.getKey(), maybe);
 			} else if (maybe.getState().equals(ArtefactLifecycle.CREATED.toString())
 					|| maybe.getState().equals(ArtefactLifecycle.MODIFIED.toString())) {
 				// pending from a previous run, add again for processing
 				if (definitions.get(synchronizer).get(maybe.getKey()) == null) {
+					maybe.setContent(content);
 					definitions.get(synchronizer).put(maybe.getKey(), maybe);
 				}
 			} else if (maybe.getState().equals(ArtefactLifecycle.FAILED.toString())) {
@@ -294,11 +472,26 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 		} else {
 			// artefact is new, hence stored for processing
 			definition.setState(ArtefactLifecycle.CREATED.toString());
-			definitionService.save(definition);
+			saveDefinition(definition);
 			definitions.get(synchronizer).put(definition.getKey(), definition);
 		}
 	}
 	
+	/**
+	 * Checks whether the location or one of its folders has been reported as changed by the journal.
+	 *
+	 * @param location the location
+	 * @return true, if reported
+	 */
+	private boolean isReported(String location) {
+		for (String current = location; !current.isEmpty(); current = current.substring(0, Math.max(current.lastIndexOf(IRepository.SEPARATOR), 0))) {
+			if (reported.contains(current)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	/**
 	 * Sets the definition state.
 	 *
@@ -306,15 +499,15 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 	 * @param state the state
 	 * @param message the message
 	 */
-	public void setDefinitionState(Artefact artefact, ArtefactState state, String message) {
-		Definition definition = definitionService.findByLocation(artefact.getLocation());
+	public synchronized void setDefinitionState(Artefact artefact, ArtefactState state, String message) {
+		Definition definition = getKnownDefinitions().get(artefact.getLocation());
 		if (definition == null) {
 			logger.warn("Definition with location: {} does not exist, but should be.", artefact.getLocation());
 			definition = new Definition(artefact.getLocation(), artefact.getName(), artefact.getType(), new byte[] {});
 		}
 		definition.setState(state.toString());
 		definition.setMessage(message);
-		definitionService.save(definition);
+		saveDefinition(definition);
 	}
 	
 	/**
@@ -323,7 +516,7 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 	 * @param error the error
 	 */
 	@Override
-	public void addError(String error) {
+	public synchronized void addError(String error) {
 		this.errors.add(error);
 	}
 	
@@ -346,7 +539,7 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 	 * @param state the state
 	 */
 	@Override
-	public void registerErrors(Synchronizer<? extends Artefact> synchronizer, List<TopologyWrapper<? extends Artefact>> remained, 
+	public synchronized void registerErrors(Synchronizer<? extends Artefact> synchronizer, List<TopologyWrapper<? extends Artefact>> remained, 
 			String lifecycle, ArtefactState state) {
 		if (remained.size() > 0) {
 			for (TopologyWrapper<? extends Artefact> wrapper : remained) {
@@ -386,5 +579,53 @@ public class SynchronizationProcessor implements SynchronizationWalkerCallback,
 		if (logger.isDebugEnabled()) {logger.debug("Processed artefact with key: {} for state: {}", artefact.getKey(), state.toString());}
 		setDefinitionState(artefact, state, "");
 	}
+	
+	/**
+	 * The last modified time and the size of a checked file.
+	 */
+	private static final class FileState {
+		
+		/** The last modified. */
+		private final long lastModified;
+		
+		/** The size. */
+		private final long size;
+		
+		/**
+		 * Instantiates a new file state.
+		 *
+		 * @param lastModified the last modified
+		 * @param size the size
+		 */
+		FileState(long lastModified, long size) {
+			this.lastModified = lastModified;
+			this.size = size;
+		}
+		
+		/**
+		 * Equals.
+		 *
+		 * @param obj the obj
+		 * @return true, if successful
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FileState)) {
+				return false;
+			}
+			FileState other = (FileState) obj;
+			return lastModified == other.lastModified && size == other.size;
+		}
+		
+		/**
+		 * Hash code.
+		 *
+		 * @return the int
+		 */
+		@Override
+		public int hashCode() {
+			return Long.hashCode(lastModified) * 31 + Long.hashCode(size);
+		}
+	}
 
 }
@@ -56,8 +56,19 @@ public class SynchronizationWalker {
 	 * @throws IOException Signals that an I/O exception has occurred.
 	 */
 	public void walk(String root) throws IOException {
+		walk(root, Paths.get(root));
+	}
+
+	/**
+	 * Walk a folder of the root, the locations of the files are relative to the root.
+	 *
+	 * @param root the root
+	 * @param folder the folder
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public void walk(String root, Path folder) throws IOException {
 		EnumSet<FileVisitOption> opts = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
-		Files.walkFileTree(Paths.get(root), opts, Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+		Files.walkFileTree(folder, opts, Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
            
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
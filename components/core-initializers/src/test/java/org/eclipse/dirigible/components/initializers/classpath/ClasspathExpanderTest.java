@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.components.initializers.classpath;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.dirigible.components.initializers.synchronizer.SynchronizationJournal;
+import org.eclipse.dirigible.repository.api.IRepository;
+import org.eclipse.dirigible.repository.local.LocalRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * The Class ClasspathExpanderTest.
+ */
+public class ClasspathExpanderTest {
+
+	/** The temporary folder. */
+	private Path folder;
+
+	/** The context. */
+	private AnnotationConfigApplicationContext context;
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		folder = Files.createTempDirectory("expander");
+		LocalRepository repository = new LocalRepository(folder.resolve("repository").toString(), true);
+		context = new AnnotationConfigApplicationContext();
+		context.registerBean(IRepository.class, () -> repository);
+		context.register(SynchronizationJournal.class, ClasspathExpander.class);
+		context.refresh();
+	}
+
+	/**
+	 * Tear down.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		context.close();
+		FileUtils.deleteDirectory(folder.toFile());
+	}
+
+	/**
+	 * The expanded projects are reported to the journal by the published change events.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testChangesPublished() throws IOException {
+		Path jar = folder.resolve("content.jar");
+		try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+			output.putNextEntry(new JarEntry("META-INF/"));
+			output.closeEntry();
+			addEntry(output, "META-INF/dirigible/project/a.test");
+			addEntry(output, "META-INF/dirigible/project/folder/b.test");
+			addEntry(output, "META-INF/dirigible/other/c.test");
+		}
+
+		// the journal watches an unrelated folder, so only the published events reach it
+		SynchronizationJournal journal = context.getBean(SynchronizationJournal.class);
+		journal.start(Files.createDirectory(folder.resolve("watched")).toString());
+		assertNull(journal.drain());
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+			context.getBean(ClasspathExpander.class).expandContent(classLoader, "META-INF/dirigible");
+		}
+
+		assertTrue(context.getBean(IRepository.class).getResource("/registry/public/project/folder/b.test").exists());
+		assertEquals(Set.of("/project", "/other"), journal.drain());
+		assertEquals(Set.of(), journal.drain());
+	}
+
+	/**
+	 * Adds an entry.
+	 *
+	 * @param output the output
+	 * @param name the name
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void addEntry(JarOutputStream output, String name) throws IOException {
+		output.putNextEntry(new JarEntry(name));
+		output.write(name.getBytes(StandardCharsets.UTF_8));
+		output.closeEntry();
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.components.initializers.synchronizer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class SynchronizationJournalTest.
+ */
+public class SynchronizationJournalTest {
+
+	/** The registry folder. */
+	private Path registry;
+
+	/** The journal. */
+	private SynchronizationJournal journal;
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		registry = Files.createTempDirectory("registry");
+		journal = new SynchronizationJournal();
+		journal.start(registry.toString());
+	}
+
+	/**
+	 * Tear down.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		journal.stop();
+		FileUtils.deleteDirectory(registry.toFile());
+	}
+
+	/**
+	 * The journal requires a full scan when started and then reports the changed locations.
+	 */
+	@Test
+	public void testChanges() {
+		assertNull(journal.drain());
+		assertEquals(Set.of(), journal.drain());
+
+		journal.onEvent(registry, ENTRY_MODIFY, Paths.get("a.test"));
+		journal.onChange(new SynchronizationChangeEvent(this, "/project/b.test"));
+		assertEquals(Set.of("/a.test", "/project/b.test"), journal.drain());
+		assertEquals(Set.of(), journal.drain());
+	}
+
+	/**
+	 * The journal falls back to a full scan on an overflow, an unknown directory or a change without a location.
+	 */
+	@Test
+	public void testFullScanFallback() {
+		assertNull(journal.drain());
+
+		journal.onEvent(registry, ENTRY_MODIFY, Paths.get("a.test"));
+		journal.onEvent(registry, OVERFLOW, null);
+		assertNull(journal.drain());
+		assertEquals(Set.of(), journal.drain());
+
+		journal.onEvent(null, ENTRY_CREATE, Paths.get("b.test"));
+		assertNull(journal.drain());
+
+		journal.onChange(new SynchronizationChangeEvent(this, null));
+		assertNull(journal.drain());
+		assertEquals(Set.of(), journal.drain());
+	}
+
+}
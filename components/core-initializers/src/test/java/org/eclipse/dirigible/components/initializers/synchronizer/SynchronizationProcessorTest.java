@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.components.initializers.synchronizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.dirigible.components.base.artefact.Artefact;
+import org.eclipse.dirigible.components.base.artefact.ArtefactService;
+import org.eclipse.dirigible.components.base.artefact.ArtefactState;
+import org.eclipse.dirigible.components.base.synchronizer.Synchronizer;
+import org.eclipse.dirigible.components.initializers.definition.Definition;
+import org.eclipse.dirigible.components.initializers.definition.DefinitionService;
+import org.eclipse.dirigible.repository.local.LocalRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class SynchronizationProcessorTest.
+ */
+public class SynchronizationProcessorTest {
+
+	/** The root folder. */
+	private Path root;
+
+	/** The registry folder. */
+	private Path registry;
+
+	/** The journal. */
+	private SynchronizationJournal journal;
+
+	/** The processor. */
+	private SynchronizationProcessor processor;
+
+	/** The saved definitions by location. */
+	private final Map<String, Definition> saved = new HashMap<>();
+
+	/** The loaded contents by location, in the last run. */
+	private final Map<String, String> loaded = new HashMap<>();
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("synchronization");
+		LocalRepository repository = new LocalRepository(root.toString(), true);
+		registry = Paths.get(repository.getInternalResourcePath("/registry/public"), "project");
+		Files.createDirectories(registry);
+
+		Synchronizer<Artefact> synchronizer = mock(Synchronizer.class);
+		when(synchronizer.isAccepted(any(Path.class), any())).thenAnswer(invocation -> invocation.getArgument(0).toString().endsWith(".test"));
+		when(synchronizer.load(anyString(), any())).thenAnswer(invocation -> {
+			loaded.put(invocation.getArgument(0), new String((byte[]) invocation.getArgument(1), StandardCharsets.UTF_8));
+			return new ArrayList<>();
+		});
+		ArtefactService<Artefact> service = mock(ArtefactService.class);
+		when(service.getAll()).thenReturn(Collections.emptyList());
+		when(synchronizer.getService()).thenReturn(service);
+
+		DefinitionService definitionService = mock(DefinitionService.class);
+		when(definitionService.getAll()).thenReturn(Collections.emptyList());
+		when(definitionService.save(any())).thenAnswer(invocation -> {
+			Definition definition = invocation.getArgument(0);
+			saved.put(definition.getLocation(), definition);
+			return definition;
+		});
+
+		journal = mock(SynchronizationJournal.class);
+		processor = new SynchronizationProcessor(repository, new ArrayList<>(List.of(synchronizer)), definitionService, journal);
+	}
+
+	/**
+	 * Tear down.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		processor.shutdown();
+		FileUtils.deleteDirectory(root.toFile());
+	}
+
+	/**
+	 * The files are collected on a full scan, and then only if reported by the journal or if their file state changed.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testCollection() throws IOException {
+		write("a.test", "alpha");
+		write("b.test", "bravo");
+		when(journal.drain()).thenReturn(null);
+		assertEquals(Map.of("/project/a.test", "alpha", "/project/b.test", "bravo"), run());
+
+		// the same size and last modified time, so skipped by a full scan
+		FileTime lastModified = Files.getLastModifiedTime(registry.resolve("b.test"));
+		write("b.test", "brave");
+		Files.setLastModifiedTime(registry.resolve("b.test"), lastModified);
+		assertEquals(Map.of(), run());
+
+		// but checked, when reported by the journal
+		when(journal.drain()).thenReturn(Set.of("/project/b.test"));
+		assertEquals(Map.of("/project/b.test", "brave"), run());
+
+		// the changes, which are not reported, are not checked
+		write("a.test", "alphas");
+		write("c.test", "charlie");
+		when(journal.drain()).thenReturn(Set.of("/project/c.test"));
+		assertEquals(Map.of("/project/c.test", "charlie"), run());
+
+		// until the journal falls back to a full scan
+		when(journal.drain()).thenReturn(null);
+		assertEquals(Map.of("/project/a.test", "alphas"), run());
+	}
+
+	/**
+	 * The files in a folder reported by the journal are checked regardless of their file state.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testReportedFolder() throws IOException {
+		write("a.test", "alpha");
+		when(journal.drain()).thenReturn(null);
+		assertEquals(Map.of("/project/a.test", "alpha"), run());
+
+		FileTime lastModified = Files.getLastModifiedTime(registry.resolve("a.test"));
+		write("a.test", "alpine");
+		Files.setLastModifiedTime(registry.resolve("a.test"), lastModified);
+		when(journal.drain()).thenReturn(Set.of("/project"));
+		assertEquals(Map.of("/project/a.test", "alpine"), run());
+	}
+
+	/**
+	 * Runs the synchronization and marks the loaded definitions as processed.
+	 *
+	 * @return the loaded contents by location
+	 */
+	private Map<String, String> run() {
+		loaded.clear();
+		processor.processSynchronizers();
+		for (String location : loaded.keySet()) {
+			processor.setDefinitionState(saved.get(location), ArtefactState.SUCCESSFUL_CREATE, "");
+		}
+		return new HashMap<>(loaded);
+	}
+
+	/**
+	 * Writes a file in the project folder of the registry.
+	 *
+	 * @param name the name
+	 * @param content the content
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void write(String name, String content) throws IOException {
+		Files.writeString(registry.resolve(name), content);
+	}
+
+}
@@ -430,5 +430,16 @@ public class TablesSynchronizer<A extends Artefact> implements Synchronizer<Tabl
 	public String getArtefactType() {
 		return Table.ARTEFACT_TYPE;
 	}
+	
+	/**
+	 * Gets the data source name.
+	 *
+	 * @param table the table
+	 * @return the data source name
+	 */
+	@Override
+	public String getDataSourceName(Table table) {
+		return datasourcesManager.getDefaultDataSourceName();
+	}
 
 }
@@ -11,11 +11,7 @@
  */
 package org.eclipse.dirigible.components.engine.web.service;
 
-import java.nio.charset.StandardCharsets;
-
 import javax.servlet.http.HttpServletRequest;
-import javax.ws.rs.PathParam;
-import javax.ws.rs.core.Response;
 
 import org.eclipse.dirigible.commons.api.helpers.ContentTypeHelper;
 import org.eclipse.dirigible.commons.config.Configuration;
@@ -27,7 +23,11 @@ import org.eclipse.dirigible.repository.api.IRepositoryStructure;
 import org.eclipse.dirigible.repository.api.IResource;
 import org.eclipse.dirigible.repository.api.RepositoryNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.annotation.RequestScope;
 import org.springframework.web.server.ResponseStatusException;
@@ -59,16 +59,20 @@ public class WebService {
 	 * @param path the path
 	 * @return the resource
 	 */
-	public Response getResource(@PathParam("path") String path) {
+	public ResponseEntity<?> getResource(String path) {
 		if (ExposeManager.isPathExposed(path)) {
 			if ("".equals(path.trim())) {
 				throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Listing of web folders is forbidden.");
 			} else if (path.trim().endsWith(IRepositoryStructure.SEPARATOR)) {
 				return getResourceByPath(path + INDEX_HTML);
 			}
-			Response resourceResponse = getResourceByPath(path);
+			ResponseEntity<?> resourceResponse = getResourceByPath(path);
 			if (!Configuration.isProductiveIFrameEnabled()) {
-				resourceResponse.getHeaders().add("X-Frame-Options", "Deny");
+				return ResponseEntity
+						.status(resourceResponse.getStatusCode())
+						.headers(resourceResponse.getHeaders())
+						.header("X-Frame-Options", "Deny")
+						.body(resourceResponse.getBody());
 			}
 			return resourceResponse;
 		}
@@ -82,7 +86,7 @@ public class WebService {
 	 *            the path
 	 * @return the resource by path
 	 */
-	private Response getResourceByPath(String path) {
+	private ResponseEntity<?> getResourceByPath(String path) {
 		if (isCached(path)) {
 			return sendResourceNotModified();
 		}
@@ -92,8 +96,11 @@ public class WebService {
 			if (resource == null) {
 				throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Resource requested is not exposed.");
 			}
-			String contentType = resource.getContentType();
-			return sendResource(path, resource.isBinary(), resource.getContent(), contentType);
+			// parsed before the stream is opened, so that an invalid content type does not leave it open
+			MediaType mediaType = parseMediaType(resource.getContentType());
+			// the content, text or binary, is streamed to the response as it is stored, so that large files are not
+			// loaded in memory and the large local files are read from the file system instead of the content cache
+			return sendResource(path, new InputStreamResource(resource.getContentStream()), mediaType);
 		}
 
 		String errorMessage = "Resource not found: " + path;
@@ -101,7 +108,7 @@ public class WebService {
 			byte[] content = registryAccessor.getRegistryContent(path);
 			if (content != null) {
 				String contentType = ContentTypeHelper.getContentType(ContentTypeHelper.getExtension(path));
-				return sendResource(path, ContentTypeHelper.isBinary(contentType), content, contentType);
+				return sendResource(path, content, parseMediaType(contentType));
 			} else {
 				throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Requested resource not found.");
 			}
@@ -115,9 +122,9 @@ public class WebService {
 	 *
 	 * @return the response
 	 */
-	private Response sendResourceNotModified() {
-		return Response
-				.notModified()
+	private ResponseEntity<?> sendResourceNotModified() {
+		return ResponseEntity
+				.status(HttpStatus.NOT_MODIFIED)
 				.header("ETag", getTag())
 				.build();
 	}
@@ -125,21 +132,32 @@ public class WebService {
 	/**
 	 * Send resource.
 	 *
+	 * @param <T> the type of the content
 	 * @param path the path
-	 * @param isBinary the is binary
-	 * @param content the content
-	 * @param contentType the content type
+	 * @param content the content, the bytes as they are stored or a resource streamed to the response
+	 * @param mediaType the media type, or null
 	 * @return the response
 	 */
-	private Response sendResource(String path, boolean isBinary, byte[] content, String contentType) {
+	private <T> ResponseEntity<T> sendResource(String path, T content, MediaType mediaType) {
 		String tag = cacheResource(path);
-		Object responseContent = isBinary ? content : new String(content, StandardCharsets.UTF_8);
-		return Response
-				.ok(responseContent)
-				.type(contentType)
+		BodyBuilder response = ResponseEntity
+				.ok()
 				.header("Cache-Control", "public, must-revalidate, max-age=0")
-				.header("ETag", tag)
-				.build();
+				.header("ETag", tag);
+		if (mediaType != null) {
+			response.contentType(mediaType);
+		}
+		return response.body(content);
+	}
+
+	/**
+	 * Parses the media type.
+	 *
+	 * @param contentType the content type, or null
+	 * @return the media type, or null
+	 */
+	private static MediaType parseMediaType(String contentType) {
+		return contentType != null ? MediaType.parseMediaType(contentType) : null;
 	}
 
 	/**
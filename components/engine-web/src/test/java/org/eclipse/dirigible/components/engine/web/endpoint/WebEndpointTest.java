@@ -11,13 +11,13 @@
  */
 package org.eclipse.dirigible.components.engine.web.endpoint;
 
-import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.nio.file.Files;
@@ -117,13 +117,18 @@ public class WebEndpointTest {
 		Files.writeString(Paths.get(registyrFolder, "demo", "ui", "hello-world.txt"), "Hello World!", StandardOpenOption.CREATE);
 		Files.writeString(Paths.get(registyrFolder, "demo", "hidden", "hidden.txt"), "Hidden", StandardOpenOption.CREATE);
 		Files.writeString(Paths.get(registyrFolder, "demo", "ui", "index.html"), "Hidden", StandardOpenOption.CREATE);
+		byte[] image = new byte[] { (byte) 0x89, 'P', 'N', 'G', 0, (byte) 0xFF };
+		Files.write(Paths.get(registyrFolder, "demo", "ui", "image.png"), image, StandardOpenOption.CREATE);
 		try {
 			synchronizationProcessor.processSynchronizers();
 			assertTrue(ExposeManager.listRegisteredProjects().size() > 0);
 			assertTrue(ExposeManager.isPathExposed("demo/ui"));
 			assertFalse(ExposeManager.isPathExposed("demo/hidden"));
 			mockMvc.perform(get("/services/v8/web/demo/ui/hello-world.txt")).andDo(print())
-					.andExpect(content().string(containsString("Hello World!"))).andExpect(status().is2xxSuccessful());
+					.andExpect(content().string("Hello World!")).andExpect(content().contentTypeCompatibleWith("text/plain"))
+					.andExpect(header().exists("ETag")).andExpect(status().is2xxSuccessful());
+			mockMvc.perform(get("/services/v8/web/demo/ui/image.png")).andDo(print())
+					.andExpect(content().bytes(image)).andExpect(content().contentType("image/png")).andExpect(status().is2xxSuccessful());
 			mockMvc.perform(get("/services/v8/web/demo/hidden/hidden.txt")).andDo(print())
 					.andExpect(status().isForbidden());
 			mockMvc.perform(get("/services/v8/web/demo/ui/not-existing.txt")).andDo(print())
@@ -148,7 +148,12 @@ rs.service()
 		let document = documentsProcessor.get(path);
 
 		response.setContentType(document.contentType);
-		response.write(document.content.getStream().readBytes());
+		let inputStream = document.content.getStream();
+		try {
+			response.write(inputStream.readBytes());
+		} finally {
+			inputStream.close();
+		}
 	})
 	.catch(function (ctx, error, request, response) {
 		printError(response, response.BAD_REQUEST, 4, error.message);
@@ -164,7 +169,12 @@ rs.service()
 
 		response.setContentType(document.contentType);
 		response.addHeader("Content-Disposition", "attachment;filename=\"" + document.name + "\"");
-		streams.copy(document.content.getStream(), response.getOutputStream());
+		let inputStream = document.content.getStream();
+		try {
+			streams.copy(inputStream, response.getOutputStream());
+		} finally {
+			inputStream.close();
+		}
 	})
 	.catch(function (ctx, error, request, response) {
 		printError(response, response.BAD_REQUEST, 4, error.message);
@@ -58,8 +58,13 @@ exports.getAccessDefinitions = function () {
     };
 
     try {
-        let inputStream = documentsUtils.getDocumentStream(document);
-        let data = inputStream.getStream().readBytes();
+        let inputStream = documentsUtils.getDocumentStream(document).getStream();
+        let data;
+        try {
+            data = inputStream.readBytes();
+        } finally {
+            inputStream.close();
+        }
         content = JSON.parse(bytes.byteArrayToText(data));
     } catch (e) {
         // Do nothing
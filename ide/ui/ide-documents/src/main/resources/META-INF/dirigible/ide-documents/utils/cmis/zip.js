@@ -137,7 +137,11 @@ function traverseFolder(folder, path, zipOutputStream) {
 		} else {
 			zipOutputStream.createZipEntry(entryPath);
 			let fileStream = childObject.getContentStream().getStream();
-			zipOutputStream.write(fileStream.readBytes());
+			try {
+				zipOutputStream.write(fileStream.readBytes());
+			} finally {
+				fileStream.close();
+			}
 		}
 	});
 }
@@ -13,12 +13,18 @@ package org.eclipse.dirigible.cms.csvim.service;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.JDBCType;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
@@ -40,6 +46,7 @@ import org.eclipse.dirigible.database.persistence.utils.DatabaseMetadataUtil;
 import org.eclipse.dirigible.database.sql.SqlFactory;
 import org.eclipse.dirigible.database.sql.builders.records.DeleteBuilder;
 import org.eclipse.dirigible.database.sql.builders.records.InsertBuilder;
+import org.eclipse.dirigible.database.sql.builders.records.SelectBuilder;
 import org.eclipse.dirigible.database.sql.builders.records.UpdateBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,32 +91,51 @@ public class CsvProcessor {
 	 *
 	 * @param csvRecordDefinitions the csv record definitions
 	 * @param csvFileDefinition the csv file definition
+	 * @return the number of records, which were written successfully
 	 * @throws SQLException the SQL exception
 	 */
-	public void insert(List<CsvRecordDefinition> csvRecordDefinitions, CsvFileDefinition csvFileDefinition) throws SQLException {
+	public int insert(List<CsvRecordDefinition> csvRecordDefinitions, CsvFileDefinition csvFileDefinition) throws SQLException {
 		String tableName = csvRecordDefinitions.get(0).getTableMetadataModel().getTableName();
 		String schemaName = csvRecordDefinitions.get(0).getTableMetadataModel().getSchemaName();
 		try (Connection connection = getDataSource().getConnection()) {
 			List<TableColumn> availableTableColumns = TableMetadataHelper.getColumns(connection, tableName, schemaName);
-			InsertBuilder insertBuilder = new InsertBuilder(SqlFactory.deriveDialect(connection));
-			insertBuilder.into(tableName);
+			return insert(connection, availableTableColumns, csvRecordDefinitions, csvFileDefinition);
+		}
+	}
 
-			for (int i = 0; i < csvRecordDefinitions.get(0).getCsvRecord().size(); i++) {
-				String columnName = availableTableColumns.get(i).getName();
-				insertBuilder.column("\"" + columnName + "\"").value("?");
-			}
-			try (PreparedStatement preparedStatement = connection.prepareStatement(insertBuilder.generate())) {
-				for (CsvRecordDefinition next : csvRecordDefinitions) {
-					populateInsertPreparedStatementValues(next, availableTableColumns, preparedStatement);
-					preparedStatement.addBatch();
-				}
-				if (logger.isInfoEnabled()) {logger.info(String.format("CSV records with Ids [%s] were successfully added in BATCH INSERT for table [%s].", csvRecordDefinitions.stream().map(e -> e.getCsvRecord().get(0)).collect(Collectors.toList()), tableName));}
-				preparedStatement.executeBatch();
-			} catch(Throwable t) {
-				String errorMessage = String.format("Error occurred while trying to BATCH INSERT CSV records [%s] into table [%s].", csvRecordDefinitions.stream().map(e -> e.getCsvRecord().get(0)).collect(Collectors.toList()), tableName);
-				logProcessorErrors(errorMessage, ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
-				if (logger.isErrorEnabled()) {logger.error(errorMessage, t);}
+	/**
+	 * Insert a batch of records with the given connection and the already read table columns.
+	 *
+	 * @param connection the connection
+	 * @param availableTableColumns the available table columns
+	 * @param csvRecordDefinitions the csv record definitions
+	 * @param csvFileDefinition the csv file definition
+	 * @return the number of records, which were written successfully
+	 * @throws SQLException the SQL exception
+	 */
+	public int insert(Connection connection, List<TableColumn> availableTableColumns, List<CsvRecordDefinition> csvRecordDefinitions,
+			CsvFileDefinition csvFileDefinition) throws SQLException {
+		String tableName = csvRecordDefinitions.get(0).getTableMetadataModel().getTableName();
+		InsertBuilder insertBuilder = new InsertBuilder(SqlFactory.deriveDialect(connection));
+		insertBuilder.into(tableName);
+
+		for (int i = 0; i < csvRecordDefinitions.get(0).getCsvRecord().size(); i++) {
+			String columnName = availableTableColumns.get(i).getName();
+			insertBuilder.column("\"" + columnName + "\"").value("?");
+		}
+		try (PreparedStatement preparedStatement = connection.prepareStatement(insertBuilder.generate())) {
+			for (CsvRecordDefinition next : csvRecordDefinitions) {
+				populateInsertPreparedStatementValues(next, availableTableColumns, preparedStatement);
+				preparedStatement.addBatch();
 			}
+			if (logger.isDebugEnabled()) {logger.debug(String.format("CSV records with Ids [%s] were successfully added in BATCH INSERT for table [%s].", csvRecordDefinitions.stream().map(e -> e.getCsvRecord().get(0)).collect(Collectors.toList()), tableName));}
+			preparedStatement.executeBatch();
+			return csvRecordDefinitions.size();
+		} catch(Throwable t) {
+			String errorMessage = String.format("Error occurred while trying to BATCH INSERT CSV records [%s] into table [%s].", csvRecordDefinitions.stream().map(e -> e.getCsvRecord().get(0)).collect(Collectors.toList()), tableName);
+			logProcessorErrors(errorMessage, ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
+			if (logger.isErrorEnabled()) {logger.error(errorMessage, t);}
+			return getSucceeded(t);
 		}
 	}
 
@@ -118,45 +144,149 @@ public class CsvProcessor {
 	 *
 	 * @param csvRecordDefinitions the csv record definitions
 	 * @param csvFileDefinition the csv file definition
+	 * @return the number of records, which were written successfully
 	 * @throws SQLException the SQL exception
 	 */
-	public void update(List<CsvRecordDefinition> csvRecordDefinitions, CsvFileDefinition csvFileDefinition) throws SQLException {
+	public int update(List<CsvRecordDefinition> csvRecordDefinitions, CsvFileDefinition csvFileDefinition) throws SQLException {
 		String tableName = csvRecordDefinitions.get(0).getTableMetadataModel().getTableName();
 		String schemaName = csvRecordDefinitions.get(0).getTableMetadataModel().getSchemaName();
 		try (Connection connection = getDataSource().getConnection()) {
 			List<TableColumn> availableTableColumns = TableMetadataHelper.getColumns(connection, tableName, schemaName);
-			UpdateBuilder updateBuilder = new UpdateBuilder(SqlFactory.deriveDialect(connection));
-			updateBuilder.table(tableName);
-
-			CSVRecord csvRecord = csvRecordDefinitions.get(0).getCsvRecord();
-			for (int i = 0; i < csvRecord.size(); i++) {
-				String columnName = availableTableColumns.get(i).getName();
-				if (columnName.equals(csvRecordDefinitions.get(0).getPkColumnName())) {
-					continue;
-				}
+			return update(connection, availableTableColumns, csvRecordDefinitions, csvFileDefinition);
+		}
+	}
+
+	/**
+	 * Update a batch of records with the given connection and the already read table columns.
+	 *
+	 * @param connection the connection
+	 * @param availableTableColumns the available table columns
+	 * @param csvRecordDefinitions the csv record definitions
+	 * @param csvFileDefinition the csv file definition
+	 * @return the number of records, which were written successfully
+	 * @throws SQLException the SQL exception
+	 */
+	public int update(Connection connection, List<TableColumn> availableTableColumns, List<CsvRecordDefinition> csvRecordDefinitions,
+			CsvFileDefinition csvFileDefinition) throws SQLException {
+		String tableName = csvRecordDefinitions.get(0).getTableMetadataModel().getTableName();
+		UpdateBuilder updateBuilder = new UpdateBuilder(SqlFactory.deriveDialect(connection));
+		updateBuilder.table(tableName);
+
+		CSVRecord csvRecord = csvRecordDefinitions.get(0).getCsvRecord();
+		for (int i = 0; i < csvRecord.size(); i++) {
+			String columnName = availableTableColumns.get(i).getName();
+			if (columnName.equals(csvRecordDefinitions.get(0).getPkColumnName())) {
+				continue;
+			}
+
+			updateBuilder.set("\"" + columnName + "\"", "?");
+		}
+
+		if (csvRecordDefinitions.get(0).getHeaderNames().size() > 0) {
+			updateBuilder.where(String.format("%s = ?", csvRecordDefinitions.get(0).getPkColumnName()));
+		} else {
+			updateBuilder.where(String.format("%s = ?", availableTableColumns.get(0).getName()));
+		}
 
-				updateBuilder.set("\"" + columnName + "\"", "?");
+		try (PreparedStatement preparedStatement = connection.prepareStatement(updateBuilder.generate())) {
+			for (CsvRecordDefinition next : csvRecordDefinitions) {
+				populateUpdatePreparedStatementValues(next, availableTableColumns, preparedStatement);
+				preparedStatement.addBatch();
 			}
+			if (logger.isDebugEnabled()) {logger.debug(String.format("CSV records with Ids [%s] were successfully added in BATCH UPDATED for table [%s].", csvRecordDefinitions.stream().map(e -> e.getCsvRecord().get(0)).collect(Collectors.toList()), tableName));}
+			preparedStatement.executeBatch();
+			return csvRecordDefinitions.size();
+		} catch (Throwable t) {
+			String errorMessage = String.format("Error occurred while trying to BATCH UPDATE CSV records [%s] into table [%s].", csvRecordDefinitions.stream().map(e -> e.getCsvRecord().get(0)).collect(Collectors.toList()), tableName);
+			logProcessorErrors(errorMessage, ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
+			if (logger.isErrorEnabled()) {logger.error(errorMessage, t);}
+			return getSucceeded(t);
+		}
+	}
 
-			if (csvRecordDefinitions.get(0).getHeaderNames().size() > 0) {
-				updateBuilder.where(String.format("%s = ?", csvRecordDefinitions.get(0).getPkColumnName()));
-			} else {
-				updateBuilder.where(String.format("%s = ?", availableTableColumns.get(0).getName()));
+	/**
+	 * Gets the number of records written by a failed batch, which a driver may have executed partially.
+	 *
+	 * @param t the failure
+	 * @return the number of records, which were written successfully
+	 */
+	private static int getSucceeded(Throwable t) {
+		if (!(t instanceof BatchUpdateException)) {
+			return 0;
+		}
+		int succeeded = 0;
+		for (int updateCount : ((BatchUpdateException) t).getUpdateCounts()) {
+			if (updateCount != Statement.EXECUTE_FAILED) {
+				succeeded++;
 			}
+		}
+		return succeeded;
+	}
 
-			try (PreparedStatement preparedStatement = connection.prepareStatement(updateBuilder.generate())) {
-				for (CsvRecordDefinition next : csvRecordDefinitions) {
-					executeUpdatePreparedStatement(next, availableTableColumns, preparedStatement);
-					preparedStatement.addBatch();
+	/**
+	 * Finds which of the given primary key values exist in the table with a single query.
+	 *
+	 * @param connection the connection
+	 * @param tableName the table name
+	 * @param pkColumnName the pk column name
+	 * @param pkColumnType the pk column type
+	 * @param pkValues the pk values
+	 * @return the existing keys, normalized with {@link #normalizeKey(String, int)}
+	 * @throws SQLException the SQL exception
+	 */
+	public Set<String> findExistingKeys(Connection connection, String tableName, String pkColumnName, int pkColumnType, List<String> pkValues) throws SQLException {
+		Set<String> existingKeys = new HashSet<>();
+		if (pkValues.isEmpty()) {
+			return existingKeys;
+		}
+
+		SelectBuilder selectBuilder = new SelectBuilder(SqlFactory.deriveDialect(connection));
+		String placeholders = String.join(",", Collections.nCopies(pkValues.size(), "?"));
+		String sql = selectBuilder.column(pkColumnName).from(tableName).where(String.format("%s IN (%s)", pkColumnName, placeholders)).build();
+		try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+			for (int i = 0; i < pkValues.size(); i++) {
+				try {
+					setValue(preparedStatement, i + 1, pkColumnType, pkValues.get(i));
+				} catch (RuntimeException e) {
+					throw new SQLException(String.format("Invalid primary key value [%s] for table [%s]", pkValues.get(i), tableName), e);
+				}
+			}
+			try (ResultSet resultSet = preparedStatement.executeQuery()) {
+				while (resultSet.next()) {
+					existingKeys.add(normalizeKey(resultSet.getString(1), pkColumnType));
 				}
-				if (logger.isInfoEnabled()) {logger.info(String.format("CSV records with Ids [%s] were successfully added in BATCH UPDATED for table [%s].", csvRecordDefinitions.stream().map(e -> e.getCsvRecord().get(0)).collect(Collectors.toList()), tableName));}
-				preparedStatement.executeBatch();
-			} catch (Throwable t) {
-				String errorMessage = String.format("Error occurred while trying to BATCH UPDATE CSV records [%s] into table [%s].", csvRecordDefinitions.stream().map(e -> e.getCsvRecord().get(0)).collect(Collectors.toList()), tableName);
-				logProcessorErrors(errorMessage, ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
-				if (logger.isErrorEnabled()) {logger.error(errorMessage, t);}
 			}
 		}
+		return existingKeys;
+	}
+
+	/**
+	 * Normalizes a primary key value, so that the CSV values can be compared with the ones read from the database.
+	 *
+	 * @param value the value
+	 * @param dataType the data type
+	 * @return the normalized value
+	 */
+	public String normalizeKey(String value, int dataType) {
+		if (value == null) {
+			return null;
+		}
+		switch (dataType) {
+			case Types.INTEGER:
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.BIGINT:
+			case Types.REAL:
+			case Types.DOUBLE:
+			case Types.DECIMAL:
+				try {
+					return new BigDecimal(numberize(value.trim())).stripTrailingZeros().toPlainString();
+				} catch (NumberFormatException e) {
+					return value;
+				}
+			default:
+				return sanitize(value);
+		}
 	}
 
 	/**
@@ -260,22 +390,20 @@ public class CsvProcessor {
 	}
 
 	/**
-	 * Execute update prepared statement.
+	 * Populate update prepared statement values.
 	 *
 	 * @param csvRecordDefinition the csv record definition
 	 * @param tableColumns the table columns
 	 * @param statement the statement
 	 * @throws SQLException the SQL exception
 	 */
-	private void executeUpdatePreparedStatement(CsvRecordDefinition csvRecordDefinition, List<TableColumn> tableColumns,
+	private void populateUpdatePreparedStatementValues(CsvRecordDefinition csvRecordDefinition, List<TableColumn> tableColumns,
 			PreparedStatement statement) throws SQLException {
 		if (csvRecordDefinition.getHeaderNames().size() > 0) {
 			updateCsvWithHeader(csvRecordDefinition, tableColumns, statement);
 		} else {
 			updateCsvWithoutHeader(csvRecordDefinition, tableColumns, statement);
 		}
-
-		statement.execute();
 	}
 
 	/**
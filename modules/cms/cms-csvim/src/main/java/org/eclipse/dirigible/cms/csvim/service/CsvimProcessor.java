@@ -14,15 +14,20 @@ package org.eclipse.dirigible.cms.csvim.service;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
@@ -41,6 +46,8 @@ import org.eclipse.dirigible.cms.csvim.definition.CsvRecordDefinition;
 import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.commons.config.StaticObjects;
 import org.eclipse.dirigible.core.problems.exceptions.ProblemsException;
+import org.eclipse.dirigible.database.ds.model.transfer.TableColumn;
+import org.eclipse.dirigible.database.ds.model.transfer.TableMetadataHelper;
 import org.eclipse.dirigible.database.persistence.model.PersistenceTableColumnModel;
 import org.eclipse.dirigible.database.persistence.model.PersistenceTableModel;
 import org.eclipse.dirigible.database.persistence.utils.DatabaseMetadataUtil;
@@ -53,19 +60,11 @@ import org.eclipse.dirigible.repository.api.RepositoryReadException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Lists;
-
 /**
  * The Class CsvimProcessor.
  */
 public class CsvimProcessor {
 
-	/** The Constant DIRIGIBLE_CSV_DATA_MAX_COMPARE_SIZE. */
-	private static final String DIRIGIBLE_CSV_DATA_MAX_COMPARE_SIZE = "DIRIGIBLE_CSV_DATA_MAX_COMPARE_SIZE";
-	
-	/** The Constant DIRIGIBLE_CSV_DATA_MAX_COMPARE_SIZE_DEFAULT. */
-	private static final int DIRIGIBLE_CSV_DATA_MAX_COMPARE_SIZE_DEFAULT = 1000;
-
 	/** The Constant DIRIGIBLE_CSV_DATA_BATCH_SIZE. */
 	private static final String DIRIGIBLE_CSV_DATA_BATCH_SIZE = "DIRIGIBLE_CSV_DATA_BATCH_SIZE";
 	
@@ -89,18 +88,12 @@ public class CsvimProcessor {
 	
 	/** The Constant ERROR_MESSAGE_DIFFERENT_COLUMNS_SIZE. */
 	private static final String ERROR_MESSAGE_DIFFERENT_COLUMNS_SIZE = "Error while trying to process CSV record with Id [%s] from location [%s]. The number of CSV items should be equal to the number of columns of the database entity.";
-	
-	/** The Constant ERROR_MESSAGE_INSERT_RECORD. */
-	private static final String ERROR_MESSAGE_INSERT_RECORD = "Error occurred while trying to insert in table [%s] a CSV record [%s] from location [%s].";
 
 	/** The Constant PROBLEM_MESSAGE_NO_PRIMARY_KEY. */
 	private static final String PROBLEM_MESSAGE_NO_PRIMARY_KEY = "No primary key. Check the configured CSVIM delimiter, whether matches the delimiter used in the CSV data file.";
 	
 	/** The Constant PROBLEM_MESSAGE_DIFFERENT_COLUMNS_SIZE. */
 	private static final String PROBLEM_MESSAGE_DIFFERENT_COLUMNS_SIZE = "Error while trying to process CSV record with Id [%s]. The number of CSV items should be equal to the number of columns of the database entity.";
-	
-	/** The Constant PROBLEM_MESSAGE_INSERT_RECORD. */
-	private static final String PROBLEM_MESSAGE_INSERT_RECORD = "Error occurred while trying to insert in table [%s] a CSV record [%s].";
 
 	/** The database metadata util. */
 	private final DatabaseMetadataUtil databaseMetadataUtil = new DatabaseMetadataUtil();
@@ -172,201 +165,190 @@ public class CsvimProcessor {
 	 * @throws IOException Signals that an I/O exception has occurred.
 	 */
 	public void process(CsvFileDefinition csvFileDefinition, String content, Connection connection) throws CsvimException, SQLException, IOException {
+		process(csvFileDefinition, new StringReader(content), connection);
+	}
+
+	/**
+	 * Process the CSV content as a stream. The records are read, looked up and written in batches, so that only a single
+	 * batch is held in memory.
+	 *
+	 * @param csvFileDefinition the csv file definition
+	 * @param content the content
+	 * @param connection the connection
+	 * @return the number of records, which were inserted or updated successfully
+	 * @throws CsvimException the csvim exception
+	 * @throws SQLException the SQL exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public int process(CsvFileDefinition csvFileDefinition, Reader content, Connection connection) throws CsvimException, SQLException, IOException {
 		String tableName = csvFileDefinition.getTable();
-		CSVParser csvParser = getCsvParser(csvFileDefinition, content);
 		PersistenceTableModel tableMetadata = getTableMetadata(csvFileDefinition);
-		if (tableMetadata == null || csvParser == null) {
-			return;
+		if (tableMetadata == null) {
+			return 0;
+		}
+		CSVParser csvParser = getCsvParser(csvFileDefinition, content);
+		if (csvParser == null) {
+			return 0;
 		}
 
-		List<CSVRecord> recordsToInsert = new ArrayList<>();
-	    List<CSVRecord> recordsToUpdate = new ArrayList<>();
-
-	    String pkNameForCSVRecord = getPkNameForCSVRecord(tableName, csvParser.getHeaderNames());
-	    
-		Map<String, List<String>> keysMap = csvFileDefinition.getKeysAsMap();
-		List<CSVRecord> csvRecords = csvParser.getRecords();
-		int maxCompareSize = DIRIGIBLE_CSV_DATA_MAX_COMPARE_SIZE_DEFAULT;
 		try {
-			maxCompareSize = Integer.parseInt(Configuration.get(DIRIGIBLE_CSV_DATA_MAX_COMPARE_SIZE));
-		} catch (NumberFormatException e) {
-			// Do nothing
-		}
-		List<PersistenceTableColumnModel> tableColumns = tableMetadata.getColumns();
-		if (csvRecords.size() > maxCompareSize) {
-			if (isEmptyTable(tableName, connection)) {
-				recordsToInsert = csvRecords.stream().filter(e -> recordShouldBeIncluded(e, tableColumns, keysMap)).collect(Collectors.toList());
-			}
-		} else {
-			for (CSVRecord csvRecord : csvRecords) {
-				if (recordShouldBeIncluded(csvRecord, tableColumns, keysMap)) {
-
-					String pkValueForCSVRecord = getPkValueForCSVRecord(csvRecord, tableName, csvParser.getHeaderNames());
-
-					if (pkValueForCSVRecord == null) {
-						logProcessorErrors(PROBLEM_MESSAGE_NO_PRIMARY_KEY, ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
-						throw new CsvimException(String.format(ERROR_MESSAGE_NO_PRIMARY_KEY, csvFileDefinition.getFile()));
-					}
-
-					if (csvRecord.size() != tableColumns.size()) {
-						logProcessorErrors(String.format(PROBLEM_MESSAGE_DIFFERENT_COLUMNS_SIZE, pkValueForCSVRecord), ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
-						throw new CsvimException(String.format(ERROR_MESSAGE_DIFFERENT_COLUMNS_SIZE, pkValueForCSVRecord, csvFileDefinition.getFile()));
-					}
-
-					if (!recordExists(tableName, pkNameForCSVRecord, pkValueForCSVRecord, connection)) {
-						recordsToInsert.add(csvRecord);
-					} else {
-						recordsToUpdate.add(csvRecord);
-					}
+			long start = System.currentTimeMillis();
+			List<String> headerNames = csvParser.getHeaderNames();
+			List<PersistenceTableColumnModel> tableColumns = tableMetadata.getColumns();
+			List<TableColumn> availableTableColumns = TableMetadataHelper.getColumns(connection, tableName, tableMetadata.getSchemaName());
+			String pkColumnName = getPkColumnName(tableColumns);
+			int pkIndex = getPkIndex(pkColumnName, tableColumns, headerNames);
+			int pkColumnType = getPkColumnType(pkColumnName, availableTableColumns);
+			Map<String, List<String>> keysMap = csvFileDefinition.getKeysAsMap();
+			boolean emptyTable = isEmptyTable(tableName, connection);
+			int batchSize = getCsvDataBatchSize();
+
+			CsvimProcessorStatistics statistics = new CsvimProcessorStatistics();
+			List<CSVRecord> batch = new ArrayList<>(batchSize);
+			for (CSVRecord csvRecord : csvParser) {
+				statistics.records++;
+				if (!recordShouldBeIncluded(csvRecord, tableColumns, keysMap)) {
+					continue;
 				}
-			}
-		}
-
-		insertCsvRecords(recordsToInsert, csvParser.getHeaderNames(), csvFileDefinition);
-		updateCsvRecords(recordsToUpdate, csvParser.getHeaderNames(), csvFileDefinition);
 
-		if ((recordsToInsert.size() > 0 || recordsToUpdate.size() > 0) && csvFileDefinition.getSequence() != null) {
-			int sequenceStart = csvRecords.size() + 1;
+				String pkValueForCSVRecord = getPkValueForCSVRecord(csvRecord, pkIndex, headerNames);
 
-			PreparedStatement preparedStatement = null;
-			try {
-				String createSequenceSql = SqlFactory.getNative(connection).create().sequence(csvFileDefinition.getSequence()).start(sequenceStart).build();
-				preparedStatement = connection.prepareStatement(createSequenceSql);
-				preparedStatement.executeUpdate();
-			} catch (SQLException e) {
-				if (preparedStatement != null) {
-					preparedStatement.close();
+				if (pkValueForCSVRecord == null) {
+					logProcessorErrors(PROBLEM_MESSAGE_NO_PRIMARY_KEY, ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
+					throw new CsvimException(String.format(ERROR_MESSAGE_NO_PRIMARY_KEY, csvFileDefinition.getFile()));
 				}
-				try {
-					String alterSequenceSql = SqlFactory.getNative(connection).alter().sequence(csvFileDefinition.getSequence()).restartWith(sequenceStart).build();
-					preparedStatement = connection.prepareStatement(alterSequenceSql);
-					preparedStatement.executeUpdate();
-				} catch (SQLException e1) {
-					logger.error("Failed to restart database sequence [" + csvFileDefinition.getSequence() + "]", e1);
-				} finally {
-					if (preparedStatement != null) {
-						preparedStatement.close();
-					}
+
+				if (csvRecord.size() != tableColumns.size()) {
+					logProcessorErrors(String.format(PROBLEM_MESSAGE_DIFFERENT_COLUMNS_SIZE, pkValueForCSVRecord), ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
+					throw new CsvimException(String.format(ERROR_MESSAGE_DIFFERENT_COLUMNS_SIZE, pkValueForCSVRecord, csvFileDefinition.getFile()));
 				}
-			} finally {
-				if (preparedStatement != null) {
-					preparedStatement.close();
+
+				batch.add(csvRecord);
+				if (batch.size() == batchSize) {
+					processBatch(batch, emptyTable, csvFileDefinition, tableMetadata, availableTableColumns, pkColumnName, pkIndex, pkColumnType, headerNames, connection, statistics);
+					batch.clear();
 				}
 			}
+			if (!batch.isEmpty()) {
+				processBatch(batch, emptyTable, csvFileDefinition, tableMetadata, availableTableColumns, pkColumnName, pkIndex, pkColumnType, headerNames, connection, statistics);
+			}
+
+			if ((statistics.inserted > 0 || statistics.updated > 0) && csvFileDefinition.getSequence() != null) {
+				updateSequence(csvFileDefinition.getSequence(), statistics.records + 1, connection);
+			}
+
+			long time = Math.max(System.currentTimeMillis() - start, 1);
+			if (logger.isInfoEnabled()) {logger.info(String.format("CSV file [%s] imported into table [%s]: %d records, %d inserted, %d updated in %d ms (%d records/s, max used heap %d MB).",
+					csvFileDefinition.getFile(), tableName, statistics.records, statistics.inserted, statistics.updated, time, statistics.records * 1000L / time, statistics.maxUsedMemory / (1024 * 1024)));}
+			return statistics.inserted + statistics.updated;
+		} finally {
+			csvParser.close();
 		}
 	}
 
 	/**
-	 * Checks if is empty table.
+	 * Splits a batch of records into new and existing ones by a single lookup of their primary keys and writes them.
 	 *
-	 * @param tableName the table name
+	 * @param batch the batch
+	 * @param emptyTable whether the table was empty before the import
+	 * @param csvFileDefinition the csv file definition
+	 * @param tableMetadata the table metadata
+	 * @param availableTableColumns the available table columns
+	 * @param pkColumnName the pk column name
+	 * @param pkIndex the pk index
+	 * @param pkColumnType the pk column type
+	 * @param headerNames the header names
 	 * @param connection the connection
-	 * @return true, if is empty table
+	 * @param statistics the statistics
 	 * @throws SQLException the SQL exception
 	 */
-	private boolean isEmptyTable(String tableName, Connection connection) throws SQLException {
-		boolean isEmpty = false;
-		SelectBuilder selectBuilder = new SelectBuilder(SqlFactory.deriveDialect(connection));
-		String sql = selectBuilder.column("COUNT(*)").from(tableName).build();
-		try (PreparedStatement pstmt = connection.prepareCall(sql)) {
-			ResultSet rs = pstmt.executeQuery();
-			if (rs.next()) {
-				isEmpty = rs.getInt(1) == 0;
+	private void processBatch(List<CSVRecord> batch, boolean emptyTable, CsvFileDefinition csvFileDefinition, PersistenceTableModel tableMetadata,
+			List<TableColumn> availableTableColumns, String pkColumnName, int pkIndex, int pkColumnType, List<String> headerNames, Connection connection,
+			CsvimProcessorStatistics statistics) throws SQLException {
+		Set<String> existingKeys = Collections.emptySet();
+		if (!emptyTable) {
+			List<String> pkValues = batch.stream().map(e -> getPkValueForCSVRecord(e, pkIndex, headerNames)).collect(Collectors.toList());
+			existingKeys = csvProcessor.findExistingKeys(connection, csvFileDefinition.getTable(), pkColumnName, pkColumnType, pkValues);
+		}
+
+		List<CsvRecordDefinition> recordsToInsert = new ArrayList<>();
+		List<CsvRecordDefinition> recordsToUpdate = new ArrayList<>();
+		for (CSVRecord csvRecord : batch) {
+			CsvRecordDefinition csvRecordDefinition = new CsvRecordDefinition(csvRecord, tableMetadata, headerNames, csvFileDefinition.getDistinguishEmptyFromNull());
+			String pkValueForCSVRecord = getPkValueForCSVRecord(csvRecord, pkIndex, headerNames);
+			if (existingKeys.contains(csvProcessor.normalizeKey(pkValueForCSVRecord, pkColumnType))) {
+				recordsToUpdate.add(csvRecordDefinition);
+			} else {
+				recordsToInsert.add(csvRecordDefinition);
 			}
 		}
-		return isEmpty;
+
+		if (!recordsToInsert.isEmpty()) {
+			statistics.inserted += csvProcessor.insert(connection, availableTableColumns, recordsToInsert, csvFileDefinition);
+		}
+		if (!recordsToUpdate.isEmpty()) {
+			statistics.updated += csvProcessor.update(connection, availableTableColumns, recordsToUpdate, csvFileDefinition);
+		}
+
+		Runtime runtime = Runtime.getRuntime();
+		statistics.maxUsedMemory = Math.max(statistics.maxUsedMemory, runtime.totalMemory() - runtime.freeMemory());
 	}
 
 	/**
-	 * Record exists.
+	 * Creates the sequence or restarts it, if it exists already.
 	 *
-	 * @param tableName the table name
-	 * @param pkNameForCSVRecord the pk name for CSV record
-	 * @param pkValueForCSVRecord the pk value for CSV record
+	 * @param sequence the sequence
+	 * @param sequenceStart the sequence start
 	 * @param connection the connection
-	 * @return true, if successful
 	 * @throws SQLException the SQL exception
 	 */
-	private boolean recordExists(String tableName, String pkNameForCSVRecord, String pkValueForCSVRecord, Connection connection) throws SQLException {
-		boolean exists = false;
-		SelectBuilder selectBuilder = new SelectBuilder(SqlFactory.deriveDialect(connection));
-		String sql = selectBuilder.distinct().column("1 " + pkNameForCSVRecord).from(tableName).where(pkNameForCSVRecord + " = ?").build();
-		try (PreparedStatement pstmt = connection.prepareCall(sql)) {
-			ResultSet rs = null;
-			try {
-				pstmt.setString(1, pkValueForCSVRecord);
-				rs = pstmt.executeQuery();
-			} catch (Throwable e) {
-				pstmt.setInt(1, Integer.valueOf(pkValueForCSVRecord));
-				rs = pstmt.executeQuery();
+	private void updateSequence(String sequence, int sequenceStart, Connection connection) throws SQLException {
+		PreparedStatement preparedStatement = null;
+		try {
+			String createSequenceSql = SqlFactory.getNative(connection).create().sequence(sequence).start(sequenceStart).build();
+			preparedStatement = connection.prepareStatement(createSequenceSql);
+			preparedStatement.executeUpdate();
+		} catch (SQLException e) {
+			if (preparedStatement != null) {
+				preparedStatement.close();
 			}
-			if (rs.next()) {
-				try {
-					exists = "1".equals(rs.getString(1));
-				} catch(Throwable e) {
-					exists = 1 == rs.getInt(1);
+			try {
+				String alterSequenceSql = SqlFactory.getNative(connection).alter().sequence(sequence).restartWith(sequenceStart).build();
+				preparedStatement = connection.prepareStatement(alterSequenceSql);
+				preparedStatement.executeUpdate();
+			} catch (SQLException e1) {
+				logger.error("Failed to restart database sequence [" + sequence + "]", e1);
+			} finally {
+				if (preparedStatement != null) {
+					preparedStatement.close();
 				}
 			}
-		}
-		return exists;
-	}
-
-	/**
-	 * Insert csv records.
-	 *
-	 * @param recordsToProcess the records to process
-	 * @param headerNames the header names
-	 * @param csvFileDefinition the csv file definition
-	 * @throws SQLException the SQL exception
-	 */
-	private void insertCsvRecords(List<CSVRecord> recordsToProcess, List<String> headerNames, CsvFileDefinition csvFileDefinition) throws SQLException {
-		String tableName = csvFileDefinition.getTable();
-		PersistenceTableModel tableModel = databaseMetadataUtil.getTableMetadata(tableName, DatabaseMetadataUtil.getTableSchema(getDataSource(), tableName));
-
-		CsvRecordDefinition csvRecordDefinition = null;
-
-		try {
-			for (List<CSVRecord> csvBatch : Lists.partition(recordsToProcess, getCsvDataBatchSize())) {
-				List<CsvRecordDefinition> csvRecordDefinitions = csvBatch.stream().map(
-						e -> new CsvRecordDefinition(e, tableModel, headerNames, csvFileDefinition.getDistinguishEmptyFromNull()))
-						.collect(Collectors.toList()
-				);
-				csvProcessor.insert(csvRecordDefinitions, csvFileDefinition);
+		} finally {
+			if (preparedStatement != null) {
+				preparedStatement.close();
 			}
-		} catch (SQLException e) {
-			String csvRecordValue = e.getMessage();
-			logProcessorErrors(String.format(PROBLEM_MESSAGE_INSERT_RECORD, tableName, csvRecordValue), ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
-			if (logger.isErrorEnabled()) {logger.error(String.format(ERROR_MESSAGE_INSERT_RECORD, tableName, csvRecordValue, csvFileDefinition.getFile()), e);}
 		}
 	}
 
 	/**
-	 * Update csv records.
+	 * Checks if is empty table.
 	 *
-	 * @param recordsToProcess the records to process
-	 * @param headerNames the header names
-	 * @param csvFileDefinition the csv file definition
+	 * @param tableName the table name
+	 * @param connection the connection
+	 * @return true, if is empty table
 	 * @throws SQLException the SQL exception
 	 */
-	private void updateCsvRecords(List<CSVRecord> recordsToProcess, List<String> headerNames, CsvFileDefinition csvFileDefinition) throws SQLException {
-		String tableName = csvFileDefinition.getTable();
-		PersistenceTableModel tableModel = databaseMetadataUtil.getTableMetadata(tableName, DatabaseMetadataUtil.getTableSchema(getDataSource(), tableName));
-
-		CsvRecordDefinition csvRecordDefinition = null;
-
-		try {
-			for (List<CSVRecord> csvBatch : Lists.partition(recordsToProcess, getCsvDataBatchSize())) {
-				List<CsvRecordDefinition> csvRecordDefinitions = csvBatch.stream().map(
-						e -> new CsvRecordDefinition(e, tableModel, headerNames, csvFileDefinition.getDistinguishEmptyFromNull()))
-						.collect(Collectors.toList()
-				);
-				csvProcessor.update(csvRecordDefinitions, csvFileDefinition);
+	private boolean isEmptyTable(String tableName, Connection connection) throws SQLException {
+		boolean isEmpty = false;
+		SelectBuilder selectBuilder = new SelectBuilder(SqlFactory.deriveDialect(connection));
+		String sql = selectBuilder.column("COUNT(*)").from(tableName).build();
+		try (PreparedStatement pstmt = connection.prepareCall(sql)) {
+			ResultSet rs = pstmt.executeQuery();
+			if (rs.next()) {
+				isEmpty = rs.getInt(1) == 0;
 			}
-		} catch (SQLException e) {
-			String csvRecordValue = e.getMessage();
-			logProcessorErrors(String.format(PROBLEM_MESSAGE_INSERT_RECORD, tableName, csvRecordValue), ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
-			if (logger.isErrorEnabled()) {logger.error(String.format(ERROR_MESSAGE_INSERT_RECORD, tableName, csvRecordValue, csvFileDefinition.getFile()), e);}
 		}
+		return isEmpty;
 	}
 
 	/**
@@ -433,14 +415,14 @@ public class CsvimProcessor {
 	 * Gets the csv parser.
 	 *
 	 * @param csvFileDefinition the csv file definition
-	 * @param contentAsString the content as string
+	 * @param content the content
 	 * @return the csv parser
 	 * @throws CsvimException the csvim exception
 	 */
-	private CSVParser getCsvParser(CsvFileDefinition csvFileDefinition, String contentAsString) throws CsvimException {
+	private CSVParser getCsvParser(CsvFileDefinition csvFileDefinition, Reader content) throws CsvimException {
 		try {
 			CSVFormat csvFormat = createCSVFormat(csvFileDefinition);
-			return CSVParser.parse(contentAsString, csvFormat);
+			return CSVParser.parse(content, csvFormat);
 		} catch (IOException e) {
 			String errorMessage = String.format("Error occurred while trying to parse data from CSV file [%s].", csvFileDefinition.getFile());
 			logProcessorErrors(errorMessage, ERROR_TYPE_PROCESSOR, csvFileDefinition.getFile(), ARTEFACT_TYPE_CSV);
@@ -498,58 +480,71 @@ public class CsvimProcessor {
 	}
 	
 	/**
-	 * Gets the pk name for CSV record.
+	 * Gets the pk column name.
 	 *
-	 * @param tableName the table name
+	 * @param columnModels the column models
+	 * @return the pk column name
+	 */
+	private String getPkColumnName(List<PersistenceTableColumnModel> columnModels) {
+		return columnModels.stream().filter(PersistenceTableColumnModel::isPrimaryKey).map(PersistenceTableColumnModel::getName).findFirst().orElse(null);
+	}
+
+	/**
+	 * Gets the index of the pk value in the CSV records.
+	 *
+	 * @param pkColumnName the pk column name
+	 * @param columnModels the column models
 	 * @param headerNames the header names
-	 * @return the pk name for CSV record
+	 * @return the pk index or -1
 	 */
-	private String getPkNameForCSVRecord(String tableName, List<String> headerNames) {
-		PersistenceTableModel tableModel = getTableMetadata(tableName);
-		if (tableModel != null) {
-			List<PersistenceTableColumnModel> columnModels = tableModel.getColumns();
-			if (headerNames.size() > 0) {
-				String pkColumnName = columnModels.stream().filter(PersistenceTableColumnModel::isPrimaryKey).findFirst().get().getName();
-				return pkColumnName;
-			}
-	
-			for (int i = 0; i < columnModels.size(); i++) {
-				if (columnModels.get(i).isPrimaryKey()) {
-					return columnModels.get(i).getName();
-				}
+	private int getPkIndex(String pkColumnName, List<PersistenceTableColumnModel> columnModels, List<String> headerNames) {
+		if (pkColumnName == null) {
+			return -1;
+		}
+		if (headerNames.size() > 0) {
+			return headerNames.indexOf(pkColumnName);
+		}
+		for (int i = 0; i < columnModels.size(); i++) {
+			if (columnModels.get(i).isPrimaryKey()) {
+				return i;
 			}
 		}
+		return -1;
+	}
 
-		return null;
+	/**
+	 * Gets the pk column type.
+	 *
+	 * @param pkColumnName the pk column name
+	 * @param availableTableColumns the available table columns
+	 * @return the pk column type
+	 */
+	private int getPkColumnType(String pkColumnName, List<TableColumn> availableTableColumns) {
+		for (TableColumn tableColumn : availableTableColumns) {
+			if (tableColumn.getName().equalsIgnoreCase(pkColumnName)) {
+				return tableColumn.getType();
+			}
+		}
+		return Types.VARCHAR;
 	}
 
 	/**
 	 * Gets the pk value for CSV record.
 	 *
 	 * @param csvRecord the csv record
-	 * @param tableName the table name
+	 * @param pkIndex the pk index
 	 * @param headerNames the header names
 	 * @return the pk value for CSV record
 	 */
-	private String getPkValueForCSVRecord(CSVRecord csvRecord, String tableName, List<String> headerNames) {
-		PersistenceTableModel tableModel = getTableMetadata(tableName);
-		if (tableModel != null) {
-			List<PersistenceTableColumnModel> columnModels = tableModel.getColumns();
-			if (headerNames.size() > 0) {
-				String pkColumnName = columnModels.stream().filter(PersistenceTableColumnModel::isPrimaryKey).findFirst().get().getName();
-				int csvRecordPkValueIndex = headerNames.indexOf(pkColumnName);
-				return csvRecordPkValueIndex >= 0 ? csvRecord.get(csvRecordPkValueIndex) : null;
-			}
-	
-			for (int i = 0; i < csvRecord.size(); i++) {
-				boolean isColumnPk = columnModels.get(i).isPrimaryKey();
-				if (isColumnPk && !StringUtils.isEmpty(csvRecord.get(i))) {
-					return csvRecord.get(i);
-				}
-			}
+	private String getPkValueForCSVRecord(CSVRecord csvRecord, int pkIndex, List<String> headerNames) {
+		if (pkIndex < 0 || pkIndex >= csvRecord.size()) {
+			return null;
 		}
-
-		return null;
+		String pkValue = csvRecord.get(pkIndex);
+		if (headerNames.size() == 0 && StringUtils.isEmpty(pkValue)) {
+			return null;
+		}
+		return pkValue;
 	}
 
 	/**
@@ -562,21 +557,24 @@ public class CsvimProcessor {
 		return IRepositoryStructure.PATH_REGISTRY_PUBLIC + IRepository.SEPARATOR + fileNamePath;
 	}
 
+	// TODO delete records logic ?
+
 	/**
-	 * Gets the table metadata.
-	 *
-	 * @param tableName the table name
-	 * @return the table metadata
+	 * The statistics of a single CSV file import.
 	 */
-	private PersistenceTableModel getTableMetadata(String tableName) {
-		try {
-			return databaseMetadataUtil.getTableMetadata(tableName, DatabaseMetadataUtil.getTableSchema(getDataSource(), tableName));
-		} catch (SQLException sqlException) {
-			if (logger.isErrorEnabled()) {logger.error(String.format("Error occurred while trying to read table metadata for table with name: %s", tableName), sqlException);}
-		}
-		return null;
-	}
+	private static class CsvimProcessorStatistics {
 
-	// TODO delete records logic ?
+		/** The number of parsed records. */
+		private int records;
+
+		/** The number of inserted records. */
+		private int inserted;
+
+		/** The number of updated records. */
+		private int updated;
+
+		/** The max used heap memory, sampled after each batch. */
+		private long maxUsedMemory;
+	}
 
 }
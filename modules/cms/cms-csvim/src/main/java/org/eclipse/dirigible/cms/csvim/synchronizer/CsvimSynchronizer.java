@@ -15,6 +15,8 @@ import static java.text.MessageFormat.format;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -316,6 +318,20 @@ public class CsvimSynchronizer extends AbstractSynchronizer implements IOrderedS
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing CSVIM files from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { ICsvimCoreService.FILE_EXTENSION_CSVIM, ICsvimCoreService.FILE_EXTENSION_CSV };
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
@@ -332,9 +348,10 @@ public class CsvimSynchronizer extends AbstractSynchronizer implements IOrderedS
 	protected void synchronizeResource(IResource resource) throws SynchronizationException {
 		String resourceName = resource.getName();
 		if (resourceName.endsWith(ICsvimCoreService.FILE_EXTENSION_CSVIM)) {
-			CsvimDefinition csvimDefinition = csvimCoreService.parseCsvim(resource.getContent());
+			byte[] content = resource.getContent();
+			CsvimDefinition csvimDefinition = csvimCoreService.parseCsvim(content);
 			csvimDefinition.setLocation(getRegistryPath(resource));
-			csvimDefinition.setHash(DigestUtils.md5Hex(resource.getContent()));
+			csvimDefinition.setHash(DigestUtils.md5Hex(content));
 			csvimDefinition.setCreatedBy(UserFacade.getName());
 			csvimDefinition.setCreatedAt(new Timestamp(System.currentTimeMillis()));
 			synchronizeCsvim(csvimDefinition);
@@ -342,7 +359,12 @@ public class CsvimSynchronizer extends AbstractSynchronizer implements IOrderedS
 		if (resourceName.endsWith(ICsvimCoreService.FILE_EXTENSION_CSV)) {
 			CsvDefinition csvDefinition = new CsvDefinition();
 			csvDefinition.setLocation(getRegistryPath(resource));
-			csvDefinition.setHash(DigestUtils.md5Hex(resource.getContent()));
+			// hashed while streamed, so that a large CSV file is not loaded in memory
+			try (InputStream content = resource.getContentStream()) {
+				csvDefinition.setHash(DigestUtils.md5Hex(content));
+			} catch (IOException e) {
+				throw new SynchronizationException(e);
+			}
 			csvDefinition.setImported(false);
 			csvDefinition.setCreatedBy(UserFacade.getName());
 			csvDefinition.setCreatedAt(new Timestamp(System.currentTimeMillis()));
@@ -418,22 +440,32 @@ public class CsvimSynchronizer extends AbstractSynchronizer implements IOrderedS
 		for (CsvFileDefinition csvFileDefinition : sortedConfigurationDefinitions) {
 			try {
 				CsvDefinition csvDefinition = csvimCoreService.getCsv(csvFileDefinition.getFile());
-				String content = null;
 				IResource resource = csvimProcessor.getCsvResource(csvFileDefinition);
+				CsvDefinition predeliveredCsvDefinition = null;
+				String hash = null;
 				if (resource.exists()) {
-					content = csvimProcessor.getCsvContent(resource);
+					try (InputStream content = resource.getContentStream()) {
+						hash = DigestUtils.md5Hex(content);
+					}
 				} else {
-					CsvDefinition predeliveredCsvDefinition = CSV_PREDELIVERED.get(csvFileDefinition.getFile());
-					content = predeliveredCsvDefinition != null ? predeliveredCsvDefinition.getContent() : null;
+					predeliveredCsvDefinition = CSV_PREDELIVERED.get(csvFileDefinition.getFile());
+					hash = predeliveredCsvDefinition != null ? DigestUtils.md5Hex(predeliveredCsvDefinition.getContent().getBytes(StandardCharsets.UTF_8)) : null;
 				}
-				String hash = content != null ? DigestUtils.md5Hex(content.getBytes()) : null;
 				if (hash == null) {
 					if (logger.isErrorEnabled()) {logger.error("CSV content not found for file [" + csvFileDefinition.getFile() + "]");}
+					continue;
 				} else if (hash.equals(csvDefinition.getHash())
 						&& csvDefinition.getImported()) {
 					continue;
 				}
-				csvimProcessor.process(csvFileDefinition, content, connection);
+				// the records are parsed from the stream and imported in batches, without materializing the file
+				if (predeliveredCsvDefinition == null) {
+					try (Reader content = new InputStreamReader(resource.getContentStream(), StandardCharsets.UTF_8)) {
+						csvimProcessor.process(csvFileDefinition, content, connection);
+					}
+				} else {
+					csvimProcessor.process(csvFileDefinition, predeliveredCsvDefinition.getContent(), connection);
+				}
 				csvimCoreService.updateCsv(csvFileDefinition.getFile(), hash, true);
 			} catch (SQLException | CsvimException | IOException e) {
 				if (logger.isErrorEnabled()) {logger.error(String.format("An error occurred while trying to execute the data import: %s", e.getMessage()), e);}
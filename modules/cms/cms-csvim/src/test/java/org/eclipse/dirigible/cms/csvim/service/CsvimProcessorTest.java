@@ -12,8 +12,13 @@
 package org.eclipse.dirigible.cms.csvim.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -23,6 +28,7 @@ import javax.sql.DataSource;
 
 import org.eclipse.dirigible.cms.csvim.api.CsvimException;
 import org.eclipse.dirigible.cms.csvim.definition.CsvFileDefinition;
+import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.commons.config.StaticObjects;
 import org.eclipse.dirigible.core.test.AbstractDirigibleTest;
 import org.eclipse.dirigible.repository.api.IRepository;
@@ -190,4 +196,135 @@ public class CsvimProcessorTest extends AbstractDirigibleTest {
 		}
 	}
 
+	@Test
+	public void testBatchedUpsert() throws SQLException, CsvimException, IOException {
+		Configuration.set("DIRIGIBLE_CSV_DATA_BATCH_SIZE", "2");
+		try {
+			CsvimProcessor csvimProcessor = new CsvimProcessor();
+			DataSource dataSource = (DataSource) StaticObjects.get(StaticObjects.DATASOURCE);
+
+			StringBuilder content = new StringBuilder();
+			for (int i = 1; i <= 5; i++) {
+				content.append(i).append(",First").append(i).append(",Last").append(i).append("\n");
+			}
+			CsvFileDefinition csvFileDefinition = new CsvFileDefinition();
+			csvFileDefinition.setFile("/csvim/test.csv");
+			csvFileDefinition.setTable("TEST_CSV");
+
+			try (Connection connection = dataSource.getConnection()) {
+				try (Statement stmt = connection.createStatement()) {
+					stmt.executeUpdate("CREATE TABLE TEST_CSV (ID INT PRIMARY KEY, FIRST_NAME VARCHAR(20), LAST_NAME VARCHAR(20))");
+					stmt.executeUpdate("INSERT INTO TEST_CSV VALUES (2,'Old2','Old2')");
+					stmt.executeUpdate("INSERT INTO TEST_CSV VALUES (5,'Old5','Old5')");
+				}
+
+				csvimProcessor.process(csvFileDefinition, new StringReader(content.toString()), connection);
+
+				try (Statement stmt = connection.createStatement()) {
+					ResultSet rs = stmt.executeQuery("SELECT ID, FIRST_NAME FROM TEST_CSV ORDER BY ID");
+					for (int i = 1; i <= 5; i++) {
+						assertTrue(rs.next());
+						assertEquals(i, rs.getInt(1));
+						assertEquals("First" + i, rs.getString(2));
+					}
+					assertFalse(rs.next());
+				}
+			}
+		} finally {
+			Configuration.remove("DIRIGIBLE_CSV_DATA_BATCH_SIZE");
+		}
+	}
+
+	@Test
+	public void testStreamedImport() throws SQLException, CsvimException, IOException {
+		Configuration.set("DIRIGIBLE_CSV_DATA_BATCH_SIZE", "2");
+		try {
+			CsvimProcessor csvimProcessor = new CsvimProcessor();
+			DataSource dataSource = (DataSource) StaticObjects.get(StaticObjects.DATASOURCE);
+			CsvFileDefinition csvFileDefinition = new CsvFileDefinition();
+			csvFileDefinition.setFile("/csvim/test.csv");
+			csvFileDefinition.setTable("TEST_CSV");
+
+			// a reader producing the records one by one, which fails after the fifth one
+			Reader content = new Reader() {
+				private int row;
+				private String pending = "";
+
+				@Override
+				public int read(char[] buffer, int offset, int length) throws IOException {
+					if (pending.isEmpty()) {
+						if (row == 5) {
+							throw new IOException("Connection reset");
+						}
+						row++;
+						pending = row + ",First" + row + ",Last" + row + "\n";
+					}
+					int count = Math.min(length, pending.length());
+					pending.getChars(0, count, buffer, offset);
+					pending = pending.substring(count);
+					return count;
+				}
+
+				@Override
+				public void close() {
+					// nothing to close
+				}
+			};
+
+			try (Connection connection = dataSource.getConnection()) {
+				try (Statement stmt = connection.createStatement()) {
+					stmt.executeUpdate("CREATE TABLE TEST_CSV (ID INT PRIMARY KEY, FIRST_NAME VARCHAR(20), LAST_NAME VARCHAR(20))");
+				}
+
+				try {
+					csvimProcessor.process(csvFileDefinition, content, connection);
+					fail("The failure of the reader must be reported");
+				} catch (IOException | RuntimeException e) {
+					// expected
+				}
+
+				// the complete batches have been imported while reading
+				try (Statement stmt = connection.createStatement()) {
+					ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM TEST_CSV");
+					assertTrue(rs.next());
+					assertEquals(4, rs.getInt(1));
+				}
+			}
+		} finally {
+			Configuration.remove("DIRIGIBLE_CSV_DATA_BATCH_SIZE");
+		}
+	}
+
+	@Test
+	public void testFailedRecordsNotCounted() throws SQLException, CsvimException, IOException {
+		Configuration.set("DIRIGIBLE_CSV_DATA_BATCH_SIZE", "2");
+		try {
+			CsvimProcessor csvimProcessor = new CsvimProcessor();
+			DataSource dataSource = (DataSource) StaticObjects.get(StaticObjects.DATASOURCE);
+			CsvFileDefinition csvFileDefinition = new CsvFileDefinition();
+			csvFileDefinition.setFile("/csvim/test.csv");
+			csvFileDefinition.setTable("TEST_CSV");
+
+			// the third record does not fit in the column
+			String content = "1,John,Doe\n2,Jane,Doe\n3,Maximilian-Alexander-Johannes,Doe\n4,Jim,Doe\n5,Joe,Doe\n";
+
+			try (Connection connection = dataSource.getConnection()) {
+				try (Statement stmt = connection.createStatement()) {
+					stmt.executeUpdate("CREATE TABLE TEST_CSV (ID INT PRIMARY KEY, FIRST_NAME VARCHAR(20), LAST_NAME VARCHAR(20))");
+				}
+
+				int imported = csvimProcessor.process(csvFileDefinition, new StringReader(content), connection);
+
+				try (Statement stmt = connection.createStatement()) {
+					ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM TEST_CSV");
+					assertTrue(rs.next());
+					assertTrue(rs.getInt(1) < 5);
+					assertEquals(rs.getInt(1), imported);
+				}
+			}
+		} finally {
+			Configuration.remove("DIRIGIBLE_CSV_DATA_BATCH_SIZE");
+		}
+	}
+
 }
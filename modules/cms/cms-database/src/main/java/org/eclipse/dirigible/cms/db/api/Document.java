@@ -11,7 +11,6 @@
  */
 package org.eclipse.dirigible.cms.db.api;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 import org.eclipse.dirigible.repository.api.IRepository;
@@ -86,9 +85,9 @@ public class Document extends CmisObject {
 	 * @throws IOException IO Exception
 	 */
 	public ContentStream getContentStream() throws IOException {
-		byte[] content = this.internalResource.getContent();
-		return new ContentStream(session, this.internalResource.getName(), content.length, this.internalResource.getContentType(),
-				new ByteArrayInputStream(content));
+		// the content is streamed from the repository, so its length is not known in advance
+		return new ContentStream(session, this.internalResource.getName(), -1, this.internalResource.getContentType(),
+				this.internalResource.getContentStream());
 	}
 
 }
@@ -16,6 +16,7 @@ import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -79,6 +80,7 @@ public class CmisDatabaseRepositoryTest {
 		CmsDatabaseRepository cmsDatabaseRepository = new CmsDatabaseRepository(dataSource);
 
 		this.cmisRepository = CmisRepositoryFactory.createCmisRepository(cmsDatabaseRepository);
+		deleteTestDocument();
 	}
 
 	/**
@@ -88,6 +90,21 @@ public class CmisDatabaseRepositoryTest {
 	 */
 	@After
 	public void tearDown() throws Exception {
+		deleteTestDocument();
+	}
+
+	/**
+	 * Deletes the test document, if left over from a previous run.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void deleteTestDocument() throws IOException {
+		CmisSession cmisSession = this.cmisRepository.getSession();
+		try {
+			cmisSession.getObject("/test.txt").delete();
+		} catch (IOException e) {
+			// does not exist
+		}
 	}
 
 	/**
@@ -112,7 +129,15 @@ public class CmisDatabaseRepositoryTest {
 		if (object.getType().equals(ObjectType.DOCUMENT)) {
 			Document document = (Document) object;
 			ContentStream back = document.getContentStream();
-			assertEquals(new String(new byte[] {121, 122, 121, 122, 121, 122}), new String(IOUtils.toByteArray(back.getInputStream())));
+			try (InputStream in = back.getInputStream()) {
+				assertEquals(new String(new byte[] {121, 122, 121, 122, 121, 122}), new String(IOUtils.toByteArray(in)));
+			}
+		}
+		try {
+			folder.createDocument(properties, new ContentStream(cmisSession, "/test.txt", 1, "plain/text", new ByteArrayInputStream(new byte[] {120})), VersioningState.MAJOR);
+			fail("Creating an existing document must fail");
+		} catch (IOException e) {
+			// expected
 		}
 	}
 
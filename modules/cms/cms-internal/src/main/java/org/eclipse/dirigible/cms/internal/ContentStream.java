@@ -24,7 +24,7 @@ public class ContentStream {
 	/** The filename. */
 	private String filename;
 
-	/** The length. */
+	/** The length, or -1 if it is not known. */
 	private long length;
 
 	/** The mimetype. */
@@ -90,7 +90,7 @@ public class ContentStream {
 	/**
 	 * Gets the length.
 	 *
-	 * @return the length
+	 * @return the length, or -1 if it is not known
 	 */
 	public long getLength() {
 		return length;
@@ -11,14 +11,12 @@
  */
 package org.eclipse.dirigible.cms.internal;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.chemistry.opencmis.commons.enums.VersioningState;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.dirigible.repository.api.ICollection;
 import org.eclipse.dirigible.repository.api.IRepository;
 import org.eclipse.dirigible.repository.api.IResource;
@@ -136,15 +134,17 @@ public class Folder extends CmisObject {
 	 * @param contentStream            the content stream
 	 * @param versioningState            the version state
 	 * @return Document
-	 * @throws IOException             IO Exception
+	 * @throws IOException             IO Exception, also if the document already exists
 	 */
 	public Document createDocument(Map<String, String> properties, ContentStream contentStream,
 			VersioningState versioningState) throws IOException {
 		String name = properties.get(CmisConstants.NAME);
-		ByteArrayOutputStream out = new ByteArrayOutputStream();
-		IOUtils.copy(contentStream.getStream(), out);
-		return new Document(this.session,
-				this.internalFolder.createResource(name, out.toByteArray(), true, contentStream.getMimeType()));
+		IResource resource = this.internalFolder.getResource(name);
+		if (resource.exists()) {
+			throw new IOException("Document already exists: " + resource.getPath());
+		}
+		resource.setContent(contentStream.getStream(), true, contentStream.getMimeType());
+		return new Document(this.session, resource);
 	}
 
 	/**
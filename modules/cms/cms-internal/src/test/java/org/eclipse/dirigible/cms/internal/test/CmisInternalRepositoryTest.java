@@ -12,9 +12,11 @@
 package org.eclipse.dirigible.cms.internal.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -56,6 +58,7 @@ public class CmisInternalRepositoryTest {
 
 		IRepository repository = new LocalRepository(rootFolder, absolute);
 		this.cmisRepository = CmisRepositoryFactory.createCmisRepository(repository);
+		deleteTestDocument();
 	}
 
 	/**
@@ -65,6 +68,21 @@ public class CmisInternalRepositoryTest {
 	 */
 	@After
 	public void tearDown() throws Exception {
+		deleteTestDocument();
+	}
+
+	/**
+	 * Deletes the test document, if left over from a previous run.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void deleteTestDocument() throws IOException {
+		CmisSession cmisSession = this.cmisRepository.getSession();
+		try {
+			cmisSession.getObject("/test.txt").delete();
+		} catch (IOException e) {
+			// does not exist
+		}
 	}
 
 	/**
@@ -85,7 +103,15 @@ public class CmisInternalRepositoryTest {
 		if (object.getType().equals(ObjectType.DOCUMENT)) {
 			Document document = (Document) object;
 			ContentStream back = document.getContentStream();
-			assertEquals(new String(new byte[] {121, 122, 121, 122, 121, 122}), new String(IOUtils.toByteArray(back.getInputStream())));
+			try (InputStream in = back.getInputStream()) {
+				assertEquals(new String(new byte[] {121, 122, 121, 122, 121, 122}), new String(IOUtils.toByteArray(in)));
+			}
+		}
+		try {
+			folder.createDocument(properties, new ContentStream(cmisSession, "/test.txt", 1, "plain/text", new ByteArrayInputStream(new byte[] {120})), VersioningState.MAJOR);
+			fail("Creating an existing document must fail");
+		} catch (IOException e) {
+			// expected
 		}
 	}
 
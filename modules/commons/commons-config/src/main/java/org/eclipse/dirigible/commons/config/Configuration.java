@@ -587,7 +587,6 @@ public class Configuration {
 			"DIRIGIBLE_KEYCLOAK_SSL_REQUIRED",
 			"DIRIGIBLE_KEYCLOAK_CLIENT_ID",
 			"DIRIGIBLE_KEYCLOAK_CONFIDENTIAL_PORT",
-			"DIRIGIBLE_CSV_DATA_MAX_COMPARE_SIZE",
 			"DIRIGIBLE_CSV_DATA_BATCH_SIZE",
 			"DIRIGIBLE_DESTINATION_CLIENT_ID",
 			"DIRIGIBLE_DESTINATION_CLIENT_SECRET",
@@ -12,10 +12,12 @@
 package org.eclipse.dirigible.commons.api.context;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
@@ -33,8 +35,8 @@ public class ThreadContextFacade {
     /** The Constant STACKED_CONTEXT. */
     private static final ThreadLocal<Map<Integer, Map<String, Object>>> STACKED_CONTEXT = new ThreadLocal<>();
 
-    /** The Constant STACKED_CLOSEABLES. */
-    private static final ThreadLocal<Map<Integer, Map<String, AutoCloseable>>> STACKED_CLOSEABLES = new ThreadLocal<>();
+    /** The Constant STACKED_CLOSEABLES, compared by identity. */
+    private static final ThreadLocal<Map<Integer, Set<AutoCloseable>>> STACKED_CLOSEABLES = new ThreadLocal<>();
 
     /** The Constant UUID_GENERATOR. */
     private static final AtomicLong UUID_GENERATOR = new AtomicLong(Long.MIN_VALUE);
@@ -62,7 +64,7 @@ public class ThreadContextFacade {
         }
 
         STACKED_CONTEXT.get().put(STACK_ID.get(), collectParentObjects());
-        STACKED_CLOSEABLES.get().put(STACK_ID.get(), new HashMap<>());
+        STACKED_CLOSEABLES.get().put(STACK_ID.get(), Collections.newSetFromMap(new IdentityHashMap<>()));
 
         if (logger.isTraceEnabled()) {logger.trace("Scripting context {} has been set up", Thread.currentThread().hashCode());}
     }
@@ -97,11 +99,12 @@ public class ThreadContextFacade {
         }
 
         if (stackedCloseablesIsNotEmpty()) {
-            Map<String, AutoCloseable> CLOSEABLES = STACKED_CLOSEABLES.get().get(stackId);
-            for (Entry<String, AutoCloseable> closeable : CLOSEABLES.entrySet()) {
+            // a copy, as closing an object may remove it from the closeables
+            List<AutoCloseable> closeables = new ArrayList<>(STACKED_CLOSEABLES.get().get(stackId));
+            for (AutoCloseable closeable : closeables) {
                 try {
-                	if (logger.isErrorEnabled()) {logger.error("Object of type {} from the context {} has not been closed properly.", closeable.getValue().getClass().getCanonicalName(), Thread.currentThread().hashCode());}
-                    closeable.getValue().close();
+                	if (logger.isErrorEnabled()) {logger.error("Object of type {} from the context {} has not been closed properly.", closeable.getClass().getCanonicalName(), Thread.currentThread().hashCode());}
+                    closeable.close();
                 } catch (Exception e) {
                 	if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
                 }
@@ -209,19 +212,23 @@ public class ThreadContextFacade {
      */
     public static void addCloseable(AutoCloseable closeable) {
         if (STACKED_CLOSEABLES.get() != null) {
-            STACKED_CLOSEABLES.get().get(STACK_ID.get()).put(STACK_ID.get() + "_" + closeable.hashCode(), closeable);
+            STACKED_CLOSEABLES.get().get(STACK_ID.get()).add(closeable);
             if (logger.isTraceEnabled()) {logger.trace("Closeable object has been added to {} with hash {}", Thread.currentThread().hashCode(), closeable.hashCode());}
         }
     }
 
     /**
-     * Remove a closeable object.
+     * Remove a closeable object, from the context it has been added to.
      *
      * @param closeable the closeable object
      */
     public static void removeCloseable(AutoCloseable closeable) {
         if (STACKED_CLOSEABLES.get() != null) {
-            STACKED_CLOSEABLES.get().get(STACK_ID.get()).remove(STACK_ID.get() + "_" + closeable.hashCode());
+            for (Set<AutoCloseable> closeables : STACKED_CLOSEABLES.get().values()) {
+                if (closeables.remove(closeable)) {
+                    break;
+                }
+            }
             if (logger.isTraceEnabled()) {logger.trace("Closeable object has been removed - hash {}", closeable.hashCode());}
         }
     }
@@ -252,7 +259,7 @@ public class ThreadContextFacade {
      * @return true, if successful
      */
     private static boolean stackedCloseablesIsEmpty() {
-        Map<Integer, Map<String, AutoCloseable>> stackedCloseables = STACKED_CLOSEABLES.get();
+        Map<Integer, Set<AutoCloseable>> stackedCloseables = STACKED_CLOSEABLES.get();
         return stackedCloseables == null || stackedCloseables.isEmpty();
     }
 
@@ -262,7 +269,7 @@ public class ThreadContextFacade {
      * @return true, if successful
      */
     private static boolean stackedCloseablesIsNotEmpty() {
-        Map<Integer, Map<String, AutoCloseable>> stackedCloseables = STACKED_CLOSEABLES.get();
+        Map<Integer, Set<AutoCloseable>> stackedCloseables = STACKED_CLOSEABLES.get();
         return stackedCloseables != null && !stackedCloseables.isEmpty();
     }
 }
@@ -18,6 +18,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * The GsonHelper utility class.
@@ -94,6 +95,16 @@ public class GsonHelper {
 	public static JsonElement toJsonTree(Object value) {
 		return GSON.toJsonTree(value);
 	}
+
+	/**
+	 * Writes the value to the json writer, with the same settings as {@link #toJson(Object)}.
+	 *
+	 * @param value the value
+	 * @param writer the writer
+	 */
+	public static void toJson(Object value, JsonWriter writer) {
+		GSON.toJson(toJsonTree(value), writer);
+	}
 	
 	/**
 	 * Parses the json.
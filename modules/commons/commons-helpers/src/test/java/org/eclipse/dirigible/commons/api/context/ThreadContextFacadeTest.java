@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.commons.api.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * The Class ThreadContextFacadeTest.
+ */
+public class ThreadContextFacadeTest {
+
+	/**
+	 * The closeables left open are closed on tear down, also when they remove themselves on close.
+	 */
+	@Test
+	public void tearDownClosesRemainingCloseables() {
+		ThreadContextFacade.setUp();
+		SelfRemovingCloseable first = new SelfRemovingCloseable();
+		SelfRemovingCloseable second = new SelfRemovingCloseable();
+		SelfRemovingCloseable third = new SelfRemovingCloseable();
+		ThreadContextFacade.tearDown();
+
+		assertEquals(1, first.closed);
+		assertEquals(1, second.closed);
+		assertEquals(1, third.closed);
+		assertFalse(ThreadContextFacade.isValid());
+	}
+
+	/**
+	 * A closeable closed in a nested context is removed from the context it has been added to.
+	 */
+	@Test
+	public void closeableClosedInNestedContext() {
+		ThreadContextFacade.setUp();
+		SelfRemovingCloseable closeable = new SelfRemovingCloseable();
+		ThreadContextFacade.setUp();
+		closeable.close();
+		ThreadContextFacade.tearDown();
+		assertTrue(ThreadContextFacade.isValid());
+		ThreadContextFacade.tearDown();
+
+		assertEquals(1, closeable.closed);
+		assertFalse(ThreadContextFacade.isValid());
+	}
+
+	/**
+	 * Closeables with the same hash code are different closeables.
+	 */
+	@Test
+	public void closeablesWithSameHashCode() {
+		ThreadContextFacade.setUp();
+		SelfRemovingCloseable first = new SelfRemovingCloseable() {
+			@Override
+			public int hashCode() {
+				return 1;
+			}
+		};
+		SelfRemovingCloseable second = new SelfRemovingCloseable() {
+			@Override
+			public int hashCode() {
+				return 1;
+			}
+		};
+		first.close();
+		ThreadContextFacade.tearDown();
+
+		assertEquals(1, first.closed);
+		assertEquals(1, second.closed);
+	}
+
+	/**
+	 * A closeable, which adds itself to the context and removes itself on close.
+	 */
+	private static class SelfRemovingCloseable implements AutoCloseable {
+
+		/** The number of the close calls. */
+		private int closed;
+
+		/**
+		 * Instantiates a new self removing closeable.
+		 */
+		SelfRemovingCloseable() {
+			ThreadContextFacade.addCloseable(this);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.AutoCloseable#close()
+		 */
+		@Override
+		public void close() {
+			closed++;
+			ThreadContextFacade.removeCloseable(this);
+		}
+	}
+
+}
@@ -283,6 +283,56 @@ public class ExtensionsSynchronizer extends AbstractSynchronizer {
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing Extension Points and Extensions from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { IExtensionsCoreService.FILE_EXTENSION_EXTENSIONPOINT, IExtensionsCoreService.FILE_EXTENSION_EXTENSION };
+	}
+
+	/**
+	 * Checks if is skipping unchanged.
+	 *
+	 * @return true, if is skipping unchanged
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#isSkippingUnchanged()
+	 */
+	@Override
+	protected boolean isSkippingUnchanged() {
+		return true;
+	}
+
+	/**
+	 * Synchronize unchanged resource.
+	 *
+	 * @param resource the resource
+	 * @throws SynchronizationException the synchronization exception
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#synchronizeUnchangedResource(org.eclipse.dirigible.
+	 * repository.api.IResource)
+	 */
+	@Override
+	protected void synchronizeUnchangedResource(IResource resource) throws SynchronizationException {
+		// the artefacts are up to date, only kept from the cleanup
+		if (resource.getName().endsWith(IExtensionsCoreService.FILE_EXTENSION_EXTENSIONPOINT)) {
+			EXTENSION_POINTS_SYNCHRONIZED.add(getRegistryPath(resource));
+		}
+		if (resource.getName().endsWith(IExtensionsCoreService.FILE_EXTENSION_EXTENSION)) {
+			EXTENSIONS_SYNCHRONIZED.add(getRegistryPath(resource));
+		}
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
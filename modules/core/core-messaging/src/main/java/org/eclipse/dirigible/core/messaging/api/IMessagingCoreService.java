@@ -48,6 +48,30 @@ public interface IMessagingCoreService extends ICoreService {
 	 */
 	public ListenerDefinition createListener(String location, String name, char type, String handler, String description) throws MessagingException;
 
+	/**
+	 * Creates the listener.
+	 *
+	 * @param location
+	 *            the location
+	 * @param name
+	 *            the name
+	 * @param type
+	 *            the type
+	 * @param handler
+	 *            the handler
+	 * @param description
+	 *            the description
+	 * @param concurrency
+	 *            the number of messages processed in parallel
+	 * @param orderingKey
+	 *            the property, which messages with the same value are processed in order, or null
+	 * @return the listener definition
+	 * @throws MessagingException
+	 *             the messaging exception
+	 */
+	public ListenerDefinition createListener(String location, String name, char type, String handler, String description, int concurrency,
+			String orderingKey) throws MessagingException;
+
 	/**
 	 * Gets the listener.
 	 *
@@ -109,6 +133,29 @@ public interface IMessagingCoreService extends ICoreService {
 	 */
 	public void updateListener(String location, String name, char type, String handler, String description) throws MessagingException;
 
+	/**
+	 * Update listener.
+	 *
+	 * @param location
+	 *            the location
+	 * @param name
+	 *            the name
+	 * @param type
+	 *            the type
+	 * @param handler
+	 *            the handler
+	 * @param description
+	 *            the description
+	 * @param concurrency
+	 *            the number of messages processed in parallel
+	 * @param orderingKey
+	 *            the property, which messages with the same value are processed in order, or null
+	 * @throws MessagingException
+	 *             the messaging exception
+	 */
+	public void updateListener(String location, String name, char type, String handler, String description, int concurrency, String orderingKey)
+			throws MessagingException;
+
 	/**
 	 * Gets the listeners.
 	 *
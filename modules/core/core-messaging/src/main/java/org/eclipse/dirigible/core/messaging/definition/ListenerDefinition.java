@@ -42,6 +42,12 @@ public class ListenerDefinition implements IArtefactDefinition {
 	@Column(name = "LISTENER_DESCRIPTION", columnDefinition = "VARCHAR", nullable = true, length = 1024)
 	private String description;
 
+	@Column(name = "LISTENER_CONCURRENCY", columnDefinition = "INTEGER", nullable = true)
+	private Integer concurrency;
+
+	@Column(name = "LISTENER_ORDERING_KEY", columnDefinition = "VARCHAR", nullable = true, length = 255)
+	private String orderingKey;
+
 	@Column(name = "LISTENER_CREATED_BY", columnDefinition = "VARCHAR", nullable = false, length = 128)
 	private String createdBy;
 
@@ -143,6 +149,45 @@ public class ListenerDefinition implements IArtefactDefinition {
 		this.description = description;
 	}
 
+	/**
+	 * Gets the number of messages processed concurrently, 1 if not set.
+	 *
+	 * @return the concurrency
+	 */
+	public int getConcurrency() {
+		return ((concurrency != null) && (concurrency > 0)) ? concurrency : 1;
+	}
+
+	/**
+	 * Sets the number of messages processed concurrently.
+	 *
+	 * @param concurrency
+	 *            the new concurrency
+	 */
+	public void setConcurrency(Integer concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Gets the ordering key of a topic listener, the message property or top level JSON field by which the messages
+	 * are processed in order.
+	 *
+	 * @return the ordering key
+	 */
+	public String getOrderingKey() {
+		return orderingKey;
+	}
+
+	/**
+	 * Sets the ordering key.
+	 *
+	 * @param orderingKey
+	 *            the new ordering key
+	 */
+	public void setOrderingKey(String orderingKey) {
+		this.orderingKey = orderingKey;
+	}
+
 	/**
 	 * Gets the created by.
 	 *
@@ -230,6 +275,8 @@ public class ListenerDefinition implements IArtefactDefinition {
 		result = (prime * result) + ((handler == null) ? 0 : handler.hashCode());
 		result = (prime * result) + ((name == null) ? 0 : name.hashCode());
 		result = (prime * result) + type;
+		result = (prime * result) + getConcurrency();
+		result = (prime * result) + ((orderingKey == null) ? 0 : orderingKey.hashCode());
 		return result;
 	}
 
@@ -280,6 +327,16 @@ public class ListenerDefinition implements IArtefactDefinition {
 		if (type != other.type) {
 			return false;
 		}
+		if (getConcurrency() != other.getConcurrency()) {
+			return false;
+		}
+		if (orderingKey == null) {
+			if (other.orderingKey != null) {
+				return false;
+			}
+		} else if (!orderingKey.equals(other.orderingKey)) {
+			return false;
+		}
 		return true;
 	}
 
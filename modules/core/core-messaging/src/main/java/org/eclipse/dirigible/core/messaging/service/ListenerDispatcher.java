@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.messaging.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches the messages received by a listener to a fixed number of worker lanes.
+ * <p>
+ * Each lane has a single worker thread and a bounded queue, so that dispatching blocks the receiver when the lane is
+ * full. The messages with the same key always go to the same lane and are processed in the order of their
+ * dispatching, the messages without a key are distributed round robin.
+ */
+class ListenerDispatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(ListenerDispatcher.class);
+
+	/** The lanes. */
+	private final Lane[] lanes;
+
+	/** The next lane for the messages without a key. */
+	private final AtomicInteger next = new AtomicInteger();
+
+	/** The tasks dispatched, but not completed yet. */
+	private final AtomicInteger outstanding = new AtomicInteger();
+
+	/** Whether the dispatcher has been stopped. */
+	private volatile boolean stopped;
+
+	/**
+	 * Instantiates a new listener dispatcher and starts its workers.
+	 *
+	 * @param name the name of the worker threads
+	 * @param concurrency the number of lanes
+	 * @param capacity the capacity of each lane
+	 */
+	ListenerDispatcher(String name, int concurrency, int capacity) {
+		this.lanes = new Lane[concurrency];
+		for (int i = 0; i < concurrency; i++) {
+			lanes[i] = new Lane(capacity);
+			Thread worker = new Thread(lanes[i], name + "-" + i);
+			worker.setDaemon(true);
+			worker.start();
+		}
+	}
+
+	/**
+	 * Dispatches a task, waiting while its lane is full.
+	 *
+	 * @param key the ordering key, or null
+	 * @param task the task
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	void dispatch(String key, Runnable task) throws InterruptedException {
+		int index = key != null ? Math.floorMod(key.hashCode(), lanes.length) : Math.floorMod(next.getAndIncrement(), lanes.length);
+		outstanding.incrementAndGet();
+		try {
+			lanes[index].queue.put(task);
+		} catch (InterruptedException e) {
+			outstanding.decrementAndGet();
+			throw e;
+		}
+	}
+
+	/**
+	 * Waits until the tasks already dispatched have been completed.
+	 *
+	 * @param timeout the time to wait without progress in milliseconds
+	 * @return true, if all the tasks have been completed
+	 */
+	boolean awaitIdle(long timeout) {
+		int last = outstanding.get();
+		long deadline = System.currentTimeMillis() + timeout;
+		while (last > 0) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			int current = outstanding.get();
+			if (current < last) {
+				last = current;
+				deadline = System.currentTimeMillis() + timeout;
+			} else if (System.currentTimeMillis() > deadline) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the tasks waiting in the lanes.
+	 *
+	 * @return the pending tasks
+	 */
+	int getPending() {
+		int pending = 0;
+		for (Lane lane : lanes) {
+			pending += lane.queue.size();
+		}
+		return pending;
+	}
+
+	/**
+	 * Stops the workers, after they have processed the tasks already dispatched.
+	 */
+	void stop() {
+		this.stopped = true;
+	}
+
+	/**
+	 * A lane with its worker.
+	 */
+	private class Lane implements Runnable {
+
+		/** The queue. */
+		private final BlockingQueue<Runnable> queue;
+
+		/**
+		 * Instantiates a new lane.
+		 *
+		 * @param capacity the capacity
+		 */
+		Lane(int capacity) {
+			this.queue = new ArrayBlockingQueue<Runnable>(capacity);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			try {
+				while (!stopped || !queue.isEmpty()) {
+					Runnable task = queue.poll(100, TimeUnit.MILLISECONDS);
+					if (task != null) {
+						try {
+							task.run();
+						} catch (RuntimeException e) {
+							if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
+						} finally {
+							outstanding.decrementAndGet();
+						}
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+}
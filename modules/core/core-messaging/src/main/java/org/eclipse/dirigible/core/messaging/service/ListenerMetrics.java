@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.messaging.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a message listener.
+ */
+public class ListenerMetrics {
+
+	/** The processed messages. */
+	private final LongAdder processed = new LongAdder();
+
+	/** The messages, which processing has failed. */
+	private final LongAdder failed = new LongAdder();
+
+	/** The handler time in nanoseconds. */
+	private final LongAdder handlerNanos = new LongAdder();
+
+	/** The max handler time in nanoseconds. */
+	private final LongAccumulator maxHandlerNanos = new LongAccumulator(Long::max, 0);
+
+	/** The messages with a send timestamp. */
+	private final LongAdder lagged = new LongAdder();
+
+	/** The time between sending and processing in milliseconds. */
+	private final LongAdder lagMillis = new LongAdder();
+
+	/** The max time between sending and processing in milliseconds. */
+	private final LongAccumulator maxLagMillis = new LongAccumulator(Long::max, 0);
+
+	/** The dispatcher, which messages are pending, or null. */
+	private volatile ListenerDispatcher dispatcher;
+
+	/**
+	 * Sets the dispatcher.
+	 *
+	 * @param dispatcher the dispatcher
+	 */
+	void setDispatcher(ListenerDispatcher dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	/**
+	 * Record a processed message.
+	 *
+	 * @param lag the time since the message has been sent in milliseconds, or a negative value if unknown
+	 * @param nanos the handler time
+	 * @param success whether the processing has succeeded
+	 */
+	void recordMessage(long lag, long nanos, boolean success) {
+		processed.increment();
+		if (!success) {
+			failed.increment();
+		}
+		handlerNanos.add(nanos);
+		maxHandlerNanos.accumulate(nanos);
+		if (lag >= 0) {
+			lagged.increment();
+			lagMillis.add(lag);
+			maxLagMillis.accumulate(lag);
+		}
+	}
+
+	/**
+	 * Gets the processed messages.
+	 *
+	 * @return the processed messages
+	 */
+	public long getProcessed() {
+		return processed.sum();
+	}
+
+	/**
+	 * Gets the messages, which processing has failed.
+	 *
+	 * @return the failed messages
+	 */
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	/**
+	 * Gets the average handler time in milliseconds.
+	 *
+	 * @return the average handler time
+	 */
+	public double getAverageHandlerMillis() {
+		long count = getProcessed();
+		return count == 0 ? 0 : (double) handlerNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Gets the max handler time in milliseconds.
+	 *
+	 * @return the max handler time
+	 */
+	public double getMaxHandlerMillis() {
+		return (double) maxHandlerNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Gets the average time between sending and processing a message in milliseconds.
+	 *
+	 * @return the average lag
+	 */
+	public double getAverageLagMillis() {
+		long count = lagged.sum();
+		return count == 0 ? 0 : (double) lagMillis.sum() / count;
+	}
+
+	/**
+	 * Gets the max time between sending and processing a message in milliseconds.
+	 *
+	 * @return the max lag
+	 */
+	public long getMaxLagMillis() {
+		return maxLagMillis.get();
+	}
+
+	/**
+	 * Gets the messages received and waiting for a worker.
+	 *
+	 * @return the pending messages
+	 */
+	public int getPending() {
+		ListenerDispatcher current = dispatcher;
+		return current != null ? current.getPending() : 0;
+	}
+
+	/**
+	 * To string.
+	 *
+	 * @return the string
+	 */
+	@Override
+	public String toString() {
+		return String.format("processed=%d, failed=%d, pending=%d, avgHandler=%.3fms, maxHandler=%.3fms, avgLag=%.1fms, maxLag=%dms",
+				getProcessed(), getFailed(), getPending(), getAverageHandlerMillis(), getMaxHandlerMillis(), getAverageLagMillis(),
+				getMaxLagMillis());
+	}
+
+}
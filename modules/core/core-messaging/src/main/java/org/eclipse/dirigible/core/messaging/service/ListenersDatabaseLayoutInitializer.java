@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.messaging.service;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.eclipse.dirigible.commons.config.StaticObjects;
+import org.eclipse.dirigible.core.scheduler.quartz.AbstractDatabaseLayoutInitializer;
+import org.eclipse.dirigible.database.sql.SqlFactory;
+import org.eclipse.dirigible.databases.helpers.DatabaseMetadataHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Listeners Database Layout Initializer.
+ * <p>
+ * The listeners table itself is created on its first use. A table created by a previous version gets the columns added
+ * after its release.
+ */
+public class ListenersDatabaseLayoutInitializer extends AbstractDatabaseLayoutInitializer {
+
+	/** The Constant logger. */
+	private static final Logger logger = LoggerFactory.getLogger(ListenersDatabaseLayoutInitializer.class);
+
+	/** The Constant TABLE_LISTENERS. */
+	private static final String TABLE_LISTENERS = "DIRIGIBLE_LISTENERS";
+
+	/** The data source. */
+	private DataSource dataSource = null;
+
+	/**
+	 * Gets the data source.
+	 *
+	 * @return the data source
+	 */
+	protected synchronized DataSource getDataSource() {
+		if (dataSource == null) {
+			dataSource = (DataSource) StaticObjects.get(StaticObjects.SYSTEM_DATASOURCE);
+		}
+		return dataSource;
+	}
+
+	/**
+	 * Upgrade the database schema for Listeners.
+	 *
+	 * @throws SQLException
+	 *             the SQL exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Override
+	public void initialize() throws SQLException, IOException {
+		try (Connection connection = getDataSource().getConnection()) {
+			if (logger.isDebugEnabled()) {logger.debug("Starting to upgrade the database layout for Listeners...");}
+			@SuppressWarnings("rawtypes")
+			SqlFactory sqlFactory = SqlFactory.getNative(connection);
+			if (sqlFactory.exists(connection, TABLE_LISTENERS)) {
+				// added after the table has been released
+				if (!existsColumn(connection, TABLE_LISTENERS, "LISTENER_CONCURRENCY")) {
+					execute(connection, sqlFactory.alter().table(TABLE_LISTENERS).add().columnInteger("LISTENER_CONCURRENCY").build());
+				}
+				if (!existsColumn(connection, TABLE_LISTENERS, "LISTENER_ORDERING_KEY")) {
+					execute(connection, sqlFactory.alter().table(TABLE_LISTENERS).add().columnVarchar("LISTENER_ORDERING_KEY", 255).build());
+				}
+			}
+			if (logger.isDebugEnabled()) {logger.debug("Done upgrading the database layout for Listeners.");}
+		}
+	}
+
+	/**
+	 * Executes a statement.
+	 *
+	 * @param connection the connection
+	 * @param sql the statement
+	 * @throws SQLException the SQL exception
+	 */
+	private void execute(Connection connection, String sql) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * Checks whether a column exists.
+	 *
+	 * @param connection the connection
+	 * @param table the table
+	 * @param column the column
+	 * @return true, if the column exists
+	 * @throws SQLException the SQL exception
+	 */
+	private boolean existsColumn(Connection connection, String table, String column) throws SQLException {
+		try (ResultSet columns = connection.getMetaData().getColumns(null, null, DatabaseMetadataHelper.normalizeTableName(table), null)) {
+			while (columns.next()) {
+				if (column.equalsIgnoreCase(columns.getString(4))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+}
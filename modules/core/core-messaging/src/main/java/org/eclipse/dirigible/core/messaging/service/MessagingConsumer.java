@@ -15,6 +15,9 @@ import static java.text.MessageFormat.format;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.jms.Connection;
 import javax.jms.Destination;
@@ -26,14 +29,20 @@ import javax.jms.Session;
 import javax.jms.TextMessage;
 
 import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.ActiveMQSession;
+import org.eclipse.dirigible.commons.api.helpers.GsonHelper;
 import org.eclipse.dirigible.commons.api.scripting.ScriptingException;
+import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.core.messaging.api.IMessagingCoreService;
 import org.eclipse.dirigible.core.messaging.api.MessagingException;
+import org.eclipse.dirigible.core.messaging.service.MessagingSessionPool.PooledSession;
 import org.eclipse.dirigible.engine.api.script.ScriptEngineExecutorsManager;
 import org.eclipse.dirigible.engine.js.api.IJavascriptEngineExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+
 /**
  * The Class MessagingConsumer.
  */
@@ -44,11 +53,25 @@ public class MessagingConsumer implements Runnable, ExceptionListener {
 	private static final String DIRIGIBLE_MESSAGING_WRAPPER_MODULE_ON_MESSAGE = "messaging/wrappers/onMessage";
 	private static final String DIRIGIBLE_MESSAGING_WRAPPER_MODULE_ON_ERROR = "messaging/wrappers/onError";
 
+	/** The Constant DIRIGIBLE_MESSAGING_LISTENER_QUEUE_SIZE. */
+	public static final String DIRIGIBLE_MESSAGING_LISTENER_QUEUE_SIZE = "DIRIGIBLE_MESSAGING_LISTENER_QUEUE_SIZE"; //$NON-NLS-1$
+
+	/** The initial delay before reconnecting a failed listener. */
+	private static final long RECONNECT_DELAY_INITIAL = 1000;
+
+	/** The maximum delay before reconnecting a failed listener. */
+	private static final long RECONNECT_DELAY_MAX = 60000;
+
 	private String name;
 	private char type;
 	private String handler;
 	private int timeout = 1000;
-	private boolean stopped;
+	private int concurrency = 1;
+	private String orderingKey;
+	private volatile boolean stopped;
+	private final ListenerMetrics metrics = new ListenerMetrics();
+	private ListenerDispatcher dispatcher;
+	private final AtomicInteger receivers = new AtomicInteger();
 
 	/**
 	 * Instantiates a new messaging consumer.
@@ -63,10 +86,37 @@ public class MessagingConsumer implements Runnable, ExceptionListener {
 	 *            the timeout
 	 */
 	public MessagingConsumer(String name, char type, String handler, int timeout) {
+		this(name, type, handler, timeout, 1, null);
+	}
+
+	/**
+	 * Instantiates a new messaging consumer processing messages in parallel.
+	 * <p>
+	 * The messages of a queue without an ordering key are received by concurrent consumers. The messages of a topic,
+	 * which every consumer would receive, or with an ordering key are received by a single consumer and dispatched to
+	 * bounded worker lanes, the messages with the same key being processed in order by the same lane.
+	 *
+	 * @param name
+	 *            the name
+	 * @param type
+	 *            the type
+	 * @param handler
+	 *            the handler
+	 * @param timeout
+	 *            the timeout
+	 * @param concurrency
+	 *            the number of messages processed in parallel
+	 * @param orderingKey
+	 *            the message property or the JSON field of the message text, which messages with the same value are
+	 *            processed in order, or null
+	 */
+	public MessagingConsumer(String name, char type, String handler, int timeout, int concurrency, String orderingKey) {
 		this.name = name;
 		this.type = type;
 		this.handler = handler;
 		this.timeout = timeout;
+		this.concurrency = Math.max(concurrency, 1);
+		this.orderingKey = orderingKey;
 	}
 
 	/**
@@ -92,6 +142,15 @@ public class MessagingConsumer implements Runnable, ExceptionListener {
 		this.stopped = true;
 	}
 
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	public ListenerMetrics getMetrics() {
+		return metrics;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Runnable#run()
@@ -99,78 +158,282 @@ public class MessagingConsumer implements Runnable, ExceptionListener {
 	@Override
 	public void run() {
 		if (this.handler != null) {
+			int count = 1;
+			if (this.concurrency > 1) {
+				if (this.type == IMessagingCoreService.QUEUE && this.orderingKey == null) {
+					count = this.concurrency;
+				} else {
+					int capacity = Integer.parseInt(Configuration.get(DIRIGIBLE_MESSAGING_LISTENER_QUEUE_SIZE, "100"));
+					this.dispatcher = new ListenerDispatcher("messaging-listener-" + this.name, this.concurrency, capacity);
+					this.metrics.setDispatcher(this.dispatcher);
+				}
+			}
+			if (logger.isInfoEnabled()) {logger.info("Starting a message listener for {} ...", this.name);}
+			this.receivers.set(count);
+			for (int i = 1; i < count; i++) {
+				Thread receiver = new Thread(this::receive, "messaging-listener-" + this.name + "-" + i);
+				receiver.setDaemon(false);
+				receiver.start();
+			}
+			receive();
+		}
+	}
+
+	/**
+	 * Receives messages until stopped, reconnecting with an increasing delay after a failure. The last receiver stops
+	 * the dispatcher.
+	 */
+	private void receive() {
+		long delay = RECONNECT_DELAY_INITIAL;
+		try {
 			while (!this.stopped && !Thread.currentThread().isInterrupted()) {
-				receiveMessage();
+				Connection connection = null;
+				try {
+					ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(SchedulerManager.CONNECTOR_URL_ATTACH);
+					connection = connectionFactory.createConnection();
+					connection.start();
+					connection.setExceptionListener(this);
+
+					// the messages are acknowledged one by one after processing, as the lanes complete them out of order
+					Session session = connection.createSession(false, ActiveMQSession.INDIVIDUAL_ACKNOWLEDGE);
+					MessageConsumer consumer = session.createConsumer(createDestination(session));
+					delay = RECONNECT_DELAY_INITIAL;
+					consume(consumer);
+				} catch (Exception e) {
+					if (logger.isErrorEnabled()) {logger.error(format("Receiving messages in [{0}] failed, reconnecting in {1} ms", this.name, delay), e);}
+					pause(delay);
+					delay = Math.min(delay * 2, RECONNECT_DELAY_MAX);
+				} finally {
+					if (connection != null) {
+						try {
+							connection.close();
+						} catch (JMSException e) {
+							if (logger.isWarnEnabled()) {logger.warn(e.getMessage(), e);}
+						}
+					}
+				}
+			}
+		} finally {
+			if (this.receivers.decrementAndGet() == 0) {
+				if (this.dispatcher != null) {
+					this.dispatcher.stop();
+				}
+				if (logger.isDebugEnabled()) {logger.debug(format("Listener for [{0}] stopped with metrics: {1}", this.name, this.metrics));}
 			}
 		}
 	}
 
 	/**
-	 * Receive message.
+	 * Creates the destination of the listener.
 	 *
-	 * @return the string
+	 * @param session
+	 *            the session
+	 * @return the destination
+	 * @throws JMSException
+	 *             the JMS exception
+	 * @throws MessagingException
+	 *             if the destination type is invalid
 	 */
-	public String receiveMessage() {
+	private Destination createDestination(Session session) throws JMSException, MessagingException {
+		if (this.type == IMessagingCoreService.QUEUE) {
+			return session.createQueue(this.name);
+		} else if (this.type == IMessagingCoreService.TOPIC) {
+			return session.createTopic(this.name);
+		}
+		throw new MessagingException("Invalid Destination Type: " + this.type);
+	}
+
+	/**
+	 * Consumes messages until stopped. The session is used by this thread only, so the messages processed by the
+	 * lanes are acknowledged here, after each receive.
+	 *
+	 * @param consumer
+	 *            the consumer
+	 * @throws JMSException
+	 *             the JMS exception
+	 * @throws InterruptedException
+	 *             if interrupted while dispatching
+	 */
+	private void consume(MessageConsumer consumer) throws JMSException, InterruptedException {
+		Queue<Message> processed = new ConcurrentLinkedQueue<>();
 		try {
-			if (logger.isInfoEnabled()) {logger.info("Starting a message listener for {} ...", this.name);}
+			while (!this.stopped) {
+				Message message = consumer.receive(this.timeout);
+				acknowledge(processed);
+				if (message == null) {
+					continue;
+				}
+				if (!(message instanceof TextMessage)) {
+					// acknowledged, as it would be delivered again and again otherwise
+					if (logger.isErrorEnabled()) {logger.error(format("Invalid message [{0}] has been received in destination [{1}] and is discarded", message, this.name));}
+					this.metrics.recordMessage(-1, 0, false);
+					acknowledge(message);
+					continue;
+				}
+				String text = ((TextMessage) message).getText();
+				long timestamp = message.getJMSTimestamp();
+				if (this.dispatcher != null) {
+					this.dispatcher.dispatch(getOrderingKey(message, text), () -> {
+						process(text, timestamp);
+						processed.add(message);
+					});
+				} else {
+					process(text, timestamp);
+					acknowledge(message);
+				}
+			}
+		} finally {
+			if (this.dispatcher != null) {
+				// the messages still in the lanes are acknowledged, if completed in time, the rest is delivered again
+				this.dispatcher.awaitIdle(this.timeout);
+				acknowledge(processed);
+			}
+		}
+	}
 
-			ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(SchedulerManager.CONNECTOR_URL_ATTACH);
+	/**
+	 * Acknowledges the messages processed by the lanes.
+	 *
+	 * @param processed
+	 *            the processed messages
+	 */
+	private void acknowledge(Queue<Message> processed) {
+		Message message;
+		while ((message = processed.poll()) != null) {
+			acknowledge(message);
+		}
+	}
 
-			Connection connection = connectionFactory.createConnection();
-			connection.start();
+	/**
+	 * Acknowledges a message after processing, so that a message received, but not processed, e.g. on a shutdown, is
+	 * delivered again.
+	 *
+	 * @param message
+	 *            the message
+	 */
+	private void acknowledge(Message message) {
+		try {
+			message.acknowledge();
+		} catch (JMSException e) {
+			if (logger.isErrorEnabled()) {logger.error(format("Acknowledging a message in [{0}] failed, it will be delivered again", this.name), e);}
+		}
+	}
 
-			connection.setExceptionListener(this);
+	/**
+	 * Waits before reconnecting, returns earlier if stopped.
+	 *
+	 * @param delay
+	 *            the delay in milliseconds
+	 */
+	private void pause(long delay) {
+		long until = System.currentTimeMillis() + delay;
+		try {
+			long remaining;
+			while (!this.stopped && (remaining = until - System.currentTimeMillis()) > 0) {
+				Thread.sleep(Math.min(remaining, this.timeout));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
 
-			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+	/**
+	 * Receive a single message synchronously, without the handler.
+	 *
+	 * @return the text of the message, or null if none has been received
+	 */
+	public String receiveMessage() {
+		return receivePooled();
+	}
 
-			Destination destination = null;
-			if (type == IMessagingCoreService.QUEUE) {
-				destination = session.createQueue(this.name);
-			} else if (type == IMessagingCoreService.TOPIC) {
-				destination = session.createTopic(this.name);
-			} else {
-				throw new MessagingException("Invalid Destination Type: " + this.type);
-			}
+	/**
+	 * Processes a message with the handler.
+	 *
+	 * @param text
+	 *            the text of the message
+	 * @param timestamp
+	 *            the time the message has been sent, or zero if unknown
+	 */
+	private void process(String text, long timestamp) {
+		long lag = timestamp > 0 ? Math.max(System.currentTimeMillis() - timestamp, 0) : -1;
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			if (logger.isTraceEnabled()) {logger.trace(format("Start processing a received message in [{0}] by [{1}] ...", this.name, this.handler));}
+			Map<Object, Object> context = createMessagingContext();
+			context.put("message", escapeCodeString(text));
+			ScriptEngineExecutorsManager.executeServiceModule(IJavascriptEngineExecutor.JAVASCRIPT_TYPE_DEFAULT, DIRIGIBLE_MESSAGING_WRAPPER_MODULE_ON_MESSAGE, context);
+			success = true;
+			if (logger.isTraceEnabled()) {logger.trace(format("Done processing the received message in [{0}] by [{1}]", this.name, this.handler));}
+		} catch (Exception e) {
+			if (logger.isErrorEnabled()) {logger.error(format("Processing a message in [{0}] by [{1}] failed", this.name, this.handler), e);}
+		} finally {
+			this.metrics.recordMessage(lag, System.nanoTime() - start, success);
+		}
+	}
 
-			MessageConsumer consumer = session.createConsumer(destination);
+	/**
+	 * Gets the ordering key of a message, either from its property or from the top level field of its JSON text.
+	 *
+	 * @param message
+	 *            the message
+	 * @param text
+	 *            the text of the message
+	 * @return the key, or null if the messages are not ordered or the message has no key
+	 * @throws JMSException
+	 *             the JMS exception
+	 */
+	private String getOrderingKey(Message message, String text) throws JMSException {
+		if (this.orderingKey == null) {
+			return null;
+		}
+		String key = message.getStringProperty(this.orderingKey);
+		if (key == null && text != null) {
 			try {
-				Message message = null;
-				if (this.handler != null) {
-					while (!this.stopped) {
-						message = consumer.receive(this.timeout);
-						if (message == null) {
-							continue;
-						}
-						if (logger.isTraceEnabled()) {logger.trace(format("Start processing a received message in [{0}] by [{1}] ...", this.name, this.handler));}
-						if (message instanceof TextMessage) {
-							Map<Object, Object> context = createMessagingContext();
-							context.put("message", escapeCodeString(((TextMessage) message).getText()));
-							ScriptEngineExecutorsManager.executeServiceModule(IJavascriptEngineExecutor.JAVASCRIPT_TYPE_DEFAULT, DIRIGIBLE_MESSAGING_WRAPPER_MODULE_ON_MESSAGE, context);
-						} else {
-							throw new MessagingException(format("Invalid message [{0}] has been received in destination [{1}]", message, this.name));
-						}
-						if (logger.isTraceEnabled()) {logger.trace(format("Done processing the received message in [{0}] by [{1}]", this.name, this.handler));}
-					}
-				} else {
-					message = consumer.receive(this.timeout);
-					if (logger.isDebugEnabled()) {logger.debug(format("Received message in [{0}] by synchronous consumer.", this.name));}
-					if (message instanceof TextMessage) {
-						TextMessage textMessage = (TextMessage) message;
-						String text = textMessage.getText();
-						return text;
+				JsonElement json = GsonHelper.parseJson(text);
+				if (json.isJsonObject()) {
+					JsonElement value = json.getAsJsonObject().get(this.orderingKey);
+					if (value != null && !value.isJsonNull()) {
+						key = value.isJsonPrimitive() ? value.getAsString() : value.toString();
 					}
-					return null;
 				}
+			} catch (RuntimeException e) {
+				// not a JSON message
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Receive a single message with a pooled session.
+	 *
+	 * @return the text of the message, or null if none has been received
+	 */
+	private String receivePooled() {
+		MessagingSessionPool pool = MessagingSessionPool.getInstance();
+		PooledSession pooledSession = null;
+		boolean failed = true;
+		try {
+			pooledSession = pool.borrow(false);
+			MessageConsumer consumer = pooledSession.getSession().createConsumer(pooledSession.createDestination(this.name, this.type));
+			try {
+				Message message = consumer.receive(this.timeout);
+				failed = false;
+				if (logger.isDebugEnabled()) {logger.debug(format("Received message in [{0}] by synchronous consumer.", this.name));}
+				if (message instanceof TextMessage) {
+					return ((TextMessage) message).getText();
+				}
+				return null;
 			} finally {
 				consumer.close();
-				session.close();
-				connection.close();
 			}
-
 		} catch (Exception e) {
 			logger.error(e.getMessage(), e);
+		} finally {
+			if (pooledSession != null) {
+				pool.release(pooledSession, failed);
+			}
 		}
-
 		return null;
 	}
 
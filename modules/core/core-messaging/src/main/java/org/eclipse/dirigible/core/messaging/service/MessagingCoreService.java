@@ -58,12 +58,25 @@ public class MessagingCoreService implements IMessagingCoreService {
 	 */
 	@Override
 	public ListenerDefinition createListener(String location, String name, char type, String handler, String description) throws MessagingException {
+		return createListener(location, name, type, handler, description, 1, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.messaging.api.IMessagingCoreService#createListener(java.lang.String,
+	 * java.lang.String, char, java.lang.String, java.lang.String, int, java.lang.String)
+	 */
+	@Override
+	public ListenerDefinition createListener(String location, String name, char type, String handler, String description, int concurrency,
+			String orderingKey) throws MessagingException {
 		ListenerDefinition listenerDefinition = new ListenerDefinition();
 		listenerDefinition.setLocation(location);
 		listenerDefinition.setName(name);
 		listenerDefinition.setType(type);
 		listenerDefinition.setHandler(handler);
 		listenerDefinition.setDescription(description);
+		listenerDefinition.setConcurrency(concurrency);
+		listenerDefinition.setOrderingKey(orderingKey);
 		listenerDefinition.setCreatedBy(UserFacade.getName());
 		listenerDefinition.setCreatedAt(new Timestamp(new java.util.Date().getTime()));
 
@@ -163,6 +176,17 @@ public class MessagingCoreService implements IMessagingCoreService {
 	 */
 	@Override
 	public void updateListener(String location, String name, char type, String handler, String description) throws MessagingException {
+		updateListener(location, name, type, handler, description, 1, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.messaging.api.IMessagingCoreService#updateListener(java.lang.String,
+	 * java.lang.String, char, java.lang.String, java.lang.String, int, java.lang.String)
+	 */
+	@Override
+	public void updateListener(String location, String name, char type, String handler, String description, int concurrency, String orderingKey)
+			throws MessagingException {
 		try {
 			Connection connection = null;
 			try {
@@ -172,6 +196,8 @@ public class MessagingCoreService implements IMessagingCoreService {
 				listenerDefinition.setType(type);
 				listenerDefinition.setHandler(handler);
 				listenerDefinition.setDescription(description);
+				listenerDefinition.setConcurrency(concurrency);
+				listenerDefinition.setOrderingKey(orderingKey);
 				listenerPersistenceManager.update(connection, listenerDefinition);
 			} finally {
 				if (connection != null) {
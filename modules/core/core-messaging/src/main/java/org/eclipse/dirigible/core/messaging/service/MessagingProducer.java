@@ -13,16 +13,15 @@ package org.eclipse.dirigible.core.messaging.service;
 
 import static java.text.MessageFormat.format;
 
-import javax.jms.Connection;
-import javax.jms.DeliveryMode;
-import javax.jms.Destination;
+import java.util.Collections;
+import java.util.List;
+
+import javax.jms.JMSException;
 import javax.jms.MessageProducer;
 import javax.jms.Session;
-import javax.jms.TextMessage;
 
-import org.apache.activemq.ActiveMQConnectionFactory;
-import org.eclipse.dirigible.core.messaging.api.IMessagingCoreService;
 import org.eclipse.dirigible.core.messaging.api.MessagingException;
+import org.eclipse.dirigible.core.messaging.service.MessagingSessionPool.PooledSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,7 +34,7 @@ public class MessagingProducer implements Runnable {
 
 	private String name;
 	private char type;
-	private String message;
+	private List<String> messages;
 
 	/**
 	 * Instantiates a new messaging producer.
@@ -48,9 +47,23 @@ public class MessagingProducer implements Runnable {
 	 *            the message
 	 */
 	public MessagingProducer(String name, char type, String message) {
+		this(name, type, Collections.singletonList(message));
+	}
+
+	/**
+	 * Instantiates a new messaging producer of a batch of messages, sent in a single transaction.
+	 *
+	 * @param name
+	 *            the name
+	 * @param type
+	 *            the type
+	 * @param messages
+	 *            the messages
+	 */
+	public MessagingProducer(String name, char type, List<String> messages) {
 		this.name = name;
 		this.type = type;
-		this.message = message;
+		this.messages = messages;
 	}
 
 	/*
@@ -60,35 +73,53 @@ public class MessagingProducer implements Runnable {
 	@Override
 	public void run() {
 		try {
-			ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(SchedulerManager.CONNECTOR_URL_ATTACH);
-
-			Connection connection = connectionFactory.createConnection();
-			connection.start();
+			send();
+		} catch (Exception e) {
+			if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
+		}
+	}
 
-			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+	/**
+	 * Sends the messages with a pooled session. A batch is sent in a transacted session, so that the messages are
+	 * sent asynchronously and are delivered all together once committed.
+	 *
+	 * @throws MessagingException
+	 *             in case the messages could not be sent
+	 */
+	public void send() throws MessagingException {
+		boolean batch = messages.size() > 1;
+		MessagingSessionPool pool = MessagingSessionPool.getInstance();
+		PooledSession pooledSession = null;
+		boolean failed = true;
+		try {
+			pooledSession = pool.borrow(batch);
+			Session session = pooledSession.getSession();
+			MessageProducer producer = pooledSession.getProducer(this.name, this.type);
 			try {
-				Destination destination = null;
-				if (type == IMessagingCoreService.QUEUE) {
-					destination = session.createQueue(this.name);
-				} else if (type == IMessagingCoreService.TOPIC) {
-					destination = session.createTopic(this.name);
-				} else {
-					throw new MessagingException(format("Invalid Destination Type [{0}] for destination [{1}]", this.type, this.name));
+				for (String message : messages) {
+					producer.send(session.createTextMessage(message));
 				}
-
-				MessageProducer producer = session.createProducer(destination);
-				producer.setDeliveryMode(DeliveryMode.PERSISTENT);
-
-				TextMessage textMessage = session.createTextMessage(this.message);
-
-				producer.send(textMessage);
-				if (logger.isTraceEnabled()) {logger.trace(format("Message sent in [{0}]", this.name));}
-			} finally {
-				session.close();
-				connection.close();
+				if (batch) {
+					session.commit();
+				}
+			} catch (JMSException e) {
+				if (batch) {
+					try {
+						session.rollback();
+					} catch (JMSException rollbackException) {
+						e.addSuppressed(rollbackException);
+					}
+				}
+				throw e;
+			}
+			failed = false;
+			if (logger.isTraceEnabled()) {logger.trace(format("{0} message(s) sent in [{1}]", messages.size(), this.name));}
+		} catch (JMSException e) {
+			throw new MessagingException(format("Sending to destination [{0}] failed", this.name), e);
+		} finally {
+			if (pooledSession != null) {
+				pool.release(pooledSession, failed);
 			}
-		} catch (Exception e) {
-			if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
 		}
 	}
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.messaging.service;
+
+import static java.text.MessageFormat.format;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.jms.Connection;
+import javax.jms.DeliveryMode;
+import javax.jms.Destination;
+import javax.jms.ExceptionListener;
+import javax.jms.JMSException;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.core.messaging.api.IMessagingCoreService;
+import org.eclipse.dirigible.core.messaging.api.MessagingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of sessions on a single connection to the embedded broker, shared by the producers and the synchronous consumers.
+ * <p>
+ * Sessions are not thread safe, so each one is borrowed by a single thread at a time. The message producers are cached
+ * per destination in their session, up to a max number of the most recently used ones.
+ */
+public class MessagingSessionPool implements ExceptionListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(MessagingSessionPool.class);
+
+	/** The Constant DIRIGIBLE_MESSAGING_POOL_SIZE. */
+	public static final String DIRIGIBLE_MESSAGING_POOL_SIZE = "DIRIGIBLE_MESSAGING_POOL_SIZE"; //$NON-NLS-1$
+
+	/** The Constant DIRIGIBLE_MESSAGING_POOL_PRODUCERS. */
+	public static final String DIRIGIBLE_MESSAGING_POOL_PRODUCERS = "DIRIGIBLE_MESSAGING_POOL_PRODUCERS"; //$NON-NLS-1$
+
+	private static MessagingSessionPool instance;
+
+	private final ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(SchedulerManager.CONNECTOR_URL_ATTACH);
+
+	private final BlockingQueue<PooledSession> sessions;
+
+	private final BlockingQueue<PooledSession> transactedSessions;
+
+	/** The max number of cached producers per session. */
+	private final int maxProducers;
+
+	private Connection connection;
+
+	/** The connection generation, the sessions of previous connections are not returned to the pool. */
+	private int generation;
+
+	/**
+	 * Instantiates a new messaging session pool.
+	 *
+	 * @param size
+	 *            the max number of idle sessions of each kind
+	 * @param maxProducers
+	 *            the max number of cached producers per session
+	 */
+	MessagingSessionPool(int size, int maxProducers) {
+		this.sessions = new ArrayBlockingQueue<PooledSession>(size);
+		this.transactedSessions = new ArrayBlockingQueue<PooledSession>(size);
+		this.maxProducers = maxProducers;
+	}
+
+	/**
+	 * Gets the pool.
+	 *
+	 * @return the messaging session pool
+	 */
+	public static synchronized MessagingSessionPool getInstance() {
+		if (instance == null) {
+			Configuration.loadModuleConfig("/dirigible-messaging.properties");
+			instance = new MessagingSessionPool(Integer.parseInt(Configuration.get(DIRIGIBLE_MESSAGING_POOL_SIZE, "10")),
+					Integer.parseInt(Configuration.get(DIRIGIBLE_MESSAGING_POOL_PRODUCERS, "20")));
+		}
+		return instance;
+	}
+
+	/**
+	 * Borrows a session, which has to be released after use.
+	 *
+	 * @param transacted
+	 *            whether the session is transacted
+	 * @return the pooled session
+	 * @throws JMSException
+	 *             the JMS exception
+	 */
+	public PooledSession borrow(boolean transacted) throws JMSException {
+		PooledSession session = (transacted ? transactedSessions : sessions).poll();
+		if (session != null) {
+			return session;
+		}
+		synchronized (this) {
+			if (connection == null) {
+				connection = connectionFactory.createConnection();
+				connection.setExceptionListener(this);
+				connection.start();
+				generation++;
+			}
+			return new PooledSession(connection.createSession(transacted, transacted ? Session.SESSION_TRANSACTED : Session.AUTO_ACKNOWLEDGE),
+					transacted, generation, maxProducers);
+		}
+	}
+
+	/**
+	 * Releases a session, closing it if it has failed or if the pool is full.
+	 *
+	 * @param session
+	 *            the session
+	 * @param failed
+	 *            whether using the session has failed
+	 */
+	public void release(PooledSession session, boolean failed) {
+		boolean current;
+		synchronized (this) {
+			current = session.generation == generation && connection != null;
+		}
+		if (failed || !current || !(session.transacted ? transactedSessions : sessions).offer(session)) {
+			session.close();
+		}
+	}
+
+	/**
+	 * Closes the connection and the idle sessions, the next borrowed session opens a new connection.
+	 */
+	public void reset() {
+		Connection closing;
+		synchronized (this) {
+			closing = connection;
+			connection = null;
+		}
+		PooledSession session;
+		while ((session = sessions.poll()) != null) {
+			session.close();
+		}
+		while ((session = transactedSessions.poll()) != null) {
+			session.close();
+		}
+		if (closing != null) {
+			try {
+				closing.close();
+			} catch (JMSException e) {
+				if (logger.isDebugEnabled()) {logger.debug("Closing the messaging connection failed", e);}
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.jms.ExceptionListener#onException(javax.jms.JMSException)
+	 */
+	@Override
+	public void onException(JMSException exception) {
+		if (logger.isErrorEnabled()) {logger.error("The messaging connection failed and will be reopened", exception);}
+		reset();
+	}
+
+	/**
+	 * A pooled session with its message producers.
+	 */
+	public static class PooledSession {
+
+		private final Session session;
+
+		private final boolean transacted;
+
+		private final int generation;
+
+		private final Map<String, MessageProducer> producers;
+
+		/**
+		 * Instantiates a new pooled session.
+		 *
+		 * @param session
+		 *            the session
+		 * @param transacted
+		 *            whether the session is transacted
+		 * @param generation
+		 *            the connection generation
+		 * @param maxProducers
+		 *            the max number of cached producers, the least recently used one is closed above it
+		 */
+		PooledSession(Session session, boolean transacted, int generation, int maxProducers) {
+			this.session = session;
+			this.transacted = transacted;
+			this.generation = generation;
+			this.producers = new LinkedHashMap<String, MessageProducer>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, MessageProducer> eldest) {
+					if (size() <= maxProducers) {
+						return false;
+					}
+					try {
+						eldest.getValue().close();
+					} catch (JMSException e) {
+						if (logger.isDebugEnabled()) {logger.debug("Closing a messaging producer failed", e);}
+					}
+					return true;
+				}
+			};
+		}
+
+		/**
+		 * Gets the session.
+		 *
+		 * @return the session
+		 */
+		public Session getSession() {
+			return session;
+		}
+
+		/**
+		 * Creates the destination.
+		 *
+		 * @param name
+		 *            the name
+		 * @param type
+		 *            the type
+		 * @return the destination
+		 * @throws JMSException
+		 *             the JMS exception
+		 * @throws MessagingException
+		 *             in case of an invalid type
+		 */
+		public Destination createDestination(String name, char type) throws JMSException, MessagingException {
+			if (type == IMessagingCoreService.QUEUE) {
+				return session.createQueue(name);
+			} else if (type == IMessagingCoreService.TOPIC) {
+				return session.createTopic(name);
+			}
+			throw new MessagingException(format("Invalid Destination Type [{0}] for destination [{1}]", type, name));
+		}
+
+		/**
+		 * Gets the cached persistent producer of the destination.
+		 *
+		 * @param name
+		 *            the name
+		 * @param type
+		 *            the type
+		 * @return the message producer
+		 * @throws JMSException
+		 *             the JMS exception
+		 * @throws MessagingException
+		 *             in case of an invalid type
+		 */
+		public MessageProducer getProducer(String name, char type) throws JMSException, MessagingException {
+			String key = type + name;
+			MessageProducer producer = producers.get(key);
+			if (producer == null) {
+				producer = session.createProducer(createDestination(name, type));
+				producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+				producers.put(key, producer);
+			}
+			return producer;
+		}
+
+		/**
+		 * Close.
+		 */
+		void close() {
+			try {
+				session.close();
+			} catch (JMSException e) {
+				if (logger.isDebugEnabled()) {logger.debug("Closing a messaging session failed", e);}
+			}
+		}
+	}
+
+}
@@ -84,20 +84,23 @@ public class SchedulerManager {
 	public void initialize() throws Exception {
 		synchronized (SchedulerManager.class) {
 			if (broker == null) {
-				broker = new BrokerService();
+				// assigned only once started, so that a failed initialization is retried on the next call
+				BrokerService brokerService = new BrokerService();
 				Configuration.loadModuleConfig("/dirigible-messaging.properties");
+				new ListenersDatabaseLayoutInitializer().initialize();
 				if (Boolean.parseBoolean(Configuration.get("DIRIGIBLE_MESSAGING_USE_DEFAULT_DATABASE", "true"))) {
 					PersistenceAdapter persistenceAdapter = new JDBCPersistenceAdapter(getDataSource(), new OpenWireFormat());
-					broker.setPersistenceAdapter(persistenceAdapter);
+					brokerService.setPersistenceAdapter(persistenceAdapter);
 				}
-				broker.setPersistent(true);
-				broker.setUseJmx(false);
-				// broker.setUseShutdownHook(false);
+				brokerService.setPersistent(true);
+				brokerService.setUseJmx(false);
+				// brokerService.setUseShutdownHook(false);
 				PListStore pListStore = new PListStoreImpl();
 				pListStore.setDirectory(new File(LOCATION_TEMP_STORE));
-				broker.setTempDataStore(pListStore);
-				broker.addConnector(CONNECTOR_URL);
-				broker.start();
+				brokerService.setTempDataStore(pListStore);
+				brokerService.addConnector(CONNECTOR_URL);
+				brokerService.start();
+				broker = brokerService;
 			}
 		}
 	}
@@ -112,6 +115,7 @@ public class SchedulerManager {
 		for (MessagingConsumer consumer : LISTENERS.values()) {
 			consumer.stop();
 		}
+		MessagingSessionPool.getInstance().reset();
 		if (broker != null) {
 			broker.stop();
 		}
@@ -138,8 +142,9 @@ public class SchedulerManager {
 			if (!resource.exists()) {
 				if (logger.isErrorEnabled()) {logger.error("Listener {} cannot be started, because the handler {} does not exist!", listener.getLocation(), listener.getHandler());}
 			}
-			MessagingConsumer consumer = new MessagingConsumer(listener.getName(), listener.getType(), listener.getHandler(), 1000);
-			Thread consumerThread = new Thread(consumer);
+			MessagingConsumer consumer = new MessagingConsumer(listener.getName(), listener.getType(), listener.getHandler(), 1000,
+					listener.getConcurrency(), listener.getOrderingKey());
+			Thread consumerThread = new Thread(consumer, "messaging-listener-" + listener.getName() + "-0");
 			consumerThread.setDaemon(false);
 			consumerThread.start();
 			LISTENERS.put(listener.getLocation(), consumer);
@@ -177,6 +182,18 @@ public class SchedulerManager {
 		return LISTENERS.keySet().contains(listenerLocation);
 	}
 
+	/**
+	 * Gets the metrics of a running listener.
+	 *
+	 * @param listenerLocation
+	 *            the listener location
+	 * @return the metrics, or null if the listener is not running
+	 */
+	public ListenerMetrics getListenerMetrics(String listenerLocation) {
+		MessagingConsumer consumer = LISTENERS.get(listenerLocation);
+		return consumer != null ? consumer.getMetrics() : null;
+	}
+
 	/**
 	 * Gets the running listeners.
 	 *
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.messaging.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * The Class ListenerDispatcherTest.
+ */
+public class ListenerDispatcherTest {
+
+	/**
+	 * The tasks with the same key are processed in order.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void orderingTest() throws Exception {
+		ListenerDispatcher dispatcher = new ListenerDispatcher("test-ordering", 4, 10);
+		List<List<Integer>> processed = new ArrayList<List<Integer>>();
+		for (int key = 0; key < 8; key++) {
+			processed.add(Collections.synchronizedList(new ArrayList<Integer>()));
+		}
+		CountDownLatch done = new CountDownLatch(800);
+		for (int i = 0; i < 100; i++) {
+			for (int key = 0; key < 8; key++) {
+				List<Integer> keyProcessed = processed.get(key);
+				int value = i;
+				dispatcher.dispatch("key" + key, () -> {
+					keyProcessed.add(value);
+					done.countDown();
+				});
+			}
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		for (List<Integer> keyProcessed : processed) {
+			assertEquals(100, keyProcessed.size());
+			for (int i = 0; i < 100; i++) {
+				assertEquals(i, keyProcessed.get(i).intValue());
+			}
+		}
+		dispatcher.stop();
+	}
+
+	/**
+	 * Dispatching blocks while the lane is full.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void backpressureTest() throws Exception {
+		ListenerDispatcher dispatcher = new ListenerDispatcher("test-backpressure", 1, 2);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		dispatcher.dispatch(null, () -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		dispatcher.dispatch(null, () -> {});
+		dispatcher.dispatch(null, () -> {});
+		assertEquals(2, dispatcher.getPending());
+		CountDownLatch dispatched = new CountDownLatch(1);
+		Thread receiver = new Thread(() -> {
+			try {
+				dispatcher.dispatch(null, () -> {});
+				dispatched.countDown();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		receiver.start();
+		assertFalse(dispatched.await(200, TimeUnit.MILLISECONDS));
+		release.countDown();
+		assertTrue(dispatched.await(5, TimeUnit.SECONDS));
+		dispatcher.stop();
+	}
+
+	/**
+	 * Waiting for the dispatched tasks to be completed, e.g. before their messages are acknowledged.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void awaitIdleTest() throws Exception {
+		ListenerDispatcher dispatcher = new ListenerDispatcher("test-idle", 2, 10);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger completed = new AtomicInteger();
+		dispatcher.dispatch("a", () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			completed.incrementAndGet();
+		});
+		for (int i = 0; i < 5; i++) {
+			dispatcher.dispatch(null, completed::incrementAndGet);
+		}
+		assertFalse(dispatcher.awaitIdle(200));
+		release.countDown();
+		assertTrue(dispatcher.awaitIdle(5000));
+		assertEquals(6, completed.get());
+		dispatcher.stop();
+	}
+
+}
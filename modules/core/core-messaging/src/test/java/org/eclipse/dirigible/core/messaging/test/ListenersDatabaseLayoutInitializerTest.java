@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.messaging.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.eclipse.dirigible.commons.config.StaticObjects;
+import org.eclipse.dirigible.core.messaging.api.IMessagingCoreService;
+import org.eclipse.dirigible.core.messaging.definition.ListenerDefinition;
+import org.eclipse.dirigible.core.messaging.service.ListenersDatabaseLayoutInitializer;
+import org.eclipse.dirigible.core.messaging.service.MessagingCoreService;
+import org.eclipse.dirigible.core.test.AbstractDirigibleTest;
+import org.junit.Test;
+
+/**
+ * The Class ListenersDatabaseLayoutInitializerTest.
+ */
+public class ListenersDatabaseLayoutInitializerTest extends AbstractDirigibleTest {
+
+	/**
+	 * The columns added after the release of the listeners table are added to an existing table.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void upgradeTest() throws Exception {
+		IMessagingCoreService messagingCoreService = new MessagingCoreService();
+		messagingCoreService.removeListener("/test_listener_upgrade");
+
+		execute("ALTER TABLE DIRIGIBLE_LISTENERS DROP COLUMN LISTENER_CONCURRENCY");
+		execute("ALTER TABLE DIRIGIBLE_LISTENERS DROP COLUMN LISTENER_ORDERING_KEY");
+		new ListenersDatabaseLayoutInitializer().initialize();
+		// nothing to add anymore
+		new ListenersDatabaseLayoutInitializer().initialize();
+
+		messagingCoreService.createListener("/test_listener_upgrade", "test_listener_upgrade", IMessagingCoreService.QUEUE, "test_handler", "Test", 4,
+				"customerId");
+		ListenerDefinition listenerDefinition = messagingCoreService.getListener("/test_listener_upgrade");
+		assertEquals(4, listenerDefinition.getConcurrency());
+		assertEquals("customerId", listenerDefinition.getOrderingKey());
+		messagingCoreService.removeListener("/test_listener_upgrade");
+	}
+
+	/**
+	 * Executes a statement.
+	 *
+	 * @param sql
+	 *            the statement
+	 * @throws SQLException
+	 *             the SQL exception
+	 */
+	private void execute(String sql) throws SQLException {
+		try (Connection connection = ((DataSource) StaticObjects.get(StaticObjects.SYSTEM_DATASOURCE)).getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.executeUpdate(sql);
+		}
+	}
+
+}
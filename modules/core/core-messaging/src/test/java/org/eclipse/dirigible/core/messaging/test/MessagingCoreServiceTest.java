@@ -92,6 +92,11 @@ public class MessagingCoreServiceTest extends AbstractDirigibleTest {
 		listenerDefinition = messagingCoreService.getListener("/test_listener1");
 		assertEquals("test_listener1", listenerDefinition.getName());
 		assertEquals("Test 2", listenerDefinition.getDescription());
+		assertEquals(1, listenerDefinition.getConcurrency());
+		messagingCoreService.updateListener("/test_listener1", "test_listener1", IMessagingCoreService.QUEUE, "test_handler1", "Test 2", 4, "orderId");
+		listenerDefinition = messagingCoreService.getListener("/test_listener1");
+		assertEquals(4, listenerDefinition.getConcurrency());
+		assertEquals("orderId", listenerDefinition.getOrderingKey());
 		messagingCoreService.removeListener("/test_listener1");
 	}
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.messaging.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.jms.Connection;
+import javax.jms.DeliveryMode;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.eclipse.dirigible.commons.api.module.DirigibleModulesInstallerModule;
+import org.eclipse.dirigible.core.messaging.api.IMessagingCoreService;
+import org.eclipse.dirigible.core.messaging.service.MessagingConsumer;
+import org.eclipse.dirigible.core.messaging.service.MessagingProducer;
+import org.eclipse.dirigible.core.messaging.service.SchedulerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Sends messages to a queue of the embedded broker, with a new connection per message as before the session pool,
+ * with pooled sessions and in transacted batches.
+ * <p>
+ * Not part of the test suite, run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessagingProducerBenchmark {
+
+	private static final String QUEUE = "benchmark_queue";
+
+	private static final int BATCH_SIZE = 100;
+
+	private final List<String> messages = new ArrayList<String>();
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		DirigibleModulesInstallerModule.configure();
+		new SchedulerManager().initialize();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			messages.add("{\"index\":" + i + ",\"payload\":\"benchmark message\"}");
+		}
+	}
+
+	/**
+	 * Drains the queue, so that the store does not grow across the iterations.
+	 */
+	@TearDown(Level.Iteration)
+	public void drain() {
+		MessagingConsumer consumer = new MessagingConsumer(QUEUE, IMessagingCoreService.QUEUE, 100);
+		while (consumer.receiveMessage() != null) {
+			// drain
+		}
+	}
+
+	/**
+	 * Tear down.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		SchedulerManager.shutdown();
+	}
+
+	/**
+	 * Sends every message with a new connection and session.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void connectionPerMessage() throws Exception {
+		for (String message : messages) {
+			Connection connection = new ActiveMQConnectionFactory("vm://localhost?create=false").createConnection();
+			connection.start();
+			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			try {
+				MessageProducer producer = session.createProducer(session.createQueue(QUEUE));
+				producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+				producer.send(session.createTextMessage(message));
+			} finally {
+				session.close();
+				connection.close();
+			}
+		}
+	}
+
+	/**
+	 * Sends every message with a pooled session.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void pooledPerMessage() throws Exception {
+		for (String message : messages) {
+			new MessagingProducer(QUEUE, IMessagingCoreService.QUEUE, message).send();
+		}
+	}
+
+	/**
+	 * Sends the messages in a single transaction.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void pooledBatch() throws Exception {
+		new MessagingProducer(QUEUE, IMessagingCoreService.QUEUE, messages).send();
+	}
+
+	/**
+	 * The main method.
+	 *
+	 * @param args
+	 *            the arguments
+	 * @throws RunnerException
+	 *             the runner exception
+	 */
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(MessagingProducerBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.messaging.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import javax.jms.Connection;
+import javax.jms.IllegalStateException;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+
+import org.eclipse.dirigible.core.messaging.api.IMessagingCoreService;
+import org.eclipse.dirigible.core.messaging.api.MessagingException;
+import org.eclipse.dirigible.core.messaging.service.ListenerMetrics;
+import org.eclipse.dirigible.core.messaging.service.MessagingConsumer;
+import org.eclipse.dirigible.core.messaging.service.MessagingProducer;
+import org.eclipse.dirigible.core.messaging.service.MessagingSessionPool;
+import org.eclipse.dirigible.core.messaging.service.MessagingSessionPool.PooledSession;
+import org.eclipse.dirigible.core.messaging.service.SchedulerManager;
+import org.eclipse.dirigible.core.test.AbstractDirigibleTest;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class MessagingProducerTest.
+ */
+public class MessagingProducerTest extends AbstractDirigibleTest {
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		new SchedulerManager().initialize();
+	}
+
+	/**
+	 * Send and receive test.
+	 *
+	 * @throws MessagingException
+	 *             the messaging exception
+	 */
+	@Test
+	public void sendAndReceiveTest() throws MessagingException {
+		for (int i = 0; i < 3; i++) {
+			new MessagingProducer("test_producer_queue", IMessagingCoreService.QUEUE, "message" + i).send();
+		}
+		MessagingConsumer consumer = new MessagingConsumer("test_producer_queue", IMessagingCoreService.QUEUE, 1000);
+		for (int i = 0; i < 3; i++) {
+			assertEquals("message" + i, consumer.receiveMessage());
+		}
+		assertNull(new MessagingConsumer("test_producer_queue", IMessagingCoreService.QUEUE, 100).receiveMessage());
+	}
+
+	/**
+	 * Send batch test.
+	 *
+	 * @throws MessagingException
+	 *             the messaging exception
+	 */
+	@Test
+	public void sendBatchTest() throws MessagingException {
+		new MessagingProducer("test_producer_batch_queue", IMessagingCoreService.QUEUE, Arrays.asList("first", "second", "third")).send();
+		MessagingConsumer consumer = new MessagingConsumer("test_producer_batch_queue", IMessagingCoreService.QUEUE, 1000);
+		assertEquals("first", consumer.receiveMessage());
+		assertEquals("second", consumer.receiveMessage());
+		assertEquals("third", consumer.receiveMessage());
+		assertNull(consumer.receiveMessage());
+	}
+
+	/**
+	 * Concurrent listener test.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void concurrentListenerTest() throws Exception {
+		for (char type : new char[] {IMessagingCoreService.QUEUE, IMessagingCoreService.TOPIC}) {
+			String name = "test_concurrent_listener_" + type;
+			MessagingConsumer consumer = new MessagingConsumer(name, type, "test_handler", 100, 4, "orderId");
+			Thread thread = new Thread(consumer);
+			thread.start();
+			try {
+				// the topic subscription is created asynchronously
+				Thread.sleep(500);
+				String[] messages = new String[20];
+				for (int i = 0; i < messages.length; i++) {
+					messages[i] = "{\"orderId\":" + (i % 3) + "}";
+				}
+				new MessagingProducer(name, type, Arrays.asList(messages)).send();
+				ListenerMetrics metrics = consumer.getMetrics();
+				long deadline = System.currentTimeMillis() + 10000;
+				while (metrics.getProcessed() < messages.length && System.currentTimeMillis() < deadline) {
+					Thread.sleep(50);
+				}
+				assertEquals(messages.length, metrics.getProcessed());
+				assertEquals(0, metrics.getPending());
+				assertTrue(metrics.getMaxLagMillis() >= 0);
+			} finally {
+				consumer.stop();
+				thread.join(5000);
+			}
+		}
+	}
+
+	/**
+	 * Invalid message test, a message without text is acknowledged and not delivered again.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void invalidMessageTest() throws Exception {
+		String name = "test_invalid_message_queue";
+		ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://localhost?create=false");
+		Connection connection = connectionFactory.createConnection();
+		try {
+			connection.start();
+			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			Queue queue = session.createQueue(name);
+			session.createProducer(queue).send(session.createBytesMessage());
+
+			MessagingConsumer consumer = new MessagingConsumer(name, IMessagingCoreService.QUEUE, "test_handler", 100);
+			Thread thread = new Thread(consumer);
+			thread.start();
+			try {
+				ListenerMetrics metrics = consumer.getMetrics();
+				long deadline = System.currentTimeMillis() + 10000;
+				while (metrics.getFailed() < 1 && System.currentTimeMillis() < deadline) {
+					Thread.sleep(50);
+				}
+				assertEquals(1, metrics.getFailed());
+			} finally {
+				consumer.stop();
+				thread.join(5000);
+			}
+
+			MessageConsumer messageConsumer = session.createConsumer(queue);
+			assertNull(messageConsumer.receive(500));
+			messageConsumer.close();
+		} finally {
+			connection.close();
+		}
+	}
+
+	/**
+	 * Invalid destination type test.
+	 *
+	 * @throws MessagingException
+	 *             the messaging exception
+	 */
+	@Test(expected = MessagingException.class)
+	public void invalidTypeTest() throws MessagingException {
+		new MessagingProducer("test_producer_invalid", 'X', "message").send();
+	}
+
+	/**
+	 * Producers cache test, the least recently used producer is closed above the max number of cached producers.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void producersCacheTest() throws Exception {
+		MessagingSessionPool pool = MessagingSessionPool.getInstance();
+		PooledSession pooledSession = pool.borrow(false);
+		try {
+			MessageProducer first = pooledSession.getProducer("test_producers_cache_0", IMessagingCoreService.QUEUE);
+			MessageProducer second = pooledSession.getProducer("test_producers_cache_1", IMessagingCoreService.QUEUE);
+			// the default max is 20 producers
+			for (int i = 2; i <= 20; i++) {
+				pooledSession.getProducer("test_producers_cache_" + i, IMessagingCoreService.QUEUE);
+				// keeps the first one recently used
+				assertSame(first, pooledSession.getProducer("test_producers_cache_0", IMessagingCoreService.QUEUE));
+			}
+			try {
+				second.send(pooledSession.getSession().createTextMessage("message"));
+				fail("The least recently used producer should have been closed");
+			} catch (IllegalStateException e) {
+				// expected
+			}
+			assertNotSame(second, pooledSession.getProducer("test_producers_cache_1", IMessagingCoreService.QUEUE));
+		} finally {
+			pool.release(pooledSession, true);
+		}
+	}
+
+}
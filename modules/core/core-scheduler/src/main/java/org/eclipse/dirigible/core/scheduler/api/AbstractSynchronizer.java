@@ -13,7 +13,10 @@ package org.eclipse.dirigible.core.scheduler.api;
 
 import static java.text.MessageFormat.format;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -49,6 +52,9 @@ public abstract class AbstractSynchronizer implements ISynchronizer {
 	/** The forced synchronization. */
 	private final AtomicBoolean forcedSynchronization = new AtomicBoolean(false);
 	
+	/** The content hashes of the synchronized resources by path, per synchronizer. */
+	private static final Map<String, Map<String, String>> SYNCHRONIZED_HASHES = new ConcurrentHashMap<String, Map<String, String>>();
+	
 	/**
 	 * Before synchronizing.
 	 *
@@ -111,16 +117,78 @@ public abstract class AbstractSynchronizer implements ISynchronizer {
 	}
 
 	/**
-	 * Synchronize registry.
+	 * Synchronize registry. The resources are taken from the registry snapshot shared by all the synchronizers, filtered
+	 * by the file extensions of this synchronizer.
 	 *
 	 * @throws SynchronizationException
 	 *             the synchronization exception
 	 */
 	protected void synchronizeRegistry() throws SynchronizationException {
-		ICollection collection = getRepository().getCollection(IRepositoryStructure.PATH_REGISTRY_PUBLIC);
-		if (collection.exists()) {
-			synchronizeCollection(collection);
+		RegistrySnapshot snapshot = RegistrySnapshot.get(getRepository());
+		boolean skippingUnchanged = isSkippingUnchanged() && !forcedSynchronization.get();
+		Map<String, String> synchronizedHashes = getSynchronizedHashes();
+		Map<String, String> currentHashes = new HashMap<String, String>();
+		for (IResource resource : snapshot.getResources(getFileExtensions())) {
+			try {
+				if (skippingUnchanged) {
+					String hash = snapshot.getHash(resource);
+					if (hash.equals(synchronizedHashes.get(resource.getPath()))) {
+						synchronizeUnchangedResource(resource);
+					} else {
+						synchronizeResource(resource);
+					}
+					currentHashes.put(resource.getPath(), hash);
+				} else {
+					synchronizeResource(resource);
+				}
+			} catch (Exception e) {
+				if (logger.isErrorEnabled()) {logger.error(format("Resource [{0}] skipped due to an error: {1}", resource.getPath(), e.getMessage()), e);}
+			}
 		}
+		// the removed and the failed resources are not remembered
+		SYNCHRONIZED_HASHES.put(getClass().getName(), currentHashes);
+	}
+	
+	/**
+	 * Gets the content hashes of the resources synchronized by this synchronizer in the previous run.
+	 *
+	 * @return the synchronized hashes
+	 */
+	private Map<String, String> getSynchronizedHashes() {
+		Map<String, String> synchronizedHashes = SYNCHRONIZED_HASHES.get(getClass().getName());
+		return synchronizedHashes != null ? synchronizedHashes : new HashMap<String, String>();
+	}
+	
+	/**
+	 * Gets the extensions of the files handled by this synchronizer, including the dot.
+	 *
+	 * @return the file extensions, or null for all the files in the registry
+	 */
+	protected String[] getFileExtensions() {
+		return null;
+	}
+	
+	/**
+	 * Whether the resources, which content did not change since their last successful synchronization, are passed to
+	 * {@link #synchronizeUnchangedResource(IResource)} instead of {@link #synchronizeResource(IResource)}.
+	 *
+	 * @return true, if the unchanged resources are skipped
+	 */
+	protected boolean isSkippingUnchanged() {
+		return false;
+	}
+	
+	/**
+	 * Synchronize a resource, which content did not change since its last successful synchronization. Only the state
+	 * needed by the cleanup has to be kept.
+	 *
+	 * @param resource
+	 *            the resource
+	 * @throws SynchronizationException
+	 *             the synchronization exception
+	 */
+	protected void synchronizeUnchangedResource(IResource resource) throws SynchronizationException {
+		synchronizeResource(resource);
 	}
 
 	/**
@@ -241,6 +309,7 @@ public abstract class AbstractSynchronizer implements ISynchronizer {
 			synchronizerStateDefinition.setState(ISynchronizerCoreService.STATE_SUCCESSFUL);
 			synchronizerStateDefinition.setMessage(message);
 			synchronizerStateDefinition.setLastTimeFinished(currentTimeMillis);
+			synchronizerStateDefinition.setLastDuration(currentTimeMillis - synchronizerStateDefinition.getLastTimeTriggered());
 			if (synchronizerStateDefinition.getFirstTimeFinished() == 0) {
 				synchronizerStateDefinition.setFirstTimeFinished(currentTimeMillis);
 			}
@@ -268,8 +337,13 @@ public abstract class AbstractSynchronizer implements ISynchronizer {
 			}
 			synchronizerStateDefinition.setState(ISynchronizerCoreService.STATE_FAILED);
 			synchronizerStateDefinition.setMessage(message);
+			if (synchronizerStateDefinition.getLastTimeTriggered() != 0) {
+				synchronizerStateDefinition.setLastDuration(currentTimeMillis - synchronizerStateDefinition.getLastTimeTriggered());
+			}
 			synchronizerCoreService.updateSynchronizerState(synchronizerStateDefinition);
 		}
+		// the resources are synchronized again on the next run
+		SYNCHRONIZED_HASHES.remove(getClass().getName());
 	}
 	
 	/**
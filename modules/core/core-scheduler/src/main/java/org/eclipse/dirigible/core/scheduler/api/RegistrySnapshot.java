@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.scheduler.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.dirigible.repository.api.ICollection;
+import org.eclipse.dirigible.repository.api.IRepository;
+import org.eclipse.dirigible.repository.api.IRepositoryStructure;
+import org.eclipse.dirigible.repository.api.IResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A snapshot of the resources in the public registry, shared by the synchronizers.
+ * <p>
+ * The registry is walked once after each change of the repository and the resources are classified by extension, so
+ * that each synchronizer iterates only over its own files. The content hashes are computed at most once per snapshot.
+ */
+public class RegistrySnapshot {
+
+	/** The Constant logger. */
+	private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshot.class);
+
+	/** The current snapshot. */
+	private static RegistrySnapshot current;
+
+	/** The repository. */
+	private final IRepository repository;
+
+	/** The last modified time of the repository, when the snapshot was taken. */
+	private final long lastModified;
+
+	/** The time, when the snapshot was taken. */
+	private final long scannedAt;
+
+	/** The resources in the order of the walk. */
+	private final List<IResource> resources = new ArrayList<IResource>();
+
+	/** The resources by extension. */
+	private final Map<String, List<IResource>> resourcesByExtension = new HashMap<String, List<IResource>>();
+
+	/** The positions of the resources in the order of the walk. */
+	private final Map<IResource, Integer> positions = new HashMap<IResource, Integer>();
+
+	/** The content hashes by path. */
+	private final Map<String, String> hashes = new ConcurrentHashMap<String, String>();
+
+	/**
+	 * Instantiates a new registry snapshot.
+	 *
+	 * @param repository the repository
+	 * @param lastModified the last modified time of the repository
+	 */
+	private RegistrySnapshot(IRepository repository, long lastModified) {
+		this.repository = repository;
+		this.lastModified = lastModified;
+		this.scannedAt = System.currentTimeMillis();
+		ICollection collection = repository.getCollection(IRepositoryStructure.PATH_REGISTRY_PUBLIC);
+		if (collection.exists()) {
+			scan(collection);
+		}
+		if (logger.isDebugEnabled()) {logger.debug("Scanned {} resources in the registry for {} ms", resources.size(), System.currentTimeMillis() - scannedAt);}
+	}
+
+	/**
+	 * Gets the snapshot of the registry, taking a new one only if the repository has been modified since the last one.
+	 *
+	 * @param repository the repository
+	 * @return the registry snapshot
+	 */
+	public static synchronized RegistrySnapshot get(IRepository repository) {
+		long lastModified = repository.getLastModified();
+		// a modification in the same millisecond as the scan may not be part of it
+		if (current == null || current.repository != repository || current.lastModified != lastModified
+				|| lastModified >= current.scannedAt) {
+			current = new RegistrySnapshot(repository, lastModified);
+		}
+		return current;
+	}
+
+	/**
+	 * Discards the current snapshot, the next one walks the registry again.
+	 */
+	public static synchronized void invalidate() {
+		current = null;
+	}
+
+	/**
+	 * Scan.
+	 *
+	 * @param collection the collection
+	 */
+	private void scan(ICollection collection) {
+		for (IResource resource : collection.getResources()) {
+			positions.put(resource, resources.size());
+			resources.add(resource);
+			String name = resource.getName();
+			int index = name.lastIndexOf('.');
+			if (index >= 0) {
+				String extension = name.substring(index);
+				List<IResource> list = resourcesByExtension.get(extension);
+				if (list == null) {
+					list = new ArrayList<IResource>();
+					resourcesByExtension.put(extension, list);
+				}
+				list.add(resource);
+			}
+		}
+		for (ICollection childCollection : collection.getCollections()) {
+			scan(childCollection);
+		}
+	}
+
+	/**
+	 * Gets the resources with the given extensions, in the order of the walk.
+	 *
+	 * @param extensions the extensions including the dot, or null for all the resources
+	 * @return the resources
+	 */
+	public List<IResource> getResources(String... extensions) {
+		if (extensions == null) {
+			return Collections.unmodifiableList(resources);
+		}
+		List<IResource> result = new ArrayList<IResource>();
+		for (String extension : extensions) {
+			List<IResource> list = resourcesByExtension.get(extension);
+			if (list != null) {
+				result.addAll(list);
+			}
+		}
+		if (extensions.length > 1) {
+			result.sort(Comparator.comparing(positions::get));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the hash of the content of a resource in this snapshot.
+	 *
+	 * @param resource the resource
+	 * @return the hash
+	 */
+	public String getHash(IResource resource) {
+		return hashes.computeIfAbsent(resource.getPath(), path -> {
+			byte[] content = resource.getContent();
+			return DigestUtils.md5Hex(content != null ? content : new byte[0]);
+		});
+	}
+
+}
@@ -13,6 +13,8 @@ package org.eclipse.dirigible.core.scheduler.quartz;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import javax.sql.DataSource;
@@ -21,7 +23,9 @@ import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.commons.config.StaticObjects;
 import org.eclipse.dirigible.core.scheduler.manager.SchedulerManager;
 import org.eclipse.dirigible.database.api.DatabaseModule;
+import org.eclipse.dirigible.database.sql.DataType;
 import org.eclipse.dirigible.database.sql.SqlFactory;
+import org.eclipse.dirigible.databases.helpers.DatabaseMetadataHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,6 +75,13 @@ public class SynchronizerDatabaseLayoutInitializer extends AbstractDatabaseLayou
 			SqlFactory sqlFactory = SqlFactory.getNative(connection);
 			if (!sqlFactory.exists(connection, "DIRIGIBLE_SYNCHRONIZER_STATE")) {
 				createTable(connection, "/synchronizer/DIRIGIBLE_SYNCHRONIZER_STATE.json");
+			} else if (!existsColumn(connection, "DIRIGIBLE_SYNCHRONIZER_STATE", "SYNCHRONIZER_LAST_DURATION")) {
+				// added after the table has been released
+				String sql = sqlFactory.alter().table("DIRIGIBLE_SYNCHRONIZER_STATE").add()
+						.column("SYNCHRONIZER_LAST_DURATION", DataType.BIGINT, false, true, false, "DEFAULT 0").build();
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					statement.executeUpdate();
+				}
 			}
 			if (!sqlFactory.exists(connection, "DIRIGIBLE_SYNCHRONIZER_STATE_LOG")) {
 				createTable(connection, "/synchronizer/DIRIGIBLE_SYNCHRONIZER_STATE_LOG.json");
@@ -88,5 +99,25 @@ public class SynchronizerDatabaseLayoutInitializer extends AbstractDatabaseLayou
 			}
 		}
 	}
+	
+	/**
+	 * Checks whether a column exists.
+	 *
+	 * @param connection the connection
+	 * @param table the table
+	 * @param column the column
+	 * @return true, if the column exists
+	 * @throws SQLException the SQL exception
+	 */
+	private boolean existsColumn(Connection connection, String table, String column) throws SQLException {
+		try (ResultSet columns = connection.getMetaData().getColumns(null, null, DatabaseMetadataHelper.normalizeTableName(table), null)) {
+			while (columns.next()) {
+				if (column.equalsIgnoreCase(columns.getString(4))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
 
 }
@@ -49,6 +49,10 @@ public class SynchronizerStateDefinition {
 	/** The last time finished. */
 	@Column(name = "SYNCHRONIZER_LAST_TIME_FINISHED", columnDefinition = "BIGINT", nullable = false)
 	private long lastTimeFinished;
+	
+	/** The duration of the last run in milliseconds. */
+	@Column(name = "SYNCHRONIZER_LAST_DURATION", columnDefinition = "BIGINT", nullable = true)
+	private long lastDuration;
 
 	/**
 	 * Gets the name.
@@ -176,6 +180,24 @@ public class SynchronizerStateDefinition {
 		this.lastTimeFinished = lastTimeFinished;
 	}
 
+	/**
+	 * Gets the duration of the last run.
+	 *
+	 * @return the lastDuration in milliseconds
+	 */
+	public long getLastDuration() {
+		return lastDuration;
+	}
+
+	/**
+	 * Sets the duration of the last run.
+	 *
+	 * @param lastDuration the lastDuration to set in milliseconds
+	 */
+	public void setLastDuration(long lastDuration) {
+		this.lastDuration = lastDuration;
+	}
+
 	/**
 	 * Hash code.
 	 *
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.scheduler.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dirigible.commons.config.StaticObjects;
+import org.eclipse.dirigible.core.scheduler.api.RegistrySnapshot;
+import org.eclipse.dirigible.core.test.AbstractDirigibleTest;
+import org.eclipse.dirigible.repository.api.IRepository;
+import org.eclipse.dirigible.repository.api.IRepositoryStructure;
+import org.eclipse.dirigible.repository.api.IResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class RegistrySnapshotTest.
+ */
+public class RegistrySnapshotTest extends AbstractDirigibleTest {
+
+	/** The Constant FOLDER. */
+	private static final String FOLDER = IRepositoryStructure.PATH_REGISTRY_PUBLIC + "/snapshot-test";
+
+	/** The repository. */
+	private IRepository repository;
+
+	/**
+	 * Sets the up.
+	 */
+	@Before
+	public void setUp() {
+		this.repository = (IRepository) StaticObjects.get(StaticObjects.REPOSITORY);
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		repository.removeCollection(FOLDER);
+	}
+
+	/**
+	 * The snapshot is shared until the repository is modified.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 */
+	@Test
+	public void snapshotTest() throws InterruptedException {
+		repository.createResource(FOLDER + "/first.job", "first".getBytes(StandardCharsets.UTF_8));
+		repository.createResource(FOLDER + "/second.listener", "second".getBytes(StandardCharsets.UTF_8));
+		repository.createResource(FOLDER + "/sub/third.job", "third".getBytes(StandardCharsets.UTF_8));
+		Thread.sleep(5);
+
+		RegistrySnapshot snapshot = RegistrySnapshot.get(repository);
+		assertSame(snapshot, RegistrySnapshot.get(repository));
+
+		List<String> jobs = getPaths(snapshot.getResources(".job"));
+		assertEquals(2, jobs.size());
+		assertEquals(FOLDER + "/first.job", jobs.get(0));
+		assertEquals(FOLDER + "/sub/third.job", jobs.get(1));
+		List<String> all = getPaths(snapshot.getResources(".job", ".listener"));
+		assertEquals(3, all.size());
+		assertTrue(all.contains(FOLDER + "/second.listener"));
+		// the resources of a collection come before the ones of its sub-collections
+		assertEquals(FOLDER + "/sub/third.job", all.get(2));
+		assertEquals(all, getPaths(snapshot.getResources((String[]) null)));
+
+		IResource first = repository.getResource(FOLDER + "/first.job");
+		String hash = snapshot.getHash(first);
+		first.setContent("modified".getBytes(StandardCharsets.UTF_8));
+		Thread.sleep(5);
+
+		RegistrySnapshot modified = RegistrySnapshot.get(repository);
+		assertNotSame(snapshot, modified);
+		assertEquals(hash, snapshot.getHash(first));
+		assertNotEquals(hash, modified.getHash(first));
+	}
+
+	/**
+	 * Gets the paths of the test resources.
+	 *
+	 * @param resources the resources
+	 * @return the paths
+	 */
+	private static List<String> getPaths(List<IResource> resources) {
+		List<String> paths = new ArrayList<String>();
+		for (IResource resource : resources) {
+			if (resource.getPath().startsWith(FOLDER + IRepository.SEPARATOR)) {
+				paths.add(resource.getPath());
+			}
+		}
+		return paths;
+	}
+
+}
@@ -16,6 +16,7 @@ import java.util.List;
 import org.eclipse.dirigible.commons.api.service.ICoreService;
 import org.eclipse.dirigible.core.security.definition.AccessDefinition;
 import org.eclipse.dirigible.core.security.definition.RoleDefinition;
+import org.eclipse.dirigible.core.security.verifier.AccessIndex;
 
 /**
  * The Security Core Service interface.
@@ -256,6 +257,15 @@ public interface ISecurityCoreService extends ICoreService {
 	 */
 	public List<AccessDefinition> getAccessDefinitions() throws AccessException;
 
+	/**
+	 * Gets the index of all the access definitions, kept in memory until they are changed.
+	 *
+	 * @return the access index
+	 * @throws AccessException
+	 *             the access exception
+	 */
+	public AccessIndex getAccessIndex() throws AccessException;
+
 	/**
 	 * Gets the access definitions by path.
 	 *
@@ -20,8 +20,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import javax.sql.DataSource;
@@ -34,6 +32,7 @@ import org.eclipse.dirigible.core.security.api.ISecurityCoreService;
 import org.eclipse.dirigible.core.security.definition.AccessArtifact;
 import org.eclipse.dirigible.core.security.definition.AccessDefinition;
 import org.eclipse.dirigible.core.security.definition.RoleDefinition;
+import org.eclipse.dirigible.core.security.verifier.AccessIndex;
 import org.eclipse.dirigible.database.persistence.PersistenceManager;
 import org.eclipse.dirigible.database.sql.SqlFactory;
 
@@ -51,9 +50,15 @@ public class SecurityCoreService implements ISecurityCoreService {
 	/** The access persistence manager. */
 	private PersistenceManager<AccessDefinition> accessPersistenceManager = new PersistenceManager<AccessDefinition>();
 
-	/** The Constant CACHE. */
-	// used by the access security filter to minimize the performance implications on getting the whole list
-	private static final List<AccessDefinition> CACHE = Collections.synchronizedList(new ArrayList<AccessDefinition>());
+	/** The Constant CACHE_LOCK. */
+	private static final Object CACHE_LOCK = new Object();
+
+	/** The cached access index. */
+	// used by the access security filter to match the requests without hitting the database
+	private static volatile AccessIndex cache;
+
+	/** The cache generation, incremented on every change of the access definitions. */
+	private static long cacheGeneration;
 	
 	/**
 	 * Gets the data source.
@@ -514,6 +519,7 @@ public class SecurityCoreService implements ISecurityCoreService {
 			try {
 				connection = getDataSource().getConnection();
 				accessPersistenceManager.delete(connection, AccessDefinition.class, id);
+				clearCache();
 			} finally {
 				if (connection != null) {
 					connection.close();
@@ -648,16 +654,42 @@ public class SecurityCoreService implements ISecurityCoreService {
 	 */
 	@Override
 	public List<AccessDefinition> getAccessDefinitions() throws AccessException {
-		if (!CACHE.isEmpty()) {
-			return Collections.unmodifiableList(CACHE);
+		return getAccessIndex().getAccessDefinitions();
+	}
+
+	/**
+	 * Gets the access index.
+	 *
+	 * @return the access index
+	 * @throws AccessException the access exception
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.security.api.ISecurityCoreService#getAccessIndex()
+	 */
+	@Override
+	public AccessIndex getAccessIndex() throws AccessException {
+		AccessIndex accessIndex = cache;
+		if (accessIndex != null) {
+			return accessIndex;
+		}
+		long generation;
+		synchronized (CACHE_LOCK) {
+			generation = cacheGeneration;
 		}
 		try {
 			Connection connection = null;
 			try {
 				connection = getDataSource().getConnection();
 				List<AccessDefinition> accessDefinitions = accessPersistenceManager.findAll(connection, AccessDefinition.class);
-				CACHE.addAll(accessDefinitions);
-				return Collections.unmodifiableList(accessDefinitions);
+				accessIndex = AccessIndex.build(accessDefinitions);
+				synchronized (CACHE_LOCK) {
+					// not published if the definitions have been changed meanwhile
+					if (generation == cacheGeneration) {
+						cache = accessIndex;
+					}
+				}
+				return accessIndex;
 			} finally {
 				if (connection != null) {
 					connection.close();
@@ -822,7 +854,10 @@ public class SecurityCoreService implements ISecurityCoreService {
 	 * Clear cache.
 	 */
 	public void clearCache() {
-		CACHE.clear();
+		synchronized (CACHE_LOCK) {
+			cacheGeneration++;
+			cache = null;
+		}
 	}
 
 	/**
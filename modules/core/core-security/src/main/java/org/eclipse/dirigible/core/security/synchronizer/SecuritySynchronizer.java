@@ -101,6 +101,8 @@ public class SecuritySynchronizer extends AbstractSynchronizer implements IOrder
 						int mutableAccessCount = ACCESS_SYNCHRONIZED.size();
 						cleanup();
 						clearCache();
+						// rebuilds the access index right away, instead of on the next secured request
+						securityCoreService.getAccessIndex();
 						successfulSynchronization(SYNCHRONIZER_NAME, format("Immutable Roles: {0}, Immutable Accesses: {1}, Mutable Roles: {2}, Mutable Accesses: {3}", 
 								immutableRolesCount, immutableAccessCount, mutableRolesCount, mutableAccessCount));
 					} else {
@@ -312,6 +314,51 @@ public class SecuritySynchronizer extends AbstractSynchronizer implements IOrder
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing Extension Points and Extensions from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { ISecurityCoreService.FILE_EXTENSION_ROLES, ISecurityCoreService.FILE_EXTENSION_ACCESS };
+	}
+
+	/**
+	 * Checks if is skipping unchanged.
+	 *
+	 * @return true, if is skipping unchanged
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#isSkippingUnchanged()
+	 */
+	@Override
+	protected boolean isSkippingUnchanged() {
+		return true;
+	}
+
+	/**
+	 * Synchronize unchanged resource.
+	 *
+	 * @param resource the resource
+	 * @throws SynchronizationException the synchronization exception
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#synchronizeUnchangedResource(org.eclipse.dirigible.
+	 * repository.api.IResource)
+	 */
+	@Override
+	protected void synchronizeUnchangedResource(IResource resource) throws SynchronizationException {
+		// the artefacts are up to date, only kept from the cleanup
+		ACCESS_SYNCHRONIZED.add(getRegistryPath(resource));
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.security.verifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.dirigible.core.security.definition.AccessDefinition;
+
+/**
+ * Immutable index of the access definitions, matching the paths of a scope by prefix.
+ * <p>
+ * The paths of each scope are compiled into a trie, so that the most specific definitions for a path are found in a
+ * single walk over its characters. The results are computed at build time, so matching does not allocate.
+ */
+public final class AccessIndex {
+
+	/** The Constant EMPTY. */
+	private static final AccessIndex EMPTY = new AccessIndex(Collections.<AccessDefinition>emptyList());
+
+	/** The access definitions. */
+	private final List<AccessDefinition> accessDefinitions;
+
+	/** The path tries by scope. */
+	private final Map<String, Node> scopes = new TreeMap<String, Node>(String.CASE_INSENSITIVE_ORDER);
+
+	/**
+	 * Instantiates a new access index.
+	 *
+	 * @param accessDefinitions the access definitions
+	 */
+	private AccessIndex(List<AccessDefinition> accessDefinitions) {
+		this.accessDefinitions = Collections.unmodifiableList(new ArrayList<AccessDefinition>(accessDefinitions));
+		Map<String, NodeBuilder> builders = new TreeMap<String, NodeBuilder>(String.CASE_INSENSITIVE_ORDER);
+		for (AccessDefinition accessDefinition : this.accessDefinitions) {
+			if ((accessDefinition.getScope() == null) || (accessDefinition.getPath() == null) || (accessDefinition.getMethod() == null)) {
+				continue;
+			}
+			NodeBuilder builder = builders.get(accessDefinition.getScope());
+			if (builder == null) {
+				builder = new NodeBuilder();
+				builders.put(accessDefinition.getScope(), builder);
+			}
+			String path = accessDefinition.getPath();
+			for (int i = 0; i < path.length(); i++) {
+				builder = builder.child(path.charAt(i));
+			}
+			builder.add(accessDefinition);
+		}
+		for (Map.Entry<String, NodeBuilder> entry : builders.entrySet()) {
+			scopes.put(entry.getKey(), entry.getValue().build());
+		}
+	}
+
+	/**
+	 * Builds the index of the given access definitions.
+	 *
+	 * @param accessDefinitions the access definitions
+	 * @return the access index
+	 */
+	public static AccessIndex build(List<AccessDefinition> accessDefinitions) {
+		return accessDefinitions.isEmpty() ? EMPTY : new AccessIndex(accessDefinitions);
+	}
+
+	/**
+	 * Gets all the indexed access definitions.
+	 *
+	 * @return the access definitions
+	 */
+	public List<AccessDefinition> getAccessDefinitions() {
+		return accessDefinitions;
+	}
+
+	/**
+	 * Gets the most specific access definitions, which paths are the longest prefix of the given path and which methods
+	 * are either the given one or any.
+	 *
+	 * @param scope the scope
+	 * @param path the path
+	 * @param method the method
+	 * @return the matching access definitions, or an empty list if the path is not secured
+	 */
+	public List<AccessDefinition> getMatchingAccessDefinitions(String scope, String path, String method) {
+		Node node = scopes.get(scope);
+		List<AccessDefinition> matching = Collections.emptyList();
+		int i = 0;
+		while (node != null) {
+			List<AccessDefinition> definitions = node.get(method);
+			if (definitions != null) {
+				matching = definitions;
+			}
+			if (i == path.length()) {
+				break;
+			}
+			node = node.child(path.charAt(i++));
+		}
+		return matching;
+	}
+
+	/**
+	 * A compiled node of the trie.
+	 */
+	private static final class Node {
+
+		/** The characters of the children, sorted. */
+		private final char[] keys;
+
+		/** The children. */
+		private final Node[] children;
+
+		/** The definitions of this path by method, including the ones for any method. */
+		private final Map<String, List<AccessDefinition>> byMethod;
+
+		/** The definitions of this path for any method. */
+		private final List<AccessDefinition> anyMethod;
+
+		/**
+		 * Instantiates a new node.
+		 *
+		 * @param keys the keys
+		 * @param children the children
+		 * @param byMethod the by method
+		 * @param anyMethod the any method
+		 */
+		Node(char[] keys, Node[] children, Map<String, List<AccessDefinition>> byMethod, List<AccessDefinition> anyMethod) {
+			this.keys = keys;
+			this.children = children;
+			this.byMethod = byMethod;
+			this.anyMethod = anyMethod;
+		}
+
+		/**
+		 * Gets the child for the given character.
+		 *
+		 * @param key the key
+		 * @return the child, or null if there is none
+		 */
+		Node child(char key) {
+			int low = 0;
+			int high = keys.length - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				char current = keys[middle];
+				if (current < key) {
+					low = middle + 1;
+				} else if (current > key) {
+					high = middle - 1;
+				} else {
+					return children[middle];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Gets the definitions of this path for the given method.
+		 *
+		 * @param method the method
+		 * @return the definitions, or null if there are none
+		 */
+		List<AccessDefinition> get(String method) {
+			List<AccessDefinition> definitions = byMethod.get(method);
+			return definitions != null ? definitions : anyMethod;
+		}
+	}
+
+	/**
+	 * A node of the trie under construction.
+	 */
+	private static final class NodeBuilder {
+
+		/** The children. */
+		private final TreeMap<Character, NodeBuilder> children = new TreeMap<Character, NodeBuilder>();
+
+		/** The definitions of this path. */
+		private final List<AccessDefinition> definitions = new ArrayList<AccessDefinition>();
+
+		/**
+		 * Gets or creates the child for the given character.
+		 *
+		 * @param key the key
+		 * @return the node builder
+		 */
+		NodeBuilder child(char key) {
+			NodeBuilder child = children.get(key);
+			if (child == null) {
+				child = new NodeBuilder();
+				children.put(key, child);
+			}
+			return child;
+		}
+
+		/**
+		 * Adds a definition of this path.
+		 *
+		 * @param accessDefinition the access definition
+		 */
+		void add(AccessDefinition accessDefinition) {
+			definitions.add(accessDefinition);
+		}
+
+		/**
+		 * Builds the node.
+		 *
+		 * @return the node
+		 */
+		Node build() {
+			char[] keys = new char[children.size()];
+			Node[] nodes = new Node[children.size()];
+			int i = 0;
+			for (Map.Entry<Character, NodeBuilder> entry : children.entrySet()) {
+				keys[i] = entry.getKey();
+				nodes[i] = entry.getValue().build();
+				i++;
+			}
+			List<AccessDefinition> anyMethod = new ArrayList<AccessDefinition>();
+			Map<String, List<AccessDefinition>> byMethod = new HashMap<String, List<AccessDefinition>>();
+			for (AccessDefinition accessDefinition : definitions) {
+				if (AccessDefinition.METHOD_ANY.equals(accessDefinition.getMethod())) {
+					anyMethod.add(accessDefinition);
+				} else {
+					byMethod.put(accessDefinition.getMethod(), new ArrayList<AccessDefinition>());
+				}
+			}
+			// keeps the order of the definitions, as when they were matched one by one
+			for (AccessDefinition accessDefinition : definitions) {
+				for (Map.Entry<String, List<AccessDefinition>> entry : byMethod.entrySet()) {
+					if (AccessDefinition.METHOD_ANY.equals(accessDefinition.getMethod()) || entry.getKey().equals(accessDefinition.getMethod())) {
+						entry.getValue().add(accessDefinition);
+					}
+				}
+			}
+			for (Map.Entry<String, List<AccessDefinition>> entry : byMethod.entrySet()) {
+				entry.setValue(Collections.unmodifiableList(entry.getValue()));
+			}
+			return new Node(keys, nodes, byMethod, anyMethod.isEmpty() ? null : Collections.unmodifiableList(anyMethod));
+		}
+	}
+
+}
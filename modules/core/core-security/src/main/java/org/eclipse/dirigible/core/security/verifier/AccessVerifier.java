@@ -11,7 +11,6 @@
  */
 package org.eclipse.dirigible.core.security.verifier;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.servlet.ServletException;
@@ -41,7 +40,7 @@ public class AccessVerifier {
 	 *            the path
 	 * @param method
 	 *            the method
-	 * @return all the most specific AccessDefinition entry matching the URI if any
+	 * @return all the most specific AccessDefinition entry matching the URI if any, as an unmodifiable list
 	 * @throws ServletException
 	 *             the servlet exception
 	 * @throws AccessException
@@ -49,25 +48,14 @@ public class AccessVerifier {
 	 */
 	public static List<AccessDefinition> getMatchingAccessDefinitions(ISecurityCoreService securityCoreService, String scope, String path, String method)
 			throws ServletException, AccessException {
-		List<AccessDefinition> accessDefinitions = new ArrayList<AccessDefinition>();
-		AccessDefinition current = null;
-		List<AccessDefinition> existing = securityCoreService.getAccessDefinitions();
-		for (AccessDefinition accessDefinition : existing) {
-			if (scope.equalsIgnoreCase(accessDefinition.getScope()) && path.startsWith(accessDefinition.getPath())
-					&& (accessDefinition.getMethod().equals("*") || method.equals(accessDefinition.getMethod()))) {
-				if (logger.isDebugEnabled()) {logger.debug(String.format("URI [%s] with HTTP method [%s] is secured because of definition: %s", path, method,
-						accessDefinition.getLocation()));}
-				if ((current == null) || (accessDefinition.getPath().length() > current.getPath().length())) {
-					current = accessDefinition;
-					accessDefinitions.clear();
-					accessDefinitions.add(accessDefinition);
-				} else if (accessDefinition.getPath().length() == current.getPath().length()) {
-					accessDefinitions.add(accessDefinition);
-				}
-			}
-		}
+		List<AccessDefinition> accessDefinitions = securityCoreService.getAccessIndex().getMatchingAccessDefinitions(scope, path, method);
 		if (accessDefinitions.isEmpty()) {
 			if (logger.isTraceEnabled()) {logger.trace(String.format("URI [%s] with HTTP method [%s] is NOT secured", path, method));}
+		} else if (logger.isDebugEnabled()) {
+			for (AccessDefinition accessDefinition : accessDefinitions) {
+				logger.debug(String.format("URI [%s] with HTTP method [%s] is secured because of definition: %s", path, method,
+						accessDefinition.getLocation()));
+			}
 		}
 		return accessDefinitions;
 	}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.core.security.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dirigible.core.security.definition.AccessDefinition;
+import org.eclipse.dirigible.core.security.verifier.AccessIndex;
+import org.junit.Test;
+
+/**
+ * The Class AccessIndexTest.
+ */
+public class AccessIndexTest {
+
+	/**
+	 * Matches the most specific definitions.
+	 */
+	@Test
+	public void matchingTest() {
+		List<AccessDefinition> accessDefinitions = new ArrayList<AccessDefinition>();
+		AccessDefinition get1 = add(accessDefinitions, "HTTP", "/a/b/c/d", "GET", "role1");
+		AccessDefinition get2 = add(accessDefinitions, "HTTP", "/a/b/c/d", "GET", "role2");
+		AccessDefinition slashGet = add(accessDefinitions, "HTTP", "/a/b/c/d/", "GET", "role1");
+		AccessDefinition slashAny = add(accessDefinitions, "HTTP", "/a/b/c/d/", "*", "role2");
+		AccessDefinition deepAny = add(accessDefinitions, "HTTP", "/a/b/c/d/e/f", "*", "role3");
+		AccessDefinition post = add(accessDefinitions, "HTTP", "/a/b/c/x", "POST", "role3");
+		add(accessDefinitions, "CMIS", "/a", "*", "role4");
+		AccessIndex index = AccessIndex.build(accessDefinitions);
+
+		assertEquals(7, index.getAccessDefinitions().size());
+		assertTrue(index.getMatchingAccessDefinitions("HTTP", "/a/b", "GET").isEmpty());
+		assertEquals(List.of(get1, get2), index.getMatchingAccessDefinitions("HTTP", "/a/b/c/d", "GET"));
+		assertEquals(List.of(slashGet, slashAny), index.getMatchingAccessDefinitions("HTTP", "/a/b/c/d/", "GET"));
+		assertEquals(List.of(slashGet, slashAny), index.getMatchingAccessDefinitions("http", "/a/b/c/d/e", "GET"));
+		assertEquals(List.of(slashAny), index.getMatchingAccessDefinitions("HTTP", "/a/b/c/d/e", "PUT"));
+		assertEquals(List.of(deepAny), index.getMatchingAccessDefinitions("HTTP", "/a/b/c/d/e/f/g", "GET"));
+		// prefixes are matched by characters, not by segments
+		assertEquals(List.of(get1, get2), index.getMatchingAccessDefinitions("HTTP", "/a/b/c/dx", "GET"));
+		assertEquals(List.of(post), index.getMatchingAccessDefinitions("HTTP", "/a/b/c/x", "POST"));
+		assertTrue(index.getMatchingAccessDefinitions("HTTP", "/a/b/c/x", "GET").isEmpty());
+		assertTrue(index.getMatchingAccessDefinitions("ODATA", "/a/b/c/d", "GET").isEmpty());
+		assertSame(index.getMatchingAccessDefinitions("HTTP", "/a/b/c/d", "GET"), index.getMatchingAccessDefinitions("HTTP", "/a/b/c/d", "GET"));
+	}
+
+	/**
+	 * Matches nothing without definitions.
+	 */
+	@Test
+	public void emptyTest() {
+		AccessIndex index = AccessIndex.build(new ArrayList<AccessDefinition>());
+		assertTrue(index.getAccessDefinitions().isEmpty());
+		assertTrue(index.getMatchingAccessDefinitions("HTTP", "/a", "GET").isEmpty());
+	}
+
+	/**
+	 * Adds the access definition.
+	 *
+	 * @param accessDefinitions the access definitions
+	 * @param scope the scope
+	 * @param path the path
+	 * @param method the method
+	 * @param role the role
+	 * @return the access definition
+	 */
+	private static AccessDefinition add(List<AccessDefinition> accessDefinitions, String scope, String path, String method, String role) {
+		AccessDefinition accessDefinition = new AccessDefinition();
+		accessDefinition.setScope(scope);
+		accessDefinition.setPath(path);
+		accessDefinition.setMethod(method);
+		accessDefinition.setRole(role);
+		accessDefinitions.add(accessDefinition);
+		return accessDefinition;
+	}
+
+}
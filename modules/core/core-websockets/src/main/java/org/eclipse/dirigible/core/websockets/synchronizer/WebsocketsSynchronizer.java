@@ -208,6 +208,51 @@ public class WebsocketsSynchronizer extends AbstractSynchronizer {
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing Websockets from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { IWebsocketsCoreService.FILE_EXTENSION_WEBSOCKET };
+	}
+
+	/**
+	 * Checks if is skipping unchanged.
+	 *
+	 * @return true, if is skipping unchanged
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#isSkippingUnchanged()
+	 */
+	@Override
+	protected boolean isSkippingUnchanged() {
+		return true;
+	}
+
+	/**
+	 * Synchronize unchanged resource.
+	 *
+	 * @param resource the resource
+	 * @throws SynchronizationException the synchronization exception
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#synchronizeUnchangedResource(org.eclipse.dirigible.
+	 * repository.api.IResource)
+	 */
+	@Override
+	protected void synchronizeUnchangedResource(IResource resource) throws SynchronizationException {
+		// the artefacts are up to date, only kept from the cleanup
+		WEBSOCKETS_SYNCHRONIZED.add(getRegistryPath(resource));
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
@@ -15,6 +15,11 @@ import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
 import javax.sql.DataSource;
 import org.eclipse.dirigible.api.v3.security.UserFacade;
 import org.slf4j.Logger;
@@ -37,6 +42,9 @@ public class WrappedDataSource implements DataSource {
 	/** The original data source. */
 	private final DataSource originalDataSource;
 
+	/** The users set in the client info of the physical connections. */
+	private final Map<Connection, String> clientInfoUsers = Collections.synchronizedMap(new WeakHashMap<Connection, String>());
+
 	/**
 	 * Wrapper of the default datasource provided by the underlying platform
 	 * It has some fault tolerance features, which are not available by default in the popular JDBC drivers.
@@ -84,16 +92,36 @@ public class WrappedDataSource implements DataSource {
 
 		if (databaseName.equals(DATABASE_NAME_HDB)) {
 			String userName = UserFacade.getName();
-			if (logger.isDebugEnabled()) {logger.debug("Setting APPLICATIONUSER:{} for connection: {}", userName, connection);}
-			connection.setClientInfo("APPLICATIONUSER", userName);
-
-			if (logger.isDebugEnabled()) {logger.debug("Setting XS_APPLICATIONUSER:{} for connection: {}", userName, connection);}
-			connection.setClientInfo("XS_APPLICATIONUSER", userName);
+			Connection physical = getPhysicalConnection(connection);
+			// the pooled connections keep their client info, so it is set only when the user changes
+			if (!Objects.equals(userName, clientInfoUsers.get(physical))) {
+				if (logger.isDebugEnabled()) {logger.debug("Setting APPLICATIONUSER:{} for connection: {}", userName, connection);}
+				connection.setClientInfo("APPLICATIONUSER", userName);
+
+				if (logger.isDebugEnabled()) {logger.debug("Setting XS_APPLICATIONUSER:{} for connection: {}", userName, connection);}
+				connection.setClientInfo("XS_APPLICATIONUSER", userName);
+				clientInfoUsers.put(physical, userName);
+			}
 		}
 
 		return connection;
 	}
 
+	/**
+	 * Gets the physical connection behind a pooled connection.
+	 *
+	 * @param connection the connection
+	 * @return the physical connection, or the connection itself if it does not wrap one
+	 */
+	private static Connection getPhysicalConnection(Connection connection) {
+		try {
+			Connection physical = connection.unwrap(Connection.class);
+			return physical != null ? physical : connection;
+		} catch (SQLException | RuntimeException e) {
+			return connection;
+		}
+	}
+
 	/**
 	 * Gets the log writer.
 	 *
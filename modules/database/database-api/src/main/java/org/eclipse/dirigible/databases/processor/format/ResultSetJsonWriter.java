@@ -11,6 +11,9 @@
  */
 package org.eclipse.dirigible.databases.processor.format;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -18,8 +21,7 @@ import java.sql.SQLException;
 import org.apache.commons.lang3.ClassUtils;
 import org.eclipse.dirigible.commons.api.helpers.GsonHelper;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * The ResultSet JSON Writer.
@@ -83,15 +85,78 @@ public class ResultSetJsonWriter extends AbstractResultSetWriter<String> {
 	 */
 	@Override
 	public String write(ResultSet resultSet) throws SQLException {
+		StringWriter output = new StringWriter();
+		try {
+			JsonWriter jsonWriter = new JsonWriter(output);
+			jsonWriter.setIndent("  ");
+			writeRecords(resultSet, jsonWriter, getMaxRecords());
+		} catch (IOException e) {
+			throw new SQLException(e);
+		}
+		return output.toString();
+	}
+
+	/**
+	 * Streams the records of the ResultSet as a JSON array to the output, without building the whole array in memory.
+	 *
+	 * @param resultSet the result set
+	 * @param output the output
+	 * @throws SQLException the SQL exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public void write(ResultSet resultSet, Writer output) throws SQLException, IOException {
+		writeRecords(resultSet, new JsonWriter(output), getMaxRecords());
+	}
+
+	/**
+	 * Writes the next records of the ResultSet as a JSON array to the output.
+	 *
+	 * @param resultSet the result set
+	 * @param output the output
+	 * @param count the max number of records to write
+	 * @return the number of the written records, less than count if the ResultSet has been exhausted
+	 * @throws SQLException the SQL exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public int write(ResultSet resultSet, Writer output, int count) throws SQLException, IOException {
+		return writeRecords(resultSet, new JsonWriter(output), count);
+	}
+
+	/**
+	 * Gets the max number of records to write.
+	 *
+	 * @return the max records
+	 */
+	private int getMaxRecords() {
+		// one record over the limit, as when the limit was checked after adding each record
+		return this.isLimited() ? getLimit() + 1 : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Writes the records as a JSON array.
+	 *
+	 * @param resultSet the result set
+	 * @param jsonWriter the json writer
+	 * @param max the max number of records
+	 * @return the number of the written records
+	 * @throws SQLException the SQL exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private int writeRecords(ResultSet resultSet, JsonWriter jsonWriter, int max) throws SQLException, IOException {
 
 		ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+		int columnCount = resultSetMetaData.getColumnCount();
+		String[] names = new String[columnCount];
+		for (int i = 1; i <= columnCount; i++) {
+			names[i - 1] = resultSetMetaData.getColumnName(i);
+		}
 
-		JsonArray records = new JsonArray();
+		jsonWriter.setHtmlSafe(true);
+		jsonWriter.beginArray();
 		int count = 0;
-		while (resultSet.next()) {
-			JsonObject record = new JsonObject();
-			for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
-				String name = resultSetMetaData.getColumnName(i);
+		while ((count < max) && resultSet.next()) {
+			jsonWriter.beginObject();
+			for (int i = 1; i <= columnCount; i++) {
 				Object value = resultSet.getObject(i);
 				if (value == null
 						&& stringify) {
@@ -104,17 +169,16 @@ public class ResultSetJsonWriter extends AbstractResultSetWriter<String> {
 						value = "[BINARY]";
 					}
 				}
-				record.add(name, GsonHelper.toJsonTree(value));
-			}
-
-			records.add(record);
-
-			if (this.isLimited() && (++count > getLimit())) {
-				break;
+				jsonWriter.name(names[i - 1]);
+				GsonHelper.toJson(value, jsonWriter);
 			}
+			jsonWriter.endObject();
+			count++;
 		}
+		jsonWriter.endArray();
+		jsonWriter.flush();
 
-		return GsonHelper.toJson(records);
+		return count;
 	}
 
 }
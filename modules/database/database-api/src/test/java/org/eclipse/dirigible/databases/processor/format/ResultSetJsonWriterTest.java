@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.databases.processor.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.eclipse.dirigible.commons.api.helpers.GsonHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * The Class ResultSetJsonWriterTest.
+ */
+public class ResultSetJsonWriterTest {
+
+	/** The connection. */
+	private Connection connection;
+
+	/** The statement. */
+	private Statement statement;
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		connection = DriverManager.getConnection("jdbc:h2:mem:ResultSetJsonWriterTest;DB_CLOSE_DELAY=-1");
+		statement = connection.createStatement();
+		statement.executeUpdate("DROP TABLE IF EXISTS RECORDS");
+		statement.executeUpdate("CREATE TABLE RECORDS (ID INT PRIMARY KEY, NAME VARCHAR(20), DATA VARBINARY(10))");
+		for (int i = 1; i <= 5; i++) {
+			statement.executeUpdate("INSERT INTO RECORDS VALUES (" + i + ", " + (i == 2 ? "NULL" : "'name" + i + "'") + ", X'0102')");
+		}
+	}
+
+	/**
+	 * Tear down.
+	 *
+	 * @throws Exception the exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		statement.close();
+		connection.close();
+	}
+
+	/**
+	 * The limited and stringified records.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void writeLimitedStringified() throws Exception {
+		ResultSetJsonWriter writer = new ResultSetJsonWriter();
+		writer.setLimit(2);
+		JsonArray records;
+		try (ResultSet resultSet = statement.executeQuery("SELECT * FROM RECORDS ORDER BY ID")) {
+			records = GsonHelper.parseJson(writer.write(resultSet)).getAsJsonArray();
+		}
+		// one record over the limit
+		assertEquals(3, records.size());
+		JsonObject first = records.get(0).getAsJsonObject();
+		assertEquals(1, first.get("ID").getAsInt());
+		assertEquals("name1", first.get("NAME").getAsString());
+		assertEquals("[BINARY]", first.get("DATA").getAsString());
+		assertEquals("[NULL]", records.get(1).getAsJsonObject().get("NAME").getAsString());
+	}
+
+	/**
+	 * The unlimited records streamed to a writer, as they are.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void writeUnlimitedToWriter() throws Exception {
+		ResultSetJsonWriter writer = new ResultSetJsonWriter();
+		writer.setLimit(2);
+		writer.setLimited(false);
+		writer.setStringified(false);
+		StringWriter output = new StringWriter();
+		try (ResultSet resultSet = statement.executeQuery("SELECT ID, NAME FROM RECORDS ORDER BY ID")) {
+			writer.write(resultSet, output);
+		}
+		JsonArray records = GsonHelper.parseJson(output.toString()).getAsJsonArray();
+		assertEquals(5, records.size());
+		assertEquals(5, records.get(4).getAsJsonObject().get("ID").getAsInt());
+		// the null values are omitted, as without streaming
+		assertFalse(records.get(1).getAsJsonObject().has("NAME"));
+	}
+
+	/**
+	 * The records written in batches, until the result set is exhausted.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void writeBatches() throws Exception {
+		ResultSetJsonWriter writer = new ResultSetJsonWriter();
+		try (ResultSet resultSet = statement.executeQuery("SELECT ID FROM RECORDS ORDER BY ID")) {
+			StringWriter output = new StringWriter();
+			assertEquals(2, writer.write(resultSet, output, 2));
+			assertEquals("[{\"ID\":1},{\"ID\":2}]", output.toString());
+
+			output = new StringWriter();
+			assertEquals(2, writer.write(resultSet, output, 2));
+			assertEquals("[{\"ID\":3},{\"ID\":4}]", output.toString());
+
+			output = new StringWriter();
+			assertEquals(1, writer.write(resultSet, output, 2));
+			assertEquals("[{\"ID\":5}]", output.toString());
+
+			output = new StringWriter();
+			assertEquals(0, writer.write(resultSet, output, 2));
+			assertEquals("[]", output.toString());
+		}
+	}
+
+}
@@ -270,6 +270,20 @@ public class ChangelogSynchronizer extends AbstractSynchronizer implements IOrde
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing Changelogs from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { IDataStructureModel.FILE_EXTENSION_CHANGELOG };
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
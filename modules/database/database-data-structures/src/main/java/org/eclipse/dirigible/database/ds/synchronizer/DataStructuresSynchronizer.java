@@ -729,6 +729,20 @@ public class DataStructuresSynchronizer extends AbstractSynchronizer implements
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing Data Structures from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { IDataStructureModel.FILE_EXTENSION_TABLE, IDataStructureModel.FILE_EXTENSION_VIEW, IDataStructureModel.FILE_EXTENSION_REPLACE, IDataStructureModel.FILE_EXTENSION_APPEND, IDataStructureModel.FILE_EXTENSION_DELETE, IDataStructureModel.FILE_EXTENSION_UPDATE, IDataStructureModel.FILE_EXTENSION_SCHEMA };
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
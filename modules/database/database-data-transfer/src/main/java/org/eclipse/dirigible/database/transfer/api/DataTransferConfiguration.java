@@ -22,6 +22,12 @@ public class DataTransferConfiguration {
 	/** The target schema. */
 	private String targetSchema;
 
+	/** The number of tables and ranges transferred concurrently, or 0 for the configured default. */
+	private int parallelism;
+
+	/** The number of records per key range of the large tables, or 0 for the configured default. */
+	private int rangeSize;
+
 	/**
 	 * Gets the source schema.
 	 *
@@ -58,4 +64,40 @@ public class DataTransferConfiguration {
 		this.targetSchema = targetSchema;
 	}
 
+	/**
+	 * Gets the parallelism.
+	 *
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the parallelism.
+	 *
+	 * @param parallelism the parallelism to set
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Gets the range size.
+	 *
+	 * @return the rangeSize
+	 */
+	public int getRangeSize() {
+		return rangeSize;
+	}
+
+	/**
+	 * Sets the range size.
+	 *
+	 * @param rangeSize the rangeSize to set
+	 */
+	public void setRangeSize(int rangeSize) {
+		this.rangeSize = rangeSize;
+	}
+
 }
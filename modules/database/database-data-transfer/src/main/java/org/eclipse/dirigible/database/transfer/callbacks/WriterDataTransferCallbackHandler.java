@@ -46,7 +46,7 @@ public class WriterDataTransferCallbackHandler implements IDataTransferCallbackH
 	private String identifier;
 	
 	/** The stopped. */
-	private boolean stopped = false;
+	private volatile boolean stopped = false;
 	
 	/**
 	 * Instantiates a new writer data transfer callback handler.
@@ -65,7 +65,7 @@ public class WriterDataTransferCallbackHandler implements IDataTransferCallbackH
 	 * @param s the s
 	 * @param severity the severity
 	 */
-	private void write(String s, String severity) {
+	private synchronized void write(String s, String severity) {
 		try {
 			String message = String.format("[%s][%s] %s", identifier, severity, s);
 			this.writer.write(message);
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.database.transfer.manager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dirigible.database.sql.SqlFactory;
+
+/**
+ * The checkpoints of the key ranges of the tables being transferred, kept in the target database.
+ * <p>
+ * A range is marked as transferred in the same transaction, in which its records are inserted, so after a failure the
+ * transfer resumes with the ranges, which were not committed. The checkpoints of a table are deleted once all of its
+ * ranges are transferred.
+ */
+public class DataTransferCheckpoints {
+
+	/** The Constant CHECKPOINTS_TABLE. */
+	public static final String CHECKPOINTS_TABLE = "DIRIGIBLE_DATA_TRANSFER_CHECKPOINTS";
+
+	/** The Constant COLUMN_TABLE. */
+	private static final String COLUMN_TABLE = "CHECKPOINT_TABLE";
+
+	/** The Constant COLUMN_RANGE. */
+	private static final String COLUMN_RANGE = "CHECKPOINT_RANGE";
+
+	/** The Constant COLUMN_FROM. */
+	private static final String COLUMN_FROM = "CHECKPOINT_FROM";
+
+	/** The Constant COLUMN_TO. */
+	private static final String COLUMN_TO = "CHECKPOINT_TO";
+
+	/** The Constant COLUMN_RECORDS. */
+	private static final String COLUMN_RECORDS = "CHECKPOINT_RECORDS";
+
+	/**
+	 * Creates the checkpoints table, if it does not exist.
+	 *
+	 * @param connection the target connection
+	 * @throws SQLException the SQL exception
+	 */
+	public static void createTable(Connection connection) throws SQLException {
+		if (SqlFactory.getNative(connection).exists(connection, CHECKPOINTS_TABLE)) {
+			return;
+		}
+		String sql = SqlFactory.getNative(connection)
+				.create()
+				.table(CHECKPOINTS_TABLE)
+				.columnVarchar(COLUMN_TABLE, 255, false, false)
+				.columnInteger(COLUMN_RANGE, false, false)
+				.columnBigint(COLUMN_FROM, false, true)
+				.columnBigint(COLUMN_TO, false, true)
+				.columnBigint(COLUMN_RECORDS, false, true)
+				.primaryKey(new String[] {COLUMN_TABLE, COLUMN_RANGE})
+				.build();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * Drops the checkpoints table, if there are no checkpoints left.
+	 *
+	 * @param connection the target connection
+	 * @throws SQLException the SQL exception
+	 */
+	public static void dropTableIfEmpty(Connection connection) throws SQLException {
+		String countSQL = SqlFactory.getNative(connection).select().column("COUNT(*)").from(CHECKPOINTS_TABLE).build();
+		try (PreparedStatement statement = connection.prepareStatement(countSQL);
+				ResultSet rs = statement.executeQuery()) {
+			if (rs.next() && rs.getInt(1) > 0) {
+				return;
+			}
+		}
+		String dropSQL = SqlFactory.getNative(connection).drop().table(CHECKPOINTS_TABLE).build();
+		try (PreparedStatement statement = connection.prepareStatement(dropSQL)) {
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * Gets the checkpointed ranges of a table.
+	 *
+	 * @param connection the target connection
+	 * @param table the table
+	 * @return the ranges ordered by index, or an empty list if the table has no checkpoints
+	 * @throws SQLException the SQL exception
+	 */
+	public static List<DataTransferRange> getRanges(Connection connection, String table) throws SQLException {
+		String sql = SqlFactory.getNative(connection)
+				.select()
+				.column(COLUMN_RANGE)
+				.column(COLUMN_FROM)
+				.column(COLUMN_TO)
+				.column(COLUMN_RECORDS)
+				.from(CHECKPOINTS_TABLE)
+				.where(COLUMN_TABLE + " = ?")
+				.order(COLUMN_RANGE)
+				.build();
+		List<DataTransferRange> ranges = new ArrayList<DataTransferRange>();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, table);
+			try (ResultSet rs = statement.executeQuery()) {
+				while (rs.next()) {
+					ranges.add(new DataTransferRange(rs.getInt(1), getLong(rs, 2), getLong(rs, 3), getLong(rs, 4)));
+				}
+			}
+		}
+		return ranges;
+	}
+
+	/**
+	 * Saves the planned ranges of a table.
+	 *
+	 * @param connection the target connection
+	 * @param table the table
+	 * @param ranges the ranges
+	 * @throws SQLException the SQL exception
+	 */
+	public static void saveRanges(Connection connection, String table, List<DataTransferRange> ranges) throws SQLException {
+		String sql = SqlFactory.getNative(connection)
+				.insert()
+				.into(CHECKPOINTS_TABLE)
+				.column(COLUMN_TABLE)
+				.column(COLUMN_RANGE)
+				.column(COLUMN_FROM)
+				.column(COLUMN_TO)
+				.build();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (DataTransferRange range : ranges) {
+				statement.setString(1, table);
+				statement.setInt(2, range.getIndex());
+				setLong(statement, 3, range.getFrom());
+				setLong(statement, 4, range.getTo());
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+	}
+
+	/**
+	 * Marks a range as transferred. It has to be called in the transaction, which inserted the records of the range.
+	 *
+	 * @param connection the target connection
+	 * @param table the table
+	 * @param range the range
+	 * @param records the transferred records
+	 * @throws SQLException the SQL exception
+	 */
+	public static void rangeTransferred(Connection connection, String table, DataTransferRange range, long records) throws SQLException {
+		String sql = SqlFactory.getNative(connection)
+				.update()
+				.table(CHECKPOINTS_TABLE)
+				.set(COLUMN_RECORDS, "?")
+				.where(COLUMN_TABLE + " = ?")
+				.where(COLUMN_RANGE + " = ?")
+				.build();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setLong(1, records);
+			statement.setString(2, table);
+			statement.setInt(3, range.getIndex());
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * Deletes the checkpoints of a transferred table.
+	 *
+	 * @param connection the target connection
+	 * @param table the table
+	 * @throws SQLException the SQL exception
+	 */
+	public static void deleteRanges(Connection connection, String table) throws SQLException {
+		String sql = SqlFactory.getNative(connection)
+				.delete()
+				.from(CHECKPOINTS_TABLE)
+				.where(COLUMN_TABLE + " = ?")
+				.build();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, table);
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * Gets a nullable long.
+	 *
+	 * @param rs the result set
+	 * @param index the index
+	 * @return the long or null
+	 * @throws SQLException the SQL exception
+	 */
+	private static Long getLong(ResultSet rs, int index) throws SQLException {
+		long value = rs.getLong(index);
+		return rs.wasNull() ? null : value;
+	}
+
+	/**
+	 * Sets a nullable long.
+	 *
+	 * @param statement the statement
+	 * @param index the index
+	 * @param value the value
+	 * @throws SQLException the SQL exception
+	 */
+	private static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+		if (value == null) {
+			statement.setNull(index, Types.BIGINT);
+		} else {
+			statement.setLong(index, value);
+		}
+	}
+
+}
@@ -16,20 +16,29 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.sql.DataSource;
 
 import org.eclipse.dirigible.commons.api.topology.TopologicalSorter;
 import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.database.api.DatabaseModule;
+import org.eclipse.dirigible.database.persistence.model.PersistenceTableColumnModel;
 import org.eclipse.dirigible.database.persistence.model.PersistenceTableModel;
+import org.eclipse.dirigible.database.persistence.model.PersistenceTableRelationModel;
 import org.eclipse.dirigible.database.persistence.processors.table.PersistenceCreateTableProcessor;
 import org.eclipse.dirigible.database.sql.SqlFactory;
 import org.eclipse.dirigible.database.sql.builders.records.InsertBuilder;
+import org.eclipse.dirigible.database.sql.builders.records.SelectBuilder;
 import org.eclipse.dirigible.database.transfer.api.DataTransferConfiguration;
 import org.eclipse.dirigible.database.transfer.api.DataTransferDefinition;
 import org.eclipse.dirigible.database.transfer.api.DataTransferException;
@@ -40,6 +49,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The Class DataTransferManager.
+ * <p>
+ * The tables are transferred concurrently on a bounded pool, each one as soon as the tables it depends on are
+ * transferred. The large tables with a single integral primary key are split into key ranges, which are transferred
+ * concurrently as well. Every range is committed together with its checkpoint, so a failed or stopped transfer resumes
+ * with the remaining ranges when started again.
  */
 public class DataTransferManager {
 	
@@ -51,6 +65,18 @@ public class DataTransferManager {
 	
 	/** The Constant DEFAULT_BATCH_SIZE. */
 	private static final String DEFAULT_BATCH_SIZE = "1000";
+
+	/** The Constant DIRIGIBLE_DATABASE_TRANSFER_PARALLELISM. */
+	private static final String DIRIGIBLE_DATABASE_TRANSFER_PARALLELISM = "DIRIGIBLE_DATABASE_TRANSFER_PARALLELISM";
+
+	/** The Constant DEFAULT_PARALLELISM. */
+	private static final String DEFAULT_PARALLELISM = "4";
+
+	/** The Constant DIRIGIBLE_DATABASE_TRANSFER_RANGE_SIZE. */
+	private static final String DIRIGIBLE_DATABASE_TRANSFER_RANGE_SIZE = "DIRIGIBLE_DATABASE_TRANSFER_RANGE_SIZE";
+
+	/** The Constant DEFAULT_RANGE_SIZE. */
+	private static final String DEFAULT_RANGE_SIZE = "100000";
 	
 	/** The batch size. */
 	private static int BATCH_SIZE = 1000; 
@@ -88,6 +114,10 @@ public class DataTransferManager {
 		} catch (NumberFormatException e1) {
 			if (logger.isWarnEnabled()) {logger.warn("Wrong configuration for " + DIRIGIBLE_DATABASE_TRANSFER_BATCH_SIZE);}
 		}
+		int parallelism = configuration.getParallelism() > 0 ? configuration.getParallelism()
+				: getConfiguredSize(DIRIGIBLE_DATABASE_TRANSFER_PARALLELISM, DEFAULT_PARALLELISM);
+		int rangeSize = configuration.getRangeSize() > 0 ? configuration.getRangeSize()
+				: getConfiguredSize(DIRIGIBLE_DATABASE_TRANSFER_RANGE_SIZE, DEFAULT_RANGE_SIZE);
 		
 		handler.transferStarted(configuration);
 		
@@ -99,10 +129,14 @@ public class DataTransferManager {
 				if (handler.isStopped()) {
 					return;
 				}
+				tables.removeIf(e -> DataTransferCheckpoints.CHECKPOINTS_TABLE.equalsIgnoreCase(e.getTableName()));
 				tables = sortTables(tables, handler);
 				sourceConnection.setSchema(configuration.getSourceSchema());
 				targetConnection.setSchema(configuration.getTargetSchema());
-				transferData(tables, sourceConnection, targetConnection, handler);
+				DataTransferCheckpoints.createTable(targetConnection);
+				if (transferData(tables, source, target, configuration, parallelism, rangeSize, handler)) {
+					DataTransferCheckpoints.dropTableIfEmpty(targetConnection);
+				}
 				
 				handler.transferFinished(tables.size());
 				
@@ -121,6 +155,26 @@ public class DataTransferManager {
 		}
 		
 	}
+
+	/**
+	 * Gets a positive size from the configuration.
+	 *
+	 * @param key the key
+	 * @param defaultValue the default value
+	 * @return the size
+	 */
+	private static int getConfiguredSize(String key, String defaultValue) {
+		try {
+			int size = Integer.parseInt(Configuration.get(key, defaultValue));
+			if (size > 0) {
+				return size;
+			}
+		} catch (NumberFormatException e) {
+			// fall back to the default
+		}
+		if (logger.isWarnEnabled()) {logger.warn("Wrong configuration for " + key);}
+		return Integer.parseInt(defaultValue);
+	}
 	
 	/**
 	 * Sort tables.
@@ -158,63 +212,206 @@ public class DataTransferManager {
 	}
 
 	/**
-	 * Transfer data.
+	 * Transfer data. Each table is scheduled after the transfers of the tables it depends on, and skipped if any of them
+	 * failed. A failure of a table is reported by the handler and completes its transfer with false.
 	 *
-	 * @param tables the tables
-	 * @param sourceConnection the source connection
-	 * @param targetConnection the target connection
+	 * @param tables the tables in topological order
+	 * @param source the source
+	 * @param target the target
+	 * @param configuration the configuration
+	 * @param parallelism the parallelism
+	 * @param rangeSize the range size
 	 * @param handler the handler
+	 * @return true, if all the tables were transferred
 	 */
-	private static void transferData(List<PersistenceTableModel> tables, Connection sourceConnection, Connection targetConnection, IDataTransferCallbackHandler handler) {
+	private static boolean transferData(List<PersistenceTableModel> tables, DataSource source, DataSource target, DataTransferConfiguration configuration,
+			int parallelism, int rangeSize, IDataTransferCallbackHandler handler) {
 		
 		handler.dataTransferStarted();
 		
-		for (PersistenceTableModel tableModel : tables) {
-			if (handler.isStopped()) {
-				return;
+		boolean completed = true;
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		try {
+			Map<String, CompletableFuture<Boolean>> transfers = new HashMap<String, CompletableFuture<Boolean>>();
+			for (PersistenceTableModel tableModel : tables) {
+				List<CompletableFuture<Boolean>> dependencies = new ArrayList<CompletableFuture<Boolean>>();
+				for (PersistenceTableRelationModel relation : tableModel.getRelations()) {
+					CompletableFuture<Boolean> dependency = transfers.get(relation.getToTableName());
+					if (dependency != null) {
+						dependencies.add(dependency);
+					}
+				}
+				String tableName = tableModel.getTableName();
+				CompletableFuture<Boolean> transfer = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+						.thenComposeAsync(e -> dependencies.stream().allMatch(CompletableFuture::join)
+								? transferTable(tableModel, source, target, configuration, rangeSize, executor, handler)
+								: skipTable(tableName, handler), executor)
+						.handle((result, error) -> {
+							if (error == null) {
+								return result;
+							}
+							Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+							String message = "Error occured while transferring the data for table: " + tableName;
+							if (logger.isErrorEnabled()) {logger.error(message, cause);}
+							handler.tableTransferFailed(tableName, message + " -> " + cause.getMessage());
+							return false;
+						});
+				transfers.put(tableName, transfer);
 			}
-			if (logger.isInfoEnabled()) {logger.info(String.format("Data transfer of table %s has been started...", tableModel.getTableName()));}
-			handler.tableTransferStarted(tableModel.getTableName());
-			try {
-				
-				if (!SqlFactory.getNative(sourceConnection).exists(targetConnection, tableModel.getTableName())) {
+			for (CompletableFuture<Boolean> transfer : transfers.values()) {
+				completed &= transfer.join();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		
+		if (handler.isStopped()) {
+			return false;
+		}
+		handler.dataTransferFinished();
+		return completed;
+	}
+
+	/**
+	 * Skips a table, which depends on a table that was not transferred.
+	 *
+	 * @param tableName the table name
+	 * @param handler the handler
+	 * @return the completed future result, always false
+	 */
+	private static CompletableFuture<Boolean> skipTable(String tableName, IDataTransferCallbackHandler handler) {
+		if (!handler.isStopped()) {
+			if (logger.isWarnEnabled()) {logger.warn(String.format("Data transfer of table %s has been skipped, as a table it depends on was not transferred.", tableName));}
+			handler.tableSkipped(tableName, "a table it depends on was not transferred");
+		}
+		return CompletableFuture.completedFuture(false);
+	}
+
+	/**
+	 * Prepares the transfer of a table and schedules its remaining ranges.
+	 *
+	 * @param tableModel the table model
+	 * @param source the source
+	 * @param target the target
+	 * @param configuration the configuration
+	 * @param rangeSize the range size
+	 * @param executor the executor
+	 * @param handler the handler
+	 * @return the future result, true if the table was transferred
+	 */
+	private static CompletableFuture<Boolean> transferTable(PersistenceTableModel tableModel, DataSource source, DataSource target,
+			DataTransferConfiguration configuration, int rangeSize, ExecutorService executor, IDataTransferCallbackHandler handler) {
+		String tableName = tableModel.getTableName();
+		if (handler.isStopped()) {
+			return CompletableFuture.completedFuture(false);
+		}
+		if (logger.isInfoEnabled()) {logger.info(String.format("Data transfer of table %s has been started...", tableName));}
+		handler.tableTransferStarted(tableName);
+		
+		List<DataTransferRange> ranges;
+		try (Connection sourceConnection = getConnection(source, configuration.getSourceSchema());
+				Connection targetConnection = getConnection(target, configuration.getTargetSchema())) {
+			ranges = DataTransferCheckpoints.getRanges(targetConnection, tableName);
+			if (ranges.isEmpty()) {
+				if (!SqlFactory.getNative(sourceConnection).exists(targetConnection, tableName)) {
 					PersistenceCreateTableProcessor createTableProcessor = new PersistenceCreateTableProcessor(null);
 					createTableProcessor.create(targetConnection, tableModel);
-				} else {
-					String countSQL = SqlFactory.getNative(sourceConnection)
-							.select()
-							.column("count(*)")
-							.from(tableModel.getTableName())
-							.build();
-					try (PreparedStatement pstmtTarget = targetConnection.prepareStatement(countSQL)) {
-						ResultSet rs = pstmtTarget.executeQuery();
-						while (rs.next()) {
-							int count = rs.getInt(1);
-							if (count > 0) {
-								handler.tableSkipped(tableModel.getTableName(), "table exists and it is not empty");
-								continue;
-							}
-						}
-					}
+				} else if (count(targetConnection, tableName) > 0) {
+					handler.tableSkipped(tableName, "table exists and it is not empty");
+					return CompletableFuture.completedFuture(true);
 				}
-				
-				String selectSQL = SqlFactory.getNative(sourceConnection)
-						.select()
-						.column("*")
-						.from(tableModel.getTableName())
-						.build();
-				
-				handler.tableSelectSQL(selectSQL);
-				
-				int transferedRecords = 0;
-				
+				ranges = planRanges(sourceConnection, tableModel, rangeSize);
+				DataTransferCheckpoints.saveRanges(targetConnection, tableName, ranges);
+			} else if (logger.isInfoEnabled()) {logger.info(String.format("Data transfer of table %s is resumed from its checkpoints.", tableName));}
+		} catch (Exception e) {
+			String error = "Error occured while transferring the data for table: " + tableName;
+			if (logger.isErrorEnabled()) {logger.error(error, e);}
+			handler.tableTransferFailed(tableName, error + " -> " + e.getMessage());
+			return CompletableFuture.completedFuture(false);
+		}
+		
+		AtomicInteger transferedRecords = new AtomicInteger();
+		List<CompletableFuture<Boolean>> rangeTransfers = new ArrayList<CompletableFuture<Boolean>>();
+		for (DataTransferRange range : ranges) {
+			if (range.isTransferred()) {
+				transferedRecords.addAndGet(range.getRecords().intValue());
+			} else {
+				rangeTransfers.add(CompletableFuture.supplyAsync(() -> transferRange(tableModel, range, source, target, configuration, transferedRecords, handler), executor));
+			}
+		}
+		
+		return CompletableFuture.allOf(rangeTransfers.toArray(new CompletableFuture<?>[0])).thenApply(e -> {
+			for (CompletableFuture<Boolean> rangeTransfer : rangeTransfers) {
+				if (!rangeTransfer.join()) {
+					return false;
+				}
+			}
+			try (Connection targetConnection = getConnection(target, configuration.getTargetSchema())) {
+				DataTransferCheckpoints.deleteRanges(targetConnection, tableName);
+			} catch (SQLException ex) {
+				if (logger.isWarnEnabled()) {logger.warn("Error occured while deleting the checkpoints of table: " + tableName, ex);}
+			}
+			String message = String.format("Data of table %s has been transferred successfully.", tableName);
+			if (logger.isInfoEnabled()) {logger.info(message);}
+			handler.tableTransferFinished(tableName, transferedRecords.get());
+			return true;
+		});
+	}
+
+	/**
+	 * Transfers a range of a table in a single transaction, which also marks the range as transferred.
+	 *
+	 * @param tableModel the table model
+	 * @param range the range
+	 * @param source the source
+	 * @param target the target
+	 * @param configuration the configuration
+	 * @param transferedRecords the transfered records of the table
+	 * @param handler the handler
+	 * @return true, if the range was transferred
+	 */
+	private static boolean transferRange(PersistenceTableModel tableModel, DataTransferRange range, DataSource source, DataSource target,
+			DataTransferConfiguration configuration, AtomicInteger transferedRecords, IDataTransferCallbackHandler handler) {
+		String tableName = tableModel.getTableName();
+		if (handler.isStopped()) {
+			return false;
+		}
+		try (Connection sourceConnection = getConnection(source, configuration.getSourceSchema());
+				Connection targetConnection = getConnection(target, configuration.getTargetSchema())) {
+			
+			SelectBuilder selectBuilder = SqlFactory.getNative(sourceConnection)
+					.select()
+					.column("*")
+					.from(tableName);
+			String rangeColumn = getRangeColumn(tableModel);
+			if (range.getFrom() != null) {
+				selectBuilder.where(rangeColumn + " >= ?");
+			}
+			if (range.getTo() != null) {
+				selectBuilder.where(rangeColumn + " < ?");
+			}
+			String selectSQL = selectBuilder.build();
+			
+			handler.tableSelectSQL(selectSQL);
+			
+			targetConnection.setAutoCommit(false);
+			try {
+				long records = 0;
 				try (PreparedStatement pstmtSource = sourceConnection.prepareStatement(selectSQL)) {
+					int parameter = 1;
+					if (range.getFrom() != null) {
+						pstmtSource.setLong(parameter++, range.getFrom());
+					}
+					if (range.getTo() != null) {
+						pstmtSource.setLong(parameter++, range.getTo());
+					}
+					pstmtSource.setFetchSize(BATCH_SIZE);
 					try (ResultSet rs = pstmtSource.executeQuery()) {
 						ResultSetMetaData resultSetMetaData = rs.getMetaData();
 						
 						InsertBuilder insertBuilder = SqlFactory.getNative(targetConnection)
 								.insert()
-								.into(tableModel.getTableName());
+								.into(tableName);
 						for (int i=1; i<=resultSetMetaData.getColumnCount(); i++) {
 							String columnName = resultSetMetaData.getColumnName(i);
 							insertBuilder.column(columnName);
@@ -226,131 +423,274 @@ public class DataTransferManager {
 						try (PreparedStatement pstmtTarget = targetConnection.prepareStatement(insertSQL)) {
 							while (rs.next()) {
 								if (handler.isStopped()) {
-									return;
+									targetConnection.rollback();
+									return false;
 								}
 								for (int i=1; i<=resultSetMetaData.getColumnCount(); i++) {
-									int type = resultSetMetaData.getColumnType(i);
-									switch (type) {
-									case java.sql.Types.ARRAY:
-										pstmtTarget.setArray(i, rs.getArray(i));
-										break;
-									case java.sql.Types.BIGINT:
-										pstmtTarget.setLong(i, rs.getLong(i));
-										break;
-									case java.sql.Types.BINARY:
-										pstmtTarget.setBinaryStream(i, rs.getBinaryStream(i));
-										break;
-									case java.sql.Types.BIT:
-										pstmtTarget.setBoolean(i, rs.getBoolean(i));
-										break;
-									case java.sql.Types.BLOB:
-										pstmtTarget.setBlob(i, rs.getBlob(i));
-										break;
-									case java.sql.Types.BOOLEAN:
-										pstmtTarget.setBoolean(i, rs.getBoolean(i));
-										break;
-									case java.sql.Types.CHAR:
-										pstmtTarget.setString(i, rs.getString(i));
-										break;
-									case java.sql.Types.CLOB:
-										pstmtTarget.setClob(i, rs.getClob(i));
-										break;
-									case java.sql.Types.DATE:
-										pstmtTarget.setDate(i, rs.getDate(i));
-										break;
-									case java.sql.Types.DECIMAL:
-										pstmtTarget.setBigDecimal(i, rs.getBigDecimal(i));
-										break;
-									case java.sql.Types.DOUBLE:
-										pstmtTarget.setDouble(i, rs.getDouble(i));
-										break;
-									case java.sql.Types.FLOAT:
-										pstmtTarget.setFloat(i, rs.getFloat(i));
-										break;
-									case java.sql.Types.INTEGER:
-										pstmtTarget.setInt(i, rs.getInt(i));
-										break;
-									case java.sql.Types.LONGNVARCHAR:
-										pstmtTarget.setString(i, rs.getString(i));
-										break;
-									case java.sql.Types.LONGVARBINARY:
-										pstmtTarget.setBinaryStream(i, rs.getBinaryStream(i));
-										break;
-									case java.sql.Types.LONGVARCHAR:
-										pstmtTarget.setString(i, rs.getString(i));
-										break;
-									case java.sql.Types.NCHAR:
-										pstmtTarget.setString(i, rs.getString(i));
-										break;
-									case java.sql.Types.NCLOB:
-										pstmtTarget.setString(i, rs.getString(i));
-										break;
-									case java.sql.Types.NUMERIC:
-										pstmtTarget.setDouble(i, rs.getDouble(i));
-										break;
-									case java.sql.Types.NVARCHAR:
-										pstmtTarget.setString(i, rs.getString(i));
-										break;
-									case java.sql.Types.REAL:
-										pstmtTarget.setFloat(i, rs.getFloat(i));
-										break;
-									case java.sql.Types.SMALLINT:
-										pstmtTarget.setShort(i, rs.getShort(i));
-										break;
-									case java.sql.Types.TIME:
-										pstmtTarget.setTime(i, rs.getTime(i));
-										break;
-									case java.sql.Types.TIME_WITH_TIMEZONE:
-										pstmtTarget.setTime(i, rs.getTime(i));
-										break;
-									case java.sql.Types.TIMESTAMP:
-										pstmtTarget.setTimestamp(i, rs.getTimestamp(i));
-										break;
-									case java.sql.Types.TIMESTAMP_WITH_TIMEZONE:
-										pstmtTarget.setTimestamp(i, rs.getTimestamp(i));
-										break;
-									case java.sql.Types.TINYINT:
-										pstmtTarget.setByte(i, rs.getByte(i));
-										break;
-									case java.sql.Types.VARBINARY:
-										pstmtTarget.setString(i, rs.getString(i));
-										break;
-									case java.sql.Types.VARCHAR:
-										pstmtTarget.setString(i, rs.getString(i));
-										break;
-									default:
-										pstmtTarget.setObject(i, rs.getObject(i));
-										break;
-									}
-									
+									setValue(pstmtTarget, rs, i, resultSetMetaData.getColumnType(i));
 								}
-								handler.recordTransferFinished(tableModel.getTableName(), ++transferedRecords);
+								handler.recordTransferFinished(tableName, transferedRecords.incrementAndGet());
 								pstmtTarget.addBatch();
-								if (transferedRecords % BATCH_SIZE == 0) {
+								if (++records % BATCH_SIZE == 0) {
 									pstmtTarget.executeBatch();
 								}
 							}
-							if (transferedRecords % BATCH_SIZE != 0) {
+							if (records % BATCH_SIZE != 0) {
 								pstmtTarget.executeBatch();
 							}
 						}
 					}
 				}
-				
-				String message = String.format("Data of table %s has been transferred successfully.", tableModel.getTableName());
-				if (logger.isInfoEnabled()) {logger.info(message);}
-				
-				handler.tableTransferFinished(tableModel.getTableName(), transferedRecords);
-				
-			} catch(Exception e) {
-				String error = "Error occured while transferring the data for table: " + tableModel.getTableName();
-				if (logger.isErrorEnabled()) {logger.error(error, e);}
-				handler.tableTransferFailed(tableModel.getTableName(), error + " -> " + e.getMessage());
+				DataTransferCheckpoints.rangeTransferred(targetConnection, tableName, range, records);
+				targetConnection.commit();
+				return true;
+			} catch (Exception e) {
+				targetConnection.rollback();
+				throw e;
+			} finally {
+				targetConnection.setAutoCommit(true);
 			}
+			
+		} catch(Exception e) {
+			String error = "Error occured while transferring the data for table: " + tableName;
+			if (logger.isErrorEnabled()) {logger.error(error, e);}
+			handler.tableTransferFailed(tableName, error + " -> " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Splits a table into key ranges of about the given size. Only tables with a single integral primary key are split.
+	 *
+	 * @param sourceConnection the source connection
+	 * @param tableModel the table model
+	 * @param rangeSize the range size
+	 * @return the ranges
+	 * @throws SQLException the SQL exception
+	 */
+	private static List<DataTransferRange> planRanges(Connection sourceConnection, PersistenceTableModel tableModel, int rangeSize) throws SQLException {
+		List<DataTransferRange> ranges = new ArrayList<DataTransferRange>();
+		String rangeColumn = getRangeColumn(tableModel);
+		if (rangeColumn != null) {
+			String sql = SqlFactory.getNative(sourceConnection)
+					.select()
+					.column("MIN(" + rangeColumn + ")")
+					.column("MAX(" + rangeColumn + ")")
+					.column("COUNT(*)")
+					.from(tableModel.getTableName())
+					.build();
+			try (PreparedStatement statement = sourceConnection.prepareStatement(sql);
+					ResultSet rs = statement.executeQuery()) {
+				if (rs.next() && isIntegral(rs.getMetaData(), 1)) {
+					long min = rs.getLong(1);
+					long max = rs.getLong(2);
+					long count = rs.getLong(3);
+					long parts = (count + rangeSize - 1) / rangeSize;
+					if (parts > 1 && max > min) {
+						try {
+							long step = Math.addExact(Math.subtractExact(max, min) / parts, 1);
+							Long from = null;
+							for (int i = 0; i < parts; i++) {
+								Long to = i < parts - 1 ? Math.addExact(min, Math.multiplyExact(step, i + 1)) : null;
+								ranges.add(new DataTransferRange(i, from, to, null));
+								from = to;
+							}
+						} catch (ArithmeticException e) {
+							ranges.clear();
+						}
+					}
+				}
+			}
+		}
+		if (ranges.isEmpty()) {
+			ranges.add(new DataTransferRange(0, null, null, null));
+		}
+		return ranges;
+	}
+
+	/**
+	 * Gets the column, by which the table can be split into ranges.
+	 *
+	 * @param tableModel the table model
+	 * @return the single primary key column, or null
+	 */
+	private static String getRangeColumn(PersistenceTableModel tableModel) {
+		String rangeColumn = null;
+		for (PersistenceTableColumnModel column : tableModel.getColumns()) {
+			if (column.isPrimaryKey()) {
+				if (rangeColumn != null) {
+					return null;
+				}
+				rangeColumn = column.getName();
+			}
+		}
+		return rangeColumn;
+	}
+
+	/**
+	 * Checks if a column is of an integral type.
+	 *
+	 * @param metaData the meta data
+	 * @param column the column
+	 * @return true, if is integral
+	 * @throws SQLException the SQL exception
+	 */
+	private static boolean isIntegral(ResultSetMetaData metaData, int column) throws SQLException {
+		switch (metaData.getColumnType(column)) {
+		case Types.TINYINT:
+		case Types.SMALLINT:
+		case Types.INTEGER:
+		case Types.BIGINT:
+			return true;
+		case Types.NUMERIC:
+		case Types.DECIMAL:
+			return metaData.getScale(column) == 0;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Counts the records of a table.
+	 *
+	 * @param connection the connection
+	 * @param tableName the table name
+	 * @return the count
+	 * @throws SQLException the SQL exception
+	 */
+	private static int count(Connection connection, String tableName) throws SQLException {
+		String countSQL = SqlFactory.getNative(connection)
+				.select()
+				.column("count(*)")
+				.from(tableName)
+				.build();
+		try (PreparedStatement pstmtTarget = connection.prepareStatement(countSQL);
+				ResultSet rs = pstmtTarget.executeQuery()) {
+			return rs.next() ? rs.getInt(1) : 0;
 		}
-		
-		handler.dataTransferFinished();
 	}
 
+	/**
+	 * Gets a connection to the given schema.
+	 *
+	 * @param dataSource the data source
+	 * @param schema the schema
+	 * @return the connection
+	 * @throws SQLException the SQL exception
+	 */
+	private static Connection getConnection(DataSource dataSource, String schema) throws SQLException {
+		Connection connection = dataSource.getConnection();
+		try {
+			connection.setSchema(schema);
+		} catch (SQLException e) {
+			connection.close();
+			throw e;
+		}
+		return connection;
+	}
+
+	/**
+	 * Copies a value of the current source record to the insert statement.
+	 *
+	 * @param pstmtTarget the target statement
+	 * @param rs the source result set
+	 * @param i the column index
+	 * @param type the column type
+	 * @throws SQLException the SQL exception
+	 */
+	private static void setValue(PreparedStatement pstmtTarget, ResultSet rs, int i, int type) throws SQLException {
+		switch (type) {
+		case java.sql.Types.ARRAY:
+			pstmtTarget.setArray(i, rs.getArray(i));
+			break;
+		case java.sql.Types.BIGINT:
+			pstmtTarget.setLong(i, rs.getLong(i));
+			break;
+		case java.sql.Types.BINARY:
+			pstmtTarget.setBinaryStream(i, rs.getBinaryStream(i));
+			break;
+		case java.sql.Types.BIT:
+			pstmtTarget.setBoolean(i, rs.getBoolean(i));
+			break;
+		case java.sql.Types.BLOB:
+			pstmtTarget.setBlob(i, rs.getBlob(i));
+			break;
+		case java.sql.Types.BOOLEAN:
+			pstmtTarget.setBoolean(i, rs.getBoolean(i));
+			break;
+		case java.sql.Types.CHAR:
+			pstmtTarget.setString(i, rs.getString(i));
+			break;
+		case java.sql.Types.CLOB:
+			pstmtTarget.setClob(i, rs.getClob(i));
+			break;
+		case java.sql.Types.DATE:
+			pstmtTarget.setDate(i, rs.getDate(i));
+			break;
+		case java.sql.Types.DECIMAL:
+			pstmtTarget.setBigDecimal(i, rs.getBigDecimal(i));
+			break;
+		case java.sql.Types.DOUBLE:
+			pstmtTarget.setDouble(i, rs.getDouble(i));
+			break;
+		case java.sql.Types.FLOAT:
+			pstmtTarget.setFloat(i, rs.getFloat(i));
+			break;
+		case java.sql.Types.INTEGER:
+			pstmtTarget.setInt(i, rs.getInt(i));
+			break;
+		case java.sql.Types.LONGNVARCHAR:
+			pstmtTarget.setString(i, rs.getString(i));
+			break;
+		case java.sql.Types.LONGVARBINARY:
+			pstmtTarget.setBinaryStream(i, rs.getBinaryStream(i));
+			break;
+		case java.sql.Types.LONGVARCHAR:
+			pstmtTarget.setString(i, rs.getString(i));
+			break;
+		case java.sql.Types.NCHAR:
+			pstmtTarget.setString(i, rs.getString(i));
+			break;
+		case java.sql.Types.NCLOB:
+			pstmtTarget.setString(i, rs.getString(i));
+			break;
+		case java.sql.Types.NUMERIC:
+			pstmtTarget.setDouble(i, rs.getDouble(i));
+			break;
+		case java.sql.Types.NVARCHAR:
+			pstmtTarget.setString(i, rs.getString(i));
+			break;
+		case java.sql.Types.REAL:
+			pstmtTarget.setFloat(i, rs.getFloat(i));
+			break;
+		case java.sql.Types.SMALLINT:
+			pstmtTarget.setShort(i, rs.getShort(i));
+			break;
+		case java.sql.Types.TIME:
+			pstmtTarget.setTime(i, rs.getTime(i));
+			break;
+		case java.sql.Types.TIME_WITH_TIMEZONE:
+			pstmtTarget.setTime(i, rs.getTime(i));
+			break;
+		case java.sql.Types.TIMESTAMP:
+			pstmtTarget.setTimestamp(i, rs.getTimestamp(i));
+			break;
+		case java.sql.Types.TIMESTAMP_WITH_TIMEZONE:
+			pstmtTarget.setTimestamp(i, rs.getTimestamp(i));
+			break;
+		case java.sql.Types.TINYINT:
+			pstmtTarget.setByte(i, rs.getByte(i));
+			break;
+		case java.sql.Types.VARBINARY:
+			pstmtTarget.setString(i, rs.getString(i));
+			break;
+		case java.sql.Types.VARCHAR:
+			pstmtTarget.setString(i, rs.getString(i));
+			break;
+		default:
+			pstmtTarget.setObject(i, rs.getObject(i));
+			break;
+		}
+	}
 
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.database.transfer.manager;
+
+/**
+ * A key range of a table, which is transferred and checkpointed in a single transaction.
+ */
+public class DataTransferRange {
+
+	/** The index of the range in the table. */
+	private final int index;
+
+	/** The inclusive lower bound of the primary key, or null if unbounded. */
+	private final Long from;
+
+	/** The exclusive upper bound of the primary key, or null if unbounded. */
+	private final Long to;
+
+	/** The transferred records, or null if the range is not transferred yet. */
+	private Long records;
+
+	/**
+	 * Instantiates a new data transfer range.
+	 *
+	 * @param index the index
+	 * @param from the inclusive lower bound or null
+	 * @param to the exclusive upper bound or null
+	 * @param records the transferred records or null
+	 */
+	public DataTransferRange(int index, Long from, Long to, Long records) {
+		this.index = index;
+		this.from = from;
+		this.to = to;
+		this.records = records;
+	}
+
+	/**
+	 * Gets the index.
+	 *
+	 * @return the index
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Gets the inclusive lower bound.
+	 *
+	 * @return the from
+	 */
+	public Long getFrom() {
+		return from;
+	}
+
+	/**
+	 * Gets the exclusive upper bound.
+	 *
+	 * @return the to
+	 */
+	public Long getTo() {
+		return to;
+	}
+
+	/**
+	 * Gets the transferred records.
+	 *
+	 * @return the records
+	 */
+	public Long getRecords() {
+		return records;
+	}
+
+	/**
+	 * Sets the transferred records.
+	 *
+	 * @param records the records
+	 */
+	public void setRecords(Long records) {
+		this.records = records;
+	}
+
+	/**
+	 * Checks if the range is transferred.
+	 *
+	 * @return true, if is transferred
+	 */
+	public boolean isTransferred() {
+		return records != null;
+	}
+
+}
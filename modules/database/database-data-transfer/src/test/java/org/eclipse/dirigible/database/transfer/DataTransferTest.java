@@ -11,6 +11,8 @@
  */
 package org.eclipse.dirigible.database.transfer;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -19,12 +21,17 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import javax.sql.DataSource;
 
 import org.eclipse.dirigible.database.h2.H2Database;
 import org.eclipse.dirigible.database.transfer.api.DataTransferConfiguration;
 import org.eclipse.dirigible.database.transfer.api.DataTransferException;
+import org.eclipse.dirigible.database.transfer.callbacks.DummyDataTransferCallbackHandler;
+import org.eclipse.dirigible.database.transfer.manager.DataTransferCheckpoints;
 import org.eclipse.dirigible.database.transfer.manager.DataTransferManager;
 import org.junit.Before;
 import org.junit.Test;
@@ -78,6 +85,104 @@ public class DataTransferTest {
 		assertTrue(checkResults());
 	}
 
+	/**
+	 * Transfer data in key ranges, stop the transfer and resume it.
+	 *
+	 * @throws SQLException             the SQL exception
+	 * @throws DataTransferException             the DataTransferException exception
+	 */
+	@Test
+	public void transferDataInRangesAndResume() throws SQLException, DataTransferException {
+		
+		prepareSourceDatabase();
+		
+		DataTransferConfiguration dataTransferConfiguration = new DataTransferConfiguration();
+		dataTransferConfiguration.setSourceSchema("PUBLIC");
+		dataTransferConfiguration.setTargetSchema("PUBLIC");
+		dataTransferConfiguration.setParallelism(3);
+		dataTransferConfiguration.setRangeSize(1);
+		
+		DummyDataTransferCallbackHandler stoppingHandler = new DummyDataTransferCallbackHandler() {
+			
+			private volatile boolean stopped;
+			
+			@Override
+			public void recordTransferFinished(String tableName, int i) {
+				stopped = true;
+			}
+			
+			@Override
+			public boolean isStopped() {
+				return stopped;
+			}
+		};
+		DataTransferManager.transfer(sourceDS, targetDS, dataTransferConfiguration, stoppingHandler);
+		assertTrue(checkpointsExist());
+		
+		DataTransferManager.transfer(sourceDS, targetDS, dataTransferConfiguration, null);
+		
+		assertTrue(checkResults());
+		assertFalse(checkpointsExist());
+	}
+
+	/**
+	 * Transfer data, failing with an exception for a table the other table depends on.
+	 *
+	 * @throws SQLException             the SQL exception
+	 * @throws DataTransferException             the DataTransferException exception
+	 */
+	@Test
+	public void transferDataSkipsDependentsOfFailedTables() throws SQLException, DataTransferException {
+		
+		prepareSourceDatabase();
+		
+		DataTransferConfiguration dataTransferConfiguration = new DataTransferConfiguration();
+		dataTransferConfiguration.setSourceSchema("PUBLIC");
+		dataTransferConfiguration.setTargetSchema("PUBLIC");
+		
+		Set<String> failed = Collections.synchronizedSet(new HashSet<String>());
+		Set<String> skipped = Collections.synchronizedSet(new HashSet<String>());
+		DummyDataTransferCallbackHandler failingHandler = new DummyDataTransferCallbackHandler() {
+			
+			@Override
+			public void tableTransferStarted(String table) {
+				if ("DRIVER".equals(table)) {
+					throw new IllegalStateException("Failed on purpose");
+				}
+			}
+			
+			@Override
+			public void tableTransferFailed(String table, String error) {
+				failed.add(table);
+			}
+			
+			@Override
+			public void tableSkipped(String table, String reason) {
+				skipped.add(table);
+			}
+		};
+		DataTransferManager.transfer(sourceDS, targetDS, dataTransferConfiguration, failingHandler);
+		
+		assertEquals(Collections.singleton("DRIVER"), failed);
+		assertEquals(Collections.singleton("CAR"), skipped);
+		assertFalse(tableExists("CAR"));
+	}
+
+	/**
+	 * Checks whether a table exists in the target database.
+	 *
+	 * @param tableName the table name
+	 * @return true, if the table exists
+	 * @throws SQLException the SQL exception
+	 */
+	private boolean tableExists(String tableName) throws SQLException {
+		try (Connection connection = targetDS.getConnection()) {
+			try (ResultSet rs = connection.getMetaData().getTables(null, "PUBLIC", tableName, null)) {
+				return rs.next();
+			}
+		}
+	}
+
 	/**
 	 * Prepare source database.
 	 *
@@ -106,10 +211,33 @@ public class DataTransferTest {
 			try (Statement stmt = connection.createStatement()) {
 				try {
 					stmt.executeUpdate("DROP TABLE CAR");
+				} catch (Exception e) {
+					// cleanup
+				}
+				try {
 					stmt.executeUpdate("DROP TABLE DRIVER");
 				} catch (Exception e) {
 					// cleanup
 				}
+				try {
+					stmt.executeUpdate("DROP TABLE " + DataTransferCheckpoints.CHECKPOINTS_TABLE);
+				} catch (Exception e) {
+					// cleanup
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the target database has checkpoints of an incomplete transfer.
+	 *
+	 * @return true, if the checkpoints table exists
+	 * @throws SQLException the SQL exception
+	 */
+	private boolean checkpointsExist() throws SQLException {
+		try (Connection connection = targetDS.getConnection()) {
+			try (ResultSet rs = connection.getMetaData().getTables(null, "PUBLIC", DataTransferCheckpoints.CHECKPOINTS_TABLE, null)) {
+				return rs.next();
 			}
 		}
 	}
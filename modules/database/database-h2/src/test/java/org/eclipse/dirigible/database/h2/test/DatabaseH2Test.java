@@ -12,6 +12,8 @@
 package org.eclipse.dirigible.database.h2.test;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.sql.Connection;
@@ -21,8 +23,13 @@ import java.util.List;
 import javax.sql.DataSource;
 
 import org.eclipse.dirigible.database.api.metadata.SchemaMetadata;
+import org.eclipse.dirigible.database.api.wrappers.WrappedDataSource;
 import org.eclipse.dirigible.database.api.metadata.TableMetadata;
 import org.eclipse.dirigible.database.h2.H2Database;
+import org.eclipse.dirigible.database.sql.ISqlDialect;
+import org.eclipse.dirigible.database.sql.SqlFactory;
+import org.eclipse.dirigible.database.sql.dialects.SqlDialectFactory;
+import org.eclipse.dirigible.database.sql.dialects.h2.H2SqlDialect;
 import org.eclipse.dirigible.databases.helpers.DatabaseMetadataHelper;
 import org.eclipse.dirigible.databases.helpers.DatabaseMetadataHelper.ColumnsIteratorCallback;
 import org.eclipse.dirigible.databases.helpers.DatabaseMetadataHelper.IndicesIteratorCallback;
@@ -139,4 +146,20 @@ public class DatabaseH2Test {
 		}
 	}
 
+	/**
+	 * Dialect of data source test.
+	 *
+	 * @throws SQLException
+	 *             the SQL exception
+	 */
+	@Test
+	public void dialectOfDataSourceTest() throws SQLException {
+		ISqlDialect dialect = SqlDialectFactory.getDialect(dataSource);
+		assertTrue(dialect instanceof H2SqlDialect);
+		// the wrapping data source shares the dialect of its pool
+		assertSame(dialect, SqlDialectFactory.getDialect(new WrappedDataSource(dataSource)));
+		assertSame(dialect, SqlFactory.deriveDialect(dataSource));
+		assertNotNull(SqlFactory.getNative(dataSource).select().column("*").from("SYS.SYSKEYS").build());
+	}
+
 }
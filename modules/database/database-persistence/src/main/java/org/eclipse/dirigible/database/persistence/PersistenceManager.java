@@ -20,6 +20,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.persistence.GenerationType;
 
@@ -62,7 +66,10 @@ public class PersistenceManager<T> {
 	private static final String CONNECTION_ID_SEPARATOR = ":";
 
 	/** The Constant EXISTING_TABLES_CACHE. */
-	private static final List<String> EXISTING_TABLES_CACHE = Collections.synchronizedList(new ArrayList<String>());
+	private static final Set<String> EXISTING_TABLES_CACHE = ConcurrentHashMap.newKeySet();
+
+	/** The Constant CONNECTION_IDENTITIES, the identities of the physical connections. */
+	private static final Map<Connection, String> CONNECTION_IDENTITIES = Collections.synchronizedMap(new WeakHashMap<Connection, String>());
 
 	/** The entity manager interceptor. */
 	private IEntityManagerInterceptor entityManagerInterceptor;
@@ -162,8 +169,11 @@ public class PersistenceManager<T> {
 	public void tableCheck(Connection connection, Class clazz) {
 		if (logger.isTraceEnabled()) {logger.trace("tableCheck -> connection: " + connection.hashCode() + ", class: " + clazz.getCanonicalName());}
 		String id = getConnectionIdentity(connection);
-		if (!EXISTING_TABLES_CACHE.contains(id + CONNECTION_ID_SEPARATOR + clazz.getCanonicalName())) {
-			if (!tableExists(connection, clazz)) {
+		String key = id + CONNECTION_ID_SEPARATOR + clazz.getCanonicalName();
+		if (!EXISTING_TABLES_CACHE.contains(key)) {
+			if (tableExists(connection, clazz)) {
+				EXISTING_TABLES_CACHE.add(key);
+			} else {
 				String auto = System.getProperty("DIRIGIBLE_PERSISTENCE_CREATE_TABLE_ON_USE");
 				if ((auto != null) && !"true".equals(auto.toLowerCase(Locale.getDefault()))) {
 					throw new IllegalStateException(
@@ -172,26 +182,36 @@ public class PersistenceManager<T> {
 				}
 				try {
 					tableCreate(connection, clazz);
-					EXISTING_TABLES_CACHE.add(id + CONNECTION_ID_SEPARATOR + clazz.getCanonicalName());
+					EXISTING_TABLES_CACHE.add(key);
 				} catch (Exception e) {
 					if (!tableExists(connection, clazz)) {
 						throw e;
 					}
+					EXISTING_TABLES_CACHE.add(key);
 				}
 			}
 		}
 	}
 
 	/**
-	 * Gets the connection identity.
+	 * Gets the connection identity, reading the URL once per physical connection.
 	 *
 	 * @param connection the connection
 	 * @return the connection identity
 	 */
 	private String getConnectionIdentity(Connection connection) {
 		try {
-			String url = connection.getMetaData().getURL();
-			return url.hashCode() + "";
+			Connection physical = connection.unwrap(Connection.class);
+			if (physical == null) {
+				physical = connection;
+			}
+			String id = CONNECTION_IDENTITIES.get(physical);
+			if (id == null) {
+				String url = connection.getMetaData().getURL();
+				id = url.hashCode() + "";
+				CONNECTION_IDENTITIES.put(physical, id);
+			}
+			return id;
 		} catch (SQLException e) {
 			if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
 		}
@@ -232,6 +252,26 @@ public class PersistenceManager<T> {
 		return insertProcessor.insert(connection, tableModel, pojo);
 	}
 
+	/**
+	 * Insert the records representing the POJO instances with batches of statements.
+	 *
+	 * @param connection
+	 *            the database connection
+	 * @param pojos
+	 *            the POJO instances of the same class
+	 * @return the ids of the pojos just inserted, in the same order
+	 */
+	public List<Object> insertAll(Connection connection, List<T> pojos) {
+		if (logger.isTraceEnabled()) {logger.trace("insertAll -> connection: " + connection.hashCode() + ", pojos: " + pojos.size());}
+		if (pojos.isEmpty()) {
+			return new ArrayList<Object>();
+		}
+		tableCheck(connection, pojos.get(0).getClass());
+		PersistenceTableModel tableModel = PersistenceFactory.createModel(pojos.get(0));
+		PersistenceInsertProcessor<T> insertProcessor = new PersistenceInsertProcessor<>(getEntityManagerInterceptor());
+		return insertProcessor.insertAll(connection, tableModel, pojos);
+	}
+
 	/**
 	 * Getter for the single POJO instance.
 	 *
@@ -394,6 +434,28 @@ public class PersistenceManager<T> {
 		return deleteProcessor.deleteAll(connection, tableModel, clazz);
 	}
 
+	/**
+	 * Deletes the records with the given primary keys with batches of statements.
+	 *
+	 * @param connection
+	 *            the database connection
+	 * @param clazz
+	 *            the POJO's Class
+	 * @param ids
+	 *            the primary key field's values
+	 * @return the number of the deleted records
+	 */
+	public int deleteAll(Connection connection, Class<T> clazz, List<?> ids) {
+		if (logger.isTraceEnabled()) {logger.trace("delete all -> connection: " + connection.hashCode() + ", class: " + clazz.getCanonicalName() + ", ids: " + ids);}
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		tableCheck(connection, clazz);
+		PersistenceTableModel tableModel = PersistenceFactory.createModel(clazz);
+		PersistenceDeleteProcessor<T> deleteProcessor = new PersistenceDeleteProcessor<>(getEntityManagerInterceptor());
+		return deleteProcessor.deleteAll(connection, tableModel, clazz, ids);
+	}
+
 	/**
 	 * Update.
 	 *
@@ -411,6 +473,26 @@ public class PersistenceManager<T> {
 		return updateProcessor.update(connection, tableModel, pojo);
 	}
 
+	/**
+	 * Update the records representing the POJO instances with batches of statements.
+	 *
+	 * @param connection
+	 *            the database connection
+	 * @param pojos
+	 *            the POJO instances of the same class
+	 * @return the number of the updated records
+	 */
+	public int updateAll(Connection connection, List<T> pojos) {
+		if (logger.isTraceEnabled()) {logger.trace("updateAll -> connection: " + connection.hashCode() + ", pojos: " + pojos.size());}
+		if (pojos.isEmpty()) {
+			return 0;
+		}
+		tableCheck(connection, pojos.get(0).getClass());
+		PersistenceTableModel tableModel = PersistenceFactory.createModel(pojos.get(0));
+		PersistenceUpdateProcessor<T> updateProcessor = new PersistenceUpdateProcessor<>(getEntityManagerInterceptor());
+		return updateProcessor.updateAll(connection, tableModel, pojos);
+	}
+
 	/**
 	 * Gets the entity manager interceptor.
 	 *
@@ -24,15 +24,20 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 import javax.persistence.EnumType;
 
 import org.apache.commons.io.IOUtils;
+import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.database.persistence.IEntityManagerInterceptor;
 import org.eclipse.dirigible.database.persistence.PersistenceException;
 import org.eclipse.dirigible.database.persistence.model.PersistenceTableColumnModel;
@@ -40,6 +45,7 @@ import org.eclipse.dirigible.database.persistence.model.PersistenceTableModel;
 import org.eclipse.dirigible.database.persistence.parser.PersistenceAnnotationsParser;
 import org.eclipse.dirigible.database.persistence.parser.Serializer;
 import org.eclipse.dirigible.database.sql.DataTypeUtils;
+import org.eclipse.dirigible.database.sql.SqlFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +57,15 @@ public abstract class AbstractPersistenceProcessor implements IPersistenceProces
 	/** The Constant logger. */
 	private static final Logger logger = LoggerFactory.getLogger(AbstractPersistenceProcessor.class);
 
+	/** The Constant DIRIGIBLE_PERSISTENCE_BATCH_SIZE. */
+	public static final String DIRIGIBLE_PERSISTENCE_BATCH_SIZE = "DIRIGIBLE_PERSISTENCE_BATCH_SIZE"; //$NON-NLS-1$
+
+	/** The Constant DEFAULT_BATCH_SIZE. */
+	private static final String DEFAULT_BATCH_SIZE = "1000"; //$NON-NLS-1$
+
+	/** The Constant SCRIPTS_CACHE, the generated scripts by dialect, processor, operation and entity class. */
+	private static final Map<String, String> SCRIPTS_CACHE = new ConcurrentHashMap<String, String>();
+
 	/** The entity manager interceptor. */
 	private IEntityManagerInterceptor entityManagerInterceptor;
 
@@ -82,6 +97,36 @@ public abstract class AbstractPersistenceProcessor implements IPersistenceProces
 	 */
 	protected abstract String generateScript(Connection connection, PersistenceTableModel tableModel);
 
+	/**
+	 * Gets the script of an operation on the table model, generating it once per dialect and entity class.
+	 * <p>
+	 * The models, which are not parsed from a class, are not cached.
+	 *
+	 * @param connection
+	 *            the connection
+	 * @param tableModel
+	 *            the table model
+	 * @param operation
+	 *            the operation
+	 * @param generator
+	 *            the generator of the script
+	 * @return the script
+	 */
+	protected String getScript(Connection connection, PersistenceTableModel tableModel, String operation,
+			BiFunction<Connection, PersistenceTableModel, String> generator) {
+		if (tableModel.getClassName() == null) {
+			return generator.apply(connection, tableModel);
+		}
+		String key = new StringBuilder().append(SqlFactory.deriveDialect(connection).getClass().getName()).append('|')
+				.append(getClass().getName()).append('|').append(operation).append('|').append(tableModel.getClassName()).toString();
+		String sql = SCRIPTS_CACHE.get(key);
+		if (sql == null) {
+			sql = generator.apply(connection, tableModel);
+			SCRIPTS_CACHE.put(key, sql);
+		}
+		return sql;
+	}
+
 	/**
 	 * Sets the values from pojo.
 	 *
@@ -102,24 +147,18 @@ public abstract class AbstractPersistenceProcessor implements IPersistenceProces
 			throws SQLException, NoSuchFieldException, IllegalAccessException {
 		if (logger.isTraceEnabled()) {logger.trace("setValuesFromPojo -> tableModel: " + Serializer.serializeTableModel(tableModel) + ", pojo: "
 				+ Serializer.serializePojo(pojo));}
+		PersistenceRowMapper<?> mapper = PersistenceRowMapper.of(pojo.getClass(), tableModel);
 		int i = 1;
-		for (PersistenceTableColumnModel columnModel : tableModel.getColumns()) {
+		for (int column = 0; column < mapper.size(); column++) {
+			PersistenceTableColumnModel columnModel = mapper.getColumn(column);
 			if (!shouldSetColumnValue(columnModel)) {
 				continue;
 			}
 			if (columnModel.isIdentity()) {
 				continue;
 			}
-			// Field field = pojo.getClass().getDeclaredField(columnModel.getField());
-			Field field = getFieldFromClass(pojo.getClass(), columnModel.getField());
 			String dataType = columnModel.getType();
-			Object valueObject = null;
-			boolean oldAccessible = setAccessible(field);
-			try {
-				valueObject = field.get(pojo);
-			} finally {
-				resetAccessible(field, oldAccessible);
-			}
+			Object valueObject = mapper.get(column, pojo);
 			try {
 				if ((columnModel.getEnumerated() != null) && (valueObject != null)) {
 					if (EnumType.valueOf(columnModel.getEnumerated()).equals(EnumType.ORDINAL)) {
@@ -377,44 +416,87 @@ public abstract class AbstractPersistenceProcessor implements IPersistenceProces
 		Field field = getFieldFromClass(pojo.getClass(), columnModel.getField());
 		boolean oldAccessible = setAccessible(field);
 		try {
-			if (columnModel.getEnumerated() != null) {
-				if (EnumType.valueOf(columnModel.getEnumerated()).equals(EnumType.ORDINAL)
-						&& (value instanceof Integer)) {
-					if (field.getType().isEnum()) {
-						value = field.getType().getEnumConstants()[(Integer) value];
-					} else {
-						throw new IllegalStateException(
-								"The annotation @Enumerated is set to a field with a type, which is not an enum type.");
-					}
-				} else if (EnumType.valueOf(columnModel.getEnumerated()).equals(EnumType.STRING)
-						&& (value instanceof String)) {
-					if (field.getType().isEnum()) {
-						value = Enum.valueOf((Class<Enum>) field.getType(), (String) value);
-					} else {
-						throw new IllegalStateException(
-								"The annotation @Enumerated is set to a field with a type, which is not an enum type.");
-					}
-				} else if (value != null) {
-					throw new IllegalStateException("The annotation @Enumerated is misused, the value is unknown.");
+			field.set(pojo, adaptValue(pojo, field, columnModel, value));
+		} finally {
+			resetAccessible(field, oldAccessible);
+		}
+	}
+
+	/**
+	 * Maps the current row of a result set to a new pojo.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param mapper
+	 *            the mapper of the pojo class
+	 * @param indexes
+	 *            the indexes of the columns in the result set, as resolved by the mapper
+	 * @param resultSet
+	 *            the result set
+	 * @return the pojo
+	 * @throws InstantiationException
+	 *             the instantiation exception
+	 * @throws SQLException
+	 *             the SQL exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	protected <T> T mapRow(PersistenceRowMapper<T> mapper, int[] indexes, ResultSet resultSet)
+			throws InstantiationException, SQLException, IOException {
+		T pojo = mapper.newInstance();
+		for (int i = 0; i < indexes.length; i++) {
+			Object value = resultSet.getObject(indexes[i]);
+			mapper.set(i, pojo, adaptValue(pojo, mapper.getField(i), mapper.getColumn(i), value));
+		}
+		return pojo;
+	}
+
+	/**
+	 * Adapts a value read from the database to the type of the field.
+	 *
+	 * @param pojo            the pojo
+	 * @param field            the field
+	 * @param columnModel            the column model
+	 * @param value            the value
+	 * @return the adapted value
+	 * @throws SQLException             the SQL exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private Object adaptValue(Object pojo, Field field, PersistenceTableColumnModel columnModel, Object value) throws SQLException, IOException {
+		if (columnModel.getEnumerated() != null) {
+			if (EnumType.valueOf(columnModel.getEnumerated()).equals(EnumType.ORDINAL)
+					&& (value instanceof Integer)) {
+				if (field.getType().isEnum()) {
+					value = field.getType().getEnumConstants()[(Integer) value];
+				} else {
+					throw new IllegalStateException(
+							"The annotation @Enumerated is set to a field with a type, which is not an enum type.");
 				}
+			} else if (EnumType.valueOf(columnModel.getEnumerated()).equals(EnumType.STRING)
+					&& (value instanceof String)) {
+				if (field.getType().isEnum()) {
+					value = Enum.valueOf((Class<Enum>) field.getType(), (String) value);
+				} else {
+					throw new IllegalStateException(
+							"The annotation @Enumerated is set to a field with a type, which is not an enum type.");
+				}
+			} else if (value != null) {
+				throw new IllegalStateException("The annotation @Enumerated is misused, the value is unknown.");
 			}
-			value = byteAdaptation(value, field);
-			value = intAdaptation(value, field);
-			value = blobAdaptation(value);
-			value = charAdaptation(value, field);
-			value = booleanAdaptation(value, field);
-			value = bigIntegerAdaptation(value, field);
-			value = shortAdaptation(value, field);
-			value = floatAdaptation(value, field);
-
-			if (getEntityManagerInterceptor() != null) {
-				value = getEntityManagerInterceptor().onSetValueAfterQuery(pojo, field, value);
-			}
+		}
+		value = byteAdaptation(value, field);
+		value = intAdaptation(value, field);
+		value = blobAdaptation(value);
+		value = charAdaptation(value, field);
+		value = booleanAdaptation(value, field);
+		value = bigIntegerAdaptation(value, field);
+		value = shortAdaptation(value, field);
+		value = floatAdaptation(value, field);
 
-			field.set(pojo, value);
-		} finally {
-			resetAccessible(field, oldAccessible);
+		if (getEntityManagerInterceptor() != null) {
+			value = getEntityManagerInterceptor().onSetValueAfterQuery(pojo, field, value);
 		}
+		return value;
 	}
 
 	/**
@@ -629,6 +711,37 @@ public abstract class AbstractPersistenceProcessor implements IPersistenceProces
 		return connection.prepareStatement(sql);
 	}
 
+	/**
+	 * Gets the max number of statements sent to the database in a single batch.
+	 *
+	 * @return the batch size
+	 */
+	protected int getBatchSize() {
+		int batchSize = Integer.parseInt(Configuration.get(DIRIGIBLE_PERSISTENCE_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+		return batchSize > 0 ? batchSize : Integer.parseInt(DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Executes the batch of the prepared statement.
+	 *
+	 * @param preparedStatement
+	 *            the prepared statement
+	 * @return the number of the affected rows, a statement which succeeded without a count is counted as one row
+	 * @throws SQLException
+	 *             the SQL exception
+	 */
+	protected int executeBatch(PreparedStatement preparedStatement) throws SQLException {
+		int result = 0;
+		for (int count : preparedStatement.executeBatch()) {
+			if (count > 0) {
+				result += count;
+			} else if (count == Statement.SUCCESS_NO_INFO) {
+				result++;
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Close prepared statement.
 	 *
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.database.persistence.processors;
+
+import static java.text.MessageFormat.format;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.dirigible.database.persistence.PersistenceException;
+import org.eclipse.dirigible.database.persistence.model.PersistenceTableColumnModel;
+import org.eclipse.dirigible.database.persistence.model.PersistenceTableModel;
+import org.eclipse.dirigible.database.persistence.parser.PersistenceAnnotationsParser;
+
+/**
+ * The accessors of the fields of a class mapped to the columns of a table model, resolved once per class.
+ * <p>
+ * The fields are read and written through method handles, so that mapping a row does not look up the fields by name
+ * nor changes their accessibility. The columns are in the order of the table model.
+ *
+ * @param <T>
+ *            the generic type
+ */
+public final class PersistenceRowMapper<T> {
+
+	/** The Constant MAPPERS_CACHE. */
+	private static final Map<Class, PersistenceRowMapper> MAPPERS_CACHE = new ConcurrentHashMap<Class, PersistenceRowMapper>();
+
+	/** The Constant GETTER_TYPE. */
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	/** The Constant SETTER_TYPE. */
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	/** The table model. */
+	private final PersistenceTableModel tableModel;
+
+	/** The column models. */
+	private final PersistenceTableColumnModel[] columns;
+
+	/** The fields. */
+	private final Field[] fields;
+
+	/** The getters. */
+	private final MethodHandle[] getters;
+
+	/** The setters. */
+	private final MethodHandle[] setters;
+
+	/** The constructor. */
+	private final MethodHandle constructor;
+
+	/**
+	 * Instantiates a new persistence row mapper.
+	 *
+	 * @param clazz
+	 *            the clazz
+	 * @param tableModel
+	 *            the table model
+	 * @throws NoSuchFieldException
+	 *             the no such field exception
+	 * @throws IllegalAccessException
+	 *             the illegal access exception
+	 */
+	private PersistenceRowMapper(Class<T> clazz, PersistenceTableModel tableModel) throws NoSuchFieldException, IllegalAccessException {
+		this.tableModel = tableModel;
+		List<PersistenceTableColumnModel> columnModels = tableModel.getColumns();
+		this.columns = columnModels.toArray(new PersistenceTableColumnModel[columnModels.size()]);
+		this.fields = new Field[columns.length];
+		this.getters = new MethodHandle[columns.length];
+		this.setters = new MethodHandle[columns.length];
+		Field[] classFields = PersistenceAnnotationsParser.collectFields(clazz);
+		for (int i = 0; i < columns.length; i++) {
+			Field field = null;
+			for (Field next : classFields) {
+				if (next.getName().equals(columns[i].getField())) {
+					field = next;
+					break;
+				}
+			}
+			if (field == null) {
+				throw new NoSuchFieldException(format("There is no a Field named [{0}] in the POJO of Class [{1}]",
+						columns[i].getField(), clazz.getCanonicalName()));
+			}
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+			fields[i] = field;
+			getters[i] = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+			setters[i] = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+		}
+		MethodHandle noArgs;
+		try {
+			noArgs = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup()).findConstructor(clazz, MethodType.methodType(void.class))
+					.asType(MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException e) {
+			noArgs = null;
+		}
+		this.constructor = noArgs;
+	}
+
+	/**
+	 * Gets the mapper of a class, building it on first use or when the table model of the class has changed.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param clazz
+	 *            the clazz
+	 * @param tableModel
+	 *            the table model
+	 * @return the persistence row mapper
+	 * @throws PersistenceException
+	 *             if a column has no field
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistenceRowMapper<T> of(Class<T> clazz, PersistenceTableModel tableModel) throws PersistenceException {
+		PersistenceRowMapper<T> mapper = MAPPERS_CACHE.get(clazz);
+		if ((mapper == null) || (mapper.tableModel != tableModel)) {
+			try {
+				mapper = new PersistenceRowMapper<T>(clazz, tableModel);
+			} catch (NoSuchFieldException | IllegalAccessException e) {
+				throw new PersistenceException(e);
+			}
+			MAPPERS_CACHE.put(clazz, mapper);
+		}
+		return mapper;
+	}
+
+	/**
+	 * Resolves the indexes of the columns in a result set.
+	 *
+	 * @param resultSet
+	 *            the result set
+	 * @return the indexes in the order of the columns
+	 * @throws SQLException
+	 *             if a column is missing
+	 */
+	public int[] resolve(ResultSet resultSet) throws SQLException {
+		int[] indexes = new int[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			indexes[i] = resultSet.findColumn(columns[i].getName());
+		}
+		return indexes;
+	}
+
+	/**
+	 * Gets the number of columns.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return columns.length;
+	}
+
+	/**
+	 * Gets the column model.
+	 *
+	 * @param i
+	 *            the column
+	 * @return the column model
+	 */
+	public PersistenceTableColumnModel getColumn(int i) {
+		return columns[i];
+	}
+
+	/**
+	 * Gets the field.
+	 *
+	 * @param i
+	 *            the column
+	 * @return the field
+	 */
+	public Field getField(int i) {
+		return fields[i];
+	}
+
+	/**
+	 * Creates a new instance of the class.
+	 *
+	 * @return the instance
+	 * @throws InstantiationException
+	 *             if the class has no constructor without arguments
+	 */
+	@SuppressWarnings("unchecked")
+	public T newInstance() throws InstantiationException {
+		if (constructor == null) {
+			throw new InstantiationException(format("There is no constructor without arguments in [{0}]", tableModel.getClassName()));
+		}
+		try {
+			return (T) constructor.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new PersistenceException(e);
+		}
+	}
+
+	/**
+	 * Gets the value of a column from a pojo.
+	 *
+	 * @param i
+	 *            the column
+	 * @param pojo
+	 *            the pojo
+	 * @return the value
+	 */
+	public Object get(int i, Object pojo) {
+		try {
+			return (Object) getters[i].invokeExact(pojo);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new PersistenceException(e);
+		}
+	}
+
+	/**
+	 * Sets the value of a column to a pojo.
+	 *
+	 * @param i
+	 *            the column
+	 * @param pojo
+	 *            the pojo
+	 * @param value
+	 *            the value
+	 */
+	public void set(int i, Object pojo, Object value) {
+		try {
+			setters[i].invokeExact(pojo, value);
+		} catch (ClassCastException | NullPointerException e) {
+			throw new IllegalArgumentException(format("Can not set {0} field {1}.{2} to {3}", fields[i].getType().getName(),
+					fields[i].getDeclaringClass().getName(), fields[i].getName(), value == null ? "null value" : value.getClass().getName()), e);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new PersistenceException(e);
+		}
+	}
+
+}
@@ -13,6 +13,7 @@ package org.eclipse.dirigible.database.persistence.processors.entity;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.util.List;
 
 import org.eclipse.dirigible.database.persistence.IEntityManagerInterceptor;
 import org.eclipse.dirigible.database.persistence.PersistenceException;
@@ -118,7 +119,7 @@ public class PersistenceDeleteProcessor<T> extends AbstractPersistenceProcessor
 		String sql = null;
 		PreparedStatement preparedStatement = null;
 		try {
-			sql = generateScriptDelete(connection, tableModel);
+			sql = getScript(connection, tableModel, "delete", this::generateScriptDelete);
 			preparedStatement = openPreparedStatement(connection, sql);
 			setValue(preparedStatement, 1, id);
 			return preparedStatement.executeUpdate();
@@ -131,6 +132,53 @@ public class PersistenceDeleteProcessor<T> extends AbstractPersistenceProcessor
 		}
 	}
 
+	/**
+	 * Delete the records with the given ids with batches of statements.
+	 *
+	 * @param connection
+	 *            the connection
+	 * @param tableModel
+	 *            the table model
+	 * @param clazz
+	 *            the clazz
+	 * @param ids
+	 *            the ids
+	 * @return the number of the deleted rows
+	 * @throws PersistenceException
+	 *             the persistence exception
+	 */
+	public int deleteAll(Connection connection, PersistenceTableModel tableModel, Class<T> clazz, List<?> ids) throws PersistenceException {
+		if (logger.isTraceEnabled()) {logger.trace("deleteAll -> connection: " + connection.hashCode() + ", tableModel: " + Serializer.serializeTableModel(tableModel) + ", class: "
+				+ clazz.getCanonicalName() + ", ids: " + ids);}
+		String sql = null;
+		PreparedStatement preparedStatement = null;
+		try {
+			sql = getScript(connection, tableModel, "delete", this::generateScriptDelete);
+			preparedStatement = openPreparedStatement(connection, sql);
+			int batchSize = getBatchSize();
+			int pending = 0;
+			int result = 0;
+			for (Object id : ids) {
+				setValue(preparedStatement, 1, id);
+				preparedStatement.addBatch();
+				if (++pending == batchSize) {
+					result += executeBatch(preparedStatement);
+					pending = 0;
+				}
+			}
+			if (pending > 0) {
+				result += executeBatch(preparedStatement);
+			}
+			return result;
+		} catch (Exception e) {
+			if (logger.isErrorEnabled()) {logger.error(sql);}
+			if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
+			throw new PersistenceException(sql, e);
+		} finally {
+			closePreparedStatement(preparedStatement);
+		}
+	}
+
 	/**
 	 * Delete all.
 	 *
@@ -150,7 +198,7 @@ public class PersistenceDeleteProcessor<T> extends AbstractPersistenceProcessor
 		String sql = null;
 		PreparedStatement preparedStatement = null;
 		try {
-			sql = generateScriptDeleteAll(connection, tableModel);
+			sql = getScript(connection, tableModel, "deleteAll", this::generateScriptDeleteAll);
 			preparedStatement = openPreparedStatement(connection, sql);
 			return preparedStatement.executeUpdate();
 		} catch (Exception e) {
@@ -19,6 +19,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.persistence.GenerationType;
 
@@ -104,13 +106,13 @@ public class PersistenceInsertProcessor<T> extends AbstractPersistenceProcessor
 		try {
 			boolean identified = setGeneratedValues(connection, tableModel, pojo);
 			if (identified) {
-				sql = generateScript(connection, tableModel);
+				sql = getScript(connection, tableModel, "insert", this::generateScript);
 				preparedStatement = openPreparedStatement(connection, sql);
 				setValuesFromPojo(tableModel, pojo, preparedStatement);
 				preparedStatement.executeUpdate();
 				result = getPrimaryKeyValue(tableModel, pojo);
 			} else {
-				sql = generateScript(connection, tableModel);
+				sql = getScript(connection, tableModel, "insert", this::generateScript);
 				preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
 				setValuesFromPojo(tableModel, pojo, preparedStatement);
 				int affectedRows = preparedStatement.executeUpdate();
@@ -144,6 +146,96 @@ public class PersistenceInsertProcessor<T> extends AbstractPersistenceProcessor
 		return result;
 	}
 
+	/**
+	 * Insert all the pojos with batches of statements.
+	 *
+	 * @param connection
+	 *            the connection
+	 * @param tableModel
+	 *            the table model
+	 * @param pojos
+	 *            the pojos
+	 * @return the identifiers of the inserted pojos, in the same order
+	 * @throws PersistenceException
+	 *             the persistence exception
+	 */
+	public List<Object> insertAll(Connection connection, PersistenceTableModel tableModel, List<T> pojos) throws PersistenceException {
+		if (logger.isTraceEnabled()) {logger.trace("insertAll -> connection: " + connection.hashCode() + ", tableModel: " + Serializer.serializeTableModel(tableModel) + ", pojos: "
+				+ pojos.size());}
+		List<Object> result = new ArrayList<Object>(pojos.size());
+		String sql = null;
+		PreparedStatement preparedStatement = null;
+		try {
+			boolean identified = true;
+			for (T pojo : pojos) {
+				if (!setGeneratedValues(connection, tableModel, pojo)) {
+					identified = false;
+					break;
+				}
+			}
+			sql = getScript(connection, tableModel, "insert", this::generateScript);
+			preparedStatement = identified ? openPreparedStatement(connection, sql) : connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			int batchSize = getBatchSize();
+			int start = 0;
+			for (int i = 0; i < pojos.size(); i++) {
+				setValuesFromPojo(tableModel, pojos.get(i), preparedStatement);
+				preparedStatement.addBatch();
+				if (((i + 1 - start) == batchSize) || (i == (pojos.size() - 1))) {
+					executeBatch(preparedStatement);
+					if (!identified) {
+						setGeneratedKeys(tableModel, pojos.subList(start, i + 1), preparedStatement);
+					}
+					start = i + 1;
+				}
+			}
+			for (T pojo : pojos) {
+				result.add(getPrimaryKeyValue(tableModel, pojo));
+			}
+		} catch (Exception e) {
+			if (logger.isErrorEnabled()) {logger.error(sql);}
+			if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
+			throw new PersistenceException(sql, e);
+		} finally {
+			closePreparedStatement(preparedStatement);
+		}
+		return result;
+	}
+
+	/**
+	 * Sets the keys generated by the last executed batch to the identity column of the pojos.
+	 *
+	 * @param tableModel
+	 *            the table model
+	 * @param pojos
+	 *            the pojos of the batch
+	 * @param preparedStatement
+	 *            the prepared statement
+	 * @throws SQLException
+	 *             the SQL exception
+	 * @throws NoSuchFieldException
+	 *             the no such field exception
+	 * @throws IllegalAccessException
+	 *             the illegal access exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void setGeneratedKeys(PersistenceTableModel tableModel, List<T> pojos, PreparedStatement preparedStatement)
+			throws SQLException, NoSuchFieldException, IllegalAccessException, IOException {
+		for (PersistenceTableColumnModel column : tableModel.getColumns()) {
+			if (column.isPrimaryKey() && column.isIdentity()) {
+				try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+					for (T pojo : pojos) {
+						if (!generatedKeys.next()) {
+							throw new SQLException("Inserting the batch failed, not all the IDs obtained.");
+						}
+						setValueToPojo(pojo, generatedKeys.getLong(1), column);
+					}
+				}
+				break;
+			}
+		}
+	}
+
 	/**
 	 * Sets the generated values.
 	 *
@@ -23,6 +23,7 @@ import org.eclipse.dirigible.database.persistence.model.PersistenceTableColumnMo
 import org.eclipse.dirigible.database.persistence.model.PersistenceTableModel;
 import org.eclipse.dirigible.database.persistence.parser.Serializer;
 import org.eclipse.dirigible.database.persistence.processors.AbstractPersistenceProcessor;
+import org.eclipse.dirigible.database.persistence.processors.PersistenceRowMapper;
 import org.eclipse.dirigible.database.sql.ISqlKeywords;
 import org.eclipse.dirigible.database.sql.SqlFactory;
 import org.eclipse.dirigible.database.sql.builders.records.SelectBuilder;
@@ -148,7 +149,7 @@ public class PersistenceQueryProcessor<T> extends AbstractPersistenceProcessor {
 	public T find(Connection connection, PersistenceTableModel tableModel, Class<T> clazz, Object id) throws PersistenceException {
 		if (logger.isTraceEnabled()) {logger.trace("find -> connection: " + connection.hashCode() + ", tableModel: " + Serializer.serializeTableModel(tableModel) + ", class: "
 				+ clazz.getCanonicalName() + ", id: " + id);}
-		String sql = generateScriptFind(connection, tableModel);
+		String sql = getScript(connection, tableModel, "find", this::generateScriptFind);
 		return get(connection, tableModel, clazz, id, sql);
 	}
 
@@ -170,7 +171,7 @@ public class PersistenceQueryProcessor<T> extends AbstractPersistenceProcessor {
 	public T lock(Connection connection, PersistenceTableModel tableModel, Class<T> clazz, Object id) throws PersistenceException {
 		if (logger.isTraceEnabled()) {logger.trace("lock -> connection: " + connection.hashCode() + ", tableModel: " + Serializer.serializeTableModel(tableModel) + ", class: "
 				+ clazz.getCanonicalName() + ", id: " + id);}
-		String sql = generateScriptLock(connection, tableModel);
+		String sql = getScript(connection, tableModel, "lock", this::generateScriptLock);
 		return get(connection, tableModel, clazz, id, sql);
 	}
 
@@ -197,16 +198,14 @@ public class PersistenceQueryProcessor<T> extends AbstractPersistenceProcessor {
 		T result = null;
 		PreparedStatement preparedStatement = null;
 		try {
-			result = clazz.newInstance();
+			PersistenceRowMapper<T> mapper = PersistenceRowMapper.of(clazz, tableModel);
 			preparedStatement = openPreparedStatement(connection, sql);
 			setValuePrimaryKey(tableModel, id, preparedStatement);
 			ResultSet resultSet = null;
 			try {
 				resultSet = preparedStatement.executeQuery();
 				if (resultSet.next()) {
-					for (PersistenceTableColumnModel columnModel : tableModel.getColumns()) {
-						setValueToPojo(result, resultSet, columnModel);
-					}
+					result = mapRow(mapper, mapper.resolve(resultSet), resultSet);
 				} else {
 					return null;
 				}
@@ -243,17 +242,18 @@ public class PersistenceQueryProcessor<T> extends AbstractPersistenceProcessor {
 		String sql = null;
 		PreparedStatement preparedStatement = null;
 		try {
-			sql = generateScriptFindAll(connection, tableModel);
+			sql = getScript(connection, tableModel, "findAll", this::generateScriptFindAll);
 			preparedStatement = openPreparedStatement(connection, sql);
 			ResultSet resultSet = null;
 			try {
 				resultSet = preparedStatement.executeQuery();
+				PersistenceRowMapper<T> mapper = PersistenceRowMapper.of(clazz, tableModel);
+				int[] indexes = null;
 				while (resultSet.next()) {
-					T pojo = clazz.newInstance();
-					for (PersistenceTableColumnModel columnModel : tableModel.getColumns()) {
-						setValueToPojo(pojo, resultSet, columnModel);
+					if (indexes == null) {
+						indexes = mapper.resolve(resultSet);
 					}
-					result.add(pojo);
+					result.add(mapRow(mapper, indexes, resultSet));
 				}
 			} finally {
 				if (resultSet != null) {
@@ -299,12 +299,13 @@ public class PersistenceQueryProcessor<T> extends AbstractPersistenceProcessor {
 			ResultSet resultSet = null;
 			try {
 				resultSet = preparedStatement.executeQuery();
+				PersistenceRowMapper<T> mapper = PersistenceRowMapper.of(clazz, tableModel);
+				int[] indexes = null;
 				while (resultSet.next()) {
-					T pojo = clazz.newInstance();
-					for (PersistenceTableColumnModel columnModel : tableModel.getColumns()) {
-						setValueToPojo(pojo, resultSet, columnModel);
+					if (indexes == null) {
+						indexes = mapper.resolve(resultSet);
 					}
-					result.add(pojo);
+					result.add(mapRow(mapper, indexes, resultSet));
 				}
 			} finally {
 				if (resultSet != null) {
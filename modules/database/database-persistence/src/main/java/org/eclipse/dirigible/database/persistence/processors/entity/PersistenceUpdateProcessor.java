@@ -13,6 +13,7 @@ package org.eclipse.dirigible.database.persistence.processors.entity;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.util.List;
 
 import org.eclipse.dirigible.database.persistence.IEntityManagerInterceptor;
 import org.eclipse.dirigible.database.persistence.PersistenceException;
@@ -106,7 +107,7 @@ public class PersistenceUpdateProcessor<T> extends AbstractPersistenceProcessor
 			if (id == null) {
 				throw new PersistenceException("The key for update cannot be null.");
 			}
-			sql = generateScript(connection, tableModel);
+			sql = getScript(connection, tableModel, "update", this::generateScript);
 			preparedStatement = openPreparedStatement(connection, sql);
 			setValuesFromPojo(tableModel, pojo, preparedStatement);
 			setValue(preparedStatement, tableModel.getColumns().size(), id);
@@ -120,6 +121,57 @@ public class PersistenceUpdateProcessor<T> extends AbstractPersistenceProcessor
 		}
 	}
 
+	/**
+	 * Update all the pojos with batches of statements.
+	 *
+	 * @param connection
+	 *            the connection
+	 * @param tableModel
+	 *            the table model
+	 * @param pojos
+	 *            the pojos
+	 * @return the number of the updated rows
+	 * @throws PersistenceException
+	 *             the persistence exception
+	 */
+	public int updateAll(Connection connection, PersistenceTableModel tableModel, List<T> pojos) throws PersistenceException {
+		if (logger.isTraceEnabled()) {logger.trace("updateAll -> connection: " + connection.hashCode() + ", tableModel: " + Serializer.serializeTableModel(tableModel) + ", pojos: "
+				+ pojos.size());}
+		String sql = null;
+		PreparedStatement preparedStatement = null;
+		try {
+			PersistenceTableColumnModel primaryKeyColumnModel = getPrimaryKeyModel(tableModel);
+			sql = getScript(connection, tableModel, "update", this::generateScript);
+			preparedStatement = openPreparedStatement(connection, sql);
+			int batchSize = getBatchSize();
+			int pending = 0;
+			int result = 0;
+			for (T pojo : pojos) {
+				Object id = getValueFromPojo(pojo, primaryKeyColumnModel);
+				if (id == null) {
+					throw new PersistenceException("The key for update cannot be null.");
+				}
+				setValuesFromPojo(tableModel, pojo, preparedStatement);
+				setValue(preparedStatement, tableModel.getColumns().size(), id);
+				preparedStatement.addBatch();
+				if (++pending == batchSize) {
+					result += executeBatch(preparedStatement);
+					pending = 0;
+				}
+			}
+			if (pending > 0) {
+				result += executeBatch(preparedStatement);
+			}
+			return result;
+		} catch (Exception e) {
+			if (logger.isErrorEnabled()) {logger.error(sql);}
+			if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
+			throw new PersistenceException(sql, e);
+		} finally {
+			closePreparedStatement(preparedStatement);
+		}
+	}
+
 	/**
 	 * Should set column value.
 	 *
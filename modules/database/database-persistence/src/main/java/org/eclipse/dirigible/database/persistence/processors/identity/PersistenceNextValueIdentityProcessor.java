@@ -113,7 +113,10 @@ public class PersistenceNextValueIdentityProcessor extends AbstractPersistencePr
 					identity.setTable(tableName);
 					persistenceManager.update(connection, identity);
 				} finally {
-					connection.commit();
+					// within a transaction of the caller, the increment is committed with it
+					if (autoCommit) {
+						connection.commit();
+					}
 				}
 			} finally {
 				connection.setAutoCommit(autoCommit);
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.database.persistence.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.database.persistence.PersistenceManager;
+import org.eclipse.dirigible.database.persistence.processors.AbstractPersistenceProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Persistence Manager Batch Test.
+ */
+public class PersistenceManagerBatchTest extends AbstractPersistenceManagerTest {
+
+	/**
+	 * Sets a batch size smaller than the number of the pojos.
+	 */
+	@Override
+	@Before
+	public void setUp() {
+		super.setUp();
+		Configuration.set(AbstractPersistenceProcessor.DIRIGIBLE_PERSISTENCE_BATCH_SIZE, "2");
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		Configuration.remove(AbstractPersistenceProcessor.DIRIGIBLE_PERSISTENCE_BATCH_SIZE);
+	}
+
+	/**
+	 * Inserts, updates and deletes pojos in batches.
+	 *
+	 * @throws SQLException
+	 *             the SQL exception
+	 */
+	@Test
+	public void batchCrudTest() throws SQLException {
+		PersistenceManager<Customer> persistenceManager = new PersistenceManager<Customer>();
+		try (Connection connection = getDataSource().getConnection()) {
+			persistenceManager.tableCreate(connection, Customer.class);
+			try {
+				List<Customer> customers = new ArrayList<Customer>();
+				for (int i = 1; i <= 5; i++) {
+					Customer customer = new Customer();
+					customer.setId(i);
+					customer.setFirstName("First " + i);
+					customer.setLastName("Last " + i);
+					customer.setAge(20 + i);
+					customers.add(customer);
+				}
+				assertEquals(Arrays.asList(1, 2, 3, 4, 5), persistenceManager.insertAll(connection, customers));
+				assertEquals(5, persistenceManager.findAll(connection, Customer.class).size());
+
+				for (Customer customer : customers) {
+					customer.setAge(customer.getAge() + 10);
+				}
+				assertEquals(5, persistenceManager.updateAll(connection, customers));
+				assertEquals(33, persistenceManager.find(connection, Customer.class, 3).getAge());
+
+				assertEquals(3, persistenceManager.deleteAll(connection, Customer.class, Arrays.asList(1, 3, 5)));
+				List<Customer> remaining = persistenceManager.findAll(connection, Customer.class);
+				assertEquals(2, remaining.size());
+				assertEquals(0, persistenceManager.deleteAll(connection, Customer.class, new ArrayList<Integer>()));
+			} finally {
+				persistenceManager.tableDrop(connection, Customer.class);
+			}
+		}
+	}
+
+	/**
+	 * Inserts pojos with identity keys in batches.
+	 *
+	 * @throws SQLException
+	 *             the SQL exception
+	 */
+	@Test
+	public void batchIdentityTest() throws SQLException {
+		String database = System.getProperty("database");
+		if ((database != null) && !PersistenceManagerGeneratedValueIdentityTest.SUPPORTED_DIALECTS.contains(database)) {
+			return;
+		}
+		PersistenceManager<Offer> persistenceManager = new PersistenceManager<Offer>();
+		try (Connection connection = getDataSource().getConnection()) {
+			persistenceManager.tableCreate(connection, Offer.class);
+			try {
+				List<Offer> offers = new ArrayList<Offer>();
+				for (int i = 1; i <= 5; i++) {
+					Offer offer = new Offer();
+					offer.setSubject("Subject " + i);
+					offers.add(offer);
+				}
+				List<Object> ids = persistenceManager.insertAll(connection, offers);
+				assertEquals(5, ids.size());
+				for (int i = 0; i < offers.size(); i++) {
+					assertNotEquals(0L, offers.get(i).getId());
+					assertEquals(offers.get(i).getId(), ids.get(i));
+					assertTrue((i == 0) || (offers.get(i).getId() > offers.get(i - 1).getId()));
+				}
+				assertEquals(5, persistenceManager.findAll(connection, Offer.class).size());
+			} finally {
+				persistenceManager.tableDrop(connection, Offer.class);
+			}
+		}
+	}
+
+}
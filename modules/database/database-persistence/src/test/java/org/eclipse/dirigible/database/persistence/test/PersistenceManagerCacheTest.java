@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.database.persistence.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.eclipse.dirigible.database.persistence.PersistenceManager;
+import org.junit.Test;
+
+/**
+ * The Class PersistenceManagerCacheTest.
+ */
+public class PersistenceManagerCacheTest extends AbstractPersistenceManagerTest {
+
+	/**
+	 * The repeated operations do not read the database metadata.
+	 *
+	 * @throws SQLException
+	 *             the SQL exception
+	 */
+	@Test
+	public void noMetadataRoundTripsTest() throws SQLException {
+		PersistenceManager<CachedItem> persistenceManager = new PersistenceManager<CachedItem>();
+		try (Connection physical = getDataSource().getConnection()) {
+			AtomicInteger metadataCalls = new AtomicInteger();
+			Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] {Connection.class},
+					(proxy, method, args) -> {
+						if ("getMetaData".equals(method.getName())) {
+							metadataCalls.incrementAndGet();
+						}
+						if ("unwrap".equals(method.getName())) {
+							return physical;
+						}
+						try {
+							return method.invoke(physical, args);
+						} catch (InvocationTargetException e) {
+							throw e.getCause();
+						}
+					});
+			persistenceManager.tableCheck(connection, CachedItem.class);
+			try {
+				CachedItem item = new CachedItem();
+				item.id = 1;
+				item.name = "first";
+				persistenceManager.insert(connection, item);
+				persistenceManager.find(connection, CachedItem.class, 1);
+				persistenceManager.findAll(connection, CachedItem.class);
+				item.name = "second";
+				persistenceManager.update(connection, item);
+				persistenceManager.tableCheck(connection, CachedItem.class);
+
+				int calls = metadataCalls.get();
+				for (int i = 2; i < 10; i++) {
+					item.id = i;
+					persistenceManager.insert(connection, item);
+					persistenceManager.find(connection, CachedItem.class, i);
+					persistenceManager.update(connection, item);
+					persistenceManager.tableCheck(connection, CachedItem.class);
+				}
+				assertEquals(9, persistenceManager.findAll(connection, CachedItem.class).size());
+				persistenceManager.delete(connection, CachedItem.class, 1);
+				assertEquals(calls, metadataCalls.get());
+			} finally {
+				persistenceManager.tableDrop(connection, CachedItem.class);
+			}
+		}
+	}
+
+	/**
+	 * The cached item.
+	 */
+	@Table(name = "CACHED_ITEMS")
+	public static class CachedItem {
+
+		@Id
+		@Column(name = "ITEM_ID", columnDefinition = "INTEGER", nullable = false)
+		private int id;
+
+		@Column(name = "ITEM_NAME", columnDefinition = "VARCHAR", nullable = false, length = 255)
+		private String name;
+	}
+
+}
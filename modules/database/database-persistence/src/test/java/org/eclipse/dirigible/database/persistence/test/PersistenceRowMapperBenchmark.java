@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.database.persistence.test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.eclipse.dirigible.database.persistence.PersistenceFactory;
+import org.eclipse.dirigible.database.persistence.PersistenceManager;
+import org.eclipse.dirigible.database.persistence.model.PersistenceTableColumnModel;
+import org.eclipse.dirigible.database.persistence.model.PersistenceTableModel;
+import org.eclipse.dirigible.database.persistence.processors.entity.PersistenceQueryProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Reads all the rows of a 100k rows H2 table, setting the fields by name with reflection as before the row mappers,
+ * and with the row mapper of the class.
+ * <p>
+ * Not part of the test suite, run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceRowMapperBenchmark {
+
+	private static final int ROWS = 100000;
+
+	private Connection connection;
+
+	private PersistenceTableModel tableModel;
+
+	private final ReflectionQueryProcessor reflectionProcessor = new ReflectionQueryProcessor();
+
+	private final PersistenceManager<BenchmarkRow> persistenceManager = new PersistenceManager<BenchmarkRow>();
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		connection = DriverManager.getConnection("jdbc:h2:mem:rowmapper");
+		persistenceManager.tableCreate(connection, BenchmarkRow.class);
+		tableModel = PersistenceFactory.createModel(BenchmarkRow.class);
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO BENCHMARK_ROWS VALUES (?, ?, ?, ?, ?, ?)")) {
+			Timestamp now = new Timestamp(System.currentTimeMillis());
+			for (int i = 0; i < ROWS; i++) {
+				statement.setLong(1, i);
+				statement.setString(2, "name" + i);
+				statement.setString(3, "description of the row " + i);
+				statement.setDouble(4, i * 1.5);
+				statement.setTimestamp(5, now);
+				statement.setBoolean(6, (i % 2) == 0);
+				statement.addBatch();
+				if ((i % 1000) == 999) {
+					statement.executeBatch();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tear down.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		connection.close();
+	}
+
+	/**
+	 * Maps the rows with reflection.
+	 *
+	 * @return the rows
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Benchmark
+	public List<BenchmarkRow> reflection() throws Exception {
+		return reflectionProcessor.findAll(connection, tableModel);
+	}
+
+	/**
+	 * Maps the rows with the row mapper.
+	 *
+	 * @return the rows
+	 */
+	@Benchmark
+	public List<BenchmarkRow> rowMapper() {
+		return persistenceManager.findAll(connection, BenchmarkRow.class);
+	}
+
+	/**
+	 * The main method.
+	 *
+	 * @param args
+	 *            the arguments
+	 * @throws RunnerException
+	 *             the runner exception
+	 */
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PersistenceRowMapperBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	/**
+	 * Query processor setting the values one by one, as before the row mappers.
+	 */
+	static class ReflectionQueryProcessor extends PersistenceQueryProcessor<BenchmarkRow> {
+
+		/**
+		 * Instantiates a new reflection query processor.
+		 */
+		ReflectionQueryProcessor() {
+			super(null);
+		}
+
+		/**
+		 * Find all.
+		 *
+		 * @param connection
+		 *            the connection
+		 * @param tableModel
+		 *            the table model
+		 * @return the list
+		 * @throws Exception
+		 *             the exception
+		 */
+		List<BenchmarkRow> findAll(Connection connection, PersistenceTableModel tableModel) throws Exception {
+			List<BenchmarkRow> result = new ArrayList<BenchmarkRow>();
+			try (PreparedStatement statement = connection.prepareStatement(generateScriptFindAll(connection, tableModel));
+					ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					BenchmarkRow pojo = new BenchmarkRow();
+					for (PersistenceTableColumnModel columnModel : tableModel.getColumns()) {
+						setValueToPojo(pojo, resultSet, columnModel);
+					}
+					result.add(pojo);
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * The benchmark row.
+	 */
+	@Table(name = "BENCHMARK_ROWS")
+	public static class BenchmarkRow {
+
+		@Id
+		@Column(name = "ROW_ID", columnDefinition = "BIGINT", nullable = false)
+		private long id;
+
+		@Column(name = "ROW_NAME", columnDefinition = "VARCHAR", nullable = false, length = 255)
+		private String name;
+
+		@Column(name = "ROW_DESCRIPTION", columnDefinition = "VARCHAR", nullable = true, length = 1024)
+		private String description;
+
+		@Column(name = "ROW_AMOUNT", columnDefinition = "DOUBLE", nullable = true)
+		private double amount;
+
+		@Column(name = "ROW_CREATED_AT", columnDefinition = "TIMESTAMP", nullable = true)
+		private Timestamp createdAt;
+
+		@Column(name = "ROW_ACTIVE", columnDefinition = "BOOLEAN", nullable = true)
+		private boolean active;
+	}
+
+}
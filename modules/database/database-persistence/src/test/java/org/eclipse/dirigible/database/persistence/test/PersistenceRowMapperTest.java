@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.database.persistence.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.dirigible.database.persistence.PersistenceFactory;
+import org.eclipse.dirigible.database.persistence.model.PersistenceTableModel;
+import org.eclipse.dirigible.database.persistence.processors.PersistenceRowMapper;
+import org.junit.Test;
+
+/**
+ * The Class PersistenceRowMapperTest.
+ */
+public class PersistenceRowMapperTest {
+
+	/**
+	 * The accessors of the own and inherited fields.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void accessorsTest() throws Exception {
+		PersistenceTableModel tableModel = PersistenceFactory.createModel(GoldCustomer.class);
+		PersistenceRowMapper<GoldCustomer> mapper = PersistenceRowMapper.of(GoldCustomer.class, tableModel);
+		assertSame(mapper, PersistenceRowMapper.of(GoldCustomer.class, tableModel));
+		assertEquals(tableModel.getColumns().size(), mapper.size());
+
+		GoldCustomer customer = mapper.newInstance();
+		for (int i = 0; i < mapper.size(); i++) {
+			if ("firstName".equals(mapper.getColumn(i).getField())) {
+				mapper.set(i, customer, "John");
+				assertEquals("John", mapper.get(i, customer));
+			} else if ("age".equals(mapper.getColumn(i).getField())) {
+				mapper.set(i, customer, 33);
+				assertEquals(33, mapper.get(i, customer));
+			}
+		}
+		assertEquals("John", customer.getFirstName());
+		assertEquals(33, customer.getAge());
+	}
+
+	/**
+	 * A null value cannot be set to a primitive field.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void nullToPrimitiveTest() throws Exception {
+		PersistenceRowMapper<Customer> mapper = PersistenceRowMapper.of(Customer.class, PersistenceFactory.createModel(Customer.class));
+		Customer customer = mapper.newInstance();
+		for (int i = 0; i < mapper.size(); i++) {
+			if ("age".equals(mapper.getColumn(i).getField())) {
+				mapper.set(i, customer, null);
+			}
+		}
+	}
+
+	/**
+	 * A changed table model rebuilds the mapper.
+	 */
+	@Test
+	public void changedModelTest() {
+		PersistenceRowMapper<Customer> mapper = PersistenceRowMapper.of(Customer.class, PersistenceFactory.createModel(Customer.class));
+		PersistenceTableModel tableModel = new PersistenceTableModel();
+		tableModel.setColumns(PersistenceFactory.createModel(Customer.class).getColumns());
+		assertNotSame(mapper, PersistenceRowMapper.of(Customer.class, tableModel));
+	}
+
+}
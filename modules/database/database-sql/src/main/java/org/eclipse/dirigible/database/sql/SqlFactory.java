@@ -14,6 +14,8 @@ package org.eclipse.dirigible.database.sql;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import javax.sql.DataSource;
+
 import org.eclipse.dirigible.database.sql.builders.AlterBranchingBuilder;
 import org.eclipse.dirigible.database.sql.builders.CreateBranchingBuilder;
 import org.eclipse.dirigible.database.sql.builders.DropBranchingBuilder;
@@ -105,6 +107,17 @@ public class SqlFactory<SELECT extends SelectBuilder, INSERT extends InsertBuild
 		return new SqlFactory(deriveDialect(connection));
 	}
 
+	/**
+	 * Gets the native factory of the database behind the data source, the dialect is detected once per connection pool.
+	 *
+	 * @param dataSource
+	 *            the data source
+	 * @return the native
+	 */
+	public static SqlFactory getNative(DataSource dataSource) {
+		return new SqlFactory(deriveDialect(dataSource));
+	}
+
 	/**
 	 * Instantiates a new sql factory.
 	 */
@@ -138,6 +151,21 @@ public class SqlFactory<SELECT extends SelectBuilder, INSERT extends InsertBuild
 
 	}
 
+	/**
+	 * Derive dialect.
+	 *
+	 * @param dataSource
+	 *            the data source
+	 * @return the i sql dialect
+	 */
+	public static ISqlDialect deriveDialect(DataSource dataSource) {
+		try {
+			return SqlDialectFactory.getDialect(dataSource);
+		} catch (SQLException e) {
+			throw new SqlException("Error on deriving the database dialect from the data source", e);
+		}
+	}
+
 	/**
 	 * Select.
 	 *
@@ -17,6 +17,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+
+import javax.sql.DataSource;
 
 import org.eclipse.dirigible.database.sql.ISqlDialect;
 import org.eclipse.dirigible.database.sql.ISqlDialectProvider;
@@ -39,11 +42,81 @@ public class SqlDialectFactory {
 	 *             the SQL exception
 	 */
 	public static final ISqlDialect getDialect(Connection connection) throws SQLException {
-		String productName = connection.getMetaData().getDatabaseProductName();
-		return databaseTypeMappings.get(productName);
+		Connection physical = getPhysicalConnection(connection);
+		ISqlDialect dialect = CONNECTION_DIALECTS.get(physical);
+		if (dialect == null) {
+			String productName = connection.getMetaData().getDatabaseProductName();
+			dialect = databaseTypeMappings.get(productName);
+			if (dialect != null) {
+				CONNECTION_DIALECTS.put(physical, dialect);
+			}
+		}
+		return dialect;
 	}
 
-	
+	/**
+	 * Gets the dialect of the database behind the data source, which is detected with the first connection and cached
+	 * per connection pool.
+	 *
+	 * @param dataSource
+	 *            the data source
+	 * @return the dialect
+	 * @throws SQLException
+	 *             the SQL exception
+	 */
+	public static final ISqlDialect getDialect(DataSource dataSource) throws SQLException {
+		DataSource pool = getPool(dataSource);
+		ISqlDialect dialect = DATASOURCE_DIALECTS.get(pool);
+		if (dialect == null) {
+			try (Connection connection = dataSource.getConnection()) {
+				dialect = getDialect(connection);
+			}
+			if (dialect != null) {
+				DATASOURCE_DIALECTS.put(pool, dialect);
+			}
+		}
+		return dialect;
+	}
+
+	/**
+	 * Gets the connection pool behind a wrapping data source.
+	 *
+	 * @param dataSource
+	 *            the data source
+	 * @return the wrapped data source, or the data source itself if it does not wrap one
+	 */
+	private static DataSource getPool(DataSource dataSource) {
+		try {
+			DataSource pool = dataSource.unwrap(DataSource.class);
+			return pool != null ? pool : dataSource;
+		} catch (SQLException | RuntimeException e) {
+			return dataSource;
+		}
+	}
+
+	/**
+	 * Gets the physical connection behind a pooled connection, which stays the same while the pooled connections are
+	 * borrowed and returned.
+	 *
+	 * @param connection
+	 *            the connection
+	 * @return the physical connection, or the connection itself if it does not wrap one
+	 */
+	private static Connection getPhysicalConnection(Connection connection) {
+		try {
+			Connection physical = connection.unwrap(Connection.class);
+			return physical != null ? physical : connection;
+		} catch (SQLException | RuntimeException e) {
+			return connection;
+		}
+	}
+
+	/** The dialects of the physical connections, so that the database metadata is read once per connection. */
+	private static final Map<Connection, ISqlDialect> CONNECTION_DIALECTS = Collections.synchronizedMap(new WeakHashMap<Connection, ISqlDialect>());
+
+	/** The dialects of the connection pools, so that a connection is borrowed only for the first detection. */
+	private static final Map<DataSource, ISqlDialect> DATASOURCE_DIALECTS = Collections.synchronizedMap(new WeakHashMap<DataSource, ISqlDialect>());
+
 
 	/** The Constant databaseTypeMappings. */
 	// Lifted from Activiti
@@ -23,6 +23,7 @@ import org.eclipse.dirigible.graalium.core.globals.DirigibleEngineTypeGlobalObje
 import org.eclipse.dirigible.graalium.core.graal.GraalJSInterceptor;
 import org.eclipse.dirigible.graalium.core.javascript.GraalJSCodeRunner;
 import org.eclipse.dirigible.graalium.core.javascript.JavascriptCodeRunner;
+import org.eclipse.dirigible.graalium.core.javascript.JavascriptModuleType;
 import org.eclipse.dirigible.graalium.core.modules.DirigibleModuleResolver;
 import org.eclipse.dirigible.graalium.core.modules.DirigibleSourceProvider;
 import org.eclipse.dirigible.graalium.core.polyfills.RequirePolyfill;
@@ -49,6 +50,12 @@ public class DirigibleJavascriptCodeRunner implements JavascriptCodeRunner<Sourc
     /** The interceptor. */
     private final GraalJSInterceptor interceptor;
 
+    /** The Constant REQUIRE_RESET_SOURCE, replacing the require function with a new one with an empty modules cache. */
+    private static final Source REQUIRE_RESET_SOURCE = Source.newBuilder("js",
+    		"globalThis.require = Require(); globalThis.dirigibleRequire = globalThis.require;", "/polyfills/require-reset.js")
+    		.internal(true)
+    		.buildLiteral();
+
     /**
      * Instantiates a new dirigible javascript code runner.
      *
@@ -96,11 +103,11 @@ public class DirigibleJavascriptCodeRunner implements JavascriptCodeRunner<Sourc
 	}
 
     /**
-     * Should enable debug.
+     * Should enable debug, as configured by DIRIGIBLE_GRAALIUM_ENABLE_DEBUG.
      *
      * @return true, if successful
      */
-    private static boolean shouldEnableDebug() {
+    public static boolean shouldEnableDebug() {
         return Configuration.get("DIRIGIBLE_GRAALIUM_ENABLE_DEBUG", Boolean.FALSE.toString()).equals(Boolean.TRUE.toString());
     }
 
@@ -126,6 +133,20 @@ public class DirigibleJavascriptCodeRunner implements JavascriptCodeRunner<Sourc
         return codeRunner.prepareSource(codeFilePath);
     }
 
+    /**
+     * Prepares the source of generated code, which is evaluated without being stored in the repository.
+     *
+     * @param code the code
+     * @param commonJSModule whether the code is a CommonJS module, otherwise it is built as the module type of the runner
+     * @return the source
+     */
+    public Source prepareInMemorySource(String code, boolean commonJSModule) {
+        if (commonJSModule) {
+            return codeRunner.prepareInMemorySource(code, JavascriptModuleType.CJS);
+        }
+        return codeRunner.prepareInMemorySource(code);
+    }
+
     /**
      * Run.
      *
@@ -137,6 +158,28 @@ public class DirigibleJavascriptCodeRunner implements JavascriptCodeRunner<Sourc
         return codeRunner.run(codeSource);
     }
 
+    /**
+     * Resets the runner for reuse by another execution, removing the globals set by the previous ones, replacing the
+     * context global object with the given parameters and the required modules cache with an empty one. The imported
+     * ES modules are kept, except the executed ones, which are evaluated again.
+     *
+     * @param parameters the parameters
+     */
+    public void reset(Map<Object, Object> parameters) {
+        codeRunner.resetGlobals();
+        codeRunner.addGlobalObject(new DirigibleContextGlobalObject(parameters));
+        codeRunner.getGraalContext().eval(REQUIRE_RESET_SOURCE);
+    }
+
+    /**
+     * Gets the number of ES modules evaluated by the executions, which the context keeps until it is closed.
+     *
+     * @return the evaluated modules
+     */
+    public int getEvaluatedModules() {
+        return codeRunner.getEvaluatedModules();
+    }
+
     /**
      * Close.
      */
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.pool;
+
+import org.eclipse.dirigible.graalium.core.DirigibleJavascriptCodeRunner;
+
+/**
+ * A code runner borrowed from the {@link DirigibleJavascriptCodeRunnerPool}.
+ * Closing the lease hands the runner back to the pool.
+ */
+public class DirigibleJavascriptCodeRunnerLease implements AutoCloseable {
+
+	/** The pool. */
+	private final DirigibleJavascriptCodeRunnerPool pool;
+
+	/** The project pool, null for transient runners. */
+	private final DirigibleJavascriptCodeRunnerPool.ProjectPool projectPool;
+
+	/** The runner. */
+	private final DirigibleJavascriptCodeRunner runner;
+
+	/** The generation of the project pool at the time the runner was created. */
+	private final long generation;
+
+	/** The broken flag. */
+	private boolean broken;
+
+	/** The closed flag. */
+	private boolean closed;
+
+	/**
+	 * Instantiates a new lease.
+	 *
+	 * @param pool the pool
+	 * @param projectPool the project pool
+	 * @param runner the runner
+	 * @param generation the generation
+	 */
+	DirigibleJavascriptCodeRunnerLease(DirigibleJavascriptCodeRunnerPool pool, DirigibleJavascriptCodeRunnerPool.ProjectPool projectPool,
+			DirigibleJavascriptCodeRunner runner, long generation) {
+		this.pool = pool;
+		this.projectPool = projectPool;
+		this.runner = runner;
+		this.generation = generation;
+	}
+
+	/**
+	 * Gets the runner.
+	 *
+	 * @return the runner
+	 */
+	public DirigibleJavascriptCodeRunner getRunner() {
+		return runner;
+	}
+
+	/**
+	 * Marks the runner as not reusable, e.g. after a failed execution. It will be closed instead of returned to the pool.
+	 */
+	public void invalidate() {
+		this.broken = true;
+	}
+
+	/**
+	 * Checks if is broken.
+	 *
+	 * @return true, if is broken
+	 */
+	boolean isBroken() {
+		return broken;
+	}
+
+	/**
+	 * Gets the project pool.
+	 *
+	 * @return the project pool
+	 */
+	DirigibleJavascriptCodeRunnerPool.ProjectPool getProjectPool() {
+		return projectPool;
+	}
+
+	/**
+	 * Gets the generation.
+	 *
+	 * @return the generation
+	 */
+	long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Returns the runner to the pool.
+	 */
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			pool.release(this);
+		}
+	}
+
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.pool;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.graalium.core.DirigibleJavascriptCodeRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of warm {@link DirigibleJavascriptCodeRunner} instances, keyed by project.
+ * <p>
+ * All pooled runners share the engine from GraalJSEngineCreator, so creating a context once per pool slot
+ * instead of once per request saves the context creation, the global objects registration and the polyfills evaluation.
+ * Runners are reset with the request parameters on every acquire and are closed when idle for longer than the configured timeout,
+ * when their execution failed or when the project is republished.
+ * <p>
+ * The pool is disabled by default, because the reset of a runner does not isolate the executions completely: the ES modules
+ * imported by a previous execution are kept with their state, as well as the changes to the built-in objects.
+ * <p>
+ * A context keeps every ES module it evaluated, so a runner is closed instead of pooled, once its executions evaluated the
+ * configured max number of modules.
+ */
+public class DirigibleJavascriptCodeRunnerPool {
+
+	/** The Constant logger. */
+	private static final Logger logger = LoggerFactory.getLogger(DirigibleJavascriptCodeRunnerPool.class);
+
+	/** The Constant DIRIGIBLE_GRAALIUM_CONTEXT_POOL_ENABLED. */
+	public static final String DIRIGIBLE_GRAALIUM_CONTEXT_POOL_ENABLED = "DIRIGIBLE_GRAALIUM_CONTEXT_POOL_ENABLED";
+
+	/** The Constant DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_SIZE. */
+	public static final String DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_SIZE = "DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_SIZE";
+
+	/** The Constant DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_WAIT. */
+	public static final String DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_WAIT = "DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_WAIT";
+
+	/** The Constant DIRIGIBLE_GRAALIUM_CONTEXT_POOL_IDLE_TIMEOUT. */
+	public static final String DIRIGIBLE_GRAALIUM_CONTEXT_POOL_IDLE_TIMEOUT = "DIRIGIBLE_GRAALIUM_CONTEXT_POOL_IDLE_TIMEOUT";
+
+	/** The Constant DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_EVALUATIONS. */
+	public static final String DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_EVALUATIONS = "DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_EVALUATIONS";
+
+	/** The Constant DEFAULT_MAX_SIZE. */
+	private static final String DEFAULT_MAX_SIZE = "8";
+
+	/** The Constant DEFAULT_MAX_WAIT in milliseconds. */
+	private static final String DEFAULT_MAX_WAIT = "1000";
+
+	/** The Constant DEFAULT_IDLE_TIMEOUT in seconds. */
+	private static final String DEFAULT_IDLE_TIMEOUT = "300";
+
+	/** The Constant DEFAULT_MAX_EVALUATIONS. */
+	private static final String DEFAULT_MAX_EVALUATIONS = "100";
+
+	/** The Constant INSTANCE. */
+	private static final DirigibleJavascriptCodeRunnerPool INSTANCE = new DirigibleJavascriptCodeRunnerPool(
+			Boolean.parseBoolean(Configuration.get(DIRIGIBLE_GRAALIUM_CONTEXT_POOL_ENABLED, Boolean.FALSE.toString())),
+			Integer.parseInt(Configuration.get(DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_SIZE, DEFAULT_MAX_SIZE)),
+			Long.parseLong(Configuration.get(DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_WAIT, DEFAULT_MAX_WAIT)),
+			TimeUnit.SECONDS.toMillis(Long.parseLong(Configuration.get(DIRIGIBLE_GRAALIUM_CONTEXT_POOL_IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT))),
+			Integer.parseInt(Configuration.get(DIRIGIBLE_GRAALIUM_CONTEXT_POOL_MAX_EVALUATIONS, DEFAULT_MAX_EVALUATIONS)),
+			parameters -> new DirigibleJavascriptCodeRunner(parameters, false));
+
+	/** The enabled. */
+	private final boolean enabled;
+
+	/** The max size per project. */
+	private final int maxSize;
+
+	/** The max wait in milliseconds. */
+	private final long maxWait;
+
+	/** The idle timeout in milliseconds. */
+	private final long idleTimeout;
+
+	/** The max number of module evaluations of a runner, before it is closed instead of pooled. */
+	private final int maxEvaluations;
+
+	/** The runner factory. */
+	private final Function<Map<Object, Object>, DirigibleJavascriptCodeRunner> runnerFactory;
+
+	/** The project pools. */
+	private final Map<String, ProjectPool> pools = new ConcurrentHashMap<>();
+
+	/** The metrics. */
+	private final DirigibleJavascriptCodeRunnerPoolMetrics metrics = new DirigibleJavascriptCodeRunnerPoolMetrics();
+
+	/** The last eviction sweep. */
+	private final AtomicLong lastEviction = new AtomicLong(System.currentTimeMillis());
+
+	/**
+	 * Gets the pool instance.
+	 *
+	 * @return the dirigible javascript code runner pool
+	 */
+	public static DirigibleJavascriptCodeRunnerPool get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Instantiates a new dirigible javascript code runner pool.
+	 *
+	 * @param enabled the enabled
+	 * @param maxSize the max size per project
+	 * @param maxWait the max wait in milliseconds
+	 * @param idleTimeout the idle timeout in milliseconds
+	 * @param maxEvaluations the max number of module evaluations of a runner
+	 * @param runnerFactory the runner factory
+	 */
+	DirigibleJavascriptCodeRunnerPool(boolean enabled, int maxSize, long maxWait, long idleTimeout, int maxEvaluations,
+			Function<Map<Object, Object>, DirigibleJavascriptCodeRunner> runnerFactory) {
+		this.enabled = enabled && maxSize > 0;
+		this.maxSize = maxSize;
+		this.maxWait = maxWait;
+		this.idleTimeout = idleTimeout;
+		this.maxEvaluations = maxEvaluations;
+		this.runnerFactory = runnerFactory;
+	}
+
+	/**
+	 * Checks if is enabled.
+	 *
+	 * @return true, if is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	public DirigibleJavascriptCodeRunnerPoolMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Acquires a runner for the given project, reset with the given parameters.
+	 * If all the runners of the project are busy for longer than the max wait, a transient runner is returned,
+	 * which is closed instead of pooled on release.
+	 *
+	 * @param projectName the project name
+	 * @param parameters the parameters
+	 * @return the lease, which must be closed after the execution
+	 */
+	public DirigibleJavascriptCodeRunnerLease acquire(String projectName, Map<Object, Object> parameters) {
+		evictIdleIfDue();
+
+		ProjectPool projectPool = pools.computeIfAbsent(projectName, k -> new ProjectPool(maxSize));
+		long start = System.nanoTime();
+		boolean permitted;
+		try {
+			permitted = projectPool.permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			permitted = false;
+		}
+		metrics.recordWait(System.nanoTime() - start);
+
+		if (!permitted) {
+			metrics.recordOverflow();
+			if (logger.isDebugEnabled()) {logger.debug("Graalium context pool for project [{}] is exhausted, using a transient context", projectName);}
+			return new DirigibleJavascriptCodeRunnerLease(this, null, createRunner(parameters), 0);
+		}
+
+		try {
+			long generation = projectPool.generation.get();
+			PooledRunner pooled;
+			while ((pooled = projectPool.idle.pollFirst()) != null) {
+				if (pooled.generation == generation && !isExpired(pooled, System.currentTimeMillis())) {
+					pooled.runner.reset(parameters);
+					metrics.recordHit();
+					return new DirigibleJavascriptCodeRunnerLease(this, projectPool, pooled.runner, pooled.generation);
+				}
+				discard(pooled.runner);
+			}
+			metrics.recordMiss();
+			return new DirigibleJavascriptCodeRunnerLease(this, projectPool, createRunner(parameters), generation);
+		} catch (RuntimeException e) {
+			projectPool.permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Releases the runner held by the lease.
+	 *
+	 * @param lease the lease
+	 */
+	void release(DirigibleJavascriptCodeRunnerLease lease) {
+		ProjectPool projectPool = lease.getProjectPool();
+		if (projectPool == null) {
+			lease.getRunner().close();
+			return;
+		}
+		try {
+			if (lease.isBroken() || lease.getGeneration() != projectPool.generation.get()) {
+				lease.getRunner().close();
+			} else if (lease.getRunner().getEvaluatedModules() >= maxEvaluations) {
+				metrics.recordRecycle();
+				discard(lease.getRunner());
+			} else {
+				projectPool.idle.offerFirst(new PooledRunner(lease.getRunner(), lease.getGeneration(), System.currentTimeMillis()));
+			}
+		} finally {
+			projectPool.permits.release();
+		}
+	}
+
+	/**
+	 * Invalidates the runners of the given project, e.g. after it has been republished.
+	 * Idle runners are closed immediately, the busy ones on release.
+	 *
+	 * @param projectName the project name
+	 */
+	public void invalidate(String projectName) {
+		ProjectPool projectPool = pools.get(projectName);
+		if (projectPool != null) {
+			invalidate(projectPool);
+		}
+	}
+
+	/**
+	 * Invalidates the runners of all the projects.
+	 */
+	public void invalidateAll() {
+		pools.values().forEach(this::invalidate);
+	}
+
+	/**
+	 * Invalidate.
+	 *
+	 * @param projectPool the project pool
+	 */
+	private void invalidate(ProjectPool projectPool) {
+		projectPool.generation.incrementAndGet();
+		PooledRunner pooled;
+		while ((pooled = projectPool.idle.pollFirst()) != null) {
+			discard(pooled.runner);
+		}
+	}
+
+	/**
+	 * Closes the runners, which have been idle for longer than the idle timeout.
+	 * The least recently used runners are at the tail of each deque.
+	 */
+	public void evictIdle() {
+		long now = System.currentTimeMillis();
+		lastEviction.set(now);
+		for (ProjectPool projectPool : pools.values()) {
+			Iterator<PooledRunner> iterator = projectPool.idle.descendingIterator();
+			while (iterator.hasNext()) {
+				PooledRunner pooled = iterator.next();
+				if (!isExpired(pooled, now)) {
+					break;
+				}
+				if (projectPool.idle.removeLastOccurrence(pooled)) {
+					metrics.recordEviction();
+					discard(pooled.runner);
+				}
+			}
+		}
+		if (logger.isDebugEnabled()) {logger.debug("Graalium context pool metrics: {}", metrics);}
+	}
+
+	/**
+	 * Runs an eviction sweep, if the last one is older than the idle timeout.
+	 */
+	private void evictIdleIfDue() {
+		long last = lastEviction.get();
+		long now = System.currentTimeMillis();
+		if (now - last > idleTimeout && lastEviction.compareAndSet(last, now)) {
+			evictIdle();
+		}
+	}
+
+	/**
+	 * Checks if is expired.
+	 *
+	 * @param pooled the pooled
+	 * @param now the now
+	 * @return true, if is expired
+	 */
+	private boolean isExpired(PooledRunner pooled, long now) {
+		return now - pooled.lastUsed > idleTimeout;
+	}
+
+	/**
+	 * Creates the runner.
+	 *
+	 * @param parameters the parameters
+	 * @return the dirigible javascript code runner
+	 */
+	private DirigibleJavascriptCodeRunner createRunner(Map<Object, Object> parameters) {
+		long start = System.nanoTime();
+		DirigibleJavascriptCodeRunner runner = runnerFactory.apply(parameters);
+		metrics.recordCreation(System.nanoTime() - start);
+		return runner;
+	}
+
+	/**
+	 * Discard.
+	 *
+	 * @param runner the runner
+	 */
+	private static void discard(DirigibleJavascriptCodeRunner runner) {
+		try {
+			runner.close();
+		} catch (RuntimeException e) {
+			if (logger.isWarnEnabled()) {logger.warn("Failed to close a pooled Graalium context", e);}
+		}
+	}
+
+	/**
+	 * The runners of a single project.
+	 */
+	static class ProjectPool {
+
+		/** The permits, bounding the number of runners per project. */
+		private final Semaphore permits;
+
+		/** The idle runners, most recently used first. */
+		private final Deque<PooledRunner> idle = new ConcurrentLinkedDeque<>();
+
+		/** The generation, incremented on invalidation. */
+		private final AtomicLong generation = new AtomicLong();
+
+		/**
+		 * Instantiates a new project pool.
+		 *
+		 * @param maxSize the max size
+		 */
+		ProjectPool(int maxSize) {
+			this.permits = new Semaphore(maxSize, true);
+		}
+	}
+
+	/**
+	 * An idle runner.
+	 */
+	private static class PooledRunner {
+
+		/** The runner. */
+		private final DirigibleJavascriptCodeRunner runner;
+
+		/** The generation. */
+		private final long generation;
+
+		/** The last used timestamp. */
+		private final long lastUsed;
+
+		/**
+		 * Instantiates a new pooled runner.
+		 *
+		 * @param runner the runner
+		 * @param generation the generation
+		 * @param lastUsed the last used
+		 */
+		PooledRunner(DirigibleJavascriptCodeRunner runner, long generation, long lastUsed) {
+			this.runner = runner;
+			this.generation = generation;
+			this.lastUsed = lastUsed;
+		}
+	}
+
+}
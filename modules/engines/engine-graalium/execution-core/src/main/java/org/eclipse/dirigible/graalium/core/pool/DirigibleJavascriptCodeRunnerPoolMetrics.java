@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.pool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Class DirigibleJavascriptCodeRunnerPoolMetrics.
+ */
+public class DirigibleJavascriptCodeRunnerPoolMetrics {
+
+	/** The hits. */
+	private final LongAdder hits = new LongAdder();
+
+	/** The misses. */
+	private final LongAdder misses = new LongAdder();
+
+	/** The overflows. */
+	private final LongAdder overflows = new LongAdder();
+
+	/** The evictions. */
+	private final LongAdder evictions = new LongAdder();
+
+	/** The recycles. */
+	private final LongAdder recycles = new LongAdder();
+
+	/** The waits. */
+	private final LongAdder waits = new LongAdder();
+
+	/** The wait time in nanoseconds. */
+	private final LongAdder waitNanos = new LongAdder();
+
+	/** The max wait time in nanoseconds. */
+	private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+
+	/** The creations. */
+	private final LongAdder creations = new LongAdder();
+
+	/** The creation time in nanoseconds. */
+	private final LongAdder creationNanos = new LongAdder();
+
+	/**
+	 * Record hit.
+	 */
+	void recordHit() {
+		hits.increment();
+	}
+
+	/**
+	 * Record miss.
+	 */
+	void recordMiss() {
+		misses.increment();
+	}
+
+	/**
+	 * Record overflow.
+	 */
+	void recordOverflow() {
+		overflows.increment();
+	}
+
+	/**
+	 * Record eviction.
+	 */
+	void recordEviction() {
+		evictions.increment();
+	}
+
+	/**
+	 * Record recycle.
+	 */
+	void recordRecycle() {
+		recycles.increment();
+	}
+
+	/**
+	 * Record wait.
+	 *
+	 * @param nanos the nanos
+	 */
+	void recordWait(long nanos) {
+		waits.increment();
+		waitNanos.add(nanos);
+		maxWaitNanos.accumulate(nanos);
+	}
+
+	/**
+	 * Record creation.
+	 *
+	 * @param nanos the nanos
+	 */
+	void recordCreation(long nanos) {
+		creations.increment();
+		creationNanos.add(nanos);
+	}
+
+	/**
+	 * Gets the hits.
+	 *
+	 * @return the hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the misses.
+	 *
+	 * @return the misses
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the overflows, i.e. the requests served by a transient context because the pool was exhausted.
+	 *
+	 * @return the overflows
+	 */
+	public long getOverflows() {
+		return overflows.sum();
+	}
+
+	/**
+	 * Gets the evictions.
+	 *
+	 * @return the evictions
+	 */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Gets the recycles, i.e. the contexts closed after reaching the max number of module evaluations.
+	 *
+	 * @return the recycles
+	 */
+	public long getRecycles() {
+		return recycles.sum();
+	}
+
+	/**
+	 * Gets the hit rate.
+	 *
+	 * @return the hit rate between 0 and 1
+	 */
+	public double getHitRate() {
+		long hitsCount = getHits();
+		long total = hitsCount + getMisses() + getOverflows();
+		return total == 0 ? 0 : (double) hitsCount / total;
+	}
+
+	/**
+	 * Gets the average wait time in milliseconds.
+	 *
+	 * @return the average wait time
+	 */
+	public double getAverageWaitMillis() {
+		return average(waitNanos.sum(), waits.sum());
+	}
+
+	/**
+	 * Gets the max wait time in milliseconds.
+	 *
+	 * @return the max wait time
+	 */
+	public double getMaxWaitMillis() {
+		return (double) maxWaitNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Gets the number of created contexts.
+	 *
+	 * @return the creations
+	 */
+	public long getCreations() {
+		return creations.sum();
+	}
+
+	/**
+	 * Gets the average context creation time in milliseconds.
+	 *
+	 * @return the average creation time
+	 */
+	public double getAverageCreationMillis() {
+		return average(creationNanos.sum(), creations.sum());
+	}
+
+	/**
+	 * Average.
+	 *
+	 * @param totalNanos the total nanos
+	 * @param count the count
+	 * @return the average in milliseconds
+	 */
+	private static double average(long totalNanos, long count) {
+		return count == 0 ? 0 : (double) totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * To string.
+	 *
+	 * @return the string
+	 */
+	@Override
+	public String toString() {
+		return String.format("hits=%d, misses=%d, overflows=%d, evictions=%d, recycles=%d, hitRate=%.2f, avgWait=%.3fms, maxWait=%.3fms, creations=%d, avgCreation=%.3fms",
+				getHits(), getMisses(), getOverflows(), getEvictions(), getRecycles(), getHitRate(), getAverageWaitMillis(), getMaxWaitMillis(),
+				getCreations(), getAverageCreationMillis());
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.dirigible.graalium.core.DirigibleJavascriptCodeRunner;
+import org.junit.Test;
+
+/**
+ * The Class DirigibleJavascriptCodeRunnerPoolTest.
+ */
+public class DirigibleJavascriptCodeRunnerPoolTest {
+
+	/**
+	 * A runner, which evaluated the max number of modules, is closed instead of pooled, so that the modules kept by a
+	 * context stay bounded.
+	 */
+	@Test
+	public void evaluatedModulesStayBounded() {
+		List<DirigibleJavascriptCodeRunner> runners = new ArrayList<>();
+		List<AtomicInteger> evaluations = new ArrayList<>();
+		DirigibleJavascriptCodeRunnerPool pool = new DirigibleJavascriptCodeRunnerPool(true, 1, 1000, 60000, 3, parameters -> {
+			AtomicInteger evaluated = new AtomicInteger();
+			DirigibleJavascriptCodeRunner runner = mock(DirigibleJavascriptCodeRunner.class);
+			when(runner.getEvaluatedModules()).thenAnswer(invocation -> evaluated.get());
+			runners.add(runner);
+			evaluations.add(evaluated);
+			return runner;
+		});
+
+		for (int i = 0; i < 10; i++) {
+			try (DirigibleJavascriptCodeRunnerLease lease = pool.acquire("project", new HashMap<>())) {
+				// every execution evaluates the module once more
+				int index = runners.indexOf(lease.getRunner());
+				assertTrue(evaluations.get(index).incrementAndGet() <= 3);
+			}
+		}
+
+		assertEquals(4, runners.size());
+		assertEquals(3, pool.getMetrics().getRecycles());
+		assertEquals(6, pool.getMetrics().getHits());
+		for (int i = 0; i < 3; i++) {
+			verify(runners.get(i)).close();
+		}
+	}
+
+}
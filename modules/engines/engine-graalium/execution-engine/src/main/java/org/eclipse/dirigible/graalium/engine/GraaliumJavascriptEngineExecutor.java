@@ -11,6 +11,7 @@
  */
 package org.eclipse.dirigible.graalium.engine;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -18,8 +19,11 @@ import java.util.function.BiConsumer;
 
 import org.eclipse.dirigible.commons.api.scripting.ScriptingException;
 import org.eclipse.dirigible.engine.js.api.AbstractJavascriptExecutor;
+import org.eclipse.dirigible.graalium.core.DirigibleJavascriptCodeRunner;
+import org.eclipse.dirigible.graalium.core.graal.GraalJSInMemorySourceCache;
 import org.eclipse.dirigible.graalium.handler.GraaliumJavascriptHandler;
 import org.eclipse.dirigible.repository.api.IRepositoryStructure;
+import org.eclipse.dirigible.repository.api.IResource;
 import org.eclipse.dirigible.repository.api.RepositoryPath;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
@@ -52,19 +56,35 @@ public class GraaliumJavascriptEngineExecutor extends AbstractJavascriptExecutor
 
 	@Override
 	public Object executeServiceCode(String code, Map<Object, Object> executionContext) throws ScriptingException {
-		String path = storeToRegistry(code);
-		return executeService(path, executionContext, false, true);
+		if (DirigibleJavascriptCodeRunner.shouldEnableDebug()) {
+			String path = storeToRegistry(code);
+			return executeService(path, executionContext, false, true);
+		}
+		return javascriptHandler.handleCode(code, executionContext, true);
 	}
 
 	@Override
 	public Object evalCode(String code, Map<Object, Object> executionContext) throws ScriptingException {
-		String path = storeToRegistry(code);
-		return executeService(path, executionContext, false, false);
+		if (DirigibleJavascriptCodeRunner.shouldEnableDebug()) {
+			String path = storeToRegistry(code);
+			return executeService(path, executionContext, false, false);
+		}
+		return javascriptHandler.handleCode(code, executionContext, false);
 	}
 	
+	/**
+	 * Stores the generated code to the registry, so that it can be opened in a debugger.
+	 * Only used when debugging is enabled, otherwise the code is evaluated from memory.
+	 *
+	 * @param code the code
+	 * @return the path relative to the registry
+	 */
 	private String storeToRegistry(String code) {
-		RepositoryPath path = new RepositoryPath(IRepositoryStructure.PATH_REGISTRY_PUBLIC,  "__generated__", code.hashCode() + ".js");
-		getRepository().createResource(path.build(), code.getBytes());
+		RepositoryPath path = new RepositoryPath(IRepositoryStructure.PATH_REGISTRY_PUBLIC, GraalJSInMemorySourceCache.getSourceName(code));
+		IResource resource = getRepository().getResource(path.build());
+		if (!resource.exists()) {
+			getRepository().createResource(path.build(), code.getBytes(StandardCharsets.UTF_8));
+		}
 		return path.constructPathFrom(2);
 	}
 
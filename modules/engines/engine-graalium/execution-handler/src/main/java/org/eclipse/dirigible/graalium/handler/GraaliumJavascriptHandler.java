@@ -19,6 +19,8 @@ import org.eclipse.dirigible.api.v3.http.HttpRequestFacade;
 import org.eclipse.dirigible.engine.js.service.JavascriptHandler;
 import org.eclipse.dirigible.graalium.core.DirigibleJavascriptCodeRunner;
 import org.eclipse.dirigible.graalium.core.modules.DirigibleSourceProvider;
+import org.eclipse.dirigible.graalium.core.pool.DirigibleJavascriptCodeRunnerLease;
+import org.eclipse.dirigible.graalium.core.pool.DirigibleJavascriptCodeRunnerPool;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.slf4j.Logger;
@@ -35,6 +37,9 @@ public class GraaliumJavascriptHandler implements JavascriptHandler {
     /** The dirigible source provider. */
     private final DirigibleSourceProvider dirigibleSourceProvider = new DirigibleSourceProvider();
 
+    /** The code runner pool. */
+    private static final DirigibleJavascriptCodeRunnerPool CODE_RUNNER_POOL = DirigibleJavascriptCodeRunnerPool.get();
+
     /**
      * Handle request.
      *
@@ -58,12 +63,18 @@ public class GraaliumJavascriptHandler implements JavascriptHandler {
             }
 
             Path absoluteSourcePath = dirigibleSourceProvider.getAbsoluteSourcePath(projectName, projectFilePath);
+            if (isPoolable(projectFilePath, debug)) {
+            	try (DirigibleJavascriptCodeRunnerLease lease = CODE_RUNNER_POOL.acquire(projectName, parameters)) {
+            		try {
+            			return run(lease.getRunner(), sourceFilePath, absoluteSourcePath);
+            		} catch (RuntimeException e) {
+            			lease.invalidate();
+            			throw e;
+            		}
+            	}
+            }
             try (DirigibleJavascriptCodeRunner runner = new DirigibleJavascriptCodeRunner(parameters, debug)) {
-            	Source source = runner.prepareSource(absoluteSourcePath);
-            	runner.getGraalJSInterceptor().onBeforeRun(sourceFilePath, absoluteSourcePath, source, runner.getCodeRunner().getGraalContext());
-            	Value value = runner.run(source);
-            	runner.getGraalJSInterceptor().onAfterRun(sourceFilePath, absoluteSourcePath, source, runner.getCodeRunner().getGraalContext(), value);
-            	return transformValue(value);
+            	return run(runner, sourceFilePath, absoluteSourcePath);
             }
         } catch (Exception e) {
         	if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
@@ -71,6 +82,58 @@ public class GraaliumJavascriptHandler implements JavascriptHandler {
         }
     }
 
+    /**
+     * Handle generated code, which is evaluated from memory without being stored in the repository.
+     *
+     * @param code the code
+     * @param parameters the parameters
+     * @param commonJSModule whether the code is a CommonJS module
+     * @return the object
+     */
+    public Object handleCode(String code, Map<Object, Object> parameters, boolean commonJSModule) {
+        try (DirigibleJavascriptCodeRunner runner = new DirigibleJavascriptCodeRunner(parameters, false)) {
+            Source source = runner.prepareInMemorySource(code, commonJSModule);
+            String sourceFilePath = source.getName();
+            Path absoluteSourcePath = runner.getCodeRunner().getCurrentWorkingDirectoryPath().resolve(sourceFilePath);
+            runner.getGraalJSInterceptor().onBeforeRun(sourceFilePath, absoluteSourcePath, source, runner.getCodeRunner().getGraalContext());
+            Value value = runner.run(source);
+            runner.getGraalJSInterceptor().onAfterRun(sourceFilePath, absoluteSourcePath, source, runner.getCodeRunner().getGraalContext(), value);
+            return transformValue(value);
+        } catch (Exception e) {
+            if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Run.
+     *
+     * @param runner the runner
+     * @param sourceFilePath the source file path
+     * @param absoluteSourcePath the absolute source path
+     * @return the object
+     */
+    private Object run(DirigibleJavascriptCodeRunner runner, String sourceFilePath, Path absoluteSourcePath) {
+    	Source source = runner.prepareSource(absoluteSourcePath);
+    	runner.getGraalJSInterceptor().onBeforeRun(sourceFilePath, absoluteSourcePath, source, runner.getCodeRunner().getGraalContext());
+    	Value value = runner.run(source);
+    	runner.getGraalJSInterceptor().onAfterRun(sourceFilePath, absoluteSourcePath, source, runner.getCodeRunner().getGraalContext(), value);
+    	return transformValue(value);
+    }
+
+    /**
+     * Checks if the execution can reuse a pooled context. Only ECMAScript modules are executed in pooled contexts,
+     * because re-evaluating a classic script in the same context collides with its own top-level let/const declarations.
+     * Debug executions always get a dedicated context attached to the debuggable engine.
+     *
+     * @param projectFilePath the project file path
+     * @param debug the debug
+     * @return true, if is poolable
+     */
+    private static boolean isPoolable(String projectFilePath, boolean debug) {
+    	return CODE_RUNNER_POOL.isEnabled() && !debug && projectFilePath.endsWith(".mjs");
+    }
+
 	private Object transformValue(Value value) {
 		if (value.isBoolean()) {
 			return value.asBoolean();
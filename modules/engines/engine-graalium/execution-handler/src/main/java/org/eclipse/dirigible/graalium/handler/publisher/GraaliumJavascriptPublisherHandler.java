@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.handler.publisher;
+
+import java.nio.file.Path;
+
+import org.eclipse.dirigible.commons.config.StaticObjects;
+import org.eclipse.dirigible.core.publisher.api.handlers.MetadataPublisherHandler;
+import org.eclipse.dirigible.core.scheduler.api.SchedulerException;
+import org.eclipse.dirigible.graalium.core.graal.GraalJSSourceCache;
+import org.eclipse.dirigible.graalium.core.pool.DirigibleJavascriptCodeRunnerPool;
+import org.eclipse.dirigible.repository.api.IRepository;
+import org.eclipse.dirigible.repository.api.IRepositoryStructure;
+
+/**
+ * Drops the pooled Graalium contexts of a project and the cached sources under the changed location
+ * when it is published or unpublished, so that the modules already loaded in them are not reused.
+ */
+public class GraaliumJavascriptPublisherHandler extends MetadataPublisherHandler {
+
+	/**
+	 * After publish.
+	 *
+	 * @param workspaceLocation the workspace location
+	 * @param registryLocation the registry location
+	 * @throws SchedulerException the scheduler exception
+	 */
+	@Override
+	public void afterPublish(String workspaceLocation, String registryLocation) throws SchedulerException {
+		invalidate(registryLocation);
+	}
+
+	/**
+	 * After unpublish.
+	 *
+	 * @param location the location
+	 * @throws SchedulerException the scheduler exception
+	 */
+	@Override
+	public void afterUnpublish(String location) throws SchedulerException {
+		invalidate(location);
+	}
+
+	/**
+	 * Invalidate.
+	 *
+	 * @param registryLocation the registry location
+	 */
+	private void invalidate(String registryLocation) {
+		IRepository repository = (IRepository) StaticObjects.get(StaticObjects.REPOSITORY);
+		if (repository != null) {
+			GraalJSSourceCache.get().invalidate(Path.of(repository.getInternalResourcePath(registryLocation)));
+		} else {
+			GraalJSSourceCache.get().invalidateAll();
+		}
+
+		String projectName = getProjectName(registryLocation);
+		if (projectName.isEmpty()) {
+			DirigibleJavascriptCodeRunnerPool.get().invalidateAll();
+		} else {
+			DirigibleJavascriptCodeRunnerPool.get().invalidate(projectName);
+		}
+	}
+
+	/**
+	 * Gets the project name.
+	 *
+	 * @param registryLocation the registry location
+	 * @return the project name, or an empty string if the location is the registry root
+	 */
+	static String getProjectName(String registryLocation) {
+		String path = registryLocation.startsWith(REGISTRY_PUBLIC) ? registryLocation.substring(REGISTRY_PUBLIC.length()) : registryLocation;
+		while (path.startsWith(IRepositoryStructure.SEPARATOR)) {
+			path = path.substring(1);
+		}
+		int index = path.indexOf(IRepositoryStructure.SEPARATOR);
+		return index < 0 ? path : path.substring(0, index);
+	}
+
+}
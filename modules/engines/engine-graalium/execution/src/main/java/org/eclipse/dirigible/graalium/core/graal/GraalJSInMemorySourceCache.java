@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.graal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.eclipse.dirigible.graalium.core.graal.configuration.Configuration;
+import org.eclipse.dirigible.graalium.core.javascript.JavascriptModuleType;
+import org.graalvm.polyglot.Source;
+
+/**
+ * Content addressed cache of the sources of generated code, which is evaluated without being stored in the repository.
+ * The sources are named after the SHA-256 digest of the code and keyed by their name and the module type they are built
+ * as, since the same code is a different source as a script and as a module.
+ */
+public class GraalJSInMemorySourceCache {
+
+    /** The Constant DIRIGIBLE_GRAALIUM_IN_MEMORY_SOURCE_CACHE_SIZE. */
+    public static final String DIRIGIBLE_GRAALIUM_IN_MEMORY_SOURCE_CACHE_SIZE = "DIRIGIBLE_GRAALIUM_IN_MEMORY_SOURCE_CACHE_SIZE";
+
+    /** The Constant GENERATED_SOURCES_FOLDER. */
+    public static final String GENERATED_SOURCES_FOLDER = "__generated__";
+
+    /** The Constant DEFAULT_IN_MEMORY_SOURCE_CACHE_SIZE. */
+    private static final String DEFAULT_IN_MEMORY_SOURCE_CACHE_SIZE = "500";
+
+    /** The Constant HEX_DIGITS. */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /** The Constant INSTANCE. */
+    private static final GraalJSInMemorySourceCache INSTANCE = new GraalJSInMemorySourceCache(
+            Integer.parseInt(Configuration.get(DIRIGIBLE_GRAALIUM_IN_MEMORY_SOURCE_CACHE_SIZE, DEFAULT_IN_MEMORY_SOURCE_CACHE_SIZE)));
+
+    /** The sources by module type and name, in access order. */
+    private final Map<String, Source> sources;
+
+    /**
+     * Gets the cache instance.
+     *
+     * @return the graal JS in memory source cache
+     */
+    public static GraalJSInMemorySourceCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Instantiates a new graal JS in memory source cache.
+     *
+     * @param maxSize the max size
+     */
+    GraalJSInMemorySourceCache(int maxSize) {
+        this.sources = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Source> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the source of the given code, building it with the given function from the code and the source name if it is not cached.
+     *
+     * @param code the code
+     * @param moduleType the module type the source is built as
+     * @param sourceBuilder the source builder, accepting the code and the source name
+     * @return the source
+     */
+    public Source getOrCreate(String code, JavascriptModuleType moduleType, BiFunction<String, String, Source> sourceBuilder) {
+        String sourceName = toSourceName(digest(code), moduleType);
+        String key = moduleType + ":" + sourceName;
+        synchronized (sources) {
+            Source source = sources.get(key);
+            if (source != null) {
+                return source;
+            }
+        }
+        Source source = sourceBuilder.apply(code, sourceName);
+        synchronized (sources) {
+            sources.putIfAbsent(key, source);
+        }
+        return source;
+    }
+
+    /**
+     * Gets the number of the cached sources.
+     *
+     * @return the size
+     */
+    public int size() {
+        synchronized (sources) {
+            return sources.size();
+        }
+    }
+
+    /**
+     * Gets the name of the source of the given code, relative to the registry.
+     *
+     * @param code the code
+     * @return the source name
+     */
+    public static String getSourceName(String code) {
+        return toSourceName(digest(code), JavascriptModuleType.BASED_ON_FILE_EXTENSION);
+    }
+
+    /**
+     * To source name, with the extension of a module for an ECMAScript module.
+     *
+     * @param digest the digest
+     * @param moduleType the module type
+     * @return the source name
+     */
+    private static String toSourceName(String digest, JavascriptModuleType moduleType) {
+        return GENERATED_SOURCES_FOLDER + "/" + digest + (JavascriptModuleType.ESM.equals(moduleType) ? ".mjs" : ".js");
+    }
+
+    /**
+     * Computes the SHA-256 digest of the code.
+     *
+     * @param code the code
+     * @return the hex encoded digest
+     */
+    static String digest(String code) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(code.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.graal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.eclipse.dirigible.graalium.core.graal.configuration.Configuration;
+import org.eclipse.dirigible.graalium.core.javascript.JavascriptModuleType;
+import org.graalvm.polyglot.Source;
+
+/**
+ * Cache of the file based sources, keyed by the file path and validated against the file last modified time and size.
+ * <p>
+ * The cached sources are built with caching enabled, so as long as they are reachable from here,
+ * the shared engine keeps their parsed and compiled code for all the contexts created on it.
+ */
+public class GraalJSSourceCache {
+
+    /** The Constant DIRIGIBLE_GRAALIUM_SOURCE_CACHE_SIZE. */
+    public static final String DIRIGIBLE_GRAALIUM_SOURCE_CACHE_SIZE = "DIRIGIBLE_GRAALIUM_SOURCE_CACHE_SIZE";
+
+    /** The Constant DEFAULT_SOURCE_CACHE_SIZE. */
+    private static final String DEFAULT_SOURCE_CACHE_SIZE = "1000";
+
+    /** The Constant INSTANCE. */
+    private static final GraalJSSourceCache INSTANCE = new GraalJSSourceCache(
+            Integer.parseInt(Configuration.get(DIRIGIBLE_GRAALIUM_SOURCE_CACHE_SIZE, DEFAULT_SOURCE_CACHE_SIZE)));
+
+    /** The entries, in access order. */
+    private final Map<Key, Entry> entries;
+
+    /**
+     * Gets the cache instance.
+     *
+     * @return the graal JS source cache
+     */
+    public static GraalJSSourceCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Instantiates a new graal JS source cache.
+     *
+     * @param maxSize the max size
+     */
+    GraalJSSourceCache(int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the source of the given file, building it with the given function if the file is not cached or has been changed since.
+     *
+     * @param sourceFilePath the source file path
+     * @param jsModuleType the js module type
+     * @param sourceBuilder the source builder
+     * @return the source
+     */
+    public Source getOrCreate(Path sourceFilePath, JavascriptModuleType jsModuleType, Function<Path, Source> sourceBuilder) {
+        Key key = new Key(sourceFilePath.toAbsolutePath().normalize(), jsModuleType);
+        BasicFileAttributes attributes = readAttributes(sourceFilePath);
+        if (attributes == null) {
+            invalidate(key);
+            return sourceBuilder.apply(sourceFilePath);
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.lastModified == lastModified && entry.size == size) {
+                return entry.source;
+            }
+        }
+        Source source = sourceBuilder.apply(sourceFilePath);
+        synchronized (entries) {
+            entries.put(key, new Entry(source, lastModified, size));
+        }
+        return source;
+    }
+
+    /**
+     * Invalidates the sources of all the files under the given path.
+     *
+     * @param path the file or folder path
+     */
+    public void invalidate(Path path) {
+        Path normalized = path.toAbsolutePath().normalize();
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.path.startsWith(normalized));
+        }
+    }
+
+    /**
+     * Invalidates all the sources.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Gets the number of the cached sources.
+     *
+     * @return the size
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Invalidate.
+     *
+     * @param key the key
+     */
+    private void invalidate(Key key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Read attributes.
+     *
+     * @param sourceFilePath the source file path
+     * @return the basic file attributes or null if they cannot be read
+     */
+    private static BasicFileAttributes readAttributes(Path sourceFilePath) {
+        try {
+            return Files.readAttributes(sourceFilePath, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The cache key.
+     */
+    private static class Key {
+
+        /** The path. */
+        private final Path path;
+
+        /** The js module type. */
+        private final JavascriptModuleType jsModuleType;
+
+        /**
+         * Instantiates a new key.
+         *
+         * @param path the path
+         * @param jsModuleType the js module type
+         */
+        Key(Path path, JavascriptModuleType jsModuleType) {
+            this.path = path;
+            this.jsModuleType = jsModuleType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return path.equals(other.path) && jsModuleType == other.jsModuleType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, jsModuleType);
+        }
+    }
+
+    /**
+     * The cache entry.
+     */
+    private static class Entry {
+
+        /** The source. */
+        private final Source source;
+
+        /** The last modified time of the file the source has been built from. */
+        private final long lastModified;
+
+        /** The size of the file the source has been built from. */
+        private final long size;
+
+        /**
+         * Instantiates a new entry.
+         *
+         * @param source the source
+         * @param lastModified the last modified
+         * @param size the size
+         */
+        Entry(Source source, long lastModified, long size) {
+            this.source = source;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
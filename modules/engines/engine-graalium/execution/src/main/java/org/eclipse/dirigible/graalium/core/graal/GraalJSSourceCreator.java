@@ -44,8 +44,29 @@ public class GraalJSSourceCreator {
      * @return the source
      */
     public Source createSource(String source, String fileName) {
+        return createSource(source, fileName, jsModuleType);
+    }
+
+    /**
+     * Creates the source as the given module type.
+     *
+     * @param source the source
+     * @param fileName the file name
+     * @param moduleType the module type
+     * @return the source
+     */
+    public Source createSource(String source, String fileName, JavascriptModuleType moduleType) {
         Source.Builder sourceBuilder = Source.newBuilder("js", source, fileName);
-        return createSource(sourceBuilder);
+        return createSource(sourceBuilder, moduleType);
+    }
+
+    /**
+     * Gets the module type.
+     *
+     * @return the module type
+     */
+    public JavascriptModuleType getJSModuleType() {
+        return jsModuleType;
     }
 
     /**
@@ -67,6 +88,31 @@ public class GraalJSSourceCreator {
      * @return the source
      */
     public Source createSource(Path sourceFilePath) {
+        return GraalJSSourceCache.get().getOrCreate(sourceFilePath, jsModuleType, this::createFileSource);
+    }
+
+    /**
+     * Creates the source of an ES module with the given content and path, which does not have to exist. The imports of the
+     * module are resolved relatively to the path.
+     *
+     * @param source the source
+     * @param sourceFilePath the source file path
+     * @return the source
+     */
+    public Source createModuleSource(CharSequence source, Path sourceFilePath) {
+        Source.Builder sourceBuilder = Source.newBuilder("js", sourceFilePath.toFile())
+                .content(source)
+                .mimeType("application/javascript+module");
+        return createSource(sourceBuilder);
+    }
+
+    /**
+     * Creates the source, bypassing the sources cache.
+     *
+     * @param sourceFilePath the source file path
+     * @return the source
+     */
+    private Source createFileSource(Path sourceFilePath) {
         File codeFile = sourceFilePath.toFile();
         Source.Builder sourceBuilder = Source.newBuilder("js", codeFile);
         return createSource(sourceBuilder);
@@ -79,13 +125,24 @@ public class GraalJSSourceCreator {
      * @return the source
      */
     private Source createSource(Source.Builder sourceBuilder) {
+        return createSource(sourceBuilder, jsModuleType);
+    }
+
+    /**
+     * Creates the source as the given module type.
+     *
+     * @param sourceBuilder the source builder
+     * @param moduleType the module type
+     * @return the source
+     */
+    private Source createSource(Source.Builder sourceBuilder, JavascriptModuleType moduleType) {
         try {
-            if (JavascriptModuleType.ESM.equals(jsModuleType)) {
+            if (JavascriptModuleType.ESM.equals(moduleType)) {
                 sourceBuilder.mimeType("application/javascript+module");
             }
 
             return sourceBuilder
-                    .cached(false)
+                    .cached(true)
                     .encoding(StandardCharsets.UTF_8)
                     .build();
         } catch (IOException e) {
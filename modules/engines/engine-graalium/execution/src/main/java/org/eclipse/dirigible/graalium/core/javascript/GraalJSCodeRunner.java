@@ -16,13 +16,16 @@ import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.eclipse.dirigible.graalium.core.graal.GraalJSContextCreator;
 import org.eclipse.dirigible.graalium.core.graal.GraalJSEngineCreator;
+import org.eclipse.dirigible.graalium.core.graal.GraalJSInMemorySourceCache;
 import org.eclipse.dirigible.graalium.core.graal.GraalJSInterceptor;
 import org.eclipse.dirigible.graalium.core.graal.GraalJSSourceCreator;
 import org.eclipse.dirigible.graalium.core.graal.GraalJSTypeMap;
@@ -66,6 +69,50 @@ public class GraalJSCodeRunner implements JavascriptCodeRunner<Source, Value> {
      */
     private final GraalJSInterceptor graalJSInterceptor;
 
+    /**
+     * The Constant MODULE_MIME_TYPE.
+     */
+    private static final String MODULE_MIME_TYPE = "application/javascript+module";
+
+    /**
+     * The Constant GLOBALS_SNAPSHOT_SOURCE, returning a function, which restores the global object as it was when the snapshot was taken.
+     */
+    private static final Source GLOBALS_SNAPSHOT_SOURCE = Source.newBuilder("js",
+            "(() => {\n"
+            + "  const baseline = new Map(Object.getOwnPropertyNames(globalThis).map(name => [name, Object.getOwnPropertyDescriptor(globalThis, name)]));\n"
+            + "  return () => {\n"
+            + "    for (const name of Object.getOwnPropertyNames(globalThis)) {\n"
+            + "      if (!baseline.has(name)) {\n"
+            + "        delete globalThis[name];\n"
+            + "      }\n"
+            + "    }\n"
+            + "    for (const [name, descriptor] of baseline) {\n"
+            + "      if (descriptor.configurable) {\n"
+            + "        Object.defineProperty(globalThis, name, descriptor);\n"
+            + "      } else if (descriptor.writable) {\n"
+            + "        globalThis[name] = descriptor.value;\n"
+            + "      }\n"
+            + "    }\n"
+            + "  };\n"
+            + "})()", "/polyfills/globals-snapshot.js")
+            .internal(true)
+            .buildLiteral();
+
+    /**
+     * The function restoring the global object as it was after the context creation.
+     */
+    private final Value globalsReset;
+
+    /**
+     * The number of evaluations of each ES module in this context, which keeps every evaluated module by its path.
+     */
+    private final Map<Path, Integer> moduleEvaluations = new HashMap<>();
+
+    /**
+     * The number of ES modules evaluated by the executions in this context, each of them kept until the context is closed.
+     */
+    private int evaluatedModules;
+
     /**
      * Instantiates a new graal JS code runner.
      *
@@ -98,6 +145,7 @@ public class GraalJSCodeRunner implements JavascriptCodeRunner<Source, Value> {
 
         registerGlobalObjects(graalContext, builder.globalObjects);
         registerPolyfills(graalContext, builder.jsPolyfills);
+        globalsReset = graalContext.eval(GLOBALS_SNAPSHOT_SOURCE);
     }
 
     /**
@@ -162,7 +210,50 @@ public class GraalJSCodeRunner implements JavascriptCodeRunner<Source, Value> {
     @Override
     public Source prepareSource(Path codeFilePath) {
         Path relativeCodeFilePath = currentWorkingDirectoryPath.resolve(codeFilePath);
-        return graalJSSourceCreator.createSource(relativeCodeFilePath);
+        Source source = graalJSSourceCreator.createSource(relativeCodeFilePath);
+        if (MODULE_MIME_TYPE.equals(source.getMimeType())) {
+            int evaluations = moduleEvaluations.merge(relativeCodeFilePath, 1, Integer::sum);
+            evaluatedModules++;
+            if (evaluations > 1) {
+                // a module is evaluated once per context, so a repeated execution gets a path of its own next to the file,
+                // which is the same in all the contexts, so that they share its compiled code
+                Path evaluationPath = relativeCodeFilePath.resolveSibling(relativeCodeFilePath.getFileName() + ".run-" + evaluations + ".mjs");
+                source = graalJSSourceCreator.createModuleSource(source.getCharacters(), evaluationPath);
+            }
+        }
+        return source;
+    }
+
+    /**
+     * Gets the number of ES modules evaluated by the executions in this context. As the context keeps all of them, a
+     * context running the same modules repeatedly should be closed once this number is too high.
+     *
+     * @return the evaluated modules
+     */
+    public int getEvaluatedModules() {
+        return evaluatedModules;
+    }
+
+    /**
+     * Prepares the source of generated code, which is evaluated without being stored on the file system.
+     *
+     * @param code the code
+     * @return the source
+     */
+    public Source prepareInMemorySource(String code) {
+        return prepareInMemorySource(code, graalJSSourceCreator.getJSModuleType());
+    }
+
+    /**
+     * Prepares the source of generated code as the given module type, which is evaluated without being stored on the file system.
+     *
+     * @param code the code
+     * @param moduleType the module type
+     * @return the source
+     */
+    public Source prepareInMemorySource(String code, JavascriptModuleType moduleType) {
+        return GraalJSInMemorySourceCache.get().getOrCreate(code, moduleType,
+                (source, sourceName) -> graalJSSourceCreator.createSource(source, sourceName, moduleType));
     }
 
     /**
@@ -205,6 +296,14 @@ public class GraalJSCodeRunner implements JavascriptCodeRunner<Source, Value> {
         registerGlobalObjects(graalContext, Collections.singletonList(jsGlobalObject));
     }
 
+    /**
+     * Resets the global object for reuse of the context by another execution, removing the properties added since the
+     * context creation and restoring the changed ones. The state of the imported modules is kept.
+     */
+    public void resetGlobals() {
+        globalsReset.executeVoid();
+    }
+
     /**
      * Parses the.
      *
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.graal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.dirigible.graalium.core.javascript.JavascriptModuleType;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+/**
+ * The Class GraalJSInMemorySourceCacheTest.
+ */
+public class GraalJSInMemorySourceCacheTest {
+
+	/** The source creator. */
+	private final GraalJSSourceCreator sourceCreator = new GraalJSSourceCreator(JavascriptModuleType.BASED_ON_FILE_EXTENSION);
+
+	/**
+	 * Same code same source.
+	 */
+	@Test
+	public void sameCodeSameSource() {
+		GraalJSInMemorySourceCache cache = new GraalJSInMemorySourceCache(10);
+		Source first = cache.getOrCreate("1 + 1", JavascriptModuleType.BASED_ON_FILE_EXTENSION, sourceCreator::createSource);
+		Source second = cache.getOrCreate("1 + 1", JavascriptModuleType.BASED_ON_FILE_EXTENSION, sourceCreator::createSource);
+		assertSame(first, second);
+		assertEquals(1, cache.size());
+		assertEquals("__generated__/" + GraalJSInMemorySourceCache.digest("1 + 1") + ".js", first.getName());
+		assertEquals("1 + 1", first.getCharacters().toString());
+	}
+
+	/**
+	 * Different code different source.
+	 */
+	@Test
+	public void differentCodeDifferentSource() {
+		GraalJSInMemorySourceCache cache = new GraalJSInMemorySourceCache(10);
+		Source first = cache.getOrCreate("1 + 1", JavascriptModuleType.BASED_ON_FILE_EXTENSION, sourceCreator::createSource);
+		Source second = cache.getOrCreate("1 + 2", JavascriptModuleType.BASED_ON_FILE_EXTENSION, sourceCreator::createSource);
+		assertNotSame(first, second);
+		assertEquals(2, cache.size());
+	}
+
+	/**
+	 * The same code is a different source as a script and as a module.
+	 */
+	@Test
+	public void sameCodeDifferentModuleType() {
+		GraalJSInMemorySourceCache cache = new GraalJSInMemorySourceCache(10);
+		Source script = cache.getOrCreate("export const x = 1;", JavascriptModuleType.CJS,
+				(code, name) -> sourceCreator.createSource(code, name, JavascriptModuleType.CJS));
+		Source module = cache.getOrCreate("export const x = 1;", JavascriptModuleType.ESM,
+				(code, name) -> sourceCreator.createSource(code, name, JavascriptModuleType.ESM));
+		assertNotSame(script, module);
+		assertEquals(2, cache.size());
+		assertNull(script.getMimeType());
+		assertEquals("application/javascript+module", module.getMimeType());
+		assertEquals("__generated__/" + GraalJSInMemorySourceCache.digest("export const x = 1;") + ".mjs", module.getName());
+		assertSame(module, cache.getOrCreate("export const x = 1;", JavascriptModuleType.ESM,
+				(code, name) -> sourceCreator.createSource(code, name, JavascriptModuleType.ESM)));
+	}
+
+	/**
+	 * Bounded size.
+	 */
+	@Test
+	public void boundedSize() {
+		GraalJSInMemorySourceCache cache = new GraalJSInMemorySourceCache(3);
+		for (int i = 0; i < 10; i++) {
+			cache.getOrCreate("var x = " + i + ";", JavascriptModuleType.BASED_ON_FILE_EXTENSION, sourceCreator::createSource);
+		}
+		assertEquals(3, cache.size());
+	}
+
+	/**
+	 * Digest.
+	 */
+	@Test
+	public void digest() {
+		assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", GraalJSInMemorySourceCache.digest("abc"));
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.graal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dirigible.graalium.core.javascript.JavascriptModuleType;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Evaluates the same module repeatedly in new contexts on a shared engine,
+ * with uncached sources built on every call and with sources from the {@link GraalJSSourceCache}.
+ * <p>
+ * Not part of the test suite, run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraalJSSourceCacheBenchmark {
+
+    /** The Constant FUNCTIONS_COUNT. */
+    private static final int FUNCTIONS_COUNT = 300;
+
+    /** The engine. */
+    private Engine engine;
+
+    /** The module file. */
+    private Path moduleFile;
+
+    /** The source creator. */
+    private final GraalJSSourceCreator sourceCreator = new GraalJSSourceCreator(JavascriptModuleType.BASED_ON_FILE_EXTENSION);
+
+    /**
+     * Sets the up.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        engine = Engine.newBuilder().option("engine.WarnInterpreterOnly", "false").build();
+        moduleFile = Files.createTempFile("graalium-benchmark", ".js");
+        StringBuilder code = new StringBuilder();
+        for (int i = 0; i < FUNCTIONS_COUNT; i++) {
+            code.append("function f").append(i).append("(a, b) { let s = 0; for (let j = 0; j < a; j++) { s += j * b; } return { v: s, n: 'f")
+                .append(i).append("' }; }\n");
+        }
+        code.append("f0(10, 2).v;\n");
+        Files.writeString(moduleFile, code, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tear down.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        engine.close();
+        Files.deleteIfExists(moduleFile);
+    }
+
+    /**
+     * Uncached sources, as built before the sources cache.
+     *
+     * @return the result
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public int uncachedSource() throws IOException {
+        Source source = Source.newBuilder("js", moduleFile.toFile()).cached(false).encoding(StandardCharsets.UTF_8).build();
+        return eval(source);
+    }
+
+    /**
+     * Cached sources.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public int cachedSource() {
+        return eval(sourceCreator.createSource(moduleFile));
+    }
+
+    /**
+     * Eval.
+     *
+     * @param source the source
+     * @return the result
+     */
+    private int eval(Source source) {
+        try (Context context = Context.newBuilder("js").engine(engine).build()) {
+            return context.eval(source).asInt();
+        }
+    }
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     * @throws RunnerException the runner exception
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GraalJSSourceCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
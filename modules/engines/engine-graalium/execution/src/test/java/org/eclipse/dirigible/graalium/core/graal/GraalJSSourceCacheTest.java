@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.graal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.dirigible.graalium.core.javascript.JavascriptModuleType;
+import org.graalvm.polyglot.Source;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * The Class GraalJSSourceCacheTest.
+ */
+public class GraalJSSourceCacheTest {
+
+	/** The folder. */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/** The number of the built sources. */
+	private final AtomicInteger built = new AtomicInteger();
+
+	/** The source builder. */
+	private final Function<Path, Source> sourceBuilder = path -> {
+		built.incrementAndGet();
+		try {
+			return Source.newBuilder("js", path.toFile()).build();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	};
+
+	/**
+	 * Unchanged file same source.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void unchangedFileSameSource() throws Exception {
+		GraalJSSourceCache cache = new GraalJSSourceCache(10);
+		Path file = write("hit.js", "1 + 1");
+		Source first = cache.getOrCreate(file, JavascriptModuleType.CJS, sourceBuilder);
+		Source second = cache.getOrCreate(file, JavascriptModuleType.CJS, sourceBuilder);
+		assertSame(first, second);
+		assertEquals(1, built.get());
+		assertEquals(1, cache.size());
+	}
+
+	/**
+	 * Different file or module type different source.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void differentFileOrModuleTypeDifferentSource() throws Exception {
+		GraalJSSourceCache cache = new GraalJSSourceCache(10);
+		Path first = write("first.js", "1 + 1");
+		Path second = write("second.js", "1 + 1");
+		cache.getOrCreate(first, JavascriptModuleType.CJS, sourceBuilder);
+		cache.getOrCreate(second, JavascriptModuleType.CJS, sourceBuilder);
+		cache.getOrCreate(first, JavascriptModuleType.ESM, sourceBuilder);
+		assertEquals(3, built.get());
+		assertEquals(3, cache.size());
+	}
+
+	/**
+	 * Changed file new source.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void changedFileNewSource() throws Exception {
+		GraalJSSourceCache cache = new GraalJSSourceCache(10);
+		Path file = write("changed.js", "1 + 1");
+		Source first = cache.getOrCreate(file, JavascriptModuleType.CJS, sourceBuilder);
+
+		// the same size, but a different last modified time
+		write("changed.js", "1 + 2");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10000));
+		Source second = cache.getOrCreate(file, JavascriptModuleType.CJS, sourceBuilder);
+		assertNotSame(first, second);
+		assertEquals("1 + 2", second.getCharacters().toString());
+
+		// the same last modified time, but a different size
+		FileTime lastModified = Files.getLastModifiedTime(file);
+		write("changed.js", "1 + 22");
+		Files.setLastModifiedTime(file, lastModified);
+		Source third = cache.getOrCreate(file, JavascriptModuleType.CJS, sourceBuilder);
+		assertNotSame(second, third);
+		assertEquals("1 + 22", third.getCharacters().toString());
+
+		assertEquals(3, built.get());
+		assertEquals(1, cache.size());
+	}
+
+	/**
+	 * Deleted file not cached.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void deletedFileNotCached() throws Exception {
+		GraalJSSourceCache cache = new GraalJSSourceCache(10);
+		Path file = write("deleted.js", "1 + 1");
+		cache.getOrCreate(file, JavascriptModuleType.CJS, sourceBuilder);
+		Files.delete(file);
+		Function<Path, Source> missingBuilder = path -> Source.create("js", "");
+		cache.getOrCreate(file, JavascriptModuleType.CJS, missingBuilder);
+		assertEquals(0, cache.size());
+	}
+
+	/**
+	 * Invalidated folder new sources.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void invalidatedFolderNewSources() throws Exception {
+		GraalJSSourceCache cache = new GraalJSSourceCache(10);
+		Path inside = write("project/inside.js", "1 + 1");
+		Path outside = write("outside.js", "1 + 1");
+		cache.getOrCreate(inside, JavascriptModuleType.CJS, sourceBuilder);
+		cache.getOrCreate(outside, JavascriptModuleType.CJS, sourceBuilder);
+
+		cache.invalidate(inside.getParent());
+		assertEquals(1, cache.size());
+		cache.getOrCreate(inside, JavascriptModuleType.CJS, sourceBuilder);
+		cache.getOrCreate(outside, JavascriptModuleType.CJS, sourceBuilder);
+
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+		assertEquals(3, built.get());
+	}
+
+	/**
+	 * Bounded size.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void boundedSize() throws Exception {
+		GraalJSSourceCache cache = new GraalJSSourceCache(3);
+		for (int i = 0; i < 10; i++) {
+			cache.getOrCreate(write("bounded" + i + ".js", "var x = " + i + ";"), JavascriptModuleType.CJS, sourceBuilder);
+		}
+		assertEquals(3, cache.size());
+	}
+
+	/**
+	 * Writes a file in the temporary folder.
+	 *
+	 * @param name the name
+	 * @param content the content
+	 * @return the path
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private Path write(String name, String content) throws IOException {
+		Path path = folder.getRoot().toPath().resolve(name);
+		Files.createDirectories(path.getParent());
+		return Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.graalium.core.javascript;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.graalvm.polyglot.Value;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * The Class GraalJSCodeRunnerTest.
+ */
+public class GraalJSCodeRunnerTest {
+
+	/** The folder. */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * A module executed repeatedly in the same context is evaluated again and does not see the globals of the previous execution.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void repeatedModuleExecution() throws Exception {
+		Path directory = folder.getRoot().toPath();
+		Path module = directory.resolve("counter.mjs");
+		Files.writeString(module, "import { value } from './dependency.mjs';\n"
+				+ "globalThis.previous = globalThis.secret;\n"
+				+ "globalThis.secret = value;\n"
+				+ "globalThis.runs = (globalThis.runs || 0) + 1;\n"
+				+ "globalThis.console = undefined;\n");
+		Files.writeString(directory.resolve("dependency.mjs"), "export const value = 'secret';\n");
+
+		try (GraalJSCodeRunner runner = GraalJSCodeRunner.newBuilder(directory, directory.resolve("caches")).build()) {
+			Value bindings = runner.getGraalContext().getBindings("js");
+			for (int i = 0; i < 3; i++) {
+				runner.run(runner.prepareSource(module));
+				assertEquals(i + 1, runner.getEvaluatedModules());
+				assertEquals(1, bindings.getMember("runs").asInt());
+				assertTrue(bindings.getMember("previous").isNull());
+				assertEquals("secret", bindings.getMember("secret").asString());
+
+				runner.resetGlobals();
+				assertFalse(bindings.hasMember("runs"));
+				assertFalse(bindings.hasMember("secret"));
+				assertFalse(bindings.getMember("console").isNull());
+			}
+		}
+	}
+
+}
@@ -164,6 +164,51 @@ public class MessagingSynchronizer extends AbstractSynchronizer {
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing Listeners from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { IMessagingCoreService.FILE_EXTENSION_LISTENER };
+	}
+
+	/**
+	 * Checks if is skipping unchanged.
+	 *
+	 * @return true, if is skipping unchanged
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#isSkippingUnchanged()
+	 */
+	@Override
+	protected boolean isSkippingUnchanged() {
+		return true;
+	}
+
+	/**
+	 * Synchronize unchanged resource.
+	 *
+	 * @param resource the resource
+	 * @throws SynchronizationException the synchronization exception
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#synchronizeUnchangedResource(org.eclipse.dirigible.
+	 * repository.api.IResource)
+	 */
+	@Override
+	protected void synchronizeUnchangedResource(IResource resource) throws SynchronizationException {
+		// the artefacts are up to date, only kept from the cleanup
+		LISTENERS_SYNCHRONIZED.add(getRegistryPath(resource));
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
@@ -303,14 +348,16 @@ public class MessagingSynchronizer extends AbstractSynchronizer {
 		try {
 			if (!messagingCoreService.existsListener(listenerDefinition.getLocation())) {
 				messagingCoreService.createListener(listenerDefinition.getLocation(), listenerDefinition.getName(), listenerDefinition.getType(),
-						listenerDefinition.getHandler(), listenerDefinition.getDescription());
+						listenerDefinition.getHandler(), listenerDefinition.getDescription(), listenerDefinition.getConcurrency(),
+						listenerDefinition.getOrderingKey());
 				if (logger.isInfoEnabled()) {logger.info("Synchronized a new Listener [{}] from location: {}", listenerDefinition.getName(), listenerDefinition.getLocation());}
 				applyArtefactState(listenerDefinition, LISTENER_ARTEFACT, ArtefactState.SUCCESSFUL_CREATE);
 			} else {
 				ListenerDefinition existing = messagingCoreService.getListener(listenerDefinition.getLocation());
 				if (!listenerDefinition.equals(existing)) {
 					messagingCoreService.updateListener(listenerDefinition.getLocation(), listenerDefinition.getName(), listenerDefinition.getType(),
-							listenerDefinition.getHandler(), listenerDefinition.getDescription());
+							listenerDefinition.getHandler(), listenerDefinition.getDescription(), listenerDefinition.getConcurrency(),
+							listenerDefinition.getOrderingKey());
 					if (logger.isInfoEnabled()) {logger.info("Synchronized a modified Listener [{}] from location: {}", listenerDefinition.getName(),
 							listenerDefinition.getLocation());}
 					applyArtefactState(listenerDefinition, LISTENER_ARTEFACT, ArtefactState.SUCCESSFUL_UPDATE);
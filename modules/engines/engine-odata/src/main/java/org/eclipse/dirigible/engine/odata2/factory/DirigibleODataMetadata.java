@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.engine.odata2.factory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.odata2.api.edm.EdmServiceMetadata;
+import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
+import org.apache.olingo.odata2.core.edm.provider.EdmServiceMetadataImplProv;
+import org.apache.olingo.odata2.core.edm.provider.EdmxProvider;
+import org.eclipse.dirigible.engine.odata2.api.IODataCoreService;
+import org.eclipse.dirigible.engine.odata2.api.ODataException;
+import org.eclipse.dirigible.engine.odata2.mapping.DirigibleEdmTableMappingProvider;
+
+/**
+ * The compiled OData model of a single deployment generation: the parsed EDM provider, the table mappings
+ * and the serialized $metadata document. Instances are immutable and shared by all the requests.
+ */
+public class DirigibleODataMetadata {
+
+    /** The generation. */
+    private final long generation;
+
+    /** The edm provider. */
+    private final EdmProvider edmProvider;
+
+    /** The table mapping provider. */
+    private final DirigibleEdmTableMappingProvider tableMappingProvider;
+
+    /** The serialized metadata. */
+    private final byte[] metadata;
+
+    /** The data service version. */
+    private final String dataServiceVersion;
+
+    /**
+     * Instantiates a new dirigible O data metadata.
+     *
+     * @param generation the generation
+     * @param edmProvider the edm provider
+     * @param tableMappingProvider the table mapping provider
+     * @param metadata the metadata
+     * @param dataServiceVersion the data service version
+     */
+    private DirigibleODataMetadata(long generation, EdmProvider edmProvider, DirigibleEdmTableMappingProvider tableMappingProvider,
+            byte[] metadata, String dataServiceVersion) {
+        this.generation = generation;
+        this.edmProvider = edmProvider;
+        this.tableMappingProvider = tableMappingProvider;
+        this.metadata = metadata;
+        this.dataServiceVersion = dataServiceVersion;
+    }
+
+    /**
+     * Loads the schemas, containers and mappings and compiles them.
+     *
+     * @param odataCoreService the odata core service
+     * @param generation the generation
+     * @return the dirigible O data metadata
+     * @throws ODataException the o data exception
+     */
+    static DirigibleODataMetadata load(IODataCoreService odataCoreService, long generation) throws ODataException {
+        try {
+            EdmxProvider edmProvider = new EdmxProvider();
+            try (InputStream in = odataCoreService.getMetadata()) {
+                edmProvider.parse(in, false);
+            }
+            DirigibleEdmTableMappingProvider tableMappingProvider = new DirigibleEdmTableMappingProvider();
+
+            EdmServiceMetadata serviceMetadata = new EdmServiceMetadataImplProv(edmProvider);
+            byte[] metadata;
+            try (InputStream in = serviceMetadata.getMetadata()) {
+                metadata = IOUtils.toByteArray(in);
+            }
+            return new DirigibleODataMetadata(generation, edmProvider, tableMappingProvider, metadata, serviceMetadata.getDataServiceVersion());
+        } catch (org.apache.olingo.odata2.api.exception.ODataException | IOException e) {
+            throw new ODataException(e);
+        }
+    }
+
+    /**
+     * Gets the generation.
+     *
+     * @return the generation
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets the edm provider.
+     *
+     * @return the edm provider
+     */
+    public EdmProvider getEdmProvider() {
+        return edmProvider;
+    }
+
+    /**
+     * Gets the table mapping provider.
+     *
+     * @return the table mapping provider
+     */
+    public DirigibleEdmTableMappingProvider getTableMappingProvider() {
+        return tableMappingProvider;
+    }
+
+    /**
+     * Gets the serialized $metadata document.
+     *
+     * @return the metadata stream
+     */
+    public InputStream getMetadata() {
+        return new ByteArrayInputStream(metadata);
+    }
+
+    /**
+     * Gets the data service version.
+     *
+     * @return the data service version
+     */
+    public String getDataServiceVersion() {
+        return dataServiceVersion;
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.engine.odata2.factory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.dirigible.engine.odata2.api.IODataCoreService;
+import org.eclipse.dirigible.engine.odata2.api.ODataException;
+import org.eclipse.dirigible.engine.odata2.service.ODataCoreService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the compiled OData model of the current deployment generation.
+ * <p>
+ * The model is built on first use and rebuilt only after the OData synchronizer or publisher changed
+ * the OData schemas, containers or mappings. The new model is built aside and swapped in atomically,
+ * so the requests in progress keep working with the model they started with.
+ */
+public class DirigibleODataMetadataCache {
+
+    /** The Constant logger. */
+    private static final Logger logger = LoggerFactory.getLogger(DirigibleODataMetadataCache.class);
+
+    /** The Constant INSTANCE. */
+    private static final DirigibleODataMetadataCache INSTANCE = new DirigibleODataMetadataCache(new ODataCoreService());
+
+    /** The odata core service. */
+    private final IODataCoreService odataCoreService;
+
+    /** The current generation, incremented on every change of the OData definitions. */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** The metadata of the current generation, if already built. */
+    private volatile DirigibleODataMetadata metadata;
+
+    /**
+     * Instantiates a new dirigible O data metadata cache.
+     *
+     * @param odataCoreService the odata core service
+     */
+    DirigibleODataMetadataCache(IODataCoreService odataCoreService) {
+        this.odataCoreService = odataCoreService;
+    }
+
+    /**
+     * Gets the metadata of the current generation, building it if necessary.
+     *
+     * @return the metadata
+     * @throws ODataException the o data exception
+     */
+    public static DirigibleODataMetadata get() throws ODataException {
+        return INSTANCE.getMetadata();
+    }
+
+    /**
+     * Starts a new generation after a change of the OData definitions and builds its metadata.
+     * If the build fails, it is retried on the next request.
+     */
+    public static void refresh() {
+        INSTANCE.refreshMetadata();
+    }
+
+    /**
+     * Starts a new generation after a change of the OData definitions. The metadata is built on the next request.
+     */
+    public static void invalidate() {
+        INSTANCE.invalidateMetadata();
+    }
+
+    /**
+     * Gets the metadata of the current generation, building it if necessary.
+     *
+     * @return the metadata
+     * @throws ODataException the o data exception
+     */
+    DirigibleODataMetadata getMetadata() throws ODataException {
+        DirigibleODataMetadata current = metadata;
+        if (current != null && current.getGeneration() == generation.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = metadata;
+            long currentGeneration = generation.get();
+            if (current == null || current.getGeneration() != currentGeneration) {
+                current = DirigibleODataMetadata.load(odataCoreService, currentGeneration);
+                metadata = current;
+                if (logger.isDebugEnabled()) {logger.debug("OData metadata generation [{}] has been built", currentGeneration);}
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Starts a new generation and builds its metadata.
+     */
+    void refreshMetadata() {
+        generation.incrementAndGet();
+        try {
+            getMetadata();
+        } catch (ODataException e) {
+            if (logger.isErrorEnabled()) {logger.error("Building the OData metadata failed, it will be retried on the next request", e);}
+        }
+    }
+
+    /**
+     * Starts a new generation.
+     */
+    void invalidateMetadata() {
+        generation.incrementAndGet();
+    }
+
+}
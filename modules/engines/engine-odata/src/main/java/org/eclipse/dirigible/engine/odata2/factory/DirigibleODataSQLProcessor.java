@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.engine.odata2.factory;
+
+import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
+import org.apache.olingo.odata2.api.commons.ODataHttpHeaders;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.uri.info.GetMetadataUriInfo;
+import org.eclipse.dirigible.engine.odata2.sql.api.OData2EventHandler;
+import org.eclipse.dirigible.engine.odata2.sql.processor.DefaultSQLProcessor;
+
+/**
+ * The SQL processor serving the $metadata document from the pre-serialized bytes of the compiled model.
+ */
+public class DirigibleODataSQLProcessor extends DefaultSQLProcessor {
+
+    /** The metadata. */
+    private final DirigibleODataMetadata metadata;
+
+    /**
+     * Instantiates a new dirigible O data SQL processor.
+     *
+     * @param metadata the metadata
+     * @param odata2EventHandler the odata 2 event handler
+     */
+    public DirigibleODataSQLProcessor(DirigibleODataMetadata metadata, OData2EventHandler odata2EventHandler) {
+        super(metadata.getTableMappingProvider(), odata2EventHandler);
+        this.metadata = metadata;
+    }
+
+    /**
+     * Read metadata.
+     *
+     * @param uriInfo the uri info
+     * @param contentType the content type
+     * @return the o data response
+     * @throws ODataException the o data exception
+     */
+    @Override
+    public ODataResponse readMetadata(GetMetadataUriInfo uriInfo, String contentType) throws ODataException {
+        return ODataResponse.status(HttpStatusCodes.OK)
+                .header(ODataHttpHeaders.DATASERVICEVERSION, metadata.getDataServiceVersion())
+                .entity(metadata.getMetadata())
+                .build();
+    }
+
+}
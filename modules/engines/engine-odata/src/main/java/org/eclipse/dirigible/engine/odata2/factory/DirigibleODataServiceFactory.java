@@ -20,7 +20,6 @@ import javax.sql.DataSource;
 import org.apache.olingo.odata2.api.ODataCallback;
 import org.apache.olingo.odata2.api.ODataService;
 import org.apache.olingo.odata2.api.ODataServiceFactory;
-import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
 import org.apache.olingo.odata2.api.ep.EntityProvider;
 import org.apache.olingo.odata2.api.exception.ODataApplicationException;
 import org.apache.olingo.odata2.api.exception.ODataException;
@@ -28,13 +27,9 @@ import org.apache.olingo.odata2.api.processor.ODataContext;
 import org.apache.olingo.odata2.api.processor.ODataErrorCallback;
 import org.apache.olingo.odata2.api.processor.ODataErrorContext;
 import org.apache.olingo.odata2.api.processor.ODataResponse;
-import org.apache.olingo.odata2.core.edm.provider.EdmxProvider;
 import org.eclipse.dirigible.api.v3.db.DatabaseFacade;
 import org.eclipse.dirigible.commons.api.context.InvalidStateException;
 import org.eclipse.dirigible.commons.config.Configuration;
-import org.eclipse.dirigible.engine.odata2.api.IODataCoreService;
-import org.eclipse.dirigible.engine.odata2.mapping.DirigibleEdmTableMappingProvider;
-import org.eclipse.dirigible.engine.odata2.service.ODataCoreService;
 import org.eclipse.dirigible.engine.odata2.sql.api.OData2EventHandler;
 import org.eclipse.dirigible.engine.odata2.sql.processor.DefaultSQLProcessor;
 import org.slf4j.Logger;
@@ -48,9 +43,6 @@ public class DirigibleODataServiceFactory extends ODataServiceFactory {
     /** The Constant logger. */
     private static final Logger logger = LoggerFactory.getLogger(DefaultSQLProcessor.class);
 
-    /** The odata core service. */
-    private static IODataCoreService odataCoreService = new ODataCoreService();
-
     /**
      * Creates a new DirigibleODataService object.
      *
@@ -61,16 +53,13 @@ public class DirigibleODataServiceFactory extends ODataServiceFactory {
     @Override
     public ODataService createService(ODataContext ctx) throws ODataException {
         try {
-            EdmProvider edmProvider = new EdmxProvider();
-            ((EdmxProvider) edmProvider).parse(odataCoreService.getMetadata(), false);
+            DirigibleODataMetadata metadata = DirigibleODataMetadataCache.get();
 
             setDefaultDataSource(ctx);
 
-            DirigibleEdmTableMappingProvider tableMappingProvider = new DirigibleEdmTableMappingProvider();
-
-            DefaultSQLProcessor singleProcessor = new DefaultSQLProcessor(tableMappingProvider, getEventHandler());
+            DefaultSQLProcessor singleProcessor = new DirigibleODataSQLProcessor(metadata, getEventHandler());
 
-            return createODataSingleProcessorService(edmProvider, singleProcessor);
+            return createODataSingleProcessorService(metadata.getEdmProvider(), singleProcessor);
         } catch (org.eclipse.dirigible.engine.odata2.api.ODataException e) {
         	if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
             throw new ODataException(e);
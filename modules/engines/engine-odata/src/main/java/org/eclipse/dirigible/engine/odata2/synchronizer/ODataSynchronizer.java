@@ -42,6 +42,7 @@ import org.eclipse.dirigible.engine.odata2.definition.ODataDefinition;
 import org.eclipse.dirigible.engine.odata2.definition.ODataHandlerDefinition;
 import org.eclipse.dirigible.engine.odata2.definition.ODataMappingDefinition;
 import org.eclipse.dirigible.engine.odata2.definition.ODataSchemaDefinition;
+import org.eclipse.dirigible.engine.odata2.factory.DirigibleODataMetadataCache;
 import org.eclipse.dirigible.engine.odata2.service.ODataCoreService;
 import org.eclipse.dirigible.engine.odata2.transformers.DefaultTableMetadataProvider;
 import org.eclipse.dirigible.engine.odata2.transformers.OData2ODataHTransformer;
@@ -103,6 +104,9 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 	/** The Constant ODATA_ARTEFACT. */
 	private static final ODataSynchronizationArtefactType ODATA_ARTEFACT = new ODataSynchronizationArtefactType();
 
+	/** Whether the OData schemas, containers or mappings have been changed during the current synchronization. */
+	private boolean metadataChanged;
+
 	/**
 	 * Synchronize.
 	 */
@@ -119,6 +123,7 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 					if (isSynchronizationEnabled()) {
 						if (isSynchronizerSuccessful("org.eclipse.dirigible.database.ds.synchronizer.DataStructuresSynchronizer")) {
 							startSynchronization(SYNCHRONIZER_NAME);
+							metadataChanged = false;
 							clearCache();
 							synchronizePredelivered();
 							synchronizeRegistry();
@@ -131,6 +136,9 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 							int mutableODataCount = ODATA_MODELS.size();
 							cleanup();
 							clearCache();
+							if (metadataChanged) {
+								DirigibleODataMetadataCache.refresh();
+							}
 							successfulSynchronization(SYNCHRONIZER_NAME, format("Immutable: [ Schemas: {0}, Mappings: {1}, OData: {2}], "
 									+ "Mutable: [Schemas: {3}, Mappings: {4}, OData: {5}]", 
 									immutableSchemasCount, immutableMappingsCount, immutableODataCount, mutableSchemasCount, mutableMappingsCount, mutableODataCount));
@@ -274,12 +282,14 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 		try {
 			if (!odataCoreService.existsSchema(schemaDefinition.getLocation())) {
 				odataCoreService.createSchema(schemaDefinition.getLocation(), schemaDefinition.getContent());
+				metadataChanged = true;
 				if (logger.isInfoEnabled()) {logger.info("Synchronized a new OData Schema from location: {}", schemaDefinition.getLocation());}
 				applyArtefactState(schemaDefinition, ODATA_ARTEFACT, ArtefactState.SUCCESSFUL_CREATE);
 			} else {
 				ODataSchemaDefinition existing = odataCoreService.getSchema(schemaDefinition.getLocation());
 				if (!schemaDefinition.equals(existing)) {
 					odataCoreService.updateSchema(schemaDefinition.getLocation(), schemaDefinition.getContent());
+					metadataChanged = true;
 					if (logger.isInfoEnabled()) {logger.info("Synchronized a modified OData Schema from location: {}", schemaDefinition.getLocation());}
 					applyArtefactState(schemaDefinition, ODATA_ARTEFACT, ArtefactState.SUCCESSFUL_UPDATE);
 				}
@@ -302,12 +312,14 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 		try {
 			if (!odataCoreService.existsMapping(mappingDefinition.getLocation())) {
 				odataCoreService.createMapping(mappingDefinition.getLocation(), mappingDefinition.getContent());
+				metadataChanged = true;
 				if (logger.isInfoEnabled()) {logger.info("Synchronized a new OData Mapping from location: {}", mappingDefinition.getLocation());}
 				applyArtefactState(mappingDefinition, ODATA_ARTEFACT, ArtefactState.SUCCESSFUL_CREATE);
 			} else {
 				ODataMappingDefinition existing = odataCoreService.getMapping(mappingDefinition.getLocation());
 				if (!mappingDefinition.equals(existing)) {
 					odataCoreService.updateMapping(mappingDefinition.getLocation(), mappingDefinition.getContent());
+					metadataChanged = true;
 					if (logger.isInfoEnabled()) {logger.info("Synchronized a modified OData Mapping from location: {}", mappingDefinition.getLocation());}
 					applyArtefactState(mappingDefinition, ODATA_ARTEFACT, ArtefactState.SUCCESSFUL_UPDATE);
 				}
@@ -370,6 +382,20 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing OData Schemas and Mappings from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { IODataCoreService.FILE_EXTENSION_ODATA_SCHEMA, IODataCoreService.FILE_EXTENSION_ODATA_MAPPING, IODataCoreService.FILE_EXTENSION_ODATA };
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
@@ -441,6 +467,7 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 					// Only if it really does not exists. The schema can come from different sources e.g. generated from another artifact
 					if (!repository.getResource(IRepositoryStructure.PATH_REGISTRY_PUBLIC + schemaDefinition.getLocation()).exists()) {
 						odataCoreService.removeSchema(schemaDefinition.getLocation());
+						metadataChanged = true;
 						if (logger.isWarnEnabled()) {logger.warn("Cleaned up OData Schema from location: {}", schemaDefinition.getLocation());}
 					}
 				}
@@ -454,6 +481,7 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 					location = location.indexOf("#") > 1 ? location.substring(0, location.indexOf("#")) : location;
 					if (!repository.getResource(IRepositoryStructure.PATH_REGISTRY_PUBLIC + location).exists()) {
 						odataCoreService.removeMapping(mappingDefinition.getLocation());
+						metadataChanged = true;
 						if (logger.isWarnEnabled()) {logger.warn("Cleaned up OData Mapping from location: {}", mappingDefinition.getLocation());}
 					}
 				}
@@ -463,6 +491,7 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 			for (ODataDefinition odataModel : odataModels) {
 				if (!ODATA_SYNCHRONIZED.contains(odataModel.getLocation())) {
 					odataCoreService.removeOData(odataModel.getLocation());
+					metadataChanged = true;
 					if (logger.isWarnEnabled()) {logger.warn("Cleaned up OData file with namespace [{}] from location: {}", odataModel.getNamespace(), odataModel.getLocation());}
 				}
 			}
@@ -501,6 +530,7 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 					odataCoreService.removeContainer(model.getLocation());
 					odataCoreService.removeMappings(model.getLocation());
 					odataCoreService.removeHandlers(model.getLocation());
+					metadataChanged = true;
 					applyArtefactState(model, ODATA_ARTEFACT, ArtefactState.SUCCESSFUL_DELETE);
 				} catch (Exception e) {
 					if (logger.isErrorEnabled()) {logger.error(e.getMessage(), e);}
@@ -518,6 +548,7 @@ public class ODataSynchronizer extends AbstractSynchronizer implements IOrderedS
 					String odatac = odataxc[1];
 					odataCoreService.createSchema(model.getLocation(), odatax.getBytes());
 					odataCoreService.createContainer(model.getLocation(), odatac.getBytes());
+					metadataChanged = true;
 					
 					String[] odatams = generateODataMs(model);
 					int i=1;
@@ -15,6 +15,7 @@ import org.eclipse.dirigible.core.publisher.api.handlers.MetadataPublisherHandle
 import org.eclipse.dirigible.core.scheduler.api.SchedulerException;
 import org.eclipse.dirigible.database.persistence.PersistenceManager;
 import org.eclipse.dirigible.engine.odata2.definition.*;
+import org.eclipse.dirigible.engine.odata2.factory.DirigibleODataMetadataCache;
 
 /**
  * The Class ODataSynchronizerPublisherHandler.
@@ -34,6 +35,7 @@ public class ODataSynchronizerPublisherHandler extends MetadataPublisherHandler
         removeMetadata(new PersistenceManager<ODataHandlerDefinition>(), "DIRIGIBLE_ODATA_HANDLER", "ODATAH_LOCATION", location, true);
         removeMetadata(new PersistenceManager<ODataMappingDefinition>(), "DIRIGIBLE_ODATA_MAPPING", "ODATAM_LOCATION", location, true);
         removeMetadata(new PersistenceManager<ODataSchemaDefinition>(), "DIRIGIBLE_ODATA_SCHEMA", "ODATAX_LOCATION", location, true);
+        DirigibleODataMetadataCache.invalidate();
     }
 
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.engine.odata2.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.dirigible.engine.odata2.api.IODataCoreService;
+import org.eclipse.dirigible.engine.odata2.api.ODataException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class DirigibleODataMetadataCacheTest.
+ */
+public class DirigibleODataMetadataCacheTest {
+
+	/** The Constant METADATA. */
+	private static final String METADATA = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+			+ "<edmx:Edmx Version=\"1.0\" xmlns:edmx=\"http://schemas.microsoft.com/ado/2007/06/edmx\">"
+			+ "<edmx:DataServices m:DataServiceVersion=\"1.0\" xmlns:m=\"http://schemas.microsoft.com/ado/2007/08/dataservices/metadata\">"
+			+ "<Schema Namespace=\"test\" xmlns=\"http://schemas.microsoft.com/ado/2008/09/edm\">"
+			+ "<EntityContainer Name=\"TestContainer\" m:IsDefaultEntityContainer=\"true\"/>"
+			+ "</Schema></edmx:DataServices></edmx:Edmx>";
+
+	/** The odata core service. */
+	private IODataCoreService odataCoreService;
+
+	/** The cache. */
+	private DirigibleODataMetadataCache cache;
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws ODataException the o data exception
+	 */
+	@Before
+	public void setUp() throws ODataException {
+		odataCoreService = mock(IODataCoreService.class);
+		when(odataCoreService.getMetadata()).thenAnswer(invocation -> new ByteArrayInputStream(METADATA.getBytes(StandardCharsets.UTF_8)));
+		cache = new DirigibleODataMetadataCache(odataCoreService);
+	}
+
+	/**
+	 * The metadata is built once and reused until invalidated.
+	 *
+	 * @throws ODataException the o data exception
+	 */
+	@Test
+	public void testInvalidate() throws ODataException {
+		DirigibleODataMetadata first = cache.getMetadata();
+		assertSame(first, cache.getMetadata());
+		verify(odataCoreService, times(1)).getMetadata();
+
+		cache.invalidateMetadata();
+		verify(odataCoreService, times(1)).getMetadata();
+		DirigibleODataMetadata second = cache.getMetadata();
+		assertNotSame(first, second);
+		assertEquals(first.getGeneration() + 1, second.getGeneration());
+		assertSame(second, cache.getMetadata());
+		verify(odataCoreService, times(2)).getMetadata();
+	}
+
+	/**
+	 * The metadata is rebuilt on refresh, and on the next request if the refresh fails.
+	 *
+	 * @throws ODataException the o data exception
+	 */
+	@Test
+	public void testRefresh() throws ODataException {
+		DirigibleODataMetadata first = cache.getMetadata();
+		cache.refreshMetadata();
+		verify(odataCoreService, times(2)).getMetadata();
+		DirigibleODataMetadata second = cache.getMetadata();
+		assertNotSame(first, second);
+		verify(odataCoreService, times(2)).getMetadata();
+
+		when(odataCoreService.getMetadata()).thenThrow(new ODataException("unavailable"))
+				.thenAnswer(invocation -> new ByteArrayInputStream(METADATA.getBytes(StandardCharsets.UTF_8)));
+		cache.refreshMetadata();
+		DirigibleODataMetadata third = cache.getMetadata();
+		assertEquals(second.getGeneration() + 1, third.getGeneration());
+		verify(odataCoreService, times(4)).getMetadata();
+	}
+
+}
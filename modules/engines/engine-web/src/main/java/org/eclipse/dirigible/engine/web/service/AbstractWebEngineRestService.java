@@ -11,6 +11,7 @@
  */
 package org.eclipse.dirigible.engine.web.service;
 
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 
 import javax.servlet.http.HttpServletRequest;
@@ -19,6 +20,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.eclipse.dirigible.commons.api.helpers.ContentTypeHelper;
 import org.eclipse.dirigible.commons.api.service.AbstractRestService;
@@ -113,8 +115,10 @@ public abstract class AbstractWebEngineRestService extends AbstractRestService i
 			if (resource == null) {
 				throw new RepositoryNotFoundException("Resource requested is not exposed.");
 			}
-			String contentType = resource.getContentType();
-			return sendResource(path, resource.isBinary(), resource.getContent(), contentType);
+			// the content, text or binary, is written to the response as it is stored, so that neither large files
+			// nor their decoded text are held in memory and the local files are transferred from the file system
+			StreamingOutput responseContent = output -> resource.transferContentTo(Channels.newChannel(output));
+			return sendResource(path, responseContent, resource.getContentType());
 		}
 
 		String errorMessage = "Resource not found: " + path;
@@ -153,8 +157,19 @@ public abstract class AbstractWebEngineRestService extends AbstractRestService i
 	 * @return the response
 	 */
 	private Response sendResource(String path, boolean isBinary, byte[] content, String contentType) {
+		return sendResource(path, isBinary ? content : new String(content, StandardCharsets.UTF_8), contentType);
+	}
+
+	/**
+	 * Send resource.
+	 *
+	 * @param path the path
+	 * @param responseContent the content, a stream is closed once written to the response and a streaming output writes itself
+	 * @param contentType the content type
+	 * @return the response
+	 */
+	private Response sendResource(String path, Object responseContent, String contentType) {
 		String tag = cacheResource(path);
-		Object responseContent = isBinary ? content : new String(content, StandardCharsets.UTF_8);
 		return Response
 				.ok(responseContent)
 				.type(contentType)
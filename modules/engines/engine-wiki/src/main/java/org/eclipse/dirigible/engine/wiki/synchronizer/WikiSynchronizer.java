@@ -223,6 +223,20 @@ public class WikiSynchronizer extends AbstractSynchronizer {
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing Wiki from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { IWikiCoreService.FILE_EXTENSION_MARKDOWN, IWikiCoreService.FILE_EXTENSION_MD, IWikiCoreService.FILE_EXTENSION_CONFLUENCE };
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
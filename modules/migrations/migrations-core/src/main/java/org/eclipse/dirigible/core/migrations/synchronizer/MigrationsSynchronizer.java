@@ -224,6 +224,20 @@ public class MigrationsSynchronizer extends AbstractSynchronizer implements IOrd
 		if (logger.isTraceEnabled()) {logger.trace("Done synchronizing Migrations from Registry.");}
 	}
 
+	/**
+	 * Gets the file extensions.
+	 *
+	 * @return the file extensions
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.core.scheduler.api.AbstractSynchronizer#getFileExtensions()
+	 */
+	@Override
+	protected String[] getFileExtensions() {
+		return new String[] { IMigrationsCoreService.FILE_EXTENSION_MIGRATE };
+	}
+
 	/**
 	 * Synchronize resource.
 	 *
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.engine.odata2.sql;
+
+import static org.apache.olingo.odata2.api.commons.ODataHttpMethod.GET;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.engine.odata2.sql.builder.SQLQueryBuilder;
+import org.eclipse.dirigible.engine.odata2.sql.processor.AbstractSQLProcessor;
+import org.eclipse.dirigible.engine.odata2.sql.processor.StreamingFeedWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+/**
+ * Runs the SQL processor tests with the entity sets streamed from the result sets.
+ */
+public class ODataSQLProcessorStreamingTest extends ODataSQLProcessorTest {
+
+    /**
+     * Enable streaming.
+     */
+    @Before
+    public void enableStreaming() {
+        Configuration.set(AbstractSQLProcessor.DIRIGIBLE_ODATA_STREAMING_ENABLED, "true");
+        Configuration.set(AbstractSQLProcessor.DIRIGIBLE_ODATA_FETCH_SIZE, "2");
+    }
+
+    /**
+     * Disable streaming.
+     */
+    @After
+    public void disableStreaming() {
+        Configuration.remove(AbstractSQLProcessor.DIRIGIBLE_ODATA_STREAMING_ENABLED);
+        Configuration.remove(AbstractSQLProcessor.DIRIGIBLE_ODATA_FETCH_SIZE);
+        Configuration.remove(SQLQueryBuilder.DIRIGIBLE_ODATA_SERVER_PAGING_SIZE);
+        Configuration.remove(StreamingFeedWriter.DIRIGIBLE_ODATA_STREAMING_TIMEOUT);
+    }
+
+    /**
+     * Test server side paging.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testServerSidePaging() throws Exception {
+        Configuration.set(SQLQueryBuilder.DIRIGIBLE_ODATA_SERVER_PAGING_SIZE, "5");
+
+        Response response = OData2RequestBuilder.createRequest(sf) //
+                .segments("Cars") //
+                .accept("application/atom+xml").executeRequest(GET);
+        assertEquals(200, response.getStatus());
+        ODataFeed firstPage = retrieveODataFeed(response, "Cars");
+        assertEquals(5, firstPage.getEntries().size());
+        assertTrue(firstPage.getFeedMetadata().getNextLink().endsWith("$skiptoken=5"));
+
+        response = OData2RequestBuilder.createRequest(sf) //
+                .segments("Cars") //
+                .param("$skiptoken", "5") //
+                .accept("application/atom+xml").executeRequest(GET);
+        assertEquals(200, response.getStatus());
+        ODataFeed secondPage = retrieveODataFeed(response, "Cars");
+        assertEquals(2, secondPage.getEntries().size());
+        assertNull(secondPage.getFeedMetadata().getNextLink());
+    }
+
+    /**
+     * Test server side paging json.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testServerSidePagingJson() throws Exception {
+        Configuration.set(SQLQueryBuilder.DIRIGIBLE_ODATA_SERVER_PAGING_SIZE, "5");
+
+        Response response = OData2RequestBuilder.createRequest(sf) //
+                .segments("Cars") //
+                .param("$inlinecount", "allpages") //
+                .accept("application/json").executeRequest(GET);
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getHeaderString("Content-Type").startsWith("application/json"));
+        assertEquals("2.0", response.getHeaderString("DataServiceVersion"));
+
+        String content = IOUtils.toString((InputStream) response.getEntity());
+        Map feed = (Map) new Gson().fromJson(content, Map.class).get("d");
+        assertEquals(5, ((List) feed.get("results")).size());
+        assertEquals("7", feed.get("__count"));
+        assertTrue(((String) feed.get("__next")).endsWith("$skiptoken=5"));
+    }
+
+    /**
+     * Test that the writer of a feed, which response is not read, gives up after the timeout and releases its resources.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testAbandonedResponse() throws Exception {
+        Configuration.set(StreamingFeedWriter.DIRIGIBLE_ODATA_STREAMING_TIMEOUT, "1");
+        String make = String.join("", Collections.nCopies(200, "x"));
+        try (Connection connection = ds.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO CARS (ID, MAKE, MODEL, PRODUCTION_YEAR) VALUES (?, ?, 'abandoned', 2000)")) {
+                // more than the pipe holds
+                for (int i = 0; i < 500; i++) {
+                    statement.setString(1, UUID.randomUUID().toString());
+                    statement.setString(2, make);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            try {
+                Response response = OData2RequestBuilder.createRequest(sf) //
+                        .segments("Cars") //
+                        .accept("application/atom+xml").executeRequest(GET);
+                assertEquals(200, response.getStatus());
+                InputStream entity = (InputStream) response.getEntity();
+                Thread.sleep(3000);
+                try {
+                    IOUtils.toString(entity);
+                    fail("The feed must not be complete");
+                } catch (IOException e) {
+                    Throwable cause = e;
+                    while (cause.getCause() != null) {
+                        cause = cause.getCause();
+                    }
+                    assertTrue(cause.getMessage().startsWith("The response has not been read"));
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("DELETE FROM CARS WHERE MODEL = 'abandoned'");
+                }
+            }
+        }
+    }
+
+}
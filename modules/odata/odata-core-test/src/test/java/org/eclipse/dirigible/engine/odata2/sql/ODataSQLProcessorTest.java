@@ -18,6 +18,8 @@ import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
 import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.core.ep.feed.ODataDeltaFeedImpl;
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.engine.odata2.sql.processor.AbstractSQLProcessor;
 import org.eclipse.dirigible.engine.odata2.sql.entities.Car;
 import org.eclipse.dirigible.engine.odata2.sql.entities.Driver;
 import org.eclipse.dirigible.engine.odata2.sql.entities.Owner;
@@ -916,6 +918,67 @@ public class ODataSQLProcessorTest extends AbstractSQLProcessorTest {
         assertEquals("Grigor", fourthOwnerProperties.get("FirstName"));
     }
 
+    /**
+     * Test get entity set expand with inline count.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testGetEntitySetExpandWithInlineCount() throws Exception {
+        assertExpandWithInlineCount();
+        Configuration.set(AbstractSQLProcessor.DIRIGIBLE_ODATA_SINGLE_STATEMENT_ENABLED, "false");
+        try {
+            assertExpandWithInlineCount();
+        } finally {
+            Configuration.remove(AbstractSQLProcessor.DIRIGIBLE_ODATA_SINGLE_STATEMENT_ENABLED);
+        }
+    }
+
+    /**
+     * Assert expand with inline count.
+     *
+     * @throws Exception the exception
+     */
+    @SuppressWarnings("rawtypes")
+    private void assertExpandWithInlineCount() throws Exception {
+        Response response = OData2RequestBuilder.createRequest(sf) //
+                .segments("Cars") //
+                .param("$expand", "Drivers,Owners") //
+                .param("$inlinecount", "allpages") //
+                .param("$orderby", "Make desc") //
+                .param("$top", "2") //
+                .param("$skip", "1") //
+                .accept("application/json").executeRequest(GET);
+        assertEquals(200, response.getStatus());
+        Map feed = (Map) new Gson().fromJson(IOUtils.toString((InputStream) response.getEntity()), Map.class).get("d");
+        assertEquals("7", feed.get("__count"));
+        assertEquals(2, ((List) feed.get("results")).size());
+
+        response = OData2RequestBuilder.createRequest(sf) //
+                .segments("Cars") //
+                .param("$expand", "Drivers") //
+                .param("$inlinecount", "allpages") //
+                .param("$skip", "10") //
+                .accept("application/json").executeRequest(GET);
+        assertEquals(200, response.getStatus());
+        feed = (Map) new Gson().fromJson(IOUtils.toString((InputStream) response.getEntity()), Map.class).get("d");
+        assertEquals("7", feed.get("__count"));
+        assertEquals(0, ((List) feed.get("results")).size());
+
+        response = OData2RequestBuilder.createRequest(sf) //
+                .segments("Cars") //
+                .param("$filter", "Id eq 'b4dc3e22-bacb-44ed-aa02-70273525fb73'") //
+                .param("$expand", "Drivers,Owners") //
+                .param("$inlinecount", "allpages") //
+                .accept("application/atom+xml").executeRequest(GET);
+        ODataFeed resultFeed = retrieveODataFeed(response, "Cars");
+        assertEquals(Integer.valueOf(1), resultFeed.getFeedMetadata().getInlineCount());
+        assertEquals(1, resultFeed.getEntries().size());
+        Map<String, Object> properties = resultFeed.getEntries().get(0).getProperties();
+        assertEquals(2, ((ODataDeltaFeedImpl) properties.get("Drivers")).getEntries().size());
+        assertEquals(4, ((ODataDeltaFeedImpl) properties.get("Owners")).getEntries().size());
+    }
+
     /**
      * Test order by expanded entity without expand.
      *
@@ -32,6 +32,8 @@ import java.util.Map;
 
 import static java.util.Collections.EMPTY_MAP;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * The Class SQLSelectBuilderExpandTest.
@@ -93,6 +95,41 @@ public class SQLSelectBuilderExpandTest {
         assertEquals(expected, q.buildSelect(context));
     }
 
+    /**
+     * Test expand one to many association in single statement.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExpandOneToManyAssociationSingleStatement() throws Exception {
+        Map<String, String> params = new HashMap<>();
+        params.put("$expand", "Entity2");
+        params.put("$filter", "Sender eq 'A'");
+        params.put("$top", "5");
+        params.put("$skip", "10");
+        PathSegment ps1 = new ODataPathSegmentImpl("Entities1", EMPTY_MAP);
+        UriInfo uriInfo = uriParser.parse(Collections.singletonList(ps1), params);
+
+        assertTrue(builder.isSingleStatementSupported(uriInfo, SQLContext.DatabaseProduct.H2));
+        assertFalse(builder.isSingleStatementSupported(uriInfo, SQLContext.DatabaseProduct.DERBY));
+        SQLSelectBuilder q = builder.buildSelectEntitySetSingleStatementQuery(uriInfo, true, null);
+        SQLContext context = new SQLContext(SQLContext.DatabaseProduct.H2);
+        String expected = "SELECT T0.MESSAGEGUID AS \"MESSAGEGUID_T0\", T0.LOGSTART AS \"LOGSTART_T0\", " +
+                "T0.LOGEND AS \"LOGEND_T0\", T0.SENDER AS \"SENDER_T0\", T0.RECEIVER AS \"RECEIVER_T0\", " +
+                "T0.STATUS AS \"STATUS_T0\", T0.MESSAGEGUID AS \"MESSAGEGUID_T0\", T1.ID AS \"ID_T1\", " +
+                "T1.NAME AS \"NAME_T1\", T1.VALUE AS \"VALUE_T1\", PK.\"ODATA_INLINE_COUNT\" AS \"ODATA_INLINE_COUNT\" " +
+                "FROM MPLHEADER AS T0 " +
+                "LEFT JOIN ITOP_MPLUSERDEFINEDATTRIBUTE AS T1 ON T1.HEADER_ID = T0.ID " +
+                "INNER JOIN (SELECT T0.MESSAGEGUID AS \"MESSAGEGUID_T0\", COUNT(*) OVER() AS \"ODATA_INLINE_COUNT\" " +
+                "FROM MPLHEADER AS T0 WHERE T0.SENDER = ? ORDER BY T0.MESSAGEGUID ASC LIMIT 5 OFFSET 10) AS PK " +
+                "ON PK.\"MESSAGEGUID_T0\" = T0.MESSAGEGUID " +
+                "ORDER BY T0.MESSAGEGUID ASC";
+        assertEquals(expected, q.buildSelect(context));
+        assertEquals(1, q.getStatementParams().size());
+        assertTrue(q.isInlineCount());
+    }
+
     /**
      * Test expand one to many association with composed key.
      *
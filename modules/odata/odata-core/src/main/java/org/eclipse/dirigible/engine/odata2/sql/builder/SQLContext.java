@@ -30,26 +30,31 @@ public class SQLContext {
     public enum DatabaseProduct {
         
         /** The derby. */
-        DERBY(false), 
+        DERBY(false, false), 
  /** The sybase ase. */
- SYBASE_ASE(false), 
+ SYBASE_ASE(false, false), 
  /** The postgre sql. */
- POSTGRE_SQL(true), 
+ POSTGRE_SQL(true, true), 
  /** The h2. */
- H2(false), 
+ H2(false, true), 
  /** The hana. */
- HANA(true);
+ HANA(true, true);
 
         /** The case sensitive. */
         private boolean caseSensitive;
+
+        /** The window functions. */
+        private boolean windowFunctions;
         
         /**
          * Instantiates a new database product.
          *
          * @param caseSensitive the case sensitive
+         * @param windowFunctions the window functions
          */
-        DatabaseProduct (boolean caseSensitive){
+        DatabaseProduct (boolean caseSensitive, boolean windowFunctions){
             this.caseSensitive = caseSensitive;
+            this.windowFunctions = windowFunctions;
         }
         
         /**
@@ -60,6 +65,15 @@ public class SQLContext {
         public boolean isCaseSensitive(){
             return caseSensitive;
         }
+
+        /**
+         * Checks if aggregate window functions like COUNT(*) OVER() are supported.
+         *
+         * @return true, if is window functions supported
+         */
+        public boolean isWindowFunctionsSupported(){
+            return windowFunctions;
+        }
     }
 
     /** The database product. */
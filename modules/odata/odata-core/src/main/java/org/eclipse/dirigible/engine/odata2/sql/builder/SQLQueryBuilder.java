@@ -16,6 +16,9 @@ import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.exception.ODataException;
 import org.apache.olingo.odata2.api.processor.ODataContext;
 import org.apache.olingo.odata2.api.uri.*;
+import org.apache.olingo.odata2.api.uri.expression.ExpressionKind;
+import org.apache.olingo.odata2.api.uri.expression.OrderExpression;
+import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.engine.odata2.sql.api.OData2Exception;
 import org.eclipse.dirigible.engine.odata2.sql.api.SQLInterceptor;
 import org.eclipse.dirigible.engine.odata2.sql.api.SQLStatementParam;
@@ -23,6 +26,7 @@ import org.eclipse.dirigible.engine.odata2.sql.binding.EdmTableBinding.ColumnInf
 import org.eclipse.dirigible.engine.odata2.sql.binding.EdmTableBindingProvider;
 import org.eclipse.dirigible.engine.odata2.sql.clause.SQLWhereClause;
 import org.eclipse.dirigible.engine.odata2.sql.processor.SQLInterceptorChain;
+import org.eclipse.dirigible.engine.odata2.sql.utils.OData2Utils;
 
 import java.util.*;
 
@@ -39,6 +43,9 @@ public class SQLQueryBuilder {
      */
     public static final int DEFAULT_SERVER_PAGING_SIZE = 1000;
 
+    /** The maximum number of rows returned, before the client has to follow the next link with a {@code $skiptoken}. */
+    public static final String DIRIGIBLE_ODATA_SERVER_PAGING_SIZE = "DIRIGIBLE_ODATA_SERVER_PAGING_SIZE";
+
     /** The table binding. */
     private final EdmTableBindingProvider tableBinding;
     
@@ -163,6 +170,85 @@ public class SQLQueryBuilder {
      * @throws ODataException the o data exception
      */
     public SQLSelectBuilder buildSelectEntitySetIdsForTopAndExpandQuery(final UriInfo uri, ODataContext context) throws ODataException {
+        return buildSelectEntitySetIdsQuery(uri, true, context);
+    }
+
+    /**
+     * Checks if the entity set of the uri can be read with the single statement built by
+     * {@link #buildSelectEntitySetSingleStatementQuery(UriInfo, boolean, ODataContext)}.
+     *
+     * @param uri the uri
+     * @param databaseProduct the database product
+     * @return true, if is single statement supported
+     * @throws ODataException the o data exception
+     */
+    public boolean isSingleStatementSupported(final UriInfo uri, final SQLContext.DatabaseProduct databaseProduct) throws ODataException {
+        EdmEntityType target = uri.getTargetEntitySet().getEntityType();
+        SQLSelectBuilder q = new SQLSelectBuilder(tableBinding);
+        if (!databaseProduct.isWindowFunctionsSupported() || q.hasKeyGeneratedPresent(target) || q.hasAggregationTypePresent(target)) {
+            return false;
+        }
+        if (uri.getOrderBy() != null && uri.getOrderBy().getOrders() != null) {
+            for (OrderExpression order : uri.getOrderBy().getOrders()) {
+                // ordering by an expanded entity needs its join in the paged keys query, which would duplicate the keys
+                if (order.getExpression().getKind() == ExpressionKind.MEMBER) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the select entity set query, which reads the page of the entities together with their expanded entities
+     * and optionally the count of all the entities in a single statement.
+     * <p>
+     * With $expand the filtering and the paging are done by a derived table selecting the keys of the target entities,
+     * instead of by a separate query for the ids. The count is computed with COUNT(*) OVER() before the paging is applied.
+     *
+     * @param uri the uri
+     * @param inlineCount whether to select the count of all the entities
+     * @param context the context
+     * @return the SQL select builder
+     * @throws ODataException the o data exception
+     */
+    public SQLSelectBuilder buildSelectEntitySetSingleStatementQuery(final UriInfo uri, final boolean inlineCount, ODataContext context)
+            throws ODataException {
+        if (!OData2Utils.hasExpand(uri)) {
+            SQLSelectBuilder q = buildSelectEntitySetQuery(uri, context);
+            if (inlineCount) {
+                q.inlineCount();
+            }
+            return q;
+        }
+        EdmEntityType target = uri.getTargetEntitySet().getEntityType();
+        SQLSelectBuilder pagedKeys = buildSelectEntitySetIdsQuery(uri, false, context);
+        SQLSelectBuilder q = new SQLSelectBuilder(tableBinding);
+        q.setServersidePaging(pagedKeys.isServersidePaging());
+        if (inlineCount) {
+            pagedKeys.inlineCount();
+            q.inlineCount();
+        }
+        q.select(uri.getSelect(), uri.getExpand()).from(target, uri.getKeyPredicates());
+        q.pagedBy(target, pagedKeys);
+        q.join(uri.getStartEntitySet(), uri.getTargetEntitySet(), uri.getNavigationSegments()).with(uri.getKeyPredicates());
+        q.validateOrderBy(uri);
+        q.groupBy(target);
+        q.orderBy(uri.getOrderBy(), target);
+        return chain.onRead(q, uri, context);
+    }
+
+    /**
+     * Builds the select entity set ids query.
+     *
+     * @param uri the uri
+     * @param joinExpands whether to join the expanded entities, required for ordering by their properties
+     * @param context the context
+     * @return the SQL select builder
+     * @throws ODataException the o data exception
+     */
+    private SQLSelectBuilder buildSelectEntitySetIdsQuery(final UriInfo uri, final boolean joinExpands, ODataContext context)
+            throws ODataException {
         SQLSelectBuilder q = new SQLSelectBuilder(tableBinding);
         EdmEntityType target = uri.getTargetEntitySet().getEntityType();
 
@@ -182,13 +268,15 @@ public class SQLQueryBuilder {
                 .join(uri.getStartEntitySet(), uri.getTargetEntitySet(), uri.getNavigationSegments()).with(uri.getKeyPredicates());
 
         //adds additional joins on the navigation properties required for correct ordering of the result set
-        for (ArrayList<NavigationPropertySegment> segments : uri.getExpand()){
-            EdmEntitySet joinTarget = uri.getTargetEntitySet();
-            for (NavigationPropertySegment nav: segments) {
-                //when we have Owners/Addresses the addresses needs to be joined with the Owners.
-                //The joinTarget would be Owner when nav.getTargetEntitySet is Address
-                q.join(nav.getTargetEntitySet(), joinTarget, Collections.emptyList());
-                joinTarget = nav.getTargetEntitySet();
+        if (joinExpands) {
+            for (ArrayList<NavigationPropertySegment> segments : uri.getExpand()){
+                EdmEntitySet joinTarget = uri.getTargetEntitySet();
+                for (NavigationPropertySegment nav: segments) {
+                    //when we have Owners/Addresses the addresses needs to be joined with the Owners.
+                    //The joinTarget would be Owner when nav.getTargetEntitySet is Address
+                    q.join(nav.getTargetEntitySet(), joinTarget, Collections.emptyList());
+                    joinTarget = nav.getTargetEntitySet();
+                }
             }
         }
         q.groupBy(uri.getTargetEntitySet().getEntityType());
@@ -212,7 +300,7 @@ public class SQLQueryBuilder {
      * @return the entity paging size
      */
     public Integer getEntityPagingSize(EdmEntityType targetType) {
-        return DEFAULT_SERVER_PAGING_SIZE;
+        return Integer.parseInt(Configuration.get(DIRIGIBLE_ODATA_SERVER_PAGING_SIZE, String.valueOf(DEFAULT_SERVER_PAGING_SIZE)));
     }
 
     /**
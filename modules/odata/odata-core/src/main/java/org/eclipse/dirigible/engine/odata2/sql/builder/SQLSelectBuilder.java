@@ -51,6 +51,12 @@ public class SQLSelectBuilder extends AbstractQueryBuilder {
     /** The Constant SPACE. */
     private static final String SPACE = " ";
 
+    /** The Constant INLINE_COUNT_COLUMN. */
+    public static final String INLINE_COUNT_COLUMN = "ODATA_INLINE_COUNT";
+
+    /** The Constant PAGED_KEYS_ALIAS. */
+    private static final String PAGED_KEYS_ALIAS = "PK";
+
     /** The structural types in join. */
     private final Set<String> structuralTypesInJoin;
     
@@ -69,6 +75,15 @@ public class SQLSelectBuilder extends AbstractQueryBuilder {
     /** The serverside paging. */
     private boolean serversidePaging;
 
+    /** The query of the paged keys of the target entities, joined as a derived table. */
+    private SQLSelectBuilder pagedKeys;
+
+    /** The target of the paged keys. */
+    private EdmEntityType pagedKeysTarget;
+
+    /** The inline count. */
+    private boolean inlineCount;
+
     /**
      * Instantiates a new SQL select builder.
      *
@@ -258,6 +273,40 @@ public class SQLSelectBuilder extends AbstractQueryBuilder {
         return this;
     }
 
+    /**
+     * Restricts the selected entities to the ones with the keys selected by the given query, which does the filtering and the paging.
+     * The rows of the expanded entities are thus not limited by the paging.
+     *
+     * @param target the target
+     * @param pagedKeysQuery the query selecting the keys of the target
+     * @return the SQL select builder
+     */
+    public SQLSelectBuilder pagedBy(final EdmEntityType target, final SQLSelectBuilder pagedKeysQuery) {
+        this.pagedKeysTarget = target;
+        this.pagedKeys = pagedKeysQuery;
+        return this;
+    }
+
+    /**
+     * Selects the count of all the entities, regardless of the paging, in the {@link #INLINE_COUNT_COLUMN} of every row.
+     * The count is either computed with a window function or taken from the paged keys query, which has to select it as well.
+     *
+     * @return the SQL select builder
+     */
+    public SQLSelectBuilder inlineCount() {
+        this.inlineCount = true;
+        return this;
+    }
+
+    /**
+     * Checks if the count of all the entities is selected.
+     *
+     * @return true, if is inline count
+     */
+    public boolean isInlineCount() {
+        return inlineCount;
+    }
+
     /**
      * Gets the select expression.
      *
@@ -320,9 +369,11 @@ public class SQLSelectBuilder extends AbstractQueryBuilder {
     @Override
     public List<SQLStatementParam> getStatementParams() {
         List<SQLStatementParam> selectClauseStatementParams = getSelectExpression().getStatementParams();
+        List<SQLStatementParam> pagedKeysStatementParams = pagedKeys != null ? pagedKeys.getStatementParams() : Collections.emptyList();
         List<SQLStatementParam> whereClauseStatementParams = getWhereClause().getStatementParams();
 
-        return Stream.concat(selectClauseStatementParams.stream(), whereClauseStatementParams.stream()).collect(Collectors.toList());
+        return Stream.of(selectClauseStatementParams, pagedKeysStatementParams, whereClauseStatementParams).flatMap(List::stream)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -343,6 +394,36 @@ public class SQLSelectBuilder extends AbstractQueryBuilder {
         return builder.toString();
     }
 
+    /**
+     * Evaluate the join with the paged keys.
+     *
+     * @param context the context
+     * @return the string
+     * @throws ODataException the o data exception
+     */
+    private String evaluatePagedKeysJoin(final SQLContext context) throws ODataException {
+        StringBuilder builder = new StringBuilder();
+        builder.append("INNER JOIN (").append(pagedKeys.buildSelect(context)).append(") AS ").append(PAGED_KEYS_ALIAS).append(" ON ");
+        String separator = "";
+        for (String keyName : pagedKeysTarget.getKeyPropertyNames()) {
+            EdmProperty key = (EdmProperty) pagedKeysTarget.getProperty(keyName);
+            builder.append(separator).append(PAGED_KEYS_ALIAS).append(".\"").append(pagedKeys.getSQLTableColumnAlias(pagedKeysTarget, key))
+                    .append("\" = ").append(getSQLTableColumn(pagedKeysTarget, key));
+            separator = " AND ";
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Evaluate the inline count column.
+     *
+     * @return the string
+     */
+    private String evaluateInlineCount() {
+        String count = pagedKeys != null ? PAGED_KEYS_ALIAS + ".\"" + INLINE_COUNT_COLUMN + "\"" : "COUNT(*) OVER()";
+        return ", " + count + " AS \"" + INLINE_COUNT_COLUMN + "\"";
+    }
+
     /**
      * Build select clause.
      *
@@ -358,9 +439,15 @@ public class SQLSelectBuilder extends AbstractQueryBuilder {
             throw new IllegalStateException("Please initialize the select clause!");
         builder.append("SELECT ");
         builder.append(selectExpression.evaluate(context, SELECT_COLUMN_LIST));
+        if (inlineCount) {
+            builder.append(evaluateInlineCount());
+        }
         builder.append(" FROM ");
         builder.append(selectExpression.evaluate(context, FROM)).append(SPACE);
         builder.append(evaluateJoins(context));
+        if (pagedKeys != null) {
+            builder.append(evaluatePagedKeysJoin(context)).append(SPACE);
+        }
         if (!getWhereClause().isEmpty()) {
             builder.append(" WHERE ");
             builder.append(getWhereClause().evaluate(context)).append(SPACE);
@@ -39,6 +39,7 @@ import org.apache.olingo.odata2.api.uri.info.*;
 import org.apache.olingo.odata2.core.commons.ContentType;
 import org.apache.olingo.odata2.core.uri.KeyPredicateImpl;
 import org.apache.olingo.odata2.core.uri.UriInfoImpl;
+import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.engine.odata2.sql.api.*;
 import org.eclipse.dirigible.engine.odata2.sql.builder.*;
 import org.eclipse.dirigible.engine.odata2.sql.builder.SQLUtils;
@@ -98,6 +99,15 @@ public abstract class AbstractSQLProcessor extends ODataSingleProcessor implemen
     /** The Constant ENTRY_JSON_CONTEXT_KEY. */
     private static final String ENTRY_JSON_CONTEXT_KEY = "entryJSON";
 
+    /** Whether the entity sets are streamed from the result set to the response, instead of being read into memory first. */
+    public static final String DIRIGIBLE_ODATA_STREAMING_ENABLED = "DIRIGIBLE_ODATA_STREAMING_ENABLED";
+
+    /** The fetch size of the result sets of the streamed entity sets, the driver default is used if not positive. */
+    public static final String DIRIGIBLE_ODATA_FETCH_SIZE = "DIRIGIBLE_ODATA_FETCH_SIZE";
+
+    /** Whether $expand and $inlinecount are read together with the entity set in a single statement, where the database supports it. */
+    public static final String DIRIGIBLE_ODATA_SINGLE_STATEMENT_ENABLED = "DIRIGIBLE_ODATA_SINGLE_STATEMENT_ENABLED";
+
     /**
      * Instantiates a new abstract SQL processor.
      */
@@ -279,33 +289,29 @@ public abstract class AbstractSQLProcessor extends ODataSingleProcessor implemen
     @Override
     public ODataResponse readEntitySet(final GetEntitySetUriInfo uriInfo, final String contentType)
             throws ODataException {
+        if (isStreamingEnabled(contentType)) {
+            return streamEntitySet(uriInfo, contentType);
+        }
         final InlineCount inlineCountType = uriInfo.getInlineCount();
         final EdmEntitySet targetEntitySet = uriInfo.getTargetEntitySet();
         final EdmEntityType targetEntityType = targetEntitySet.getEntityType();
 
         Collection<EdmProperty> properties = getSelectedProperties(uriInfo.getSelect(), targetEntityType);
         List<ResultSetReader.ExpandAccumulator> entitiesFeed = new ArrayList<>();
-        Integer count;
+        Integer count = null;
         String nextLink;
         try (Connection connection = getDataSource().getConnection()) {
-            if (inlineCountType == InlineCount.ALLPAGES) {
-                SQLSelectBuilder countEntitySet = this.getSQLQueryBuilder().buildSelectCountQuery((UriInfo) uriInfo, getContext());
-                count = doCountEntitySet(countEntitySet, connection); // does not close the connection
-            } else {
-                count = null;
-            }
-            List<String> readIdsForExpand = new ArrayList<>();
-            if (OData2Utils.hasExpand((UriInfo) uriInfo)) {
-            	if (logger.isDebugEnabled()) {logger.debug("Reading the ids that will be used for $expand");}
-                readIdsForExpand = readIdsForExpand(uriInfo);
-                if (logger.isInfoEnabled()) {logger.info("Using IDs for $expand: {}", readIdsForExpand);}
+            SQLSelectBuilder query = buildSelectEntitySetQuery(uriInfo, connection);
+            if (inlineCountType == InlineCount.ALLPAGES && !query.isInlineCount()) {
+                count = countEntitySet(uriInfo, connection); // does not close the connection
             }
-
-            SQLSelectBuilder query = this.getSQLQueryBuilder().buildSelectEntitySetQuery((UriInfo) uriInfo, readIdsForExpand, getContext());
             try (PreparedStatement statement = createSelectStatement(query, connection)) {
                 try (ResultSet resultSet = statement.executeQuery()) {
                     ResultSetReader.ExpandAccumulator currentAccumulator = new ResultSetReader.ExpandAccumulator(targetEntityType);
                     while (resultSet.next()) {
+                        if (count == null && query.isInlineCount()) {
+                            count = resultSet.getInt(SQLSelectBuilder.INLINE_COUNT_COLUMN);
+                        }
                         boolean hasGeneratedId = query.hasKeyGeneratedPresent(targetEntitySet.getEntityType());
                         ResultSetReader.ResultSetEntity currentTargetEntity = resultSetReader.getResultSetEntity(query,
                                 targetEntityType, properties, resultSet, hasGeneratedId);
@@ -325,12 +331,173 @@ public abstract class AbstractSQLProcessor extends ODataSingleProcessor implemen
                     nextLink = needsNextLink ? generateNextLink(query, targetEntityType) : null;
                 }
             }
+            if (count == null && query.isInlineCount()) {
+                // the page is empty, so there is no row to take the count from
+                count = countEntitySet(uriInfo, connection);
+            }
         } catch (Exception e) {
             throw new ODataException("Unable to read entity set", e);
         }
         return ExpandCallBack.writeFeedWithExpand(getContext(), (UriInfo) uriInfo, entitiesFeed, contentType, count, nextLink);
     }
 
+    /**
+     * Builds the query of the entity set. Where supported, the page of the entities, their expanded entities and the inline count
+     * are read with a single statement, otherwise the ids of the entities for $expand are read first.
+     *
+     * @param uriInfo the uri info
+     * @param connection the connection
+     * @return the SQL select builder
+     * @throws ODataException the o data exception
+     * @throws SQLException the SQL exception
+     */
+    protected SQLSelectBuilder buildSelectEntitySetQuery(final GetEntitySetUriInfo uriInfo, final Connection connection)
+            throws ODataException, SQLException {
+        if (isSingleStatementEnabled(uriInfo, connection)) {
+            return this.getSQLQueryBuilder().buildSelectEntitySetSingleStatementQuery((UriInfo) uriInfo,
+                    uriInfo.getInlineCount() == InlineCount.ALLPAGES, getContext());
+        }
+        List<String> readIdsForExpand = new ArrayList<>();
+        if (OData2Utils.hasExpand((UriInfo) uriInfo)) {
+            if (logger.isDebugEnabled()) {logger.debug("Reading the ids that will be used for $expand");}
+            readIdsForExpand = readIdsForExpand(uriInfo);
+            if (logger.isInfoEnabled()) {logger.info("Using IDs for $expand: {}", readIdsForExpand);}
+        }
+        return this.getSQLQueryBuilder().buildSelectEntitySetQuery((UriInfo) uriInfo, readIdsForExpand, getContext());
+    }
+
+    /**
+     * Checks if the entity set is read with a single statement, which is worth it only with $expand or $inlinecount.
+     *
+     * @param uriInfo the uri info
+     * @param connection the connection
+     * @return true, if is single statement enabled
+     * @throws ODataException the o data exception
+     * @throws SQLException the SQL exception
+     */
+    protected boolean isSingleStatementEnabled(final GetEntitySetUriInfo uriInfo, final Connection connection)
+            throws ODataException, SQLException {
+        return Boolean.parseBoolean(Configuration.get(DIRIGIBLE_ODATA_SINGLE_STATEMENT_ENABLED, "true"))
+                && (OData2Utils.hasExpand((UriInfo) uriInfo) || uriInfo.getInlineCount() == InlineCount.ALLPAGES)
+                && this.getSQLQueryBuilder().isSingleStatementSupported((UriInfo) uriInfo, createSQLContext(connection).getDatabaseProduct());
+    }
+
+    /**
+     * Counts the entities of the entity set.
+     *
+     * @param uriInfo the uri info
+     * @param connection the connection
+     * @return the count
+     * @throws ODataException the o data exception
+     * @throws SQLException the SQL exception
+     */
+    private int countEntitySet(final GetEntitySetUriInfo uriInfo, final Connection connection) throws ODataException, SQLException {
+        SQLSelectBuilder countEntitySet = this.getSQLQueryBuilder().buildSelectCountQuery((UriInfo) uriInfo, getContext());
+        return doCountEntitySet(countEntitySet, connection);
+    }
+
+    /**
+     * Checks if the entity set can be streamed.
+     *
+     * @param contentType the content type
+     * @return true, if is streaming enabled
+     */
+    protected boolean isStreamingEnabled(final String contentType) {
+        // the change sets of a batch share a single connection, which can not be handed over
+        return Boolean.parseBoolean(Configuration.get(DIRIGIBLE_ODATA_STREAMING_ENABLED, "false"))
+                && !getContext().isInBatchMode()
+                && StreamingFeedWriter.isSupported(contentType);
+    }
+
+    /**
+     * Streams the entity set from the result set to the response. The connection, the statement and the result set
+     * are kept open until the feed has been written, so that no more than one entity is held in memory.
+     *
+     * @param uriInfo the uri info
+     * @param contentType the content type
+     * @return the o data response
+     * @throws ODataException the o data exception
+     */
+    protected ODataResponse streamEntitySet(final GetEntitySetUriInfo uriInfo, final String contentType) throws ODataException {
+        final EdmEntitySet targetEntitySet = uriInfo.getTargetEntitySet();
+        final EdmEntityType targetEntityType = targetEntitySet.getEntityType();
+
+        Collection<EdmProperty> properties = getSelectedProperties(uriInfo.getSelect(), targetEntityType);
+        Deque<AutoCloseable> resources = new ArrayDeque<>();
+        try {
+            Connection connection = getDataSource().getConnection();
+            resources.push(connection);
+            Integer count = null;
+            SQLSelectBuilder query = buildSelectEntitySetQuery(uriInfo, connection);
+            if (uriInfo.getInlineCount() == InlineCount.ALLPAGES && !query.isInlineCount()) {
+                count = countEntitySet(uriInfo, connection);
+            }
+            PreparedStatement statement = createSelectStatement(query, connection);
+            resources.push(statement);
+            int fetchSize = Integer.parseInt(Configuration.get(DIRIGIBLE_ODATA_FETCH_SIZE, "0"));
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            ResultSet resultSet = statement.executeQuery();
+            resources.push(resultSet);
+
+            ResultSetFeed feed = new ResultSetFeed(query, resultSet, resultSetReader, targetEntityType, properties, uriInfo.getExpand());
+            if (query.isInlineCount()) {
+                // the count is written before the entries, so it is taken from the first row in advance
+                if (resultSet.next()) {
+                    count = resultSet.getInt(SQLSelectBuilder.INLINE_COUNT_COLUMN);
+                    feed.setOnFirstRow(true);
+                } else {
+                    count = countEntitySet(uriInfo, connection);
+                }
+            }
+            EntityProviderWriteProperties.ODataEntityProviderPropertiesBuilder feedProperties = ExpandCallBack.getFeedProperties(getContext(),
+                    (UriInfo) uriInfo, count);
+            StreamingFeedWriter.NextLinkProvider nextLinkProvider = null;
+            if (query.isServersidePaging()) {
+                int pagingSize = this.getSQLQueryBuilder().getEntityPagingSize(targetEntityType);
+                // the next link is written after the entries, so it can be decided once all of them have been read
+                nextLinkProvider = entitiesCount -> entitiesCount == pagingSize ? generateNextLink(query, targetEntityType) : null;
+            }
+            return StreamingFeedWriter.writeFeed(contentType, targetEntitySet, feed, feedProperties, nextLinkProvider, () -> close(resources));
+        } catch (Exception e) {
+            try {
+                close(resources);
+            } catch (SQLException ce) {
+                e.addSuppressed(ce);
+            }
+            if (e instanceof OData2Exception) {
+                // e.g. all the feed writers are busy
+                throw (OData2Exception) e;
+            }
+            throw new ODataException("Unable to read entity set", e);
+        }
+    }
+
+    /**
+     * Closes the resources in the reverse order of their opening.
+     *
+     * @param resources the resources
+     * @throws SQLException the SQL exception
+     */
+    private static void close(Deque<AutoCloseable> resources) throws SQLException {
+        SQLException failure = null;
+        while (!resources.isEmpty()) {
+            try {
+                resources.pop().close();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = new SQLException("Unable to close the resources of the entity set", e);
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     /**
      * Read ids for expand.
      *
@@ -141,10 +141,7 @@ public class ExpandCallBack implements OnWriteFeedContent, OnWriteEntryContent,
             entities.add(acc.renderForExpand());
         }
 
-        EntityProviderWriteProperties feedProperties = EntityProviderWriteProperties
-                .serviceRoot(context.getPathInfo().getServiceRoot()).inlineCountType(uriInfo.getInlineCount()).inlineCount(count)
-                .expandSelectTree(UriParser.createExpandSelectTree(uriInfo.getSelect(), uriInfo.getExpand()))
-                .callbacks(ExpandCallBack.getCallbacks(context, uriInfo, entities))//
+        EntityProviderWriteProperties feedProperties = getFeedProperties(context, uriInfo, count)
                 .nextLink(nextLink).build();
 
         List<Map<String, Object>> feedEntities = new ArrayList<>();
@@ -152,6 +149,23 @@ public class ExpandCallBack implements OnWriteFeedContent, OnWriteEntryContent,
         return EntityProvider.writeFeed(contentType, uriInfo.getTargetEntitySet(), feedEntities, feedProperties);
     }
 
+    /**
+     * Gets the feed properties, without the next link.
+     *
+     * @param context the context
+     * @param uriInfo the uri info
+     * @param count the count
+     * @return the feed properties builder
+     * @throws ODataException the o data exception
+     */
+    public static EntityProviderWriteProperties.ODataEntityProviderPropertiesBuilder getFeedProperties(ODataContext context, UriInfo uriInfo,
+                                                                                                      Integer count) throws ODataException {
+        return EntityProviderWriteProperties
+                .serviceRoot(context.getPathInfo().getServiceRoot()).inlineCountType(uriInfo.getInlineCount()).inlineCount(count)
+                .expandSelectTree(UriParser.createExpandSelectTree(uriInfo.getSelect(), uriInfo.getExpand()))
+                .callbacks(ExpandCallBack.getCallbacks(context, uriInfo, null));
+    }
+
     /**
      * Gets the callbacks.
      *
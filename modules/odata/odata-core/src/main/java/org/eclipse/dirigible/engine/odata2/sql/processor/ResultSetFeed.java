@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.engine.odata2.sql.processor;
+
+import static org.apache.olingo.odata2.api.commons.HttpStatusCodes.INTERNAL_SERVER_ERROR;
+import static org.eclipse.dirigible.engine.odata2.sql.utils.OData2Utils.hasExpand;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractSequentialList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.uri.NavigationPropertySegment;
+import org.eclipse.dirigible.engine.odata2.sql.api.OData2Exception;
+import org.eclipse.dirigible.engine.odata2.sql.builder.SQLSelectBuilder;
+
+/**
+ * Feed of the entities of an open result set, which are read while the feed is being serialized.
+ * <p>
+ * The rows of an entity and of its expanded entities are consecutive in the result set, so only the
+ * entity being read is held in memory. The feed can be iterated only once and its size is known only after that.
+ */
+public class ResultSetFeed extends AbstractSequentialList<Map<String, Object>> {
+
+    /** The query. */
+    private final SQLSelectBuilder query;
+
+    /** The result set. */
+    private final ResultSet resultSet;
+
+    /** The result set reader. */
+    private final ResultSetReader resultSetReader;
+
+    /** The entity type. */
+    private final EdmEntityType entityType;
+
+    /** The properties. */
+    private final Collection<EdmProperty> properties;
+
+    /** The expand entities. */
+    private final List<ArrayList<NavigationPropertySegment>> expandEntities;
+
+    /** The has generated id. */
+    private final boolean hasGeneratedId;
+
+    /** The end listener. */
+    private EndListener endListener;
+
+    /** The iterated. */
+    private boolean iterated;
+
+    /** Whether the result set has already been moved to its first row. */
+    private boolean onFirstRow;
+
+    /**
+     * Instantiates a new result set feed.
+     *
+     * @param query the query
+     * @param resultSet the result set
+     * @param resultSetReader the result set reader
+     * @param entityType the entity type
+     * @param properties the properties
+     * @param expandEntities the expand entities
+     * @throws ODataException the o data exception
+     */
+    public ResultSetFeed(SQLSelectBuilder query, ResultSet resultSet, ResultSetReader resultSetReader, EdmEntityType entityType,
+            Collection<EdmProperty> properties, List<ArrayList<NavigationPropertySegment>> expandEntities) throws ODataException {
+        this.query = query;
+        this.resultSet = resultSet;
+        this.resultSetReader = resultSetReader;
+        this.entityType = entityType;
+        this.properties = properties;
+        this.expandEntities = expandEntities;
+        this.hasGeneratedId = query.hasKeyGeneratedPresent(entityType);
+    }
+
+    /**
+     * Sets the listener, notified after the last entity has been read.
+     *
+     * @param endListener the end listener
+     */
+    public void setEndListener(EndListener endListener) {
+        this.endListener = endListener;
+    }
+
+    /**
+     * Sets whether the result set has already been moved to its first row, which is then read without moving the cursor.
+     *
+     * @param onFirstRow the on first row
+     */
+    public void setOnFirstRow(boolean onFirstRow) {
+        this.onFirstRow = onFirstRow;
+    }
+
+    /**
+     * List iterator.
+     *
+     * @param index the index
+     * @return the list iterator
+     */
+    @Override
+    public ListIterator<Map<String, Object>> listIterator(int index) {
+        if (index != 0 || iterated) {
+            throw new UnsupportedOperationException("The result set feed can be iterated only once from its beginning");
+        }
+        iterated = true;
+        return new FeedIterator();
+    }
+
+    /**
+     * Size.
+     *
+     * @return the int
+     */
+    @Override
+    public int size() {
+        throw new UnsupportedOperationException("The size of the result set feed is not known before it is iterated");
+    }
+
+    /**
+     * To string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return "ResultSetFeed [entityType=" + entityType + "]";
+    }
+
+    /**
+     * Listener of the end of the feed.
+     */
+    @FunctionalInterface
+    public interface EndListener {
+
+        /**
+         * Called after the last entity has been read.
+         *
+         * @param count the number of the read entities
+         * @throws ODataException the o data exception
+         */
+        void onEnd(int count) throws ODataException;
+    }
+
+    /**
+     * The iterator reading the entities from the result set.
+     */
+    private class FeedIterator implements ListIterator<Map<String, Object>> {
+
+        /** The accumulator of the entity being read. */
+        private ResultSetReader.ExpandAccumulator current;
+
+        /** The next entity. */
+        private ResultSetReader.ExpandAccumulator next;
+
+        /** Whether all the rows have been read. */
+        private boolean exhausted;
+
+        /** Whether all the entities have been returned. */
+        private boolean ended;
+
+        /** The count. */
+        private int count;
+
+        /**
+         * Checks for next.
+         *
+         * @return true, if successful
+         */
+        @Override
+        public boolean hasNext() {
+            if (next == null && !ended) {
+                try {
+                    next = read();
+                    if (next == null) {
+                        ended = true;
+                        if (endListener != null) {
+                            endListener.onEnd(count);
+                        }
+                    }
+                } catch (SQLException | ODataException | IOException e) {
+                    throw new OData2Exception("Unable to read entity set", INTERNAL_SERVER_ERROR, e);
+                }
+            }
+            return next != null;
+        }
+
+        /**
+         * Next.
+         *
+         * @return the map
+         */
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ResultSetReader.ExpandAccumulator entity = next;
+            next = null;
+            count++;
+            return entity.renderForExpand();
+        }
+
+        /**
+         * Reads the rows of the next entity.
+         *
+         * @return the accumulated entity or null if there are no more entities
+         * @throws SQLException the SQL exception
+         * @throws ODataException the o data exception
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        private ResultSetReader.ExpandAccumulator read() throws SQLException, ODataException, IOException {
+            if (exhausted) {
+                return null;
+            }
+            while (nextRow()) {
+                ResultSetReader.ResultSetEntity entity = resultSetReader.getResultSetEntity(query, entityType, properties, resultSet, hasGeneratedId);
+                ResultSetReader.ExpandAccumulator completed = null;
+                if (current == null || !current.isAccumulatorFor(entity)) {
+                    completed = current;
+                    current = new ResultSetReader.ExpandAccumulator(entity);
+                }
+                if (hasExpand(expandEntities)) {
+                    resultSetReader.accumulateExpandedEntities(query, resultSet, current, expandEntities);
+                }
+                if (completed != null) {
+                    return completed;
+                }
+            }
+            exhausted = true;
+            ResultSetReader.ExpandAccumulator last = current;
+            current = null;
+            return last;
+        }
+
+        /**
+         * Moves to the next row, unless the result set is still on the first row.
+         *
+         * @return true, if there is a row
+         * @throws SQLException the SQL exception
+         */
+        private boolean nextRow() throws SQLException {
+            if (onFirstRow) {
+                onFirstRow = false;
+                return true;
+            }
+            return resultSet.next();
+        }
+
+        /**
+         * Checks for previous.
+         *
+         * @return true, if successful
+         */
+        @Override
+        public boolean hasPrevious() {
+            return false;
+        }
+
+        /**
+         * Previous.
+         *
+         * @return the map
+         */
+        @Override
+        public Map<String, Object> previous() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Next index.
+         *
+         * @return the int
+         */
+        @Override
+        public int nextIndex() {
+            return count;
+        }
+
+        /**
+         * Previous index.
+         *
+         * @return the int
+         */
+        @Override
+        public int previousIndex() {
+            return count - 1;
+        }
+
+        /**
+         * Removes the.
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Sets the.
+         *
+         * @param entity the entity
+         */
+        @Override
+        public void set(Map<String, Object> entity) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Adds the.
+         *
+         * @param entity the entity
+         */
+        @Override
+        public void add(Map<String, Object> entity) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
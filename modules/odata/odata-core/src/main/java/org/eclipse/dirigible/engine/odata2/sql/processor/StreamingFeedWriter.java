@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.engine.odata2.sql.processor;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.olingo.odata2.api.ODataServiceVersion;
+import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
+import org.apache.olingo.odata2.api.commons.ODataHttpHeaders;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.ep.EntityProviderWriteProperties;
+import org.apache.olingo.odata2.api.ep.EntityProviderWriteProperties.ODataEntityProviderPropertiesBuilder;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.core.commons.ContentType;
+import org.apache.olingo.odata2.core.commons.ContentType.ODataFormat;
+import org.apache.olingo.odata2.core.commons.XmlHelper;
+import org.apache.olingo.odata2.core.ep.aggregator.EntityInfoAggregator;
+import org.apache.olingo.odata2.core.ep.producer.AtomFeedProducer;
+import org.apache.olingo.odata2.core.ep.producer.JsonFeedEntityProducer;
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.engine.odata2.sql.api.OData2Exception;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes feeds in the background while the response is being sent, instead of serializing them into memory first.
+ * <p>
+ * The feed is serialized with the Atom and JSON producers used by the entity provider, into a bounded pipe read by the response.
+ * The resources the feed is read from are closed once it has been written, or the response has been closed, or the response
+ * has not been read for longer than {@link #DIRIGIBLE_ODATA_STREAMING_TIMEOUT}. The number of feeds written in the background
+ * is bounded by {@link #DIRIGIBLE_ODATA_STREAMING_THREADS}, the further ones wait for a writer for up to the same timeout.
+ */
+public class StreamingFeedWriter {
+
+    /** The Constant logger. */
+    private static final Logger logger = LoggerFactory.getLogger(StreamingFeedWriter.class);
+
+    /** The Constant PIPE_SIZE. */
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    /** The Constant BUFFER_SIZE. */
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /** The Constant THREAD_COUNTER. */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /** The maximum number of feeds written in the background at the same time. */
+    public static final String DIRIGIBLE_ODATA_STREAMING_THREADS = "DIRIGIBLE_ODATA_STREAMING_THREADS";
+
+    /** The seconds a feed waits for a writer, and a writer waits for its response to be read, before giving up. */
+    public static final String DIRIGIBLE_ODATA_STREAMING_TIMEOUT = "DIRIGIBLE_ODATA_STREAMING_TIMEOUT";
+
+    /** The Constant THREADS. */
+    private static final int THREADS = Math.max(Integer.parseInt(Configuration.get(DIRIGIBLE_ODATA_STREAMING_THREADS, "16")), 1);
+
+    /** The Constant WRITERS, the permits of the feeds being written. */
+    private static final Semaphore WRITERS = new Semaphore(THREADS, true);
+
+    /** The Constant EXECUTOR. */
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    /**
+     * Creates the executor, with a thread per feed being written. The feeds are queued only until a thread is available,
+     * as their number is bounded by the writer permits.
+     *
+     * @return the executor
+     */
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "odata-feed-writer-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Checks whether feeds of the given content type can be streamed.
+     *
+     * @param contentType the content type
+     * @return true, if successful
+     */
+    public static boolean isSupported(String contentType) {
+        try {
+            ODataFormat format = ContentType.create(contentType).getODataFormat();
+            return format == ODataFormat.ATOM || format == ODataFormat.XML || format == ODataFormat.JSON;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the feed, taking over the resources it is read from. If all the writers are busy, the feed waits for one of
+     * them. The properties are built by the writer, as the next link is known only after the entries have been read.
+     *
+     * @param contentType the content type
+     * @param entitySet the entity set
+     * @param feed the feed
+     * @param propertiesBuilder the properties builder
+     * @param nextLinkProvider the next link provider, or null for a feed without a next link
+     * @param resources the resources to be closed after the feed has been written
+     * @return the o data response
+     * @throws ODataException the o data exception
+     */
+    public static ODataResponse writeFeed(String contentType, EdmEntitySet entitySet, ResultSetFeed feed,
+            ODataEntityProviderPropertiesBuilder propertiesBuilder, NextLinkProvider nextLinkProvider, AutoCloseable resources)
+            throws ODataException {
+        EntityProviderWriteProperties properties = propertiesBuilder.build();
+        if (nextLinkProvider != null) {
+            // the producers read the next link after the entries, from the properties the builder has built and still updates
+            feed.setEndListener(count -> {
+                String nextLink = nextLinkProvider.getNextLink(count);
+                if (nextLink != null) {
+                    propertiesBuilder.nextLink(nextLink);
+                    if (!nextLink.equals(properties.getNextLink())) {
+                        throw new ODataException("Unable to set the next link of the feed of [" + entitySet.getName() + "]");
+                    }
+                }
+            });
+        }
+        long timeout = TimeUnit.SECONDS.toMillis(Long.parseLong(Configuration.get(DIRIGIBLE_ODATA_STREAMING_TIMEOUT, "60")));
+        FeedInputStream input = new FeedInputStream();
+        FlushingPipedOutputStream output;
+        try {
+            output = new FlushingPipedOutputStream(input, timeout);
+        } catch (IOException e) {
+            throw new ODataException("Unable to stream the feed", e);
+        }
+        ODataFormat format = ContentType.create(contentType).getODataFormat();
+        EntityInfoAggregator entityInfo = EntityInfoAggregator.create(entitySet, properties.getExpandSelectTree());
+        try {
+            if (!WRITERS.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                throw new OData2Exception("All the feed writers are busy", HttpStatusCodes.SERVICE_UNAVAILABLE);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ODataException("Interrupted while waiting for a feed writer", e);
+        }
+        try {
+            EXECUTOR.execute(() -> {
+                OutputStream out = new BufferedOutputStream(output, BUFFER_SIZE);
+                try {
+                    if (format == ODataFormat.JSON) {
+                        writeJson(out, entityInfo, feed, properties);
+                    } else {
+                        writeAtom(out, entityInfo, feed, properties);
+                    }
+                    out.flush();
+                } catch (Exception e) {
+                    // set before closing the pipe, so that the reader fails instead of getting a truncated feed
+                    input.fail(e);
+                    if (logger.isErrorEnabled()) {logger.error("Streaming the feed of [" + entitySet + "] failed", e);}
+                } finally {
+                    closeQuietly(out);
+                    closeQuietly(resources);
+                    WRITERS.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            WRITERS.release();
+            closeQuietly(output);
+            throw new ODataException("Unable to stream the feed", e);
+        }
+        return createResponse(input, contentType);
+    }
+
+    /**
+     * Creates the response with the headers, which the entity provider response gets from the request handler, as they
+     * are needed before the entity has been written.
+     *
+     * @param entity the entity
+     * @param contentType the content type
+     * @return the o data response
+     */
+    private static ODataResponse createResponse(Object entity, String contentType) {
+        return ODataResponse.entity(entity)
+                .contentHeader(contentType)
+                .header(ODataHttpHeaders.DATASERVICEVERSION, ODataServiceVersion.V20)
+                .build();
+    }
+
+    /**
+     * Close quietly.
+     *
+     * @param closeable the closeable
+     */
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            if (logger.isDebugEnabled()) {logger.debug("Closing after streaming the feed failed", e);}
+        }
+    }
+
+    /**
+     * Write atom.
+     *
+     * @param out the out
+     * @param entityInfo the entity info
+     * @param feed the feed
+     * @param properties the properties
+     * @throws Exception the exception
+     */
+    private static void writeAtom(OutputStream out, EntityInfoAggregator entityInfo, List<Map<String, Object>> feed,
+            EntityProviderWriteProperties properties) throws Exception {
+        XMLStreamWriter writer = XmlHelper.getXMLOutputFactory().createXMLStreamWriter(out, "utf-8");
+        writer.writeStartDocument("utf-8", "1.0");
+        new AtomFeedProducer(properties).append(writer, entityInfo, feed, false);
+        writer.flush();
+    }
+
+    /**
+     * Write json.
+     *
+     * @param out the out
+     * @param entityInfo the entity info
+     * @param feed the feed
+     * @param properties the properties
+     * @throws Exception the exception
+     */
+    private static void writeJson(OutputStream out, EntityInfoAggregator entityInfo, List<Map<String, Object>> feed,
+            EntityProviderWriteProperties properties) throws Exception {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        new JsonFeedEntityProducer(properties).appendAsObject(writer, entityInfo, feed, true);
+        writer.flush();
+    }
+
+    /**
+     * Provides the next link of a feed, which is written after its entries.
+     */
+    public interface NextLinkProvider {
+
+        /**
+         * Gets the next link.
+         *
+         * @param count the number of the entries of the feed
+         * @return the next link, or null if there are no further entries
+         * @throws ODataException the o data exception
+         */
+        String getNextLink(int count) throws ODataException;
+    }
+
+    /**
+     * The response entity, failing at its end if writing the feed has failed.
+     */
+    private static class FeedInputStream extends PipedInputStream {
+
+        /** The failure. */
+        private volatile Exception failure;
+
+        /**
+         * Instantiates a new feed input stream.
+         */
+        FeedInputStream() {
+            super(PIPE_SIZE);
+        }
+
+        /**
+         * Fail.
+         *
+         * @param e the e
+         */
+        void fail(Exception e) {
+            this.failure = e;
+        }
+
+        /**
+         * Waits until there is free space in the pipe, which is the case once the response reads it.
+         *
+         * @param timeout the timeout in milliseconds
+         * @return the free space, zero if the response has not been read in time
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        synchronized int awaitSpace(long timeout) throws IOException {
+            long deadline = System.currentTimeMillis() + timeout;
+            int space;
+            while ((space = in < 0 ? buffer.length : (in > out ? buffer.length - in + out : out - in)) == 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                notifyAll();
+                try {
+                    // the reader does not notify after reading, as the pipe polls
+                    wait(Math.min(remaining, 1000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the response to be read");
+                }
+            }
+            return space;
+        }
+
+        /**
+         * Read.
+         *
+         * @return the int
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        @Override
+        public synchronized int read() throws IOException {
+            return checkFailure(super.read());
+        }
+
+        /**
+         * Read.
+         *
+         * @param b the b
+         * @param off the off
+         * @param len the len
+         * @return the int
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            return checkFailure(super.read(b, off, len));
+        }
+
+        /**
+         * Check failure.
+         *
+         * @param result the result
+         * @return the int
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        private int checkFailure(int result) throws IOException {
+            if (result == -1 && failure != null) {
+                throw new IOException("Streaming the feed failed", failure);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Pipe output, waking up the reader after every written chunk. A write fails, instead of blocking the writer with its
+     * resources, if the response has not been read for longer than the timeout, e.g. as it has been abandoned.
+     */
+    private static class FlushingPipedOutputStream extends PipedOutputStream {
+
+        /** The input. */
+        private final FeedInputStream input;
+
+        /** The timeout in milliseconds. */
+        private final long timeout;
+
+        /**
+         * Instantiates a new flushing piped output stream.
+         *
+         * @param input the input
+         * @param timeout the timeout in milliseconds
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        FlushingPipedOutputStream(FeedInputStream input, long timeout) throws IOException {
+            super(input);
+            this.input = input;
+            this.timeout = timeout;
+        }
+
+        /**
+         * Write.
+         *
+         * @param b the b
+         * @param off the off
+         * @param len the len
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int space = input.awaitSpace(timeout);
+                if (space == 0) {
+                    throw new IOException("The response has not been read for " + timeout + " ms");
+                }
+                int chunk = Math.min(space, len);
+                super.write(b, off, chunk);
+                off += chunk;
+                len -= chunk;
+            }
+            flush();
+        }
+    }
+}
@@ -15,12 +15,16 @@ import static org.apache.olingo.odata2.api.commons.ODataHttpMethod.GET;
 import static org.junit.Assert.assertEquals;
 
 import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
 
 import javax.ws.rs.core.Response;
 
 import org.apache.cxf.helpers.IOUtils;
 import org.junit.Test;
 
+import com.google.gson.Gson;
+
 /**
  * The Class CategoriesODataNorthwindTest.
  */
@@ -107,4 +111,35 @@ public class CategoriesODataNorthwindTest extends AbstractODataNorthwindTest {
 		String expectedData = loadExpectedData("Categories-navigationProductsGet.json");
 		assertEquals(expectedData, data);
 	}
+
+	/**
+	 * HTTP GET: https://services.odata.org/V2/Northwind/Northwind.svc/Categories?$expand=Products&$inlinecount=allpages&$top=2&$skip=1&$format=json
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void testExpandProductsWithInlineCount() throws Exception {
+		Response response = OData2RequestBuilder.createRequest(sf) //
+				.segments("Categories") //
+				.param("$expand", "Products") //
+				.param("$inlinecount", "allpages") //
+				.param("$top", "2") //
+				.param("$skip", "1") //
+				.param("$format", "json") //
+				.executeRequest(GET);
+		String data = IOUtils.toString((InputStream) response.getEntity());
+		Map feed = (Map) new Gson().fromJson(data, Map.class).get("d");
+		assertEquals("8", feed.get("__count"));
+		List categories = (List) feed.get("results");
+		assertEquals(2, categories.size());
+		assertEquals(2.0, ((Map) categories.get(0)).get("CategoryID"));
+		assertEquals(3.0, ((Map) categories.get(1)).get("CategoryID"));
+		for (Object category : categories) {
+			Map products = (Map) ((Map) category).get("Products");
+			for (Object product : (List) products.get("results")) {
+				assertEquals(((Map) category).get("CategoryID"), ((Map) product).get("CategoryID"));
+			}
+		}
+	}
 }
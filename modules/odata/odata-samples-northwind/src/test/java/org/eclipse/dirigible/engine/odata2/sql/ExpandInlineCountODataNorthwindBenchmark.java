@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.engine.odata2.sql;
+
+import static org.apache.olingo.odata2.api.commons.ODataHttpMethod.GET;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.cxf.helpers.IOUtils;
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.engine.odata2.sql.processor.AbstractSQLProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Reads pages of the northwind entity sets with $expand and $inlinecount, with the single statement
+ * and with the separate queries for the count, the ids for $expand and the entities.
+ * <p>
+ * Not part of the test suite, run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpandInlineCountODataNorthwindBenchmark extends AbstractODataNorthwindTest {
+
+	/** Whether the single statement is enabled. */
+	@Param({"true", "false"})
+	public String singleStatement;
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		Configuration.set(AbstractSQLProcessor.DIRIGIBLE_ODATA_SINGLE_STATEMENT_ENABLED, singleStatement);
+		setup();
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		clearDb();
+		Configuration.remove(AbstractSQLProcessor.DIRIGIBLE_ODATA_SINGLE_STATEMENT_ENABLED);
+	}
+
+	/**
+	 * HTTP GET: Categories?$expand=Products&amp;$inlinecount=allpages&amp;$top=3&amp;$skip=2&amp;$format=json
+	 *
+	 * @return the response
+	 * @throws Exception the exception
+	 */
+	@Benchmark
+	public String categoriesExpandProducts() throws Exception {
+		return get("Categories", "Products", "3", "2");
+	}
+
+	/**
+	 * HTTP GET: Products?$expand=Category,Supplier&amp;$inlinecount=allpages&amp;$top=20&amp;$skip=40&amp;$format=json
+	 *
+	 * @return the response
+	 * @throws Exception the exception
+	 */
+	@Benchmark
+	public String productsExpandCategoryAndSupplier() throws Exception {
+		return get("Products", "Category,Supplier", "20", "40");
+	}
+
+	/**
+	 * Gets the page of the entity set.
+	 *
+	 * @param entitySet the entity set
+	 * @param expand the expand
+	 * @param top the top
+	 * @param skip the skip
+	 * @return the response
+	 * @throws Exception the exception
+	 */
+	private String get(String entitySet, String expand, String top, String skip) throws Exception {
+		Response response = OData2RequestBuilder.createRequest(sf) //
+				.segments(entitySet) //
+				.param("$expand", expand) //
+				.param("$inlinecount", "allpages") //
+				.param("$top", top) //
+				.param("$skip", skip) //
+				.param("$format", "json") //
+				.executeRequest(GET);
+		return IOUtils.toString((InputStream) response.getEntity());
+	}
+
+	/**
+	 * The main method.
+	 *
+	 * @param args the arguments
+	 * @throws RunnerException the runner exception
+	 */
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ExpandInlineCountODataNorthwindBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -11,6 +11,14 @@
  */
 package org.eclipse.dirigible.repository.api;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
 /**
  * The <code>IResource</code> interface represents a resource located in the
  * repository.
@@ -53,6 +61,67 @@ public interface IResource extends IEntity {
 	 */
 	public void setContent(byte[] content, boolean isBinary, String contentType) throws RepositoryWriteException;
 
+	/**
+	 * Opens a stream on the content of the resource, which has to be closed after use. The repositories, which can
+	 * stream the content, do not load it in memory at once.
+	 *
+	 * @return the content stream
+	 * @throws RepositoryReadException
+	 *             in case the content cannot be retrieved
+	 */
+	public default InputStream getContentStream() throws RepositoryReadException {
+		byte[] content = getContent();
+		return new ByteArrayInputStream(content != null ? content : new byte[0]);
+	}
+
+	/**
+	 * Writes the content of the resource to a channel, which is not closed. The repositories, which keep the content in
+	 * files, transfer it from the file without copying it through the heap.
+	 *
+	 * @param target
+	 *            the target channel
+	 * @return the number of written bytes
+	 * @throws IOException
+	 *             in case the content cannot be written
+	 * @throws RepositoryReadException
+	 *             in case the content cannot be retrieved
+	 */
+	public default long transferContentTo(WritableByteChannel target) throws IOException, RepositoryReadException {
+		long transferred = 0;
+		try (ReadableByteChannel source = Channels.newChannel(getContentStream())) {
+			ByteBuffer buffer = ByteBuffer.allocate(8192);
+			while (source.read(buffer) != -1) {
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					transferred += target.write(buffer);
+				}
+				buffer.clear();
+			}
+		}
+		return transferred;
+	}
+
+	/**
+	 * Sets this resource's content from a stream, which is read but not closed. The repositories, which can stream the
+	 * content, do not load it in memory at once.
+	 *
+	 * @param content
+	 *            the content stream
+	 * @param isBinary
+	 *            whether it is binary
+	 * @param contentType
+	 *            the type of the content
+	 * @throws RepositoryWriteException
+	 *             in case the content of the {@link IResource} cannot be stored
+	 */
+	public default void setContent(InputStream content, boolean isBinary, String contentType) throws RepositoryWriteException {
+		try {
+			setContent(content.readAllBytes(), isBinary, contentType);
+		} catch (IOException e) {
+			throw new RepositoryWriteException(e);
+		}
+	}
+
 	/**
 	 * Getter for binary flag.
 	 *
@@ -11,6 +11,7 @@
  */
 package org.eclipse.dirigible.repository.db;
 
+import java.io.InputStream;
 import java.sql.SQLException;
 
 /**
@@ -97,6 +98,17 @@ public class DatabaseFile extends DatabaseObject {
 		return getRepository().getRepositoryDao().getFileContent(this);
 	}
 
+	/**
+	 * Gets the data stream, which has to be closed after use.
+	 *
+	 * @return the data stream
+	 * @throws DatabaseRepositoryException
+	 *             the local repository exception
+	 */
+	public InputStream getDataStream() throws DatabaseRepositoryException {
+		return getRepository().getRepositoryDao().getFileContentStream(this);
+	}
+
 	/**
 	 * Sets the data.
 	 *
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.db;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The Database File Blob Definition, a content of the file versions stored once by its hash.
+ * <p>
+ * The content is either the full one, or a delta against the content of the base blob.
+ */
+@Table(name = "DIRIGIBLE_FILES_BLOBS")
+public class DatabaseFileBlobDefinition {
+
+	/** The hash. */
+	@Id
+	@Column(name = "BLOB_HASH", columnDefinition = "VARCHAR", nullable = false, length = 64)
+	private String hash;
+
+	/** The hash of the base, if the content is a delta. */
+	@Column(name = "BLOB_BASE_HASH", columnDefinition = "VARCHAR", nullable = true, length = 64)
+	private String baseHash;
+
+	/** The number of deltas to be applied, to get the full content. */
+	@Column(name = "BLOB_DEPTH", columnDefinition = "INTEGER", nullable = false)
+	private int depth;
+
+	/** The last time the blob has been referenced by a new version. */
+	@Column(name = "BLOB_USED_AT", columnDefinition = "BIGINT", nullable = false)
+	private long usedAt;
+
+	/** The content. */
+	@Column(name = "BLOB_CONTENT", columnDefinition = "BLOB", nullable = true)
+	private byte[] content;
+
+	/**
+	 * Gets the hash.
+	 *
+	 * @return the hash
+	 */
+	public String getHash() {
+		return hash;
+	}
+
+	/**
+	 * Sets the hash.
+	 *
+	 * @param hash the new hash
+	 */
+	public void setHash(String hash) {
+		this.hash = hash;
+	}
+
+	/**
+	 * Gets the base hash.
+	 *
+	 * @return the base hash
+	 */
+	public String getBaseHash() {
+		return baseHash;
+	}
+
+	/**
+	 * Sets the base hash.
+	 *
+	 * @param baseHash the new base hash
+	 */
+	public void setBaseHash(String baseHash) {
+		this.baseHash = baseHash;
+	}
+
+	/**
+	 * Gets the depth.
+	 *
+	 * @return the depth
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Sets the depth.
+	 *
+	 * @param depth the new depth
+	 */
+	public void setDepth(int depth) {
+		this.depth = depth;
+	}
+
+	/**
+	 * Gets the used at.
+	 *
+	 * @return the used at
+	 */
+	public long getUsedAt() {
+		return usedAt;
+	}
+
+	/**
+	 * Sets the used at.
+	 *
+	 * @param usedAt the new used at
+	 */
+	public void setUsedAt(long usedAt) {
+		this.usedAt = usedAt;
+	}
+
+	/**
+	 * Gets the content.
+	 *
+	 * @return the content
+	 */
+	public byte[] getContent() {
+		return content != null ? content.clone() : new byte[] {};
+	}
+
+	/**
+	 * Sets the content.
+	 *
+	 * @param content the new content
+	 */
+	public void setContent(byte[] content) {
+		this.content = content != null ? content.clone() : null;
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.db;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The stream on the content of a file, which holds the database resources it is read from until it is closed.
+ */
+public class DatabaseFileContentStream extends FilterInputStream {
+
+	/** The length. */
+	private final long length;
+
+	/** The resources, closed in reverse order. */
+	private final List<AutoCloseable> resources = new ArrayList<AutoCloseable>();
+
+	/**
+	 * Instantiates a new database file content stream.
+	 *
+	 * @param in the stream of the content
+	 * @param length the length of the content
+	 * @param resources the resources to be closed with the stream
+	 */
+	DatabaseFileContentStream(InputStream in, long length, AutoCloseable... resources) {
+		super(in);
+		this.length = length;
+		for (AutoCloseable resource : resources) {
+			this.resources.add(resource);
+		}
+	}
+
+	/**
+	 * Gets the length of the content.
+	 *
+	 * @return the length
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Adds a resource to be closed after the ones already held.
+	 *
+	 * @param resource the resource
+	 */
+	void closeWith(AutoCloseable resource) {
+		resources.add(resource);
+	}
+
+	/**
+	 * Closes the stream and the resources.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Override
+	public void close() throws IOException {
+		IOException failure = null;
+		try {
+			super.close();
+		} catch (IOException e) {
+			failure = e;
+		}
+		for (int i = resources.size() - 1; i >= 0; i--) {
+			try {
+				resources.get(i).close();
+			} catch (Exception e) {
+				if (failure == null) {
+					failure = new IOException(e);
+				}
+			}
+		}
+		resources.clear();
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+}
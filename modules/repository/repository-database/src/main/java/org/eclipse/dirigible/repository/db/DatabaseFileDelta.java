@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.db;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Delta of a content against a base, for the small edits of text files.
+ * <p>
+ * The delta keeps the lengths of the prefix and the suffix common with the base and the bytes between them, so a
+ * change at a single place costs only the changed bytes.
+ */
+final class DatabaseFileDelta {
+
+	/** The Constant HEADER_SIZE. */
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * Instantiates a new database file delta.
+	 */
+	private DatabaseFileDelta() {
+	}
+
+	/**
+	 * Encodes the content as a delta against the base.
+	 *
+	 * @param base the base
+	 * @param content the content
+	 * @return the delta
+	 */
+	static byte[] encode(byte[] base, byte[] content) {
+		int max = Math.min(base.length, content.length);
+		int prefix = 0;
+		while ((prefix < max) && (base[prefix] == content[prefix])) {
+			prefix++;
+		}
+		int suffix = 0;
+		while ((suffix < (max - prefix)) && (base[base.length - 1 - suffix] == content[content.length - 1 - suffix])) {
+			suffix++;
+		}
+		int middle = content.length - prefix - suffix;
+		return ByteBuffer.allocate(HEADER_SIZE + middle).putInt(prefix).putInt(suffix).put(content, prefix, middle).array();
+	}
+
+	/**
+	 * Applies the delta to the base.
+	 *
+	 * @param base the base
+	 * @param delta the delta
+	 * @return the content
+	 */
+	static byte[] apply(byte[] base, byte[] delta) {
+		ByteBuffer buffer = ByteBuffer.wrap(delta);
+		int prefix = buffer.getInt();
+		int suffix = buffer.getInt();
+		int middle = delta.length - HEADER_SIZE;
+		byte[] content = new byte[prefix + middle + suffix];
+		System.arraycopy(base, 0, content, 0, prefix);
+		buffer.get(content, prefix, middle);
+		System.arraycopy(base, base.length - suffix, content, prefix + middle, suffix);
+		return content;
+	}
+
+}
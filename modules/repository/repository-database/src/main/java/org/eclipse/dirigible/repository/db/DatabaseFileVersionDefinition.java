@@ -40,10 +40,14 @@ public class DatabaseFileVersionDefinition {
 	@Column(name = "FILE_NAME", columnDefinition = "VARCHAR", nullable = false, length = 255)
 	private String name;
 
-	/** The content. */
+	/** The content, stored inline by the previous releases only. */
 	@Column(name = "FILE_CONTENT", columnDefinition = "BLOB", nullable = true)
 	private byte[] content;
 
+	/** The hash of the content, stored once in the blobs table. */
+	@Column(name = "FILE_CONTENT_HASH", columnDefinition = "VARCHAR", nullable = true, length = 64)
+	private String contentHash;
+
 	/** The created at. */
 	@Column(name = "FILE_CREATED_AT", columnDefinition = "BIGINT", nullable = false)
 	private long createdAt;
@@ -150,6 +154,24 @@ public class DatabaseFileVersionDefinition {
 		this.content = content != null ? content.clone() : null;
 	}
 
+	/**
+	 * Gets the content hash.
+	 *
+	 * @return the content hash
+	 */
+	public String getContentHash() {
+		return contentHash;
+	}
+
+	/**
+	 * Sets the content hash.
+	 *
+	 * @param contentHash the new content hash
+	 */
+	public void setContentHash(String contentHash) {
+		this.contentHash = contentHash;
+	}
+
 	/**
 	 * Gets the created at.
 	 *
@@ -194,7 +194,12 @@ public class DatabaseRepository implements IRepository {
 		if (logger.isTraceEnabled()) {logger.trace("entering createCollection");} //$NON-NLS-1$
 		final RepositoryPath wrapperPath = new RepositoryPath(path);
 		final DatabaseCollection dbCollection = new DatabaseCollection(this, wrapperPath);
-		dbCollection.create();
+		DatabaseRepositoryUnitOfWork unitOfWork = databaseRepositoryDao.getUnitOfWork();
+		if (unitOfWork != null) {
+			unitOfWork.createFolders(wrapperPath.getPath());
+		} else {
+			dbCollection.create();
+		}
 		if (logger.isTraceEnabled()) {logger.trace("exiting createCollection");} //$NON-NLS-1$
 		return dbCollection;
 	}
@@ -353,7 +358,12 @@ public class DatabaseRepository implements IRepository {
 			if (logger.isErrorEnabled()) {logger.error(PROVIDED_ZIP_INPUT_STREAM_CANNOT_BE_NULL);}
 			throw new RepositoryImportException(PROVIDED_ZIP_INPUT_STREAM_CANNOT_BE_NULL);
 		}
-		RepositoryZipImporter.importZip(this, zipInputStream, relativeRoot, override, excludeRootFolderName);
+		try (DatabaseRepositoryUnitOfWork unitOfWork = databaseRepositoryDao.beginUnitOfWork()) {
+			RepositoryZipImporter.importZip(this, zipInputStream, relativeRoot, override, excludeRootFolderName);
+			unitOfWork.commit();
+		} catch (SQLException e) {
+			throw new RepositoryImportException(e);
+		}
 	}
 
 	/**
@@ -398,7 +408,13 @@ public class DatabaseRepository implements IRepository {
 			if (logger.isErrorEnabled()) {logger.error(PROVIDED_ZIP_DATA_CANNOT_BE_NULL);}
 			throw new RepositoryImportException(PROVIDED_ZIP_DATA_CANNOT_BE_NULL);
 		}
-		RepositoryZipImporter.importZip(this, new ZipInputStream(new ByteArrayInputStream(data)), relativeRoot, override, excludeRootFolderName, filter);
+		try (DatabaseRepositoryUnitOfWork unitOfWork = databaseRepositoryDao.beginUnitOfWork()) {
+			RepositoryZipImporter.importZip(this, new ZipInputStream(new ByteArrayInputStream(data)), relativeRoot, override, excludeRootFolderName,
+					filter);
+			unitOfWork.commit();
+		} catch (SQLException e) {
+			throw new RepositoryImportException(e);
+		}
 	}
 
 	/**
@@ -609,4 +625,13 @@ public class DatabaseRepository implements IRepository {
 	protected void setLastModified(long time) {
 		lastModified.set(time);
 	}
+
+	/**
+	 * Records a changed file or folder, so that only it is indexed again by the search.
+	 *
+	 * @param path the path
+	 */
+	protected void pathChanged(String path) {
+		repositorySearcher.pathChanged(path);
+	}
 }
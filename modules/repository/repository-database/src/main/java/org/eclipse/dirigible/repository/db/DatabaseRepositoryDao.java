@@ -11,19 +11,26 @@
  */
 package org.eclipse.dirigible.repository.db;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.dirigible.api.v3.security.UserFacade;
 import org.eclipse.dirigible.commons.api.helpers.ContentTypeHelper;
+import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.commons.config.StaticObjects;
 import org.eclipse.dirigible.repository.api.IEntity;
 import org.eclipse.dirigible.repository.api.IRepository;
@@ -58,6 +65,25 @@ public class DatabaseRepositoryDao {
 	/** The Constant CREATED_BY. */
 	private static final String CREATED_BY = "createdBy";
 
+	/** The Constant DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_INTERVAL, in seconds, zero disables the compaction. */
+	public static final String DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_INTERVAL = "DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_INTERVAL"; //$NON-NLS-1$
+
+	/** The Constant DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_SIZE, the max number of rows processed by each step of a compaction. */
+	public static final String DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_SIZE = "DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_SIZE"; //$NON-NLS-1$
+
+	/** The Constant DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_RETENTION_DAYS, zero keeps all the versions. */
+	public static final String DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_RETENTION_DAYS = "DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_RETENTION_DAYS"; //$NON-NLS-1$
+
+	/** The Constant BLOBS_GRACE_PERIOD, the unused blobs are kept for a while, as a version referencing them may be in progress. */
+	private static final long BLOBS_GRACE_PERIOD = TimeUnit.HOURS.toMillis(1);
+
+	/** The Constant COMPACTOR. */
+	private static final ScheduledExecutorService COMPACTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "repository-database-compaction");
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	/** The Constant OBJECT_TYPE_FOLDER. */
 	static final int OBJECT_TYPE_FOLDER = 0;
 
@@ -72,6 +98,18 @@ public class DatabaseRepositoryDao {
 
 	/** The data source. */
 	private DataSource dataSource = null;
+
+	/** The unit of work of the current thread. */
+	private final ThreadLocal<DatabaseRepositoryUnitOfWork> unitOfWork = new ThreadLocal<DatabaseRepositoryUnitOfWork>();
+
+	/** Whether the tables have been checked. */
+	private volatile boolean tablesChecked;
+
+	/** The scheduled compaction. */
+	private ScheduledFuture<?> compaction;
+
+	/** The hash of the last blob visited by the compaction. */
+	private String compactionCursor;
 	
 	/**
 	 * Gets the data source.
@@ -103,6 +141,23 @@ public class DatabaseRepositoryDao {
 	public DatabaseRepositoryDao(DatabaseRepository repository, DataSource datasource) {
 		this.repository = repository;
 		this.dataSource = datasource;
+		long interval = Long.parseLong(Configuration.get(DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_INTERVAL, "600"));
+		if (interval > 0) {
+			this.compaction = COMPACTOR.scheduleWithFixedDelay(this::cleanupOldVersions, interval, interval, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Creates the tables and adds the columns of the current release, once per repository.
+	 *
+	 * @param connection the connection
+	 * @throws SQLException the SQL exception
+	 */
+	void checkTables(Connection connection) throws SQLException {
+		if (!tablesChecked) {
+			DatabaseRepositoryUtils.checkTables(connection);
+			tablesChecked = true;
+		}
 	}
 
 	/**
@@ -154,6 +209,11 @@ public class DatabaseRepositoryDao {
 	 */
 	public void createFile(String path, byte[] content, boolean isBinary, String contentType, boolean override) throws DatabaseRepositoryException {
 		try {
+			DatabaseRepositoryUnitOfWork currentUnitOfWork = unitOfWork.get();
+			if (currentUnitOfWork != null) {
+				currentUnitOfWork.createFile(path, content, isBinary, contentType, override);
+				return;
+			}
 			if (!fileExists(path) || override) {
 				Connection connection = null;
 				try {
@@ -164,6 +224,7 @@ public class DatabaseRepositoryDao {
 					closeConnection(connection);
 				}
 				((DatabaseRepository) getRepository()).setLastModified(System.currentTimeMillis());
+				changed(path);
 				createVersion(path, content);
 			}
 		} catch (Exception e) {
@@ -187,24 +248,85 @@ public class DatabaseRepositoryDao {
 	}
 
 	/**
-	 * Close connection.
+	 * Records a changed file or folder for the search index, once the current unit of work, if any, is committed.
+	 *
+	 * @param path the path
+	 */
+	private void changed(String path) {
+		DatabaseRepositoryUnitOfWork currentUnitOfWork = unitOfWork.get();
+		if (currentUnitOfWork != null) {
+			currentUnitOfWork.changed(path);
+		} else {
+			getRepository().pathChanged(path);
+		}
+	}
+
+	/**
+	 * Begins a unit of work, which holds a single connection and transaction for the operations of the current thread
+	 * until it is closed. A unit of work begun within another one joins it.
+	 *
+	 * @return the unit of work
+	 * @throws SQLException the SQL exception
+	 */
+	public DatabaseRepositoryUnitOfWork beginUnitOfWork() throws SQLException {
+		DatabaseRepositoryUnitOfWork currentUnitOfWork = unitOfWork.get();
+		if (currentUnitOfWork != null) {
+			currentUnitOfWork.join();
+			return currentUnitOfWork;
+		}
+		currentUnitOfWork = new DatabaseRepositoryUnitOfWork(this, getDataSource().getConnection());
+		unitOfWork.set(currentUnitOfWork);
+		return currentUnitOfWork;
+	}
+
+	/**
+	 * Gets the unit of work of the current thread.
+	 *
+	 * @return the unit of work, or null if there is none
+	 */
+	public DatabaseRepositoryUnitOfWork getUnitOfWork() {
+		return unitOfWork.get();
+	}
+
+	/**
+	 * Ends the unit of work of the current thread.
+	 *
+	 * @param currentUnitOfWork the current unit of work
+	 */
+	void endUnitOfWork(DatabaseRepositoryUnitOfWork currentUnitOfWork) {
+		if (unitOfWork.get() == currentUnitOfWork) {
+			unitOfWork.remove();
+		}
+	}
+
+	/**
+	 * Close connection, unless it is the one of the current unit of work.
 	 *
 	 * @param connection the connection
 	 * @throws SQLException the SQL exception
 	 */
 	private void closeConnection(Connection connection) throws SQLException {
 		if (connection != null) {
+			DatabaseRepositoryUnitOfWork currentUnitOfWork = unitOfWork.get();
+			if ((currentUnitOfWork != null) && (currentUnitOfWork.getConnection() == connection)) {
+				return;
+			}
 			connection.close();
 		}
 	}
 
 	/**
-	 * Open connection.
+	 * Open connection, or flush and reuse the one of the current unit of work.
 	 *
 	 * @return the connection
 	 * @throws SQLException the SQL exception
 	 */
 	private Connection openConnection() throws SQLException {
+		DatabaseRepositoryUnitOfWork currentUnitOfWork = unitOfWork.get();
+		if (currentUnitOfWork != null) {
+			currentUnitOfWork.flush();
+			return currentUnitOfWork.getConnection();
+		}
 		return getDataSource().getConnection();
 	}
 
@@ -219,6 +341,7 @@ public class DatabaseRepositoryDao {
 		Connection connection = null;
 		try {
 			connection = openConnection();
+			checkTables(connection);
 			int version = DatabaseRepositoryUtils.getLastFileVersion(connection, path);
 			DatabaseRepositoryUtils.saveFileVersion(connection, path, ++version, content);
 		} finally {
@@ -268,6 +391,7 @@ public class DatabaseRepositoryDao {
 				closeConnection(connection);
 			}
 			((DatabaseRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			changed(databaseFile.getPath());
 			createVersion(workspacePath, content);
 		} catch (Exception e) {
 			throw new DatabaseRepositoryException(e);
@@ -296,6 +420,61 @@ public class DatabaseRepositoryDao {
 		}
 	}
 
+	/**
+	 * Sets the file content, streaming it to the database.
+	 *
+	 * @param path            the path
+	 * @param content            the content stream, which is read but not closed
+	 * @param isBinary            whether the file is binary, if it is new
+	 * @param contentType            the content type
+	 * @throws SQLException the SQL exception
+	 */
+	public void setFileContent(String path, InputStream content, boolean isBinary, String contentType) throws SQLException {
+		try {
+			Connection connection = null;
+			try {
+				connection = openConnection();
+				checkTables(connection);
+				String contentHash = DatabaseRepositoryUtils.saveFile(connection, path, content, isBinary, contentType);
+				int version = DatabaseRepositoryUtils.getLastFileVersion(connection, path);
+				DatabaseRepositoryUtils.saveFileVersion(connection, path, ++version, contentHash);
+			} finally {
+				closeConnection(connection);
+			}
+			((DatabaseRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			changed(path);
+		} catch (Exception e) {
+			throw new DatabaseRepositoryException(e);
+		}
+	}
+
+	/**
+	 * Opens a stream on the file content, which holds a connection until it is closed.
+	 *
+	 * @param databaseFile
+	 *            the database file
+	 * @return the file content stream
+	 */
+	public InputStream getFileContentStream(DatabaseFile databaseFile) {
+		try {
+			Connection connection = openConnection();
+			try {
+				DatabaseFileContentStream content = DatabaseRepositoryUtils.openFile(connection, databaseFile.getPath());
+				if (content == null) {
+					closeConnection(connection);
+					return new ByteArrayInputStream(new byte[0]);
+				}
+				content.closeWith(() -> closeConnection(connection));
+				return content;
+			} catch (SQLException | RuntimeException e) {
+				closeConnection(connection);
+				throw e;
+			}
+		} catch (Exception e) {
+			throw new DatabaseRepositoryException(e);
+		}
+	}
+
 	/**
 	 * Rename file.
 	 *
@@ -315,6 +494,8 @@ public class DatabaseRepositoryDao {
 				closeConnection(connection);
 			}
 			((DatabaseRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			changed(path);
+			changed(newPath);
 			if (content != null) {
 				createVersion(newPath, content);
 				removeVersions(path);
@@ -333,7 +514,7 @@ public class DatabaseRepositoryDao {
 	 * @throws SQLException the SQL exception
 	 */
 	public void copyFile(String path, String newPath) throws SQLException {
-		try {
+		try (DatabaseRepositoryUnitOfWork currentUnitOfWork = beginUnitOfWork()) {
 			byte[] content = null;
 			Connection connection = null;
 			try {
@@ -343,10 +524,11 @@ public class DatabaseRepositoryDao {
 			} finally {
 				closeConnection(connection);
 			}
-			((DatabaseRepository) getRepository()).setLastModified(System.currentTimeMillis());
 			if (content != null) {
 				createVersion(newPath, content);
 			}
+			changed(newPath);
+			currentUnitOfWork.commit();
 		} catch (Exception e) {
 			throw new DatabaseRepositoryException(e);
 		}
@@ -368,6 +550,7 @@ public class DatabaseRepositoryDao {
 				closeConnection(connection);
 			}
 			((DatabaseRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			changed(path);
 			removeVersions(path);
 		} catch (Exception e) {
 			throw new DatabaseRepositoryException(e);
@@ -390,6 +573,7 @@ public class DatabaseRepositoryDao {
 				closeConnection(connection);
 			}
 			((DatabaseRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			changed(path);
 			removeVersions(path);
 		} catch (Exception e) {
 			throw new DatabaseRepositoryException(e);
@@ -404,6 +588,11 @@ public class DatabaseRepositoryDao {
 	 */
 	public void createFolder(String path) throws SQLException {
 		try {
+			DatabaseRepositoryUnitOfWork currentUnitOfWork = unitOfWork.get();
+			if (currentUnitOfWork != null) {
+				currentUnitOfWork.createFolder(path);
+				return;
+			}
 			Connection connection = null;
 			try {
 				connection = openConnection();
@@ -434,6 +623,8 @@ public class DatabaseRepositoryDao {
 				closeConnection(connection);
 			}
 			((DatabaseRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			changed(path);
+			changed(newPath);
 			removeVersions(newPath);
 		} catch (Exception e) {
 			throw new DatabaseRepositoryException(e);
@@ -452,7 +643,7 @@ public class DatabaseRepositoryDao {
 	 *             in case of error
 	 */
 	public void copyFolder(String path, String newPath) throws DatabaseRepositoryException {
-		try {
+		try (DatabaseRepositoryUnitOfWork currentUnitOfWork = beginUnitOfWork()) {
 			Connection connection = null;
 			try {
 				connection = openConnection();
@@ -460,7 +651,8 @@ public class DatabaseRepositoryDao {
 			} finally {
 				closeConnection(connection);
 			}
-			((DatabaseRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			changed(newPath);
+			currentUnitOfWork.commit();
 		} catch (Exception e) {
 			throw new DatabaseRepositoryException(e);
 		}
@@ -558,6 +750,7 @@ public class DatabaseRepositoryDao {
 			Connection connection = null;
 			try {
 				connection = openConnection();
+				checkTables(connection);
 				List<DatabaseFileVersionDefinition> definitions = DatabaseRepositoryUtils.findFileVersions(connection, path);
 				for (DatabaseFileVersionDefinition definition : definitions) {
 					DatabaseResourceVersion databaseResourceVersion = new DatabaseResourceVersion(getRepository(), new RepositoryPath(path),
@@ -606,6 +799,7 @@ public class DatabaseRepositoryDao {
 		Connection connection = null;
 		try {
 			connection = openConnection();
+			checkTables(connection);
 			DatabaseFileVersionDefinition versionDefinition = DatabaseRepositoryUtils.getFileVersion(connection, path, version);
 			DatabaseFileDefinition fileDefinition = DatabaseRepositoryUtils.getFile(connection, path);
 			DatabaseFileVersion fileVersion = new DatabaseFileVersion(repository,
@@ -636,16 +830,40 @@ public class DatabaseRepositoryDao {
 	 * Discposing resources if needed.
 	 */
 	public void dispose() {
-		// TODO Auto-generated method stub
-
+		if (compaction != null) {
+			compaction.cancel(false);
+		}
 	}
 
 	/**
-	 * Clean-up versions older than the given period.
+	 * Compacts the versions incrementally, each call doing a bounded amount of work: moves the contents stored inline by
+	 * the previous releases to the blobs, removes the versions older than the retention period, except the last one of
+	 * each file, and removes a range of the blobs no more in use.
 	 */
 	public void cleanupOldVersions() {
-		// TODO Auto-generated method stub
-
+		int size = Math.max(1, Integer.parseInt(Configuration.get(DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_SIZE, "100")));
+		long retentionDays = Long.parseLong(Configuration.get(DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_RETENTION_DAYS, "0"));
+		try {
+			Connection connection = null;
+			try {
+				connection = openConnection();
+				checkTables(connection);
+				long now = System.currentTimeMillis();
+				int moved = DatabaseRepositoryUtils.moveInlineVersionContents(connection, size);
+				int removed = 0;
+				if (retentionDays > 0) {
+					removed = DatabaseRepositoryUtils.removeFileVersionsBefore(connection, now - TimeUnit.DAYS.toMillis(retentionDays), size);
+				}
+				synchronized (this) {
+					compactionCursor = DatabaseRepositoryUtils.removeUnusedBlobs(connection, compactionCursor, now - BLOBS_GRACE_PERIOD, size);
+				}
+				if (logger.isDebugEnabled()) {logger.debug("Compacted the repository versions, moved contents: {}, removed versions: {}", moved, removed);}
+			} finally {
+				closeConnection(connection);
+			}
+		} catch (Exception e) {
+			if (logger.isErrorEnabled()) {logger.error("Compacting the repository versions failed", e);}
+		}
 	}
 
 	/**
@@ -739,6 +957,10 @@ public class DatabaseRepositoryDao {
 	 * @throws SQLException             in case of an error
 	 */
 	public boolean folderExists(String path) throws SQLException {
+		DatabaseRepositoryUnitOfWork currentUnitOfWork = unitOfWork.get();
+		if ((currentUnitOfWork != null) && currentUnitOfWork.isFolderCreated(path)) {
+			return true;
+		}
 		Connection connection = null;
 		try {
 			connection = openConnection();
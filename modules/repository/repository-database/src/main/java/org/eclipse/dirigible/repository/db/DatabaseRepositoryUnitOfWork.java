@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.dirigible.api.v3.security.UserFacade;
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.repository.api.IRepository;
+import org.eclipse.dirigible.repository.api.RepositoryPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A unit of work of the Database Repository, holding a single connection and transaction, e.g. for a whole import.
+ * <p>
+ * The folders, files and versions created within the unit of work are collected and written with batches of
+ * statements when it is flushed. The other operations of the repository, called by the same thread while the unit of
+ * work is open, flush it and run on its connection. A unit of work, which is closed without being committed, is rolled
+ * back.
+ */
+public class DatabaseRepositoryUnitOfWork implements AutoCloseable {
+
+	/** The Constant logger. */
+	private static final Logger logger = LoggerFactory.getLogger(DatabaseRepositoryUnitOfWork.class);
+
+	/** The Constant DIRIGIBLE_REPOSITORY_DATABASE_FLUSH_SIZE. */
+	public static final String DIRIGIBLE_REPOSITORY_DATABASE_FLUSH_SIZE = "DIRIGIBLE_REPOSITORY_DATABASE_FLUSH_SIZE"; //$NON-NLS-1$
+
+	/** The Constant DEFAULT_FLUSH_SIZE. */
+	private static final String DEFAULT_FLUSH_SIZE = "100"; //$NON-NLS-1$
+
+	/** The repository dao. */
+	private final DatabaseRepositoryDao repositoryDao;
+
+	/** The connection. */
+	private final Connection connection;
+
+	/** The auto commit mode of the connection, restored on close. */
+	private final boolean autoCommit;
+
+	/** The max number of pending files, before flushing them. */
+	private final int flushSize;
+
+	/** The folders to be created. */
+	private final Set<String> pendingFolders = new LinkedHashSet<String>();
+
+	/** The folders known to exist. */
+	private final Set<String> knownFolders = new HashSet<String>();
+
+	/** The files to be saved. */
+	private final Map<String, PendingFile> pendingFiles = new LinkedHashMap<String, PendingFile>();
+
+	/** The changed files and folders, reported to the search index on commit. */
+	private final Set<String> changedPaths = new LinkedHashSet<String>();
+
+	/** The depth of the nested units of work. */
+	private int depth = 1;
+
+	/** Whether committed. */
+	private boolean committed;
+
+	/** Whether a flush has failed, which leaves the transaction to be rolled back only. */
+	private boolean failed;
+
+	/**
+	 * Instantiates a new unit of work.
+	 *
+	 * @param repositoryDao the repository dao
+	 * @param connection the connection
+	 * @throws SQLException the SQL exception
+	 */
+	DatabaseRepositoryUnitOfWork(DatabaseRepositoryDao repositoryDao, Connection connection) throws SQLException {
+		this.repositoryDao = repositoryDao;
+		this.connection = connection;
+		this.flushSize = Math.max(1, Integer.parseInt(Configuration.get(DIRIGIBLE_REPOSITORY_DATABASE_FLUSH_SIZE, DEFAULT_FLUSH_SIZE)));
+		// the tables are created before the transaction, as some databases commit implicitly on DDL
+		repositoryDao.checkTables(connection);
+		this.autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+	}
+
+	/**
+	 * Gets the connection.
+	 *
+	 * @return the connection
+	 */
+	public Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Joins a nested unit of work, which is completed by the outermost one.
+	 */
+	void join() {
+		depth++;
+	}
+
+	/**
+	 * Creates a file, together with its parent folders and its next version.
+	 *
+	 * @param path the path
+	 * @param content the content
+	 * @param isBinary whether the file is binary
+	 * @param contentType the content type
+	 * @param override whether to override an existing file
+	 * @throws SQLException the SQL exception
+	 */
+	public void createFile(String path, byte[] content, boolean isBinary, String contentType, boolean override) throws SQLException {
+		if (pendingFiles.containsKey(path)) {
+			if (!override) {
+				return;
+			}
+			// each save is a version, so the previous one is written first
+			flush();
+		}
+		RepositoryPath parentPath = new RepositoryPath(path).getParentPath();
+		StringBuilder buff = new StringBuilder();
+		for (String segment : parentPath.getSegments()) {
+			buff.append(IRepository.SEPARATOR).append(segment);
+			createFolder(buff.toString());
+		}
+		pendingFiles.put(path, new PendingFile(path, content, isBinary, override));
+		if (pendingFiles.size() >= flushSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Creates a folder, if it does not exist.
+	 *
+	 * @param path the path
+	 */
+	public void createFolder(String path) {
+		if (!knownFolders.contains(path)) {
+			pendingFolders.add(path);
+		}
+	}
+
+	/**
+	 * Creates a folder and its ancestors, if they do not exist.
+	 *
+	 * @param path the path
+	 */
+	public void createFolders(String path) {
+		StringBuilder buff = new StringBuilder();
+		for (String segment : new RepositoryPath(path).getSegments()) {
+			buff.append(IRepository.SEPARATOR).append(segment);
+			createFolder(buff.toString());
+		}
+	}
+
+	/**
+	 * Checks whether the folder is created or known to exist within this unit of work.
+	 *
+	 * @param path the path
+	 * @return true, if the folder exists
+	 */
+	public boolean isFolderCreated(String path) {
+		return knownFolders.contains(path) || pendingFolders.contains(path);
+	}
+
+	/**
+	 * Writes the pending folders, files and versions, looking up the existing ones once per batch.
+	 *
+	 * @throws SQLException the SQL exception
+	 */
+	public void flush() throws SQLException {
+		if (failed) {
+			throw new SQLException("The unit of work has failed and can only be rolled back");
+		}
+		if (pendingFolders.isEmpty() && pendingFiles.isEmpty()) {
+			return;
+		}
+		try {
+			write();
+		} catch (SQLException | RuntimeException e) {
+			failed = true;
+			throw e;
+		} finally {
+			pendingFolders.clear();
+			pendingFiles.clear();
+		}
+	}
+
+	/**
+	 * Writes the pending folders, files and versions.
+	 *
+	 * @throws SQLException the SQL exception
+	 */
+	private void write() throws SQLException {
+		Set<String> paths = new LinkedHashSet<String>(pendingFolders);
+		paths.addAll(pendingFiles.keySet());
+		Map<String, DatabaseFileDefinition> existing = DatabaseRepositoryUtils.findFiles(connection, paths);
+		String username = UserFacade.getName();
+
+		List<DatabaseFileDefinition> insertedFiles = new ArrayList<DatabaseFileDefinition>();
+		List<DatabaseFileDefinition> updatedFiles = new ArrayList<DatabaseFileDefinition>();
+		for (String path : pendingFolders) {
+			DatabaseFileDefinition folder = existing.get(path);
+			if (folder == null) {
+				insertedFiles.add(DatabaseRepositoryUtils.newFolder(path, username));
+			} else if (folder.getType() != DatabaseFileDefinition.OBJECT_TYPE_FOLDER) {
+				throw new IllegalArgumentException("Cannot create the folder, because a file with the same name already exists: " + path);
+			}
+		}
+
+		List<PendingFile> savedFiles = new ArrayList<PendingFile>();
+		List<String> updatedPaths = new ArrayList<String>();
+		for (PendingFile pendingFile : pendingFiles.values()) {
+			DatabaseFileDefinition file = existing.get(pendingFile.path);
+			if (file == null) {
+				insertedFiles.add(DatabaseRepositoryUtils.newFile(pendingFile.path, pendingFile.isBinary, username));
+			} else if (file.getType() == DatabaseFileDefinition.OBJECT_TYPE_FOLDER) {
+				throw new IllegalArgumentException("Cannot save the file, because a folder with the same name already exists: " + pendingFile.path);
+			} else if (pendingFile.override) {
+				file.setModifiedAt(System.currentTimeMillis());
+				file.setModifiedBy(username);
+				updatedFiles.add(file);
+				updatedPaths.add(pendingFile.path);
+			} else {
+				continue;
+			}
+			savedFiles.add(pendingFile);
+		}
+
+		Set<String> existingContents = updatedPaths.isEmpty() ? new HashSet<String>()
+				: DatabaseRepositoryUtils.findFileContentPaths(connection, updatedPaths);
+		List<DatabaseFileContentDefinition> insertedContents = new ArrayList<DatabaseFileContentDefinition>();
+		List<DatabaseFileContentDefinition> updatedContents = new ArrayList<DatabaseFileContentDefinition>();
+		List<String> savedPaths = new ArrayList<String>();
+		for (PendingFile savedFile : savedFiles) {
+			DatabaseFileContentDefinition content = new DatabaseFileContentDefinition();
+			content.setPath(savedFile.path);
+			content.setContent(savedFile.content);
+			(existingContents.contains(savedFile.path) ? updatedContents : insertedContents).add(content);
+			savedPaths.add(savedFile.path);
+		}
+
+		Map<String, Integer> lastVersions = savedPaths.isEmpty() ? new LinkedHashMap<String, Integer>()
+				: DatabaseRepositoryUtils.getLastFileVersions(connection, savedPaths);
+		List<DatabaseFileVersionDefinition> versions = new ArrayList<DatabaseFileVersionDefinition>();
+		for (PendingFile savedFile : savedFiles) {
+			Integer lastVersion = lastVersions.get(savedFile.path);
+			int version = (lastVersion != null ? lastVersion : 0) + 1;
+			versions.add(DatabaseRepositoryUtils.newFileVersion(savedFile.path, version, savedFile.content, username));
+		}
+
+		DatabaseRepositoryUtils.insertFiles(connection, insertedFiles);
+		DatabaseRepositoryUtils.updateFiles(connection, updatedFiles);
+		DatabaseRepositoryUtils.insertFileContents(connection, insertedContents);
+		DatabaseRepositoryUtils.updateFileContents(connection, updatedContents);
+		DatabaseRepositoryUtils.saveFileVersions(connection, versions);
+		knownFolders.addAll(pendingFolders);
+		changedPaths.addAll(savedPaths);
+
+		if (logger.isDebugEnabled()) {logger.debug(String.format("Unit of work flushed %d folders and files and %d versions", insertedFiles.size() + updatedFiles.size(), versions.size()));}
+	}
+
+	/**
+	 * Flushes and commits the unit of work, a nested one is only flushed.
+	 *
+	 * @throws SQLException the SQL exception
+	 */
+	public void commit() throws SQLException {
+		flush();
+		if (depth == 1) {
+			connection.commit();
+			committed = true;
+			repositoryDao.getRepository().setLastModified(System.currentTimeMillis());
+			for (String path : changedPaths) {
+				repositoryDao.getRepository().pathChanged(path);
+			}
+		}
+	}
+
+	/**
+	 * Records a changed file or folder, which is reported to the search index on commit.
+	 *
+	 * @param path the path
+	 */
+	void changed(String path) {
+		changedPaths.add(path);
+	}
+
+	/**
+	 * Closes the unit of work, rolling it back if it has not been committed.
+	 */
+	@Override
+	public void close() {
+		if (--depth > 0) {
+			return;
+		}
+		repositoryDao.endUnitOfWork(this);
+		try {
+			if (!committed) {
+				connection.rollback();
+			}
+			connection.setAutoCommit(autoCommit);
+		} catch (SQLException e) {
+			if (logger.isErrorEnabled()) {logger.error("Completing the unit of work failed", e);}
+		} finally {
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				if (logger.isErrorEnabled()) {logger.error("Closing the connection of the unit of work failed", e);}
+			}
+		}
+	}
+
+	/**
+	 * A file to be saved.
+	 */
+	private static class PendingFile {
+
+		/** The path. */
+		private final String path;
+
+		/** The content. */
+		private final byte[] content;
+
+		/** Whether the file is binary. */
+		private final boolean isBinary;
+
+		/** Whether to override an existing file. */
+		private final boolean override;
+
+		/**
+		 * Instantiates a new pending file.
+		 *
+		 * @param path the path
+		 * @param content the content
+		 * @param isBinary whether the file is binary
+		 * @param override whether to override an existing file
+		 */
+		PendingFile(String path, byte[] content, boolean isBinary, boolean override) {
+			this.path = path;
+			this.content = content;
+			this.isBinary = isBinary;
+			this.override = override;
+		}
+	}
+
+}
@@ -11,17 +11,40 @@
  */
 package org.eclipse.dirigible.repository.db;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.eclipse.dirigible.api.v3.security.UserFacade;
+import org.eclipse.dirigible.commons.api.helpers.ContentTypeHelper;
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.database.persistence.PersistenceException;
 import org.eclipse.dirigible.database.persistence.PersistenceManager;
+import org.eclipse.dirigible.database.sql.DataType;
 import org.eclipse.dirigible.database.sql.SqlFactory;
+import org.eclipse.dirigible.databases.helpers.DatabaseMetadataHelper;
 import org.eclipse.dirigible.repository.api.IRepository;
 import org.eclipse.dirigible.repository.api.IRepositoryStructure;
 import org.eclipse.dirigible.repository.api.RepositoryPath;
@@ -40,9 +63,21 @@ public class DatabaseRepositoryUtils {
 	/** The persistence manager files versions. */
 	private static PersistenceManager<DatabaseFileVersionDefinition> persistenceManagerFilesVersions = new PersistenceManager<DatabaseFileVersionDefinition>();
 
+	/** The persistence manager files blobs. */
+	private static PersistenceManager<DatabaseFileBlobDefinition> persistenceManagerFilesBlobs = new PersistenceManager<DatabaseFileBlobDefinition>();
+
+	/** The Constant DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_DELTAS. */
+	public static final String DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_DELTAS = "DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_DELTAS"; //$NON-NLS-1$
+
+	/** The Constant MAX_DELTA_DEPTH, the max length of a chain of deltas, which bounds the cost of reading a version. */
+	private static final int MAX_DELTA_DEPTH = 16;
+
 	/** The Constant PERCENT. */
 	private static final String PERCENT = "%";
 
+	/** The Constant PATHS_CHUNK_SIZE, the max number of paths looked up with a single statement. */
+	private static final int PATHS_CHUNK_SIZE = 500;
+
 	/**
 	 * Save file.
 	 *
@@ -53,6 +88,56 @@ public class DatabaseRepositoryUtils {
 	 * @param contentType            the content type
 	 */
 	public static void saveFile(Connection connection, String path, byte[] content, boolean isBinary, String contentType) {
+		saveFileDefinition(connection, path, isBinary);
+
+		// the previous content is overwritten without being loaded
+		DatabaseFileContentDefinition databaseFileContentDefinition = new DatabaseFileContentDefinition();
+		databaseFileContentDefinition.setPath(path);
+		databaseFileContentDefinition.setContent(content);
+		if (persistenceManagerFilesContent.update(connection, databaseFileContentDefinition) == 0) {
+			persistenceManagerFilesContent.insert(connection, databaseFileContentDefinition);
+		}
+
+	}
+
+	/**
+	 * Save file, streaming its content to the database, so that it is not loaded in memory.
+	 *
+	 * @param connection            the underlying connection
+	 * @param path            the path of the file
+	 * @param content            the content stream, which is read but not closed
+	 * @param isBinary            whether the file is binary
+	 * @param contentType            the content type
+	 * @return the hash of the content
+	 * @throws SQLException             in case of an error
+	 */
+	public static String saveFile(Connection connection, String path, InputStream content, boolean isBinary, String contentType) throws SQLException {
+		saveFileDefinition(connection, path, isBinary);
+
+		persistenceManagerFilesContent.tableCheck(connection, DatabaseFileContentDefinition.class);
+		String sql;
+		if (findFileContentPaths(connection, Collections.singleton(path)).isEmpty()) {
+			sql = SqlFactory.getNative(connection).insert().into("DIRIGIBLE_FILES_CONTENT").column("FILE_CONTENT").column("FILE_PATH").build();
+		} else {
+			sql = SqlFactory.getNative(connection).update().table("DIRIGIBLE_FILES_CONTENT").set("FILE_CONTENT", "?").where("FILE_PATH = ?").build();
+		}
+		MessageDigest digest = DigestUtils.getSha256Digest();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setBinaryStream(1, new DigestInputStream(content, digest));
+			statement.setString(2, path);
+			statement.executeUpdate();
+		}
+		return Hex.encodeHexString(digest.digest());
+	}
+
+	/**
+	 * Inserts the file definition or updates its modification time.
+	 *
+	 * @param connection the connection
+	 * @param path the path
+	 * @param isBinary whether the file is binary
+	 */
+	private static void saveFileDefinition(Connection connection, String path, boolean isBinary) {
 		String username = UserFacade.getName();
 		DatabaseFileDefinition file = persistenceManagerFiles.find(connection, DatabaseFileDefinition.class, path);
 		if ((file != null) && (file.getType() != DatabaseFileDefinition.OBJECT_TYPE_FOLDER)) {
@@ -63,30 +148,28 @@ public class DatabaseRepositoryUtils {
 			if (file != null) {
 				throw new IllegalArgumentException("Cannot save the file, because a folder with the same name already exists: " + path);
 			}
-			String name = extractName(path);
-			file = new DatabaseFileDefinition();
-			file.setPath(path);
-			file.setName(name);
-			file.setType(isBinary ? DatabaseFileDefinition.OBJECT_TYPE_BINARY : DatabaseFileDefinition.OBJECT_TYPE_TEXT);
-			file.setCreatedAt(System.currentTimeMillis());
-			file.setCreatedBy(username);
-			file.setModifiedAt(file.getCreatedAt());
-			file.setModifiedBy(username);
-			persistenceManagerFiles.insert(connection, file);
-		}
-
-		DatabaseFileContentDefinition databaseFileContentDefinition = persistenceManagerFilesContent.find(connection,
-				DatabaseFileContentDefinition.class, path);
-		if (databaseFileContentDefinition != null) {
-			databaseFileContentDefinition.setContent(content);
-			persistenceManagerFilesContent.update(connection, databaseFileContentDefinition);
-		} else {
-			databaseFileContentDefinition = new DatabaseFileContentDefinition();
-			databaseFileContentDefinition.setPath(path);
-			databaseFileContentDefinition.setContent(content);
-			persistenceManagerFilesContent.insert(connection, databaseFileContentDefinition);
+			persistenceManagerFiles.insert(connection, newFile(path, isBinary, username));
 		}
+	}
 
+	/**
+	 * Creates a new file definition.
+	 *
+	 * @param path            the path
+	 * @param isBinary            whether the file is binary
+	 * @param username            the user name
+	 * @return the file definition
+	 */
+	static DatabaseFileDefinition newFile(String path, boolean isBinary, String username) {
+		DatabaseFileDefinition file = new DatabaseFileDefinition();
+		file.setPath(path);
+		file.setName(extractName(path));
+		file.setType(isBinary ? DatabaseFileDefinition.OBJECT_TYPE_BINARY : DatabaseFileDefinition.OBJECT_TYPE_TEXT);
+		file.setCreatedAt(System.currentTimeMillis());
+		file.setCreatedBy(username);
+		file.setModifiedAt(file.getCreatedAt());
+		file.setModifiedBy(username);
+		return file;
 	}
 
 	/**
@@ -127,6 +210,40 @@ public class DatabaseRepositoryUtils {
 		return null;
 	}
 
+	/**
+	 * Opens a stream on the content of the file, which holds the result set until it is closed.
+	 *
+	 * @param connection            the connection
+	 * @param path            the path
+	 * @return the content stream, or null if there is no such file
+	 * @throws SQLException             in case of an error
+	 */
+	public static DatabaseFileContentStream openFile(Connection connection, String path) throws SQLException {
+		persistenceManagerFilesContent.tableCheck(connection, DatabaseFileContentDefinition.class);
+		String sql = SqlFactory.getNative(connection).select().column("FILE_CONTENT").from("DIRIGIBLE_FILES_CONTENT").where("FILE_PATH = ?").build();
+		PreparedStatement statement = connection.prepareStatement(sql);
+		try {
+			statement.setString(1, path);
+			ResultSet rs = statement.executeQuery();
+			if (!rs.next()) {
+				statement.close();
+				return null;
+			}
+			Object value = rs.getObject(1);
+			if (value instanceof Blob) {
+				Blob blob = (Blob) value;
+				return new DatabaseFileContentStream(blob.getBinaryStream(), blob.length(), statement, blob::free);
+			}
+			// the drivers, which map the column to a binary type, read the value at once
+			byte[] bytes = value instanceof byte[] ? (byte[]) value : new byte[0];
+			statement.close();
+			return new DatabaseFileContentStream(new ByteArrayInputStream(bytes), bytes.length);
+		} catch (SQLException | RuntimeException e) {
+			statement.close();
+			throw e;
+		}
+	}
+
 	/**
 	 * Moves the file.
 	 *
@@ -224,22 +341,29 @@ public class DatabaseRepositoryUtils {
 	 */
 	public static void createFolder(Connection connection, String path) {
 		if (!existsFolder(connection, path)) {
-			String name = extractName(path);
-			String username = UserFacade.getName();
-
-			DatabaseFileDefinition folder = new DatabaseFileDefinition();
-			folder.setPath(path);
-			folder.setName(name);
-			folder.setType(DatabaseFileDefinition.OBJECT_TYPE_FOLDER);
-			folder.setCreatedAt(System.currentTimeMillis());
-			folder.setCreatedBy(username);
-			folder.setModifiedAt(folder.getCreatedAt());
-			folder.setModifiedBy(username);
-
-			persistenceManagerFiles.insert(connection, folder);
+			persistenceManagerFiles.insert(connection, newFolder(path, UserFacade.getName()));
 		}
 	}
 
+	/**
+	 * Creates a new folder definition.
+	 *
+	 * @param path            the path
+	 * @param username            the user name
+	 * @return the folder definition
+	 */
+	static DatabaseFileDefinition newFolder(String path, String username) {
+		DatabaseFileDefinition folder = new DatabaseFileDefinition();
+		folder.setPath(path);
+		folder.setName(extractName(path));
+		folder.setType(DatabaseFileDefinition.OBJECT_TYPE_FOLDER);
+		folder.setCreatedAt(System.currentTimeMillis());
+		folder.setCreatedBy(username);
+		folder.setModifiedAt(folder.getCreatedAt());
+		folder.setModifiedBy(username);
+		return folder;
+	}
+
 	/**
 	 * Copy a folder.
 	 *
@@ -405,21 +529,253 @@ public class DatabaseRepositoryUtils {
 	 * @param path            the path
 	 * @param version            the version
 	 * @param content            the content
+	 * @throws SQLException             in case of an error
 	 */
-	public static void saveFileVersion(Connection connection, String path, int version, byte[] content) {
-		String username = UserFacade.getName();
-		String name = extractName(path);
+	public static void saveFileVersion(Connection connection, String path, int version, byte[] content) throws SQLException {
+		List<DatabaseFileVersionDefinition> versions = new ArrayList<DatabaseFileVersionDefinition>();
+		versions.add(newFileVersion(path, version, content, UserFacade.getName()));
+		saveFileVersions(connection, versions);
+	}
+
+	/**
+	 * Saves a version of a file, which content has been streamed to the database. The content is copied to the blobs
+	 * within the database.
+	 *
+	 * @param connection            the connection
+	 * @param path            the path
+	 * @param version            the version number
+	 * @param contentHash            the hash of the content of the file
+	 * @throws SQLException             in case of an error
+	 */
+	public static void saveFileVersion(Connection connection, String path, int version, String contentHash) throws SQLException {
+		persistenceManagerFilesBlobs.tableCheck(connection, DatabaseFileBlobDefinition.class);
+		long now = System.currentTimeMillis();
+		if (findValues(connection, "DIRIGIBLE_FILES_BLOBS", "BLOB_HASH", Collections.singleton(contentHash)).isEmpty()) {
+			String select = SqlFactory.getNative(connection).select().column("?").column("0").column("?").column("FILE_CONTENT")
+					.from("DIRIGIBLE_FILES_CONTENT").where("FILE_PATH = ?").build();
+			String sql = SqlFactory.getNative(connection).insert().into("DIRIGIBLE_FILES_BLOBS").column("BLOB_HASH").column("BLOB_DEPTH")
+					.column("BLOB_USED_AT").column("BLOB_CONTENT").select(select).build();
+			Savepoint savepoint = setSavepoint(connection);
+			try {
+				persistenceManagerFilesBlobs.execute(connection, sql, contentHash, now, path);
+			} catch (PersistenceException e) {
+				recoverBlobsConflict(connection, savepoint, Collections.singleton(contentHash), now, e);
+			}
+		} else {
+			touchBlobs(connection, Collections.singleton(contentHash), now);
+		}
+		DatabaseFileVersionDefinition fileVersion = newFileVersion(path, version, null, UserFacade.getName());
+		fileVersion.setContentHash(contentHash);
+		persistenceManagerFilesVersions.insert(connection, fileVersion);
+	}
+
+	/**
+	 * Stores the versions with batches of statements. The contents are stored once by their hash and the versions
+	 * only reference them. The contents of the text files can be stored as deltas against their previous versions.
+	 *
+	 * @param connection            the connection
+	 * @param versions            the version definitions with their contents
+	 * @throws SQLException             in case of an error
+	 */
+	public static void saveFileVersions(Connection connection, List<DatabaseFileVersionDefinition> versions) throws SQLException {
+		if (versions.isEmpty()) {
+			return;
+		}
+		Map<String, byte[]> contents = new LinkedHashMap<String, byte[]>();
+		Map<String, String> paths = new HashMap<String, String>();
+		for (DatabaseFileVersionDefinition version : versions) {
+			byte[] content = version.getContent();
+			String hash = DigestUtils.sha256Hex(content);
+			if (!contents.containsKey(hash)) {
+				contents.put(hash, content);
+				paths.put(hash, version.getPath());
+			}
+			version.setContentHash(hash);
+			version.setContent(null);
+		}
+		long now = System.currentTimeMillis();
+		Set<String> existing = findValues(connection, "DIRIGIBLE_FILES_BLOBS", "BLOB_HASH", contents.keySet());
+		touchBlobs(connection, existing, now);
+
+		Map<String, String> baseHashes = new HashMap<String, String>();
+		if (Boolean.parseBoolean(Configuration.get(DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_DELTAS, "false"))) {
+			List<String> textPaths = new ArrayList<String>();
+			for (Map.Entry<String, String> entry : paths.entrySet()) {
+				if (!existing.contains(entry.getKey())
+						&& !ContentTypeHelper.isBinary(ContentTypeHelper.getContentType(FilenameUtils.getExtension(entry.getValue())))) {
+					textPaths.add(entry.getValue());
+				}
+			}
+			baseHashes = getLastFileVersionHashes(connection, textPaths);
+		}
+
+		List<DatabaseFileBlobDefinition> blobs = new ArrayList<DatabaseFileBlobDefinition>();
+		Set<String> hashes = new HashSet<String>();
+		for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+			if (!existing.contains(entry.getKey())) {
+				blobs.add(newBlob(connection, entry.getKey(), entry.getValue(), baseHashes.get(paths.get(entry.getKey())), now));
+				hashes.add(entry.getKey());
+			}
+		}
+		Savepoint savepoint = setSavepoint(connection);
+		try {
+			persistenceManagerFilesBlobs.insertAll(connection, blobs);
+		} catch (PersistenceException e) {
+			Set<String> inserted = recoverBlobsConflict(connection, savepoint, hashes, now, e);
+			List<DatabaseFileBlobDefinition> missing = new ArrayList<DatabaseFileBlobDefinition>();
+			for (DatabaseFileBlobDefinition blob : blobs) {
+				if (!inserted.contains(blob.getHash())) {
+					missing.add(blob);
+				}
+			}
+			persistenceManagerFilesBlobs.insertAll(connection, missing);
+		}
+		persistenceManagerFilesVersions.insertAll(connection, versions);
+	}
+
+	/**
+	 * Sets a savepoint to roll back to, if the connection is within a transaction.
+	 *
+	 * @param connection the connection
+	 * @return the savepoint, or null in auto commit mode
+	 * @throws SQLException in case of an error
+	 */
+	private static Savepoint setSavepoint(Connection connection) throws SQLException {
+		return connection.getAutoCommit() ? null : connection.setSavepoint();
+	}
+
+	/**
+	 * Recovers from a failed insert of blobs, which may have been inserted meanwhile by a concurrent save of the same
+	 * contents. The ones inserted meanwhile are treated as existing ones.
+	 *
+	 * @param connection the connection
+	 * @param savepoint the savepoint taken before the insert, or null
+	 * @param hashes the hashes of the blobs being inserted
+	 * @param now the current time
+	 * @param cause the failure of the insert
+	 * @return the hashes of the blobs inserted meanwhile
+	 * @throws SQLException in case of an error
+	 */
+	private static Set<String> recoverBlobsConflict(Connection connection, Savepoint savepoint, Collection<String> hashes, long now,
+			PersistenceException cause) throws SQLException {
+		if (savepoint != null) {
+			connection.rollback(savepoint);
+		}
+		Set<String> inserted = findValues(connection, "DIRIGIBLE_FILES_BLOBS", "BLOB_HASH", hashes);
+		if (inserted.isEmpty()) {
+			throw cause;
+		}
+		touchBlobs(connection, inserted, now);
+		return inserted;
+	}
+
+	/**
+	 * Creates a new blob, with a delta against the base if it is small enough.
+	 *
+	 * @param connection the connection
+	 * @param hash the hash
+	 * @param content the content
+	 * @param baseHash the base hash, or null
+	 * @param now the current time
+	 * @return the blob definition
+	 */
+	private static DatabaseFileBlobDefinition newBlob(Connection connection, String hash, byte[] content, String baseHash, long now) {
+		DatabaseFileBlobDefinition blob = new DatabaseFileBlobDefinition();
+		blob.setHash(hash);
+		blob.setUsedAt(now);
+		blob.setContent(content);
+		if ((baseHash != null) && !baseHash.equals(hash)) {
+			DatabaseFileBlobDefinition base = persistenceManagerFilesBlobs.find(connection, DatabaseFileBlobDefinition.class, baseHash);
+			if ((base != null) && (base.getDepth() < MAX_DELTA_DEPTH)) {
+				byte[] delta = DatabaseFileDelta.encode(resolveBlob(connection, base), content);
+				if (delta.length < (content.length / 2)) {
+					blob.setBaseHash(baseHash);
+					blob.setDepth(base.getDepth() + 1);
+					blob.setContent(delta);
+				}
+			}
+		}
+		return blob;
+	}
+
+	/**
+	 * Loads the content of a blob.
+	 *
+	 * @param connection            the connection
+	 * @param hash            the hash
+	 * @return the content, or null if there is no such blob
+	 */
+	public static byte[] loadBlob(Connection connection, String hash) {
+		DatabaseFileBlobDefinition blob = persistenceManagerFilesBlobs.find(connection, DatabaseFileBlobDefinition.class, hash);
+		return blob != null ? resolveBlob(connection, blob) : null;
+	}
+
+	/**
+	 * Resolves the full content of a blob, applying its deltas to its base.
+	 *
+	 * @param connection the connection
+	 * @param blob the blob
+	 * @return the content
+	 */
+	private static byte[] resolveBlob(Connection connection, DatabaseFileBlobDefinition blob) {
+		Deque<byte[]> deltas = new ArrayDeque<byte[]>();
+		while (blob.getBaseHash() != null) {
+			deltas.push(blob.getContent());
+			String baseHash = blob.getBaseHash();
+			blob = persistenceManagerFilesBlobs.find(connection, DatabaseFileBlobDefinition.class, baseHash);
+			if (blob == null) {
+				throw new IllegalStateException("The base of a versioned content is missing: " + baseHash);
+			}
+		}
+		byte[] content = blob.getContent();
+		while (!deltas.isEmpty()) {
+			content = DatabaseFileDelta.apply(content, deltas.pop());
+		}
+		return content;
+	}
+
+	/**
+	 * Marks the blobs as used by a new version, so that they are not removed meanwhile.
+	 *
+	 * @param connection the connection
+	 * @param hashes the hashes
+	 * @param now the current time
+	 * @throws SQLException in case of an error
+	 */
+	private static void touchBlobs(Connection connection, Collection<String> hashes, long now) throws SQLException {
+		for (List<Object> chunk : chunk(hashes)) {
+			String sql = SqlFactory.getNative(connection).update().table("DIRIGIBLE_FILES_BLOBS").set("BLOB_USED_AT", "?")
+					.where("BLOB_HASH IN (" + placeholders(chunk.size()) + ")").build();
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.setLong(1, now);
+				for (int i = 0; i < chunk.size(); i++) {
+					statement.setString(i + 2, (String) chunk.get(i));
+				}
+				statement.executeUpdate();
+			}
+		}
+	}
+
+	/**
+	 * Creates a new file version definition.
+	 *
+	 * @param path            the path
+	 * @param version            the version
+	 * @param content            the content
+	 * @param username            the user name
+	 * @return the file version definition
+	 */
+	static DatabaseFileVersionDefinition newFileVersion(String path, int version, byte[] content, String username) {
 		DatabaseFileVersionDefinition fileVersion = new DatabaseFileVersionDefinition();
 		fileVersion.setPath(path);
-		fileVersion.setName(name);
+		fileVersion.setName(extractName(path));
 		fileVersion.setVersion(version);
 		fileVersion.setContent(content);
 		fileVersion.setCreatedAt(System.currentTimeMillis());
 		fileVersion.setCreatedBy(username);
 		fileVersion.setModifiedAt(fileVersion.getCreatedAt());
 		fileVersion.setModifiedBy(username);
-		persistenceManagerFilesVersions.insert(connection, fileVersion);
-
+		return fileVersion;
 	}
 
 	/**
@@ -489,7 +845,11 @@ public class DatabaseRepositoryUtils {
 		if (list.isEmpty()) {
 			return null;
 		}
-		return list.get(0);
+		DatabaseFileVersionDefinition fileVersion = list.get(0);
+		if (fileVersion.getContentHash() != null) {
+			fileVersion.setContent(loadBlob(connection, fileVersion.getContentHash()));
+		}
+		return fileVersion;
 	}
 
 	/**
@@ -519,4 +879,341 @@ public class DatabaseRepositoryUtils {
 		}
 	}
 
+	/**
+	 * Creates the tables of the repository, if they do not exist yet.
+	 *
+	 * @param connection            the connection
+	 * @throws SQLException             in case of an error
+	 */
+	public static void checkTables(Connection connection) throws SQLException {
+		persistenceManagerFiles.tableCheck(connection, DatabaseFileDefinition.class);
+		persistenceManagerFilesContent.tableCheck(connection, DatabaseFileContentDefinition.class);
+		persistenceManagerFilesVersions.tableCheck(connection, DatabaseFileVersionDefinition.class);
+		persistenceManagerFilesBlobs.tableCheck(connection, DatabaseFileBlobDefinition.class);
+		if (!existsColumn(connection, "DIRIGIBLE_FILES_VERSIONS", "FILE_CONTENT_HASH")) {
+			// added after the table has been released
+			String sql = SqlFactory.getNative(connection).alter().table("DIRIGIBLE_FILES_VERSIONS").add()
+					.column("FILE_CONTENT_HASH", DataType.VARCHAR, false, true, false, "(64)").build();
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.executeUpdate();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a column exists.
+	 *
+	 * @param connection the connection
+	 * @param table the table
+	 * @param column the column
+	 * @return true, if the column exists
+	 * @throws SQLException the SQL exception
+	 */
+	private static boolean existsColumn(Connection connection, String table, String column) throws SQLException {
+		try (ResultSet columns = connection.getMetaData().getColumns(null, null, DatabaseMetadataHelper.normalizeTableName(table), null)) {
+			while (columns.next()) {
+				if (column.equalsIgnoreCase(columns.getString(4))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the files and folders with the given paths.
+	 *
+	 * @param connection            the connection
+	 * @param paths            the paths
+	 * @return the definitions by path, of the existing ones only
+	 */
+	public static Map<String, DatabaseFileDefinition> findFiles(Connection connection, Collection<String> paths) {
+		Map<String, DatabaseFileDefinition> results = new HashMap<String, DatabaseFileDefinition>();
+		for (List<Object> chunk : chunk(paths)) {
+			String sql = SqlFactory.getNative(connection).select().column("*").from("DIRIGIBLE_FILES")
+					.where("FILE_PATH IN (" + placeholders(chunk.size()) + ")").build();
+			for (DatabaseFileDefinition file : persistenceManagerFiles.query(connection, DatabaseFileDefinition.class, sql, chunk)) {
+				results.put(file.getPath(), file);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Finds which of the given paths have a content, without loading it.
+	 *
+	 * @param connection            the connection
+	 * @param paths            the paths
+	 * @return the paths with a content
+	 * @throws SQLException             in case of an error
+	 */
+	public static Set<String> findFileContentPaths(Connection connection, Collection<String> paths) throws SQLException {
+		return findValues(connection, "DIRIGIBLE_FILES_CONTENT", "FILE_PATH", paths);
+	}
+
+	/**
+	 * Finds which of the given values are present in a column.
+	 *
+	 * @param connection the connection
+	 * @param table the table
+	 * @param column the column
+	 * @param values the values
+	 * @return the present values
+	 * @throws SQLException in case of an error
+	 */
+	private static Set<String> findValues(Connection connection, String table, String column, Collection<String> values) throws SQLException {
+		Set<String> results = new HashSet<String>();
+		for (List<Object> chunk : chunk(values)) {
+			String sql = SqlFactory.getNative(connection).select().column(column).from(table)
+					.where(column + " IN (" + placeholders(chunk.size()) + ")").build();
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				for (int i = 0; i < chunk.size(); i++) {
+					statement.setString(i + 1, (String) chunk.get(i));
+				}
+				try (ResultSet rs = statement.executeQuery()) {
+					while (rs.next()) {
+						results.add(rs.getString(1));
+					}
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Returns the last versions of the given paths.
+	 *
+	 * @param connection            the connection
+	 * @param paths            the paths
+	 * @return the last versions by path, of the versioned ones only
+	 * @throws SQLException             in case of an error
+	 */
+	public static Map<String, Integer> getLastFileVersions(Connection connection, Collection<String> paths) throws SQLException {
+		Map<String, Integer> results = new HashMap<String, Integer>();
+		for (List<Object> chunk : chunk(paths)) {
+			String sql = SqlFactory.getNative(connection).select().column("FILE_PATH").column("MAX(FILE_VERSION)").from("DIRIGIBLE_FILES_VERSIONS")
+					.where("FILE_PATH IN (" + placeholders(chunk.size()) + ")").group("FILE_PATH").build();
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				for (int i = 0; i < chunk.size(); i++) {
+					statement.setString(i + 1, (String) chunk.get(i));
+				}
+				try (ResultSet rs = statement.executeQuery()) {
+					while (rs.next()) {
+						results.put(rs.getString(1), rs.getInt(2));
+					}
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Inserts the files and folders with batches of statements.
+	 *
+	 * @param connection            the connection
+	 * @param files            the file definitions
+	 */
+	public static void insertFiles(Connection connection, List<DatabaseFileDefinition> files) {
+		persistenceManagerFiles.insertAll(connection, files);
+	}
+
+	/**
+	 * Updates the files with batches of statements.
+	 *
+	 * @param connection            the connection
+	 * @param files            the file definitions
+	 */
+	public static void updateFiles(Connection connection, List<DatabaseFileDefinition> files) {
+		persistenceManagerFiles.updateAll(connection, files);
+	}
+
+	/**
+	 * Inserts the contents with batches of statements.
+	 *
+	 * @param connection            the connection
+	 * @param contents            the content definitions
+	 */
+	public static void insertFileContents(Connection connection, List<DatabaseFileContentDefinition> contents) {
+		persistenceManagerFilesContent.insertAll(connection, contents);
+	}
+
+	/**
+	 * Updates the contents with batches of statements.
+	 *
+	 * @param connection            the connection
+	 * @param contents            the content definitions
+	 */
+	public static void updateFileContents(Connection connection, List<DatabaseFileContentDefinition> contents) {
+		persistenceManagerFilesContent.updateAll(connection, contents);
+	}
+
+	/**
+	 * Returns the content hashes of the last versions of the given paths.
+	 *
+	 * @param connection            the connection
+	 * @param paths            the paths
+	 * @return the hashes by path, of the versions with a hash only
+	 * @throws SQLException             in case of an error
+	 */
+	public static Map<String, String> getLastFileVersionHashes(Connection connection, Collection<String> paths) throws SQLException {
+		Map<String, String> results = new HashMap<String, String>();
+		for (List<Object> chunk : chunk(paths)) {
+			String sql = SqlFactory.getNative(connection).select().column("FILE_PATH").column("FILE_CONTENT_HASH").from("DIRIGIBLE_FILES_VERSIONS")
+					.where("FILE_PATH IN (" + placeholders(chunk.size()) + ") AND FILE_CONTENT_HASH IS NOT NULL AND FILE_VERSION = "
+							+ "(SELECT MAX(V.FILE_VERSION) FROM DIRIGIBLE_FILES_VERSIONS V WHERE V.FILE_PATH = DIRIGIBLE_FILES_VERSIONS.FILE_PATH)")
+					.build();
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				for (int i = 0; i < chunk.size(); i++) {
+					statement.setString(i + 1, (String) chunk.get(i));
+				}
+				try (ResultSet rs = statement.executeQuery()) {
+					while (rs.next()) {
+						results.put(rs.getString(1), rs.getString(2));
+					}
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Moves the contents, stored inline in the versions by the previous releases, to the blobs.
+	 *
+	 * @param connection            the connection
+	 * @param limit            the max number of versions to be processed
+	 * @return the number of processed versions
+	 * @throws SQLException             in case of an error
+	 */
+	public static int moveInlineVersionContents(Connection connection, int limit) throws SQLException {
+		String sql = SqlFactory.getNative(connection).select().column("*").from("DIRIGIBLE_FILES_VERSIONS").where("FILE_CONTENT_HASH IS NULL")
+				.limit(limit).build();
+		List<DatabaseFileVersionDefinition> versions = persistenceManagerFilesVersions.query(connection, DatabaseFileVersionDefinition.class, sql);
+		if (versions.isEmpty()) {
+			return 0;
+		}
+		Map<String, byte[]> contents = new LinkedHashMap<String, byte[]>();
+		for (DatabaseFileVersionDefinition version : versions) {
+			byte[] content = version.getContent();
+			String hash = DigestUtils.sha256Hex(content);
+			contents.putIfAbsent(hash, content);
+			version.setContentHash(hash);
+			version.setContent(null);
+		}
+		long now = System.currentTimeMillis();
+		Set<String> existing = findValues(connection, "DIRIGIBLE_FILES_BLOBS", "BLOB_HASH", contents.keySet());
+		touchBlobs(connection, existing, now);
+		List<DatabaseFileBlobDefinition> blobs = new ArrayList<DatabaseFileBlobDefinition>();
+		for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+			if (!existing.contains(entry.getKey())) {
+				blobs.add(newBlob(connection, entry.getKey(), entry.getValue(), null, now));
+			}
+		}
+		persistenceManagerFilesBlobs.insertAll(connection, blobs);
+		persistenceManagerFilesVersions.updateAll(connection, versions);
+		return versions.size();
+	}
+
+	/**
+	 * Removes the versions created before the given time, except the last version of each file.
+	 *
+	 * @param connection            the connection
+	 * @param before            the time
+	 * @param limit            the max number of versions to be removed
+	 * @return the number of removed versions
+	 * @throws SQLException             in case of an error
+	 */
+	public static int removeFileVersionsBefore(Connection connection, long before, int limit) throws SQLException {
+		String sql = SqlFactory.getNative(connection).select().column("FILE_ID").from("DIRIGIBLE_FILES_VERSIONS")
+				.where("FILE_CREATED_AT < ? AND FILE_VERSION < "
+						+ "(SELECT MAX(V.FILE_VERSION) FROM DIRIGIBLE_FILES_VERSIONS V WHERE V.FILE_PATH = DIRIGIBLE_FILES_VERSIONS.FILE_PATH)")
+				.limit(limit).build();
+		List<Object> ids = new ArrayList<Object>();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setLong(1, before);
+			try (ResultSet rs = statement.executeQuery()) {
+				while (rs.next()) {
+					ids.add(rs.getLong(1));
+				}
+			}
+		}
+		if (!ids.isEmpty()) {
+			sql = SqlFactory.getNative(connection).delete().from("DIRIGIBLE_FILES_VERSIONS").where("FILE_ID IN (" + placeholders(ids.size()) + ")")
+					.build();
+			persistenceManagerFilesVersions.execute(connection, sql, ids);
+		}
+		return ids.size();
+	}
+
+	/**
+	 * Removes the blobs, which are referenced neither by a version nor by another blob, and which have not been used
+	 * since the given time. The blobs are visited in the order of their hashes, a bounded number at a time.
+	 *
+	 * @param connection            the connection
+	 * @param after            the hash to continue after, or null to start from the first one
+	 * @param usedBefore            the time
+	 * @param limit            the max number of blobs to be visited
+	 * @return the last visited hash, or null if all the blobs have been visited
+	 * @throws SQLException             in case of an error
+	 */
+	public static String removeUnusedBlobs(Connection connection, String after, long usedBefore, int limit) throws SQLException {
+		String sql = SqlFactory.getNative(connection).select().column("BLOB_HASH").from("DIRIGIBLE_FILES_BLOBS").where("BLOB_HASH > ?")
+				.order("BLOB_HASH").limit(limit).build();
+		List<String> hashes = new ArrayList<String>();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, after != null ? after : "");
+			try (ResultSet rs = statement.executeQuery()) {
+				while (rs.next()) {
+					hashes.add(rs.getString(1));
+				}
+			}
+		}
+		if (hashes.isEmpty()) {
+			return null;
+		}
+		Set<String> unused = new HashSet<String>(hashes);
+		unused.removeAll(findValues(connection, "DIRIGIBLE_FILES_VERSIONS", "FILE_CONTENT_HASH", hashes));
+		unused.removeAll(findValues(connection, "DIRIGIBLE_FILES_BLOBS", "BLOB_BASE_HASH", hashes));
+		for (List<Object> chunk : chunk(unused)) {
+			sql = SqlFactory.getNative(connection).delete().from("DIRIGIBLE_FILES_BLOBS")
+					.where("BLOB_HASH IN (" + placeholders(chunk.size()) + ") AND BLOB_USED_AT < ?").build();
+			List<Object> values = new ArrayList<Object>(chunk);
+			values.add(usedBefore);
+			persistenceManagerFilesBlobs.execute(connection, sql, values);
+		}
+		return hashes.size() < limit ? null : hashes.get(hashes.size() - 1);
+	}
+
+	/**
+	 * Splits the paths into chunks, which can be bound to a single statement.
+	 *
+	 * @param paths the paths
+	 * @return the chunks
+	 */
+	private static List<List<Object>> chunk(Collection<String> paths) {
+		List<List<Object>> chunks = new ArrayList<List<Object>>();
+		List<Object> chunk = null;
+		for (String path : paths) {
+			if ((chunk == null) || (chunk.size() == PATHS_CHUNK_SIZE)) {
+				chunk = new ArrayList<Object>(PATHS_CHUNK_SIZE);
+				chunks.add(chunk);
+			}
+			chunk.add(path);
+		}
+		return chunks;
+	}
+
+	/**
+	 * Builds the placeholders of an IN condition.
+	 *
+	 * @param count the count
+	 * @return the placeholders
+	 */
+	private static String placeholders(int count) {
+		StringBuilder placeholders = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			placeholders.append(i == 0 ? "?" : ",?");
+		}
+		return placeholders.toString();
+	}
+
 }
@@ -13,6 +13,7 @@ package org.eclipse.dirigible.repository.db;
 
 import static java.text.MessageFormat.format;
 
+import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -213,6 +214,26 @@ public class DatabaseResource extends DatabaseEntity implements IResource {
 		}
 	}
 
+	/**
+	 * Gets the content stream.
+	 *
+	 * @return the content stream
+	 * @throws RepositoryReadException the repository read exception
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.repository.api.IResource#getContentStream()
+	 */
+	@Override
+	public InputStream getContentStream() throws RepositoryReadException {
+		final DatabaseFile document = getDocumentSafe();
+		try {
+			return document.getDataStream();
+		} catch (DatabaseRepositoryException ex) {
+			throw new RepositoryReadException("Could not read resource content.", ex);
+		}
+	}
+
 	/**
 	 * Sets the content.
 	 *
@@ -378,4 +399,34 @@ public class DatabaseResource extends DatabaseEntity implements IResource {
 
 	}
 
+	/**
+	 * Sets the content from a stream.
+	 *
+	 * @param content the content stream
+	 * @param isBinary the is binary
+	 * @param contentType the content type
+	 * @throws RepositoryWriteException the repository write exception
+	 */
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.repository.api.IResource#setContent(java.io.InputStream, boolean, java.lang.String)
+	 */
+	@Override
+	public void setContent(InputStream content, boolean isBinary, String contentType) throws RepositoryWriteException {
+
+		this.binary = isBinary;
+		this.contentType = contentType;
+
+		if (!getParent().exists()) {
+			getParent().create();
+		}
+
+		try {
+			getRepository().getRepositoryDao().setFileContent(getRepositoryPath().toString(), content, isBinary, contentType);
+		} catch (SQLException | DatabaseRepositoryException ex) {
+			throw new RepositoryWriteException("Could not update document.", ex);
+		}
+
+	}
+
 }
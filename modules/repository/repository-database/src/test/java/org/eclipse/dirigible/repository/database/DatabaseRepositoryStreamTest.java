@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.database;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import org.eclipse.dirigible.repository.api.ICollection;
+import org.eclipse.dirigible.repository.api.IResource;
+import org.eclipse.dirigible.repository.api.IResourceVersion;
+import org.eclipse.dirigible.repository.db.DatabaseFileContentStream;
+import org.eclipse.dirigible.repository.db.DatabaseRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class DatabaseRepositoryStreamTest.
+ */
+public class DatabaseRepositoryStreamTest {
+
+	/** The Constant ROOT. */
+	private static final String ROOT = "/root1/stream";
+
+	/** The repository. */
+	private DatabaseRepository repository;
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		DataSource dataSource = DatabaseTestHelper.createDataSource("target/tests/derby");
+		repository = new DatabaseRepository(dataSource);
+		ICollection collection = repository.getCollection(ROOT);
+		if (collection.exists()) {
+			collection.delete();
+		}
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		ICollection collection = repository.getCollection(ROOT);
+		if (collection.exists()) {
+			collection.delete();
+		}
+		repository.dispose();
+	}
+
+	/**
+	 * Test the content is written and read as a stream, with its versions.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testStream() throws Exception {
+		byte[] first = new byte[300 * 1024];
+		new Random(1).nextBytes(first);
+		byte[] second = new byte[200 * 1024];
+		new Random(2).nextBytes(second);
+
+		IResource resource = repository.getResource(ROOT + "/nested/image.png");
+		resource.setContent(new ByteArrayInputStream(first), true, "image/png");
+		assertTrue(resource.exists());
+		assertTrue(repository.getResource(ROOT + "/nested/image.png").isBinary());
+		try (InputStream content = resource.getContentStream()) {
+			assertEquals(first.length, ((DatabaseFileContentStream) content).getLength());
+			assertArrayEquals(first, content.readAllBytes());
+		}
+
+		resource.setContent(new ByteArrayInputStream(second), true, "image/png");
+		assertArrayEquals(second, resource.getContent());
+
+		List<IResourceVersion> versions = repository.getRepositoryDao().getResourceVersionsByPath(ROOT + "/nested/image.png");
+		assertEquals(2, versions.size());
+		assertArrayEquals(first, versions.get(0).getContent());
+		assertArrayEquals(second, versions.get(1).getContent());
+	}
+
+	/**
+	 * Test the content written as bytes is read as a stream.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testBytes() throws Exception {
+		byte[] content = "streamed text".getBytes();
+		repository.createResource(ROOT + "/text.txt", content, false, "text/plain");
+		try (InputStream stream = repository.getResource(ROOT + "/text.txt").getContentStream()) {
+			assertArrayEquals(content, stream.readAllBytes());
+		}
+	}
+
+}
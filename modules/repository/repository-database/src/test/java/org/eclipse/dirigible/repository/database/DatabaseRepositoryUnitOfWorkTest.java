@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.sql.DataSource;
+
+import org.eclipse.dirigible.repository.api.ICollection;
+import org.eclipse.dirigible.repository.db.DatabaseRepository;
+import org.eclipse.dirigible.repository.db.DatabaseRepositoryUnitOfWork;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class DatabaseRepositoryUnitOfWorkTest.
+ */
+public class DatabaseRepositoryUnitOfWorkTest {
+
+	/** The Constant ROOT. */
+	private static final String ROOT = "/root1/unitOfWork";
+
+	/** The repository. */
+	private DatabaseRepository repository;
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		DataSource dataSource = DatabaseTestHelper.createDataSource("target/tests/derby");
+		repository = new DatabaseRepository(dataSource);
+		ICollection collection = repository.getCollection(ROOT);
+		if (collection.exists()) {
+			collection.delete();
+		}
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		ICollection collection = repository.getCollection(ROOT);
+		if (collection.exists()) {
+			collection.delete();
+		}
+	}
+
+	/**
+	 * Test the files, folders and versions are written on commit.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testCommit() throws Exception {
+		try (DatabaseRepositoryUnitOfWork unitOfWork = repository.getRepositoryDao().beginUnitOfWork()) {
+			for (int i = 0; i < 250; i++) {
+				repository.createResource(ROOT + "/folder" + (i % 3) + "/sub/file" + i + ".txt", ("content" + i).getBytes(StandardCharsets.UTF_8),
+						false, "text/plain", true);
+			}
+			repository.createResource(ROOT + "/folder0/sub/file0.txt", "changed".getBytes(StandardCharsets.UTF_8), false, "text/plain", true);
+			repository.createResource(ROOT + "/folder0/sub/file0.txt", "ignored".getBytes(StandardCharsets.UTF_8), false, "text/plain", false);
+			repository.createCollection(ROOT + "/empty/nested/");
+			assertTrue(repository.hasCollection(ROOT + "/empty/nested"));
+			unitOfWork.commit();
+		}
+
+		assertTrue(repository.hasCollection(ROOT + "/folder2/sub"));
+		assertTrue(repository.hasCollection(ROOT + "/empty/nested"));
+		assertEquals(250, repository.getCollection(ROOT + "/folder0/sub").getResourcesNames().size()
+				+ repository.getCollection(ROOT + "/folder1/sub").getResourcesNames().size()
+				+ repository.getCollection(ROOT + "/folder2/sub").getResourcesNames().size());
+		assertEquals("content249", new String(repository.getResource(ROOT + "/folder0/sub/file249.txt").getContent(), StandardCharsets.UTF_8));
+		assertEquals("changed", new String(repository.getResource(ROOT + "/folder0/sub/file0.txt").getContent(), StandardCharsets.UTF_8));
+		assertEquals(2, repository.getRepositoryDao().getResourceVersionsByPath(ROOT + "/folder0/sub/file0.txt").size());
+		assertEquals(1, repository.getRepositoryDao().getResourceVersionsByPath(ROOT + "/folder1/sub/file1.txt").size());
+	}
+
+	/**
+	 * Test the existing files are overridden or kept, and a new version is added.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testOverride() throws Exception {
+		repository.createResource(ROOT + "/first.txt", "first".getBytes(StandardCharsets.UTF_8), false, "text/plain", true);
+		repository.createResource(ROOT + "/second.txt", "second".getBytes(StandardCharsets.UTF_8), false, "text/plain", true);
+
+		try (DatabaseRepositoryUnitOfWork unitOfWork = repository.getRepositoryDao().beginUnitOfWork()) {
+			repository.createResource(ROOT + "/first.txt", "first changed".getBytes(StandardCharsets.UTF_8), false, "text/plain", true);
+			repository.createResource(ROOT + "/second.txt", "second changed".getBytes(StandardCharsets.UTF_8), false, "text/plain", false);
+			unitOfWork.commit();
+		}
+
+		assertEquals("first changed", new String(repository.getResource(ROOT + "/first.txt").getContent(), StandardCharsets.UTF_8));
+		assertEquals(2, repository.getRepositoryDao().getResourceVersionsByPath(ROOT + "/first.txt").size());
+		assertEquals("second", new String(repository.getResource(ROOT + "/second.txt").getContent(), StandardCharsets.UTF_8));
+		assertEquals(1, repository.getRepositoryDao().getResourceVersionsByPath(ROOT + "/second.txt").size());
+	}
+
+	/**
+	 * Test nothing is written, if the unit of work is not committed.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testRollback() throws Exception {
+		try (DatabaseRepositoryUnitOfWork unitOfWork = repository.getRepositoryDao().beginUnitOfWork()) {
+			repository.createResource(ROOT + "/folder/file.txt", "content".getBytes(StandardCharsets.UTF_8), false, "text/plain", true);
+			// reading within the unit of work flushes it
+			assertTrue(repository.hasResource(ROOT + "/folder/file.txt"));
+		}
+
+		assertFalse(repository.hasResource(ROOT + "/folder/file.txt"));
+		assertFalse(repository.hasCollection(ROOT + "/folder"));
+		assertTrue(repository.getRepositoryDao().getUnitOfWork() == null);
+	}
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.database;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.repository.api.ICollection;
+import org.eclipse.dirigible.repository.api.IResourceVersion;
+import org.eclipse.dirigible.repository.db.DatabaseRepository;
+import org.eclipse.dirigible.repository.db.DatabaseRepositoryDao;
+import org.eclipse.dirigible.repository.db.DatabaseRepositoryUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class DatabaseRepositoryVersionsTest.
+ */
+public class DatabaseRepositoryVersionsTest {
+
+	/** The Constant ROOT. */
+	private static final String ROOT = "/root1/versions";
+
+	/** The data source. */
+	private DataSource dataSource;
+
+	/** The repository. */
+	private DatabaseRepository repository;
+
+	/**
+	 * Sets the up.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		dataSource = DatabaseTestHelper.createDataSource("target/tests/derby");
+		repository = new DatabaseRepository(dataSource);
+		ICollection collection = repository.getCollection(ROOT);
+		if (collection.exists()) {
+			collection.delete();
+		}
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		Configuration.set(DatabaseRepositoryUtils.DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_DELTAS, "false");
+		Configuration.set(DatabaseRepositoryDao.DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_SIZE, "100");
+		ICollection collection = repository.getCollection(ROOT);
+		if (collection.exists()) {
+			collection.delete();
+		}
+		repository.dispose();
+	}
+
+	/**
+	 * Test the same content is stored once.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testDeduplication() throws Exception {
+		byte[] shared = "shared versioned content".getBytes(StandardCharsets.UTF_8);
+		repository.createResource(ROOT + "/first.txt", shared, false, "text/plain", true);
+		repository.createResource(ROOT + "/second.txt", shared, false, "text/plain", true);
+		repository.createResource(ROOT + "/first.txt", "changed".getBytes(StandardCharsets.UTF_8), false, "text/plain", true);
+
+		assertEquals(1, count("SELECT COUNT(*) FROM DIRIGIBLE_FILES_BLOBS WHERE BLOB_HASH = ?", DigestUtils.sha256Hex(shared)));
+		assertEquals(0, count("SELECT COUNT(*) FROM DIRIGIBLE_FILES_VERSIONS WHERE FILE_PATH LIKE ? AND FILE_CONTENT_HASH IS NULL", ROOT + "/%"));
+
+		List<IResourceVersion> versions = repository.getRepositoryDao().getResourceVersionsByPath(ROOT + "/first.txt");
+		assertEquals(2, versions.size());
+		assertArrayEquals(shared, versions.get(0).getContent());
+		assertArrayEquals("changed".getBytes(StandardCharsets.UTF_8), versions.get(1).getContent());
+		assertArrayEquals(shared, repository.getRepositoryDao().getResourceVersionsByPath(ROOT + "/second.txt").get(0).getContent());
+	}
+
+	/**
+	 * Test the text contents are stored as deltas against their previous versions.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testDeltas() throws Exception {
+		Configuration.set(DatabaseRepositoryUtils.DIRIGIBLE_REPOSITORY_DATABASE_VERSIONS_DELTAS, "true");
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		byte[] first = text.toString().getBytes(StandardCharsets.UTF_8);
+		byte[] second = text.insert(500, "inserted\n").toString().getBytes(StandardCharsets.UTF_8);
+		byte[] third = text.append("appended\n").toString().getBytes(StandardCharsets.UTF_8);
+		repository.createResource(ROOT + "/delta.txt", first, false, "text/plain", true);
+		repository.createResource(ROOT + "/delta.txt", second, false, "text/plain", true);
+		repository.createResource(ROOT + "/delta.txt", third, false, "text/plain", true);
+
+		assertEquals(2, count("SELECT COUNT(*) FROM DIRIGIBLE_FILES_BLOBS WHERE BLOB_HASH IN (?, ?) AND BLOB_BASE_HASH IS NOT NULL",
+				DigestUtils.sha256Hex(second), DigestUtils.sha256Hex(third)));
+		List<IResourceVersion> versions = repository.getRepositoryDao().getResourceVersionsByPath(ROOT + "/delta.txt");
+		assertEquals(3, versions.size());
+		assertArrayEquals(first, versions.get(0).getContent());
+		assertArrayEquals(second, versions.get(1).getContent());
+		assertArrayEquals(third, versions.get(2).getContent());
+	}
+
+	/**
+	 * Test the compaction moves the inline contents and removes the unused blobs.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testCompaction() throws Exception {
+		byte[] content = "inline versioned content".getBytes(StandardCharsets.UTF_8);
+		repository.createResource(ROOT + "/inline.txt", content, false, "text/plain", true);
+		String hash = DigestUtils.sha256Hex(content);
+		// as stored by the previous releases
+		update("UPDATE DIRIGIBLE_FILES_VERSIONS SET FILE_CONTENT = ?, FILE_CONTENT_HASH = NULL WHERE FILE_PATH = ?", content, ROOT + "/inline.txt");
+		update("UPDATE DIRIGIBLE_FILES_BLOBS SET BLOB_USED_AT = 0 WHERE BLOB_HASH = ?", hash);
+		String unused = DigestUtils.sha256Hex("unused");
+		update("DELETE FROM DIRIGIBLE_FILES_BLOBS WHERE BLOB_HASH = ?", unused);
+		update("INSERT INTO DIRIGIBLE_FILES_BLOBS (BLOB_HASH, BLOB_DEPTH, BLOB_USED_AT, BLOB_CONTENT) VALUES (?, 0, 0, ?)", unused,
+				"unused".getBytes(StandardCharsets.UTF_8));
+
+		// a single step visits all the blobs left by the other tests
+		Configuration.set(DatabaseRepositoryDao.DIRIGIBLE_REPOSITORY_DATABASE_COMPACTION_SIZE, "100000");
+		repository.getRepositoryDao().cleanupOldVersions();
+
+		assertEquals(0, count("SELECT COUNT(*) FROM DIRIGIBLE_FILES_VERSIONS WHERE FILE_CONTENT_HASH IS NULL"));
+		assertEquals(1, count("SELECT COUNT(*) FROM DIRIGIBLE_FILES_BLOBS WHERE BLOB_HASH = ?", hash));
+		assertEquals(0, count("SELECT COUNT(*) FROM DIRIGIBLE_FILES_BLOBS WHERE BLOB_HASH = ?", unused));
+		IResourceVersion version = repository.getRepositoryDao().getResourceVersionsByPath(ROOT + "/inline.txt").get(0);
+		assertArrayEquals(content, version.getContent());
+		try (Connection connection = dataSource.getConnection()) {
+			assertNull(DatabaseRepositoryUtils.loadBlob(connection, unused));
+			assertNotNull(DatabaseRepositoryUtils.loadBlob(connection, hash));
+		}
+	}
+
+	/**
+	 * Test a blob inserted by a concurrent save of the same content, after the check for the existing ones, is treated as an existing one.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testConcurrentBlobInsert() throws Exception {
+		byte[] content = "concurrently versioned content".getBytes(StandardCharsets.UTF_8);
+		repository.createResource(ROOT + "/concurrent1.txt", content, false, "text/plain", true);
+		update("UPDATE DIRIGIBLE_FILES_BLOBS SET BLOB_USED_AT = 0 WHERE BLOB_HASH = ?", DigestUtils.sha256Hex(content));
+
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			DatabaseRepositoryUtils.saveFileVersion(missingBlobsOnce(connection), ROOT + "/concurrent2.txt", 1, content);
+			connection.commit();
+		}
+
+		assertEquals(1, count("SELECT COUNT(*) FROM DIRIGIBLE_FILES_BLOBS WHERE BLOB_HASH = ? AND BLOB_USED_AT > 0", DigestUtils.sha256Hex(content)));
+		assertEquals(1, count("SELECT COUNT(*) FROM DIRIGIBLE_FILES_VERSIONS WHERE FILE_PATH = ?", ROOT + "/concurrent2.txt"));
+	}
+
+	/**
+	 * Wraps a connection, which does not find the existing blobs the first time they are checked, as if they have been
+	 * inserted just after the check.
+	 *
+	 * @param connection the connection
+	 * @return the wrapped connection
+	 */
+	private Connection missingBlobsOnce(Connection connection) {
+		boolean[] checked = new boolean[1];
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+			if ("prepareStatement".equals(method.getName()) && !checked[0]) {
+				String sql = (String) args[0];
+				if (sql.startsWith("SELECT BLOB_HASH FROM DIRIGIBLE_FILES_BLOBS")) {
+					checked[0] = true;
+					args[0] = sql + " AND 1 = 0";
+				}
+			}
+			try {
+				return method.invoke(connection, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		});
+	}
+
+	/**
+	 * Counts the rows.
+	 *
+	 * @param sql the sql
+	 * @param values the values
+	 * @return the count
+	 * @throws Exception the exception
+	 */
+	private int count(String sql, Object... values) throws Exception {
+		try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (int i = 0; i < values.length; i++) {
+				statement.setObject(i + 1, values[i]);
+			}
+			try (ResultSet rs = statement.executeQuery()) {
+				rs.next();
+				return rs.getInt(1);
+			}
+		}
+	}
+
+	/**
+	 * Updates the rows.
+	 *
+	 * @param sql the sql
+	 * @param values the values
+	 * @throws Exception the exception
+	 */
+	private void update(String sql, Object... values) throws Exception {
+		try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (int i = 0; i < values.length; i++) {
+				statement.setObject(i + 1, values[i]);
+			}
+			statement.executeUpdate();
+		}
+	}
+
+}
@@ -474,6 +474,30 @@ public abstract class FileSystemRepository implements IRepository {
 		return repositoryDao;
 	}
 
+	/**
+	 * Gets the repository searcher.
+	 *
+	 * @return the repository searcher
+	 */
+	public RepositorySearcher getRepositorySearcher() {
+		return repositorySearcher;
+	}
+
+	/**
+	 * Records a changed file or folder, so that only it is indexed again by the search.
+	 *
+	 * @param path the repository path or the internal path of the file or folder
+	 */
+	public void pathChanged(String path) {
+		if (repositorySearcher != null) {
+			String rootRepositoryPath = getRepositoryPath();
+			if (path.startsWith(rootRepositoryPath)) {
+				path = new RepositoryPath(path.substring(rootRepositoryPath.length())).toString();
+			}
+			repositorySearcher.pathChanged(path);
+		}
+	}
+
 	/**
 	 * Import zip.
 	 *
@@ -822,6 +846,8 @@ public abstract class FileSystemRepository implements IRepository {
 			FileSystemUtils.forceCreateDirectory(Paths.get(workspacePath).getParent().toString());
 		}
 		Files.createSymbolicLink(Paths.get(workspacePath).toAbsolutePath(), Paths.get(filePath).toAbsolutePath());
+		getRepositoryDao().clearMetadataCache();
+		pathChanged(repositoryPath);
 	}
 
 	/**
@@ -836,6 +862,8 @@ public abstract class FileSystemRepository implements IRepository {
 			String workspacePath = LocalWorkspaceMapper.getMappedName(this, repositoryPath);
 			Path filePath = Paths.get(workspacePath);
 			Files.delete(filePath);
+			getRepositoryDao().clearMetadataCache();
+			pathChanged(repositoryPath);
 		}
 	}
 
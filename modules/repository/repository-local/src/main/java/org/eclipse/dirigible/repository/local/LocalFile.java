@@ -11,6 +11,10 @@
  */
 package org.eclipse.dirigible.repository.local;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
 import org.eclipse.dirigible.repository.fs.FileSystemRepository;
 
 /**
@@ -85,6 +89,30 @@ public class LocalFile extends LocalObject {
 		return getRepository().getRepositoryDao().getFileContent(this);
 	}
 
+	/**
+	 * Gets the data stream.
+	 *
+	 * @return the data stream
+	 * @throws LocalRepositoryException
+	 *             the local repository exception
+	 */
+	public InputStream getDataStream() throws LocalRepositoryException {
+		return getRepository().getRepositoryDao().getFileContentStream(this);
+	}
+
+	/**
+	 * Transfers the data to a channel.
+	 *
+	 * @param target
+	 *            the target channel
+	 * @return the number of written bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public long transferData(WritableByteChannel target) throws IOException {
+		return getRepository().getRepositoryDao().transferFileContent(this, target);
+	}
+
 	/**
 	 * Sets the data.
 	 *
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.local;
+
+import java.io.File;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.repository.api.RepositoryCache;
+
+/**
+ * The cache of the file attributes of the local repository, next to the {@link RepositoryCache} of the contents.
+ * <p>
+ * It is enabled together with the contents cache and is invalidated by the changes made through the repository, so
+ * the changes made directly on the file system are not seen until then, as for the contents.
+ */
+class LocalMetadataCache {
+
+	/** The Constant DIRIGIBLE_REPOSITORY_LOCAL_METADATA_CACHE_SIZE. */
+	static final String DIRIGIBLE_REPOSITORY_LOCAL_METADATA_CACHE_SIZE = "DIRIGIBLE_REPOSITORY_LOCAL_METADATA_CACHE_SIZE"; //$NON-NLS-1$
+
+	/** The attributes by workspace path. */
+	private final Map<String, BasicFileAttributes> attributes = new ConcurrentHashMap<String, BasicFileAttributes>();
+
+	/** The max number of cached paths. */
+	private final int size = Integer.parseInt(Configuration.get(DIRIGIBLE_REPOSITORY_LOCAL_METADATA_CACHE_SIZE, "10000"));
+
+	/**
+	 * Gets the attributes.
+	 *
+	 * @param workspacePath the workspace path
+	 * @return the attributes, or null if they are not cached
+	 */
+	BasicFileAttributes get(String workspacePath) {
+		if (!RepositoryCache.isEnabled()) {
+			// the entries may have become stale meanwhile
+			if (!attributes.isEmpty()) {
+				attributes.clear();
+			}
+			return null;
+		}
+		return attributes.get(workspacePath);
+	}
+
+	/**
+	 * Puts the attributes of an existing file or folder.
+	 *
+	 * @param workspacePath the workspace path
+	 * @param fileAttributes the file attributes
+	 */
+	void put(String workspacePath, BasicFileAttributes fileAttributes) {
+		if (RepositoryCache.isEnabled()) {
+			if (attributes.size() >= size) {
+				attributes.clear();
+			}
+			attributes.put(workspacePath, fileAttributes);
+		}
+	}
+
+	/**
+	 * Removes the attributes of a file or folder and of its parent folder, which modification time changes with it.
+	 *
+	 * @param workspacePath the workspace path
+	 */
+	void remove(String workspacePath) {
+		attributes.remove(workspacePath);
+		int index = workspacePath.lastIndexOf(File.separatorChar);
+		if (index > 0) {
+			attributes.remove(workspacePath.substring(0, index));
+		}
+	}
+
+	/**
+	 * Clears the cache.
+	 */
+	void clear() {
+		attributes.clear();
+	}
+
+}
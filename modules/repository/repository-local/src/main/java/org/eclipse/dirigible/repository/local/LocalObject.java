@@ -11,6 +11,8 @@
  */
 package org.eclipse.dirigible.repository.local;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Date;
 
 import org.eclipse.dirigible.repository.fs.FileSystemRepository;
@@ -159,11 +161,20 @@ public abstract class LocalObject {
 	}
 
 	/**
-	 * Gets the modified by.
+	 * Gets the modified by, looking up the owner of the file on first use, unless it has been set.
 	 *
 	 * @return the modified by
 	 */
 	public String getModifiedBy() {
+		if ((this.modifiedBy == null) && (this.path != null)) {
+			String owner;
+			try {
+				owner = Files.getOwner(Paths.get(this.path)).getName();
+			} catch (Exception e) {
+				owner = "SYSTEM";
+			}
+			this.modifiedBy = owner;
+		}
 		return this.modifiedBy;
 	}
 
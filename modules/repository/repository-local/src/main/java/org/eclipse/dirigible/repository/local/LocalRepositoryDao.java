@@ -11,15 +11,24 @@
  */
 package org.eclipse.dirigible.repository.local;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 import org.eclipse.dirigible.commons.api.helpers.ContentTypeHelper;
 import org.eclipse.dirigible.commons.api.helpers.FileSystemUtils;
+import org.eclipse.dirigible.commons.config.Configuration;
 import org.eclipse.dirigible.repository.api.RepositoryCache;
 import org.eclipse.dirigible.repository.api.RepositoryWriteException;
 import org.eclipse.dirigible.repository.fs.FileSystemRepository;
@@ -34,6 +43,9 @@ public class LocalRepositoryDao {
 	/** The Constant logger. */
 	private static final Logger logger = LoggerFactory.getLogger(LocalRepositoryDao.class);
 
+	/** The Constant DIRIGIBLE_REPOSITORY_LOCAL_LARGE_FILE_SIZE_IN_KILOBYTES. */
+	public static final String DIRIGIBLE_REPOSITORY_LOCAL_LARGE_FILE_SIZE_IN_KILOBYTES = "DIRIGIBLE_REPOSITORY_LOCAL_LARGE_FILE_SIZE_IN_KILOBYTES"; //$NON-NLS-1$
+
 	/** The Constant OBJECT_TYPE_FOLDER. */
 	static final int OBJECT_TYPE_FOLDER = 0;
 
@@ -48,7 +60,12 @@ public class LocalRepositoryDao {
 	
 	/** The cache. */
 	private final RepositoryCache cache = new RepositoryCache();
-	
+
+	/** The metadata cache. */
+	private final LocalMetadataCache metadataCache = new LocalMetadataCache();
+
+	/** The min size of the large files, which are read from the file system instead of being cached on the heap. */
+	private final long largeFileSize = Long.parseLong(Configuration.get(DIRIGIBLE_REPOSITORY_LOCAL_LARGE_FILE_SIZE_IN_KILOBYTES, "256")) * 1024;
 
 	/**
 	 * Instantiates a new local repository dao.
@@ -87,8 +104,10 @@ public class LocalRepositoryDao {
 		try {
 			String workspacePath = LocalWorkspaceMapper.getMappedName(getRepository(), path);
 			FileSystemUtils.saveFile(workspacePath, content);
-			cache.put(workspacePath, content);
+			cacheContent(workspacePath, content);
+			metadataCache.remove(workspacePath);
 			((LocalRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			getRepository().pathChanged(path);
 		} catch (IOException e) {
 			throw new LocalRepositoryException(e);
 		}
@@ -115,8 +134,10 @@ public class LocalRepositoryDao {
 		try {
 			String workspacePath = LocalWorkspaceMapper.getMappedName(getRepository(), localFile.getPath());
 			FileSystemUtils.saveFile(workspacePath, content);
-			cache.put(workspacePath, content);
+			cacheContent(workspacePath, content);
+			metadataCache.remove(workspacePath);
 			((LocalRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			getRepository().pathChanged(localFile.getPath());
 		} catch (IOException e) {
 			throw new LocalRepositoryException(e);
 		}
@@ -135,7 +156,7 @@ public class LocalRepositoryDao {
 			byte[] content = cache.get(workspacePath);
 			if (content == null) {
 				content = FileSystemUtils.loadFile(workspacePath);
-				cache.put(workspacePath, content);
+				cacheContent(workspacePath, content);
 			}
 			return content;
 		} catch (IOException e) {
@@ -143,6 +164,93 @@ public class LocalRepositoryDao {
 		}
 	}
 
+	/**
+	 * Opens a stream on the file content. The large files are read from the file system, the others are served from
+	 * the cache.
+	 *
+	 * @param localFile
+	 *            the local file
+	 * @return the file content stream
+	 */
+	public InputStream getFileContentStream(LocalFile localFile) {
+		try {
+			String workspacePath = LocalWorkspaceMapper.getMappedName(getRepository(), localFile.getPath());
+			if (isLargeFile(workspacePath)) {
+				return Files.newInputStream(Paths.get(workspacePath));
+			}
+			byte[] content = getFileContent(localFile);
+			return new ByteArrayInputStream(content != null ? content : new byte[0]);
+		} catch (IOException e) {
+			throw new LocalRepositoryException(e);
+		}
+	}
+
+	/**
+	 * Writes the file content to a channel. The large files are transferred from the file system as a region of the
+	 * file, so that the operating system copies them directly to the target, where it can, instead of through the heap.
+	 *
+	 * @param localFile
+	 *            the local file
+	 * @param target
+	 *            the target channel
+	 * @return the number of written bytes
+	 * @throws IOException
+	 *             in case the content cannot be written
+	 */
+	public long transferFileContent(LocalFile localFile, WritableByteChannel target) throws IOException {
+		String workspacePath = LocalWorkspaceMapper.getMappedName(getRepository(), localFile.getPath());
+		if (isLargeFile(workspacePath)) {
+			try (FileChannel channel = FileChannel.open(Paths.get(workspacePath), StandardOpenOption.READ)) {
+				long size = channel.size();
+				long position = 0;
+				while (position < size) {
+					long transferred = channel.transferTo(position, size - position, target);
+					if (transferred <= 0) {
+						// truncated meanwhile
+						break;
+					}
+					position += transferred;
+				}
+				return position;
+			}
+		}
+		byte[] content = getFileContent(localFile);
+		ByteBuffer buffer = ByteBuffer.wrap(content != null ? content : new byte[0]);
+		long transferred = 0;
+		while (buffer.hasRemaining()) {
+			transferred += target.write(buffer);
+		}
+		return transferred;
+	}
+
+	/**
+	 * Caches the content of a file, unless it is a large one.
+	 *
+	 * @param workspacePath
+	 *            the workspace path
+	 * @param content
+	 *            the content
+	 */
+	private void cacheContent(String workspacePath, byte[] content) {
+		if ((content != null) && (content.length >= largeFileSize)) {
+			cache.remove(workspacePath);
+		} else {
+			cache.put(workspacePath, content);
+		}
+	}
+
+	/**
+	 * Checks whether an existing file is a large one.
+	 *
+	 * @param workspacePath
+	 *            the workspace path
+	 * @return true, if it is a regular file not smaller than the large file size
+	 */
+	private boolean isLargeFile(String workspacePath) {
+		BasicFileAttributes attributes = readAttributes(workspacePath);
+		return (attributes != null) && attributes.isRegularFile() && (attributes.size() >= largeFileSize);
+	}
+
 	/**
 	 * Rename file.
 	 *
@@ -157,7 +265,11 @@ public class LocalRepositoryDao {
 			String workspacePathNew = LocalWorkspaceMapper.getMappedName(getRepository(), newPath);
 			FileSystemUtils.moveFile(workspacePathOld, workspacePathNew);
 			cache.remove(workspacePathOld);
+			metadataCache.remove(workspacePathOld);
+			metadataCache.remove(workspacePathNew);
 			((LocalRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			getRepository().pathChanged(path);
+			getRepository().pathChanged(newPath);
 		} catch (IOException e) {
 			throw new LocalRepositoryException(e);
 		}
@@ -177,7 +289,9 @@ public class LocalRepositoryDao {
 			String workspacePathNew = LocalWorkspaceMapper.getMappedName(getRepository(), newPath);
 			FileSystemUtils.copyFile(workspacePathOld, workspacePathNew);
 			cache.remove(workspacePathOld);
+			metadataCache.remove(workspacePathNew);
 			((LocalRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			getRepository().pathChanged(newPath);
 		} catch (IOException e) {
 			throw new LocalRepositoryException(e);
 		}
@@ -194,7 +308,9 @@ public class LocalRepositoryDao {
 			String workspacePath = LocalWorkspaceMapper.getMappedName(getRepository(), path);
 			FileSystemUtils.removeFile(workspacePath);
 			cache.remove(workspacePath);
+			metadataCache.remove(workspacePath);
 			((LocalRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			getRepository().pathChanged(path);
 		} catch (IOException e) {
 			throw new LocalRepositoryException(e);
 		}
@@ -211,7 +327,9 @@ public class LocalRepositoryDao {
 			String workspacePath = LocalWorkspaceMapper.getMappedName(getRepository(), path);
 			FileSystemUtils.removeFile(workspacePath);
 			cache.clear();
+			metadataCache.clear();
 			((LocalRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			getRepository().pathChanged(path);
 		} catch (IOException e) {
 			throw new LocalRepositoryException(e);
 		}
@@ -227,6 +345,7 @@ public class LocalRepositoryDao {
 		try {
 			String workspacePath = LocalWorkspaceMapper.getMappedName(getRepository(), normalizePath);
 			FileSystemUtils.createFolder(workspacePath);
+			metadataCache.remove(workspacePath);
 			((LocalRepository) getRepository()).setLastModified(System.currentTimeMillis());
 		} catch (RepositoryWriteException e) {
 			throw new LocalRepositoryException(e);
@@ -247,7 +366,10 @@ public class LocalRepositoryDao {
 			String workspacePathNew = LocalWorkspaceMapper.getMappedName(getRepository(), newPath);
 			FileSystemUtils.moveFile(workspacePathOld, workspacePathNew);
 			cache.clear();
+			metadataCache.clear();
 			((LocalRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			getRepository().pathChanged(path);
+			getRepository().pathChanged(newPath);
 		} catch (IOException e) {
 			throw new LocalRepositoryException(e);
 		}
@@ -268,7 +390,9 @@ public class LocalRepositoryDao {
 			String workspacePathNew = LocalWorkspaceMapper.getMappedName(getRepository(), newPath);
 			FileSystemUtils.copyFolder(workspacePathOld, workspacePathNew);
 			cache.clear();
+			metadataCache.clear();
 			((LocalRepository) getRepository()).setLastModified(System.currentTimeMillis());
+			getRepository().pathChanged(newPath);
 		} catch (IOException e) {
 			throw new LocalRepositoryException(e);
 		}
@@ -288,29 +412,23 @@ public class LocalRepositoryDao {
 
 		try {
 			String workspacePath = LocalWorkspaceMapper.getMappedName(getRepository(), path);
-			File objectFile = new File(workspacePath);
-			if (!objectFile.exists()) {
+			BasicFileAttributes attributes = readAttributes(workspacePath);
+			if (attributes == null) {
 				// This is folder, that was not created
 				if (ContentTypeHelper.getExtension(workspacePath).isEmpty() && !workspacePath.endsWith(".")) {
 					return null;
 				}
 			}
-			if (objectFile.isFile()) {
+			if ((attributes != null) && attributes.isRegularFile()) {
 				String contentType = ContentTypeHelper.getContentType(FileSystemUtils.getExtension(workspacePath));
 				localObject = new LocalFile(repository, ContentTypeHelper.isBinary(contentType), contentType);
 			} else {
 				localObject = new LocalFolder(repository);
 			}
-			localObject.setName(objectFile.getName());
+			localObject.setName(new File(workspacePath).getName());
 			localObject.setPath(workspacePath);
-			localObject.setModifiedAt(new Date(objectFile.lastModified()));
-			String owner;
-			try {
-				owner = Files.getOwner(objectFile.toPath()).getName();
-			} catch (Exception e) {
-				owner = "SYSTEM";
-			}
-			localObject.setModifiedBy(owner);
+			localObject.setModifiedAt(new Date(attributes != null ? attributes.lastModifiedTime().toMillis() : 0L));
+			// the owner is looked up on demand only
 
 		} catch (IOException e) {
 			throw new LocalRepositoryException(e);
@@ -319,6 +437,33 @@ public class LocalRepositoryDao {
 
 	}
 
+	/**
+	 * Reads the attributes of a file or folder with a single call, or gets them from the cache.
+	 *
+	 * @param workspacePath
+	 *            the workspace path
+	 * @return the attributes, or null if there is no such file or folder
+	 */
+	private BasicFileAttributes readAttributes(String workspacePath) {
+		BasicFileAttributes attributes = metadataCache.get(workspacePath);
+		if (attributes == null) {
+			try {
+				attributes = Files.readAttributes(Paths.get(workspacePath), BasicFileAttributes.class);
+			} catch (IOException | SecurityException e) {
+				return null;
+			}
+			metadataCache.put(workspacePath, attributes);
+		}
+		return attributes;
+	}
+
+	/**
+	 * Clears the cached attributes, after changes made directly on the file system.
+	 */
+	public void clearMetadataCache() {
+		metadataCache.clear();
+	}
+
 	/**
 	 * Gets the children by folder.
 	 *
@@ -331,7 +476,8 @@ public class LocalRepositoryDao {
 		try {
 			String workspacePath = LocalWorkspaceMapper.getMappedName(getRepository(), path);
 			File objectFile = new File(workspacePath);
-			if (objectFile.isDirectory()) {
+			BasicFileAttributes attributes = readAttributes(workspacePath);
+			if ((attributes != null) && attributes.isDirectory()) {
 				File[] children = FileSystemUtils.listFiles(objectFile);
 				if (children != null) {
 					for (File file : children) {
@@ -13,6 +13,10 @@ package org.eclipse.dirigible.repository.local;
 
 import static java.text.MessageFormat.format;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
 import org.eclipse.dirigible.commons.api.helpers.ContentTypeHelper;
 import org.eclipse.dirigible.repository.api.IResource;
 import org.eclipse.dirigible.repository.api.RepositoryNotFoundException;
@@ -209,6 +213,34 @@ public class LocalResource extends LocalEntity implements IResource {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.repository.api.IResource#getContentStream()
+	 */
+	@Override
+	public InputStream getContentStream() throws RepositoryReadException {
+		final LocalFile document = getDocumentSafe();
+		try {
+			return document.getDataStream();
+		} catch (LocalRepositoryException ex) {
+			throw new RepositoryReadException("Could not read resource content.", ex);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.dirigible.repository.api.IResource#transferContentTo(java.nio.channels.WritableByteChannel)
+	 */
+	@Override
+	public long transferContentTo(WritableByteChannel target) throws IOException, RepositoryReadException {
+		final LocalFile document = getDocumentSafe();
+		try {
+			return document.transferData(target);
+		} catch (LocalRepositoryException ex) {
+			throw new RepositoryReadException("Could not read resource content.", ex);
+		}
+	}
+
 	/**
 	 * Sets the content.
 	 *
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.local;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.repository.api.IRepository;
+import org.eclipse.dirigible.repository.api.IResource;
+import org.eclipse.dirigible.repository.api.RepositoryCache;
+import org.eclipse.dirigible.repository.fs.FileSystemRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class LocalLargeFileTest.
+ */
+public class LocalLargeFileTest {
+
+	/** The Constant COLLECTION. */
+	private static final String COLLECTION = "/testCollectionLarge";
+
+	/** The repository. */
+	private IRepository repository;
+
+	/** Whether the cache was enabled before the test. */
+	private boolean enabled;
+
+	/**
+	 * Sets the up.
+	 */
+	@Before
+	public void setUp() {
+		Configuration.set(LocalRepositoryDao.DIRIGIBLE_REPOSITORY_LOCAL_LARGE_FILE_SIZE_IN_KILOBYTES, "1");
+		repository = new LocalRepository("target/test");
+		enabled = RepositoryCache.isEnabled();
+		RepositoryCache.enable();
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		if (enabled) {
+			RepositoryCache.enable();
+		} else {
+			RepositoryCache.disable();
+		}
+		Configuration.remove(LocalRepositoryDao.DIRIGIBLE_REPOSITORY_LOCAL_LARGE_FILE_SIZE_IN_KILOBYTES);
+		repository.getCollection(COLLECTION).delete();
+	}
+
+	/**
+	 * Test the large files are not cached and are streamed and transferred as stored.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testLargeFile() throws Exception {
+		byte[] large = content('l', 4096);
+		IResource resource = repository.createResource(COLLECTION + "/large.js", large);
+		assertArrayEquals(large, resource.getContent());
+		assertArrayEquals(large, read(resource));
+		assertArrayEquals(large, transfer(resource));
+
+		// changed on the file system, so it is seen only if not cached
+		byte[] changed = content('c', 8192);
+		Files.write(Paths.get(LocalWorkspaceMapper.getMappedName((FileSystemRepository) repository, COLLECTION + "/large.js")), changed);
+		((LocalRepository) repository).getRepositoryDao().clearMetadataCache();
+		assertArrayEquals(changed, repository.getResource(COLLECTION + "/large.js").getContent());
+		assertArrayEquals(changed, transfer(repository.getResource(COLLECTION + "/large.js")));
+	}
+
+	/**
+	 * Test the small files are cached and transferred from the cache.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testSmallFile() throws Exception {
+		byte[] small = content('s', 100);
+		IResource resource = repository.createResource(COLLECTION + "/small.js", small);
+
+		Files.write(Paths.get(LocalWorkspaceMapper.getMappedName((FileSystemRepository) repository, COLLECTION + "/small.js")), content('c', 100));
+		assertArrayEquals(small, resource.getContent());
+		assertArrayEquals(small, read(resource));
+		assertArrayEquals(small, transfer(resource));
+	}
+
+	/**
+	 * Reads the content stream.
+	 *
+	 * @param resource the resource
+	 * @return the content
+	 * @throws Exception the exception
+	 */
+	private static byte[] read(IResource resource) throws Exception {
+		try (InputStream in = resource.getContentStream()) {
+			return in.readAllBytes();
+		}
+	}
+
+	/**
+	 * Transfers the content to a channel.
+	 *
+	 * @param resource the resource
+	 * @return the content
+	 * @throws Exception the exception
+	 */
+	private static byte[] transfer(IResource resource) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long transferred = resource.transferContentTo(Channels.newChannel(out));
+		assertEquals(out.size(), transferred);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Creates a content.
+	 *
+	 * @param character the character
+	 * @param length the length
+	 * @return the content
+	 */
+	private static byte[] content(char character, int length) {
+		byte[] content = new byte[length];
+		Arrays.fill(content, (byte) character);
+		return content;
+	}
+
+}
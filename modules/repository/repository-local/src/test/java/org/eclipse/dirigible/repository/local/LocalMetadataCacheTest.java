@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import org.eclipse.dirigible.repository.api.IRepository;
+import org.eclipse.dirigible.repository.api.IResource;
+import org.eclipse.dirigible.repository.api.RepositoryCache;
+import org.eclipse.dirigible.repository.fs.FileSystemRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class LocalMetadataCacheTest.
+ */
+public class LocalMetadataCacheTest {
+
+	/** The Constant PATH. */
+	private static final String PATH = "/testCollectionMetadata/cached.txt";
+
+	/** The repository. */
+	private IRepository repository;
+
+	/** Whether the cache was enabled before the test. */
+	private boolean enabled;
+
+	/**
+	 * Sets the up.
+	 */
+	@Before
+	public void setUp() {
+		repository = new LocalRepository("target/test");
+		enabled = RepositoryCache.isEnabled();
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		if (enabled) {
+			RepositoryCache.enable();
+		} else {
+			RepositoryCache.disable();
+		}
+		repository.getCollection("/testCollectionMetadata").delete();
+	}
+
+	/**
+	 * Test the attributes are cached until changed through the repository.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	public void testInvalidation() throws Exception {
+		RepositoryCache.enable();
+		IResource resource = repository.createResource(PATH, "cached".getBytes());
+		long cached = resource.getInformation().getModifiedAt().getTime();
+
+		String workspacePath = LocalWorkspaceMapper.getMappedName((FileSystemRepository) repository, PATH);
+		Files.setLastModifiedTime(Paths.get(workspacePath), FileTime.fromMillis(1000000000000L));
+		assertEquals(cached, repository.getResource(PATH).getInformation().getModifiedAt().getTime());
+
+		RepositoryCache.disable();
+		assertEquals(1000000000000L, repository.getResource(PATH).getInformation().getModifiedAt().getTime());
+
+		RepositoryCache.enable();
+		repository.getResource(PATH).getInformation();
+		resource.setContent("changed".getBytes());
+		Files.setLastModifiedTime(Paths.get(workspacePath), FileTime.fromMillis(2000000000000L));
+		assertEquals(2000000000000L, repository.getResource(PATH).getInformation().getModifiedAt().getTime());
+	}
+
+	/**
+	 * Test the owner is looked up on demand.
+	 */
+	@Test
+	public void testModifiedBy() {
+		repository.createResource(PATH, "owned".getBytes());
+		assertNotNull(repository.getResource(PATH).getInformation().getModifiedBy());
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.eclipse.dirigible.repository.api.IRepository;
+import org.eclipse.dirigible.repository.search.RepositorySearcher;
+import org.eclipse.dirigible.repository.search.RepositorySearcherMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class LocalRepositorySearcherTest.
+ */
+public class LocalRepositorySearcherTest {
+
+	/** The Constant COLLECTION. */
+	private static final String COLLECTION = "/testCollectionSearcher";
+
+	/** The repository. */
+	private IRepository repository;
+
+	/** The searcher. */
+	private RepositorySearcher searcher;
+
+	/**
+	 * Sets the up.
+	 */
+	@Before
+	public void setUp() {
+		repository = new LocalRepository("target");
+		searcher = new RepositorySearcher(repository);
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@After
+	public void tearDown() {
+		repository.getCollection(COLLECTION).delete();
+	}
+
+	/**
+	 * Test modified and removed resources are reindexed.
+	 */
+	@Test
+	public void testReindex() {
+		repository.createResource(COLLECTION + "/first.txt", "alphasearcher betasearcher".getBytes(StandardCharsets.UTF_8));
+		repository.createResource(COLLECTION + "/second.txt", "alphasearcher".getBytes(StandardCharsets.UTF_8));
+		searcher.forceReindex();
+		// the index may hold stale documents of earlier runs, removed by the first indexing
+		long deleted = searcher.getMetrics().getDeletedDocuments();
+
+		List<String> alpha = searcher.search("alphasearcher");
+		assertEquals(2, alpha.size());
+		assertTrue(alpha.contains(COLLECTION + "/first.txt"));
+		assertTrue(alpha.contains(COLLECTION + "/second.txt"));
+		assertEquals(1, searcher.search("betasearcher").size());
+
+		repository.getResource(COLLECTION + "/first.txt").setContent("gammasearcher".getBytes(StandardCharsets.UTF_8));
+		repository.removeResource(COLLECTION + "/second.txt");
+		searcher.forceReindex();
+
+		assertEquals(0, searcher.search("alphasearcher").size());
+		assertEquals(0, searcher.search("betasearcher").size());
+		assertEquals(1, searcher.search("gammasearcher").size());
+
+		RepositorySearcherMetrics metrics = searcher.getMetrics();
+		assertEquals(2, metrics.getIndexings());
+		assertTrue(metrics.getIndexedDocuments() >= 3);
+		assertEquals(deleted + 1, metrics.getDeletedDocuments());
+		assertEquals(5, metrics.getSearches());
+	}
+
+	/**
+	 * Test only the changes reported by the repository are indexed between the scans.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testIncrementalIndexing() throws IOException {
+		RepositorySearcher repositorySearcher = ((LocalRepository) repository).getRepositorySearcher();
+		repository.createResource(COLLECTION + "/first.txt", "epsilonsearcher".getBytes(StandardCharsets.UTF_8));
+		repository.createResource(COLLECTION + "/folder/second.txt", "zetasearcher".getBytes(StandardCharsets.UTF_8));
+		repositorySearcher.forceReindex();
+		assertEquals(1, repositorySearcher.search("epsilonsearcher").size());
+		assertEquals(1, repositorySearcher.search("zetasearcher").size());
+
+		long indexed = repositorySearcher.getMetrics().getIndexedDocuments();
+		long deleted = repositorySearcher.getMetrics().getDeletedDocuments();
+		repository.getResource(COLLECTION + "/first.txt").setContent("etasearcher".getBytes(StandardCharsets.UTF_8));
+		repository.getCollection(COLLECTION + "/folder").copyTo(COLLECTION + "/copy");
+		repository.removeCollection(COLLECTION + "/folder");
+		// written outside of the repository, hence left to the next scan
+		Files.write(Paths.get(repository.getInternalResourcePath(COLLECTION + "/outside.txt")), "thetasearcher".getBytes(StandardCharsets.UTF_8));
+		repositorySearcher.indexChanges();
+
+		assertEquals(0, repositorySearcher.search("epsilonsearcher").size());
+		assertEquals(1, repositorySearcher.search("etasearcher").size());
+		assertEquals(List.of(COLLECTION + "/copy/second.txt"), repositorySearcher.search("zetasearcher"));
+		assertEquals(0, repositorySearcher.search("thetasearcher").size());
+		assertEquals(indexed + 2, repositorySearcher.getMetrics().getIndexedDocuments());
+		assertEquals(deleted + 1, repositorySearcher.getMetrics().getDeletedDocuments());
+
+		repositorySearcher.indexChanges();
+		assertEquals(1, repositorySearcher.getMetrics().getSkippedIndexings());
+	}
+
+	/**
+	 * Test resources removed before a restart are removed from the index.
+	 */
+	@Test
+	public void testReindexAfterRestart() {
+		repository.createResource(COLLECTION + "/third.txt", "deltasearcher".getBytes(StandardCharsets.UTF_8));
+		searcher.forceReindex();
+		assertEquals(1, searcher.search("deltasearcher").size());
+
+		repository.removeResource(COLLECTION + "/third.txt");
+		RepositorySearcher restarted = new RepositorySearcher(repository);
+		restarted.forceReindex();
+
+		assertEquals(0, restarted.search("deltasearcher").size());
+		assertTrue(restarted.getMetrics().getDeletedDocuments() >= 1);
+	}
+
+}
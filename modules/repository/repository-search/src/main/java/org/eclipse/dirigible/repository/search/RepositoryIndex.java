@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.search;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The index of an index location, shared by all the searchers using it.
+ * <p>
+ * A single writer is kept open for the lifetime of the index, as only one writer can hold its lock.
+ * The searchers are taken from a near real time searcher manager, refreshed after every commit.
+ * The indexes are closed on shutdown, which commits the pending changes and releases the write lock.
+ */
+class RepositoryIndex {
+
+	/** The Constant logger. */
+	private static final Logger logger = LoggerFactory.getLogger(RepositoryIndex.class);
+
+	/** The indexes by location. */
+	private static final Map<String, RepositoryIndex> INDEXES = new ConcurrentHashMap<>();
+
+	/** The Constant LOCATION_FIELDS. */
+	private static final Set<String> LOCATION_FIELDS = Collections.singleton(RepositorySearcher.FIELD_LOCATION);
+
+	/** The directory. */
+	private final Directory directory;
+
+	/** The writer. */
+	private final IndexWriter writer;
+
+	/** The searcher manager. */
+	private final SearcherManager searcherManager;
+
+	/** The location. */
+	private final String location;
+
+	/**
+	 * Instantiates a new repository index.
+	 *
+	 * @param location the location
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private RepositoryIndex(String location) throws IOException {
+		this.location = location;
+		this.directory = FSDirectory.open(Paths.get(location));
+		IndexWriterConfig iwc = new IndexWriterConfig(new StandardAnalyzer());
+		iwc.setOpenMode(OpenMode.CREATE_OR_APPEND);
+		this.writer = new IndexWriter(directory, iwc);
+		this.searcherManager = new SearcherManager(writer, null);
+	}
+
+	/**
+	 * Gets the index of the given location, opening it if needed.
+	 *
+	 * @param location the location
+	 * @return the repository index
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	static RepositoryIndex get(String location) throws IOException {
+		RepositoryIndex index = INDEXES.get(location);
+		if (index == null) {
+			synchronized (INDEXES) {
+				index = INDEXES.get(location);
+				if (index == null) {
+					index = new RepositoryIndex(location);
+					INDEXES.put(location, index);
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Closes all the open indexes.
+	 */
+	static void closeAll() {
+		synchronized (INDEXES) {
+			for (RepositoryIndex index : INDEXES.values()) {
+				try {
+					index.close();
+				} catch (IOException e) {
+					if (logger.isErrorEnabled()) {logger.error("Closing the repository index failed: " + index.location, e);}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Closes the index, committing the pending changes and releasing the write lock. The index is opened again by the
+	 * next {@link #get(String)}.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	void close() throws IOException {
+		synchronized (INDEXES) {
+			INDEXES.remove(location, this);
+		}
+		try {
+			searcherManager.close();
+		} finally {
+			try {
+				writer.close();
+			} finally {
+				directory.close();
+			}
+		}
+	}
+
+	/**
+	 * Adds or replaces the document of the given location.
+	 *
+	 * @param location the location
+	 * @param document the document
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	void update(String location, Document document) throws IOException {
+		writer.updateDocument(new Term(RepositorySearcher.FIELD_LOCATION, location), document);
+	}
+
+	/**
+	 * Deletes the document of the given location.
+	 *
+	 * @param location the location
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	void delete(String location) throws IOException {
+		writer.deleteDocuments(new Term(RepositorySearcher.FIELD_LOCATION, location));
+	}
+
+	/**
+	 * Commits the pending changes and makes them visible to the searchers acquired afterwards.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	void commit() throws IOException {
+		if (writer.hasUncommittedChanges()) {
+			writer.commit();
+		}
+		searcherManager.maybeRefresh();
+	}
+
+	/**
+	 * Gets the locations of all the documents in the index.
+	 *
+	 * @return the locations
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	Set<String> getLocations() throws IOException {
+		Set<String> locations = new HashSet<>();
+		IndexSearcher searcher = acquire();
+		try {
+			for (LeafReaderContext context : searcher.getIndexReader().leaves()) {
+				LeafReader reader = context.reader();
+				Bits liveDocs = reader.getLiveDocs();
+				for (int i = 0; i < reader.maxDoc(); i++) {
+					if (liveDocs == null || liveDocs.get(i)) {
+						String location = reader.document(i, LOCATION_FIELDS).get(RepositorySearcher.FIELD_LOCATION);
+						if (location != null) {
+							locations.add(location);
+						}
+					}
+				}
+			}
+		} finally {
+			release(searcher);
+		}
+		return locations;
+	}
+
+	/**
+	 * Acquires a searcher, which has to be released after use.
+	 *
+	 * @return the index searcher
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	IndexSearcher acquire() throws IOException {
+		return searcherManager.acquire();
+	}
+
+	/**
+	 * Releases a searcher.
+	 *
+	 * @param searcher the searcher
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	void release(IndexSearcher searcher) throws IOException {
+		searcherManager.release(searcher);
+	}
+
+}
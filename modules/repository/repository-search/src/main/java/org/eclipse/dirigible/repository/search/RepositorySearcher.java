@@ -17,37 +17,33 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexReader;
-import org.apache.lucene.index.IndexWriter;
-import org.apache.lucene.index.IndexWriterConfig;
-import org.apache.lucene.index.IndexWriterConfig.OpenMode;
 import org.apache.lucene.index.IndexableField;
-import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
-import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.FSDirectory;
 import org.eclipse.dirigible.commons.config.Configuration;
+import org.eclipse.dirigible.repository.api.ICollection;
 import org.eclipse.dirigible.repository.api.IRepository;
 import org.eclipse.dirigible.repository.api.IResource;
 import org.eclipse.dirigible.repository.api.RepositoryReadException;
@@ -57,6 +53,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The Class RepositorySearcher.
+ * <p>
+ * The resources are indexed incrementally in the background. The repository reports the changed files and folders, so
+ * that only they are indexed again, and the whole repository is scanned once per scan interval to pick up the changes
+ * made outside of the repository.
  */
 public class RepositorySearcher {
 
@@ -72,6 +72,15 @@ public class RepositorySearcher {
 	/** The Constant DIRIGIBLE_REPOSITORY_SEARCH_INDEX_LOCATION. */
 	public static final String DIRIGIBLE_REPOSITORY_SEARCH_INDEX_LOCATION = "DIRIGIBLE_REPOSITORY_SEARCH_INDEX_LOCATION"; //$NON-NLS-1$
 
+	/** The Constant DIRIGIBLE_REPOSITORY_SEARCH_INDEX_INTERVAL. */
+	public static final String DIRIGIBLE_REPOSITORY_SEARCH_INDEX_INTERVAL = "DIRIGIBLE_REPOSITORY_SEARCH_INDEX_INTERVAL"; //$NON-NLS-1$
+
+	/** The Constant DIRIGIBLE_REPOSITORY_SEARCH_SCAN_INTERVAL. */
+	public static final String DIRIGIBLE_REPOSITORY_SEARCH_SCAN_INTERVAL = "DIRIGIBLE_REPOSITORY_SEARCH_SCAN_INTERVAL"; //$NON-NLS-1$
+
+	/** The Constant DIRIGIBLE_REPOSITORY_SEARCH_COMMIT_SIZE. */
+	public static final String DIRIGIBLE_REPOSITORY_SEARCH_COMMIT_SIZE = "DIRIGIBLE_REPOSITORY_SEARCH_COMMIT_SIZE"; //$NON-NLS-1$
+
 	/** The Constant CURRENT_DIR. */
 	private static final String CURRENT_DIR = ".";
 	
@@ -80,17 +89,37 @@ public class RepositorySearcher {
 			+ IRepository.SEPARATOR + "index";
 
 	/** The Constant FIELD_CONTENTS. */
-	private static final String FIELD_CONTENTS = "contents";
+	static final String FIELD_CONTENTS = "contents";
 	
 	/** The Constant FIELD_MODIFIED. */
-	private static final String FIELD_MODIFIED = "modified";
+	static final String FIELD_MODIFIED = "modified";
 	
 	/** The Constant FIELD_LOCATION. */
-	private static final String FIELD_LOCATION = "location";
+	static final String FIELD_LOCATION = "location";
 
 	/** The Constant MAX_RESULTS. */
 	private static final int MAX_RESULTS = 1000;
 
+	/** The Constant INITIAL_DELAY in seconds. */
+	private static final int INITIAL_DELAY = 30;
+
+	/** The Constant MODIFIED_TOLERANCE in milliseconds, covering the coarse modification times of some file systems. */
+	private static final long MODIFIED_TOLERANCE = 2000;
+
+	/** The Constant SHUTDOWN_TIMEOUT in seconds, to wait for a running indexing on shutdown. */
+	private static final int SHUTDOWN_TIMEOUT = 10;
+
+	/** The Constant INDEXER, shared by all the searchers. */
+	private static final ScheduledExecutorService INDEXER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "repository-search-indexer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(RepositorySearcher::shutdown, "repository-search-shutdown"));
+	}
+
 	/** The repository. */
 	private IRepository repository;
 
@@ -100,17 +129,23 @@ public class RepositorySearcher {
 	/** The index. */
 	private String index;
 
-	/** The timer. */
-	private Timer timer;
+	/** The scan interval in milliseconds. */
+	private final long scanInterval;
 
-	/** The seconds. */
-	private int seconds = 30;
+	/** The commit size. */
+	private final int commitSize;
 
-	/** The last updated. */
-	private Date lastUpdated = new Date(0);
+	/** The metrics. */
+	private final RepositorySearcherMetrics metrics = new RepositorySearcherMetrics();
 
-	/** The count updated. */
-	private volatile int countUpdated = 0;
+	/** The start time of the last scan. */
+	private long lastIndexed = 0;
+
+	/** The paths of the files and folders changed since the last indexing. */
+	private final Set<String> changes = ConcurrentHashMap.newKeySet();
+
+	/** The indexed paths, seeded from the existing index on the first indexing. */
+	private Set<String> indexedPaths;
 
 	/**
 	 * Instantiates a new repository searcher.
@@ -126,6 +161,9 @@ public class RepositorySearcher {
 				Configuration.get(RepositorySearcher.DIRIGIBLE_REPOSITORY_SEARCH_ROOT_FOLDER_IS_ABSOLUTE));
 		String indexLocation = Configuration.get(RepositorySearcher.DIRIGIBLE_REPOSITORY_SEARCH_INDEX_LOCATION,
 				CURRENT_INDEX);
+		int indexInterval = Integer.parseInt(Configuration.get(DIRIGIBLE_REPOSITORY_SEARCH_INDEX_INTERVAL, "5"));
+		this.scanInterval = TimeUnit.SECONDS.toMillis(Integer.parseInt(Configuration.get(DIRIGIBLE_REPOSITORY_SEARCH_SCAN_INTERVAL, "300")));
+		this.commitSize = Integer.parseInt(Configuration.get(DIRIGIBLE_REPOSITORY_SEARCH_COMMIT_SIZE, "1000"));
 
 		if (absolute) {
 			if (rootFolder != null) {
@@ -144,74 +182,97 @@ public class RepositorySearcher {
 
 		this.index = indexLocation;
 
-		timer = new Timer();
-		timer.schedule(new ReindexTask(), 30000, seconds * 1000);
+		INDEXER.scheduleWithFixedDelay(this::indexChanges, INITIAL_DELAY, indexInterval, TimeUnit.SECONDS);
 	}
 
 	/**
-	 * The Class ReindexTask.
+	 * Stops the indexing and closes the indexes, waiting for a running indexing to complete, as interrupting it would
+	 * close the index files.
 	 */
-	class ReindexTask extends TimerTask {
-		
-		/**
-		 * Run.
-		 */
-		@Override
-		public void run() {
-			synchronized (RepositorySearcher.class) {
-				if (countUpdated > 30) {
-					countUpdated = 0;
-					lastUpdated = new Date(0);
-					if (logger.isTraceEnabled()) {logger.trace("Full reindexing of the Repository Content...");}
+	private static void shutdown() {
+		INDEXER.shutdown();
+		try {
+			INDEXER.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		RepositoryIndex.closeAll();
+	}
+
+	/**
+	 * Records a changed file or folder, so that only it is indexed again by the next indexing.
+	 *
+	 * @param path the path
+	 */
+	public void pathChanged(String path) {
+		changes.add(path);
+	}
+
+	/**
+	 * Indexes the reported changes, or scans the whole repository, if the scan interval has passed.
+	 */
+	public void indexChanges() {
+		try {
+			synchronized (this) {
+				if (indexedPaths == null || System.currentTimeMillis() - lastIndexed >= scanInterval) {
+					reindex(lastIndexed - MODIFIED_TOLERANCE);
+				} else if (changes.isEmpty()) {
+					metrics.recordSkippedIndexing();
+				} else {
+					reindex(drainChanges());
 				}
-				reindex();
-				lastUpdated = new Date();
-				countUpdated++;
 			}
+		} catch (Throwable e) {
+			if (logger.isErrorEnabled()) {logger.error("Indexing of the Repository Content failed", e);}
 		}
 	}
 
 	/**
-	 * Adds the.
+	 * Drains the reported changes.
+	 *
+	 * @return the changed paths
+	 */
+	private Set<String> drainChanges() {
+		Set<String> drained = new HashSet<String>();
+		for (Iterator<String> iterator = changes.iterator(); iterator.hasNext();) {
+			drained.add(iterator.next());
+			iterator.remove();
+		}
+		return drained;
+	}
+
+	/**
+	 * Gets the index.
+	 *
+	 * @return the repository index
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private RepositoryIndex getIndex() throws IOException {
+		return RepositoryIndex.get(root + File.separator + index);
+	}
+
+	/**
+	 * Creates the document.
 	 *
 	 * @param location the location
 	 * @param contents the contents
 	 * @param lastModified the last modified
 	 * @param parameters the parameters
-	 * @throws RepositoryWriteException the repository write exception
+	 * @return the document
 	 */
-	private void add(String location, byte[] contents, long lastModified, Map<String, String> parameters)
-			throws RepositoryWriteException {
-		String indexName = index;
-
-		try {
-			Directory dir = FSDirectory.open(Paths.get(root + File.separator + indexName));
-			Analyzer analyzer = new StandardAnalyzer();
-			IndexWriterConfig iwc = new IndexWriterConfig(analyzer);
-			iwc.setOpenMode(OpenMode.CREATE_OR_APPEND);
-			IndexWriter writer = null;
-			try {
-				writer = new IndexWriter(dir, iwc);
-				Document doc = new Document();
-				Field pathField = new StringField(FIELD_LOCATION, location, Field.Store.YES);
-				doc.add(pathField);
-				doc.add(new LongPoint(FIELD_MODIFIED, lastModified));
-				if (parameters != null) {
-					for (String key : parameters.keySet()) {
-						doc.add(new StringField(key, parameters.get(key), Field.Store.YES));
-					}
-				}
-				doc.add(new TextField(FIELD_CONTENTS, new BufferedReader(
-						new InputStreamReader(new ByteArrayInputStream(contents), StandardCharsets.UTF_8))));
-				writer.updateDocument(new Term(FIELD_LOCATION, location), doc);
-			} finally {
-				if (writer != null) {
-					writer.close();
-				}
+	private Document createDocument(String location, byte[] contents, long lastModified, Map<String, String> parameters) {
+		Document doc = new Document();
+		Field pathField = new StringField(FIELD_LOCATION, location, Field.Store.YES);
+		doc.add(pathField);
+		doc.add(new LongPoint(FIELD_MODIFIED, lastModified));
+		if (parameters != null) {
+			for (String key : parameters.keySet()) {
+				doc.add(new StringField(key, parameters.get(key), Field.Store.YES));
 			}
-		} catch (IOException e) {
-			throw new RepositoryWriteException(e);
 		}
+		doc.add(new TextField(FIELD_CONTENTS, new BufferedReader(
+				new InputStreamReader(new ByteArrayInputStream(contents), StandardCharsets.UTF_8))));
+		return doc;
 	}
 
 	/**
@@ -223,18 +284,14 @@ public class RepositorySearcher {
 	 * @throws RepositoryReadException             in case of an error
 	 */
 	public List<String> search(String term) throws RepositoryReadException {
+		long start = System.nanoTime();
 		List<String> results = new ArrayList<String>();
-		String indexName = index;
 
 		try {
-			Directory dir = FSDirectory.open(Paths.get(root + File.separator + indexName));
-			IndexReader reader = null;
+			RepositoryIndex repositoryIndex = getIndex();
+			IndexSearcher searcher = repositoryIndex.acquire();
 			try {
-				reader = DirectoryReader.open(dir);
-				IndexSearcher searcher = new IndexSearcher(reader);
-				Analyzer analyzer = new StandardAnalyzer();
-				String field = FIELD_CONTENTS;
-				QueryParser parser = new QueryParser(field, analyzer);
+				QueryParser parser = new QueryParser(FIELD_CONTENTS, new StandardAnalyzer());
 				Query query = parser.parse(term);
 				TopDocs topDocs = searcher.search(query, MAX_RESULTS);
 				for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
@@ -250,10 +307,9 @@ public class RepositorySearcher {
 
 				}
 			} finally {
-				if (reader != null) {
-					reader.close();
-				}
+				repositoryIndex.release(searcher);
 			}
+			metrics.recordSearch(System.nanoTime() - start);
 			return results;
 		} catch (IOException | ParseException e) {
 			throw new RepositoryReadException(e);
@@ -261,35 +317,154 @@ public class RepositorySearcher {
 	}
 
 	/**
-	 * Reindex.
+	 * Reindex the resources modified after the given time and remove the ones deleted since the last indexing.
+	 *
+	 * @param since the time in milliseconds
 	 */
-	private void reindex() {
-		synchronized (RepositorySearcher.class) {
-			long start = System.currentTimeMillis();
+	private synchronized void reindex(long since) {
+		long start = System.currentTimeMillis();
+		long startNanos = System.nanoTime();
+		int indexed = 0;
+		int deleted = 0;
+		try {
+			RepositoryIndex repositoryIndex = getIndex();
+			if (indexedPaths == null) {
+				// the resources deleted while the server was down are still in the index
+				indexedPaths = repositoryIndex.getLocations();
+			}
+			// the changes reported from now on are checked by the next indexing
+			changes.clear();
 			List<String> paths = repository.getAllResourcePaths();
+			Set<String> currentPaths = new HashSet<String>(paths);
+			int uncommitted = 0;
 			for (String path : paths) {
 				IResource resource = repository.getResource(path);
 				if ((resource != null) && (resource.getInformation() != null)
 						&& (resource.getInformation().getModifiedAt() != null)) {
-					if (lastUpdated.before(resource.getInformation().getModifiedAt())) {
-						add(path, resource.getContent(), resource.getInformation().getModifiedAt().getTime(), null);
+					long modifiedAt = resource.getInformation().getModifiedAt().getTime();
+					if (modifiedAt > since) {
+						repositoryIndex.update(path, createDocument(path, resource.getContent(), modifiedAt, null));
+						indexed++;
+						if (++uncommitted >= commitSize) {
+							repositoryIndex.commit();
+							uncommitted = 0;
+						}
 					}
 				}
 			}
-			long end = System.currentTimeMillis();
-			if (logger.isTraceEnabled()) {logger.trace("Reindexing of the Repository Content finished in: " + (end - start) + "ms");}
+			for (String path : indexedPaths) {
+				if (!currentPaths.contains(path)) {
+					repositoryIndex.delete(path);
+					deleted++;
+				}
+			}
+			repositoryIndex.commit();
+			indexedPaths = currentPaths;
+			lastIndexed = start;
+		} catch (IOException e) {
+			throw new RepositoryWriteException(e);
+		} finally {
+			metrics.recordIndexing(indexed, deleted, System.nanoTime() - startNanos);
 		}
+		long end = System.currentTimeMillis();
+		if (logger.isTraceEnabled()) {logger.trace("Reindexing of the Repository Content finished in: " + (end - start) + "ms");}
+		if (logger.isDebugEnabled()) {logger.debug("Repository search metrics: " + metrics);}
 	}
 
 	/**
-	 * Force reindex.
+	 * Reindex the changed files and the files in the changed folders, and remove the documents of the ones, which no
+	 * longer exist.
+	 *
+	 * @param paths the changed paths
 	 */
-	public void forceReindex() {
-		synchronized (RepositorySearcher.class) {
-			this.lastUpdated = new Date(0);
-			this.countUpdated = 0;
-			reindex();
+	private synchronized void reindex(Set<String> paths) {
+		long startNanos = System.nanoTime();
+		int indexed = 0;
+		int deleted = 0;
+		try {
+			RepositoryIndex repositoryIndex = getIndex();
+			Map<String, IResource> resources = new LinkedHashMap<String, IResource>();
+			Set<String> removedOrFolders = new HashSet<String>();
+			for (String path : paths) {
+				IResource resource = repository.getResource(path);
+				if (resource.exists()) {
+					resources.put(path, resource);
+				} else {
+					removedOrFolders.add(path);
+					ICollection collection = repository.getCollection(path);
+					if (collection.exists()) {
+						collectResources(collection, resources);
+					}
+				}
+			}
+			if (!removedOrFolders.isEmpty()) {
+				for (Iterator<String> iterator = indexedPaths.iterator(); iterator.hasNext();) {
+					String path = iterator.next();
+					if (!resources.containsKey(path) && isBelow(path, removedOrFolders)) {
+						repositoryIndex.delete(path);
+						iterator.remove();
+						deleted++;
+					}
+				}
+			}
+			int uncommitted = 0;
+			for (IResource resource : resources.values()) {
+				long modifiedAt = (resource.getInformation() != null) && (resource.getInformation().getModifiedAt() != null)
+						? resource.getInformation().getModifiedAt().getTime()
+						: System.currentTimeMillis();
+				repositoryIndex.update(resource.getPath(), createDocument(resource.getPath(), resource.getContent(), modifiedAt, null));
+				indexedPaths.add(resource.getPath());
+				indexed++;
+				if (++uncommitted >= commitSize) {
+					repositoryIndex.commit();
+					uncommitted = 0;
+				}
+			}
+			repositoryIndex.commit();
+		} catch (IOException e) {
+			throw new RepositoryWriteException(e);
+		} finally {
+			metrics.recordIndexing(indexed, deleted, System.nanoTime() - startNanos);
 		}
+		if (logger.isDebugEnabled()) {logger.debug("Repository search metrics: " + metrics);}
+	}
+
+	/**
+	 * Collects the resources of a collection and its sub-collections.
+	 *
+	 * @param collection the collection
+	 * @param resources the resources by path
+	 */
+	private void collectResources(ICollection collection, Map<String, IResource> resources) {
+		for (IResource resource : collection.getResources()) {
+			resources.put(resource.getPath(), resource);
+		}
+		for (ICollection child : collection.getCollections()) {
+			collectResources(child, resources);
+		}
+	}
+
+	/**
+	 * Checks whether the path is one of the given paths or is below one of them.
+	 *
+	 * @param path the path
+	 * @param paths the paths
+	 * @return true, if below
+	 */
+	private boolean isBelow(String path, Set<String> paths) {
+		for (String current = path; !current.isEmpty(); current = current.substring(0, Math.max(current.lastIndexOf(IRepository.SEPARATOR), 0))) {
+			if (paths.contains(current)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Force reindex.
+	 */
+	public synchronized void forceReindex() {
+		reindex(-1);
 	}
 	
 	/**
@@ -301,4 +476,13 @@ public class RepositorySearcher {
 		return root;
 	}
 
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	public RepositorySearcherMetrics getMetrics() {
+		return metrics;
+	}
+
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-FileCopyrightText: 2022 SAP SE or an SAP affiliate company and Eclipse Dirigible contributors
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.dirigible.repository.search;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Class RepositorySearcherMetrics.
+ */
+public class RepositorySearcherMetrics {
+
+	/** The indexing runs. */
+	private final LongAdder indexings = new LongAdder();
+
+	/** The indexing time in nanoseconds. */
+	private final LongAdder indexingNanos = new LongAdder();
+
+	/** The indexed documents. */
+	private final LongAdder indexedDocuments = new LongAdder();
+
+	/** The deleted documents. */
+	private final LongAdder deletedDocuments = new LongAdder();
+
+	/** The skipped indexing runs, when the repository has not been modified. */
+	private final LongAdder skippedIndexings = new LongAdder();
+
+	/** The searches. */
+	private final LongAdder searches = new LongAdder();
+
+	/** The search time in nanoseconds. */
+	private final LongAdder searchNanos = new LongAdder();
+
+	/** The max search time in nanoseconds. */
+	private final LongAccumulator maxSearchNanos = new LongAccumulator(Long::max, 0);
+
+	/**
+	 * Record indexing.
+	 *
+	 * @param indexed the indexed documents
+	 * @param deleted the deleted documents
+	 * @param nanos the nanos
+	 */
+	void recordIndexing(int indexed, int deleted, long nanos) {
+		indexings.increment();
+		indexingNanos.add(nanos);
+		indexedDocuments.add(indexed);
+		deletedDocuments.add(deleted);
+	}
+
+	/**
+	 * Record skipped indexing.
+	 */
+	void recordSkippedIndexing() {
+		skippedIndexings.increment();
+	}
+
+	/**
+	 * Record search.
+	 *
+	 * @param nanos the nanos
+	 */
+	void recordSearch(long nanos) {
+		searches.increment();
+		searchNanos.add(nanos);
+		maxSearchNanos.accumulate(nanos);
+	}
+
+	/**
+	 * Gets the indexing runs.
+	 *
+	 * @return the indexings
+	 */
+	public long getIndexings() {
+		return indexings.sum();
+	}
+
+	/**
+	 * Gets the skipped indexing runs.
+	 *
+	 * @return the skipped indexings
+	 */
+	public long getSkippedIndexings() {
+		return skippedIndexings.sum();
+	}
+
+	/**
+	 * Gets the indexed documents.
+	 *
+	 * @return the indexed documents
+	 */
+	public long getIndexedDocuments() {
+		return indexedDocuments.sum();
+	}
+
+	/**
+	 * Gets the deleted documents.
+	 *
+	 * @return the deleted documents
+	 */
+	public long getDeletedDocuments() {
+		return deletedDocuments.sum();
+	}
+
+	/**
+	 * Gets the indexing throughput.
+	 *
+	 * @return the indexed documents per second
+	 */
+	public double getIndexedDocumentsPerSecond() {
+		long nanos = indexingNanos.sum();
+		return nanos == 0 ? 0 : (double) getIndexedDocuments() / nanos * TimeUnit.SECONDS.toNanos(1);
+	}
+
+	/**
+	 * Gets the searches.
+	 *
+	 * @return the searches
+	 */
+	public long getSearches() {
+		return searches.sum();
+	}
+
+	/**
+	 * Gets the average search time in milliseconds.
+	 *
+	 * @return the average search time
+	 */
+	public double getAverageSearchMillis() {
+		long count = getSearches();
+		return count == 0 ? 0 : (double) searchNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Gets the max search time in milliseconds.
+	 *
+	 * @return the max search time
+	 */
+	public double getMaxSearchMillis() {
+		return (double) maxSearchNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * To string.
+	 *
+	 * @return the string
+	 */
+	@Override
+	public String toString() {
+		return String.format("indexings=%d, skippedIndexings=%d, indexed=%d, deleted=%d, throughput=%.1fdocs/s, searches=%d, avgSearch=%.3fms, maxSearch=%.3fms",
+				getIndexings(), getSkippedIndexings(), getIndexedDocuments(), getDeletedDocuments(), getIndexedDocumentsPerSecond(),
+				getSearches(), getAverageSearchMillis(), getMaxSearchMillis());
+	}
+
+}